@@ -0,0 +1,149 @@
+package com.restaurant.benchmarks;
+
+import com.restaurant.dtos.booking.GetBookingsDto;
+import com.restaurant.dtos.menu.GetMenuDto;
+import com.restaurant.dtos.menuItem.GetMenuItemsDto;
+import com.restaurant.dtos.order.GetOrderDto;
+import com.restaurant.dtos.orderItem.GetOrderItemDto;
+import com.restaurant.dtos.payment.GetPaymentDto;
+import com.restaurant.dtos.restaurant.GetRestaurantDto;
+import com.restaurant.dtos.restaurantTable.GetRestaurantTableDto;
+import com.restaurant.dtos.shipment.GetShipmentDto;
+import com.restaurant.dtos.user.GetUserDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoFindBenchmark {
+
+    @Benchmark
+    public List<?> findOrders(DatabaseState state) {
+        GetOrderDto dto = new GetOrderDto();
+        dto.setRestaurantId(state.restaurant.getId());
+        return state.orderDAO.find(dto);
+    }
+
+    @Benchmark
+    public List<?> findOrderRows(DatabaseState state) {
+        GetOrderDto dto = new GetOrderDto();
+        dto.setRestaurantId(state.restaurant.getId());
+        return state.orderDAO.findRows(dto);
+    }
+
+    @Benchmark
+    public List<?> findOrdersDeepOffset(DatabaseState state) {
+        GetOrderDto dto = new GetOrderDto();
+        dto.setRestaurantId(state.restaurant.getId());
+        dto.setPage(state.deepPage);
+        return state.orderDAO.find(dto);
+    }
+
+    @Benchmark
+    public List<?> findOrdersDeepKeyset(DatabaseState state) {
+        GetOrderDto dto = new GetOrderDto();
+        dto.setRestaurantId(state.restaurant.getId());
+        dto.nextPage(state.deepOrderCursor, state.deepOrderCursor);
+        return state.orderDAO.find(dto);
+    }
+
+    @Benchmark
+    public List<?> findOrdersByDate(DatabaseState state) {
+        GetOrderDto dto = new GetOrderDto();
+        dto.setRestaurantId(state.restaurant.getId());
+        dto.setDate(LocalDate.now());
+        return state.orderDAO.find(dto);
+    }
+
+    @Benchmark
+    public List<?> findOrderItems(DatabaseState state) {
+        GetOrderItemDto dto = new GetOrderItemDto();
+        dto.setRestaurantId(state.restaurant.getId());
+        return state.orderItemDAO.find(dto);
+    }
+
+    @Benchmark
+    public List<?> findOrderItemRows(DatabaseState state) {
+        GetOrderItemDto dto = new GetOrderItemDto();
+        dto.setRestaurantId(state.restaurant.getId());
+        return state.orderItemDAO.findRows(dto);
+    }
+
+    @Benchmark
+    public List<?> findMenuItems(DatabaseState state) {
+        GetMenuItemsDto dto = new GetMenuItemsDto();
+        dto.setRestaurantId(state.restaurant.getId());
+        return state.menuItemDAO.find(dto);
+    }
+
+    @Benchmark
+    public Object getMenuItemById(DatabaseState state) {
+        return state.menuItemDAO.getById(state.menuItemId);
+    }
+
+    @Benchmark
+    public List<?> findMenus(DatabaseState state) {
+        GetMenuDto dto = new GetMenuDto();
+        dto.setRestaurantName(state.restaurant.getName());
+        return state.menuDAO.find(dto);
+    }
+
+    @Benchmark
+    public List<?> findBookings(DatabaseState state) {
+        return state.bookingDAO.find(new GetBookingsDto());
+    }
+
+    @Benchmark
+    public List<?> findPayments(DatabaseState state) {
+        return state.paymentDAO.find(new GetPaymentDto());
+    }
+
+    @Benchmark
+    public List<?> findPaymentRows(DatabaseState state) {
+        return state.paymentDAO.findRows(new GetPaymentDto());
+    }
+
+    @Benchmark
+    public List<?> findShipments(DatabaseState state) {
+        return state.shipmentDAO.find(new GetShipmentDto());
+    }
+
+    @Benchmark
+    public List<?> findShipmentRows(DatabaseState state) {
+        return state.shipmentDAO.findRows(new GetShipmentDto());
+    }
+
+    @Benchmark
+    public List<?> findRestaurants(DatabaseState state) {
+        return state.restaurantDAO.find(new GetRestaurantDto());
+    }
+
+    @Benchmark
+    public List<?> findAllRestaurants(DatabaseState state) {
+        return state.restaurantDAO.findAll();
+    }
+
+    @Benchmark
+    public List<?> findTables(DatabaseState state) {
+        GetRestaurantTableDto dto = new GetRestaurantTableDto();
+        dto.setRestaurantId(state.restaurant.getId());
+        return state.restaurantTableDAO.find(dto);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> findOccupancy(DatabaseState state) {
+        return state.bookingAvailabilityDAO.findOccupancy(state.restaurant.getId(), LocalDate.now());
+    }
+
+    @Benchmark
+    public List<?> findUsers(DatabaseState state) {
+        return state.userDAO.find(new GetUserDto());
+    }
+}
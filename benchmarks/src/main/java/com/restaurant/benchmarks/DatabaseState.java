@@ -0,0 +1,139 @@
+package com.restaurant.benchmarks;
+
+import com.restaurant.Main;
+import com.restaurant.config.*;
+import com.restaurant.daos.*;
+import com.restaurant.daos.impl.*;
+import com.restaurant.di.AppBindings;
+import com.restaurant.di.Injector;
+import com.restaurant.dtos.order.GetOrderDto;
+import com.restaurant.models.Order;
+import com.restaurant.models.Restaurant;
+import com.restaurant.seed.DataSeeder;
+import com.restaurant.seed.SeedProfile;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Environment;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Properties;
+
+@State(Scope.Benchmark)
+public class DatabaseState {
+    private static final String H2_URL =
+            "jdbc:h2:mem:restaurant_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private final ConnectionPoolMetrics poolMetrics = new ConnectionPoolMetrics();
+    private HikariDataSource dataSource;
+    private CacheMetrics cacheMetrics;
+    public SessionFactory sessionFactory;
+
+    public BookingAvailabilityDAO bookingAvailabilityDAO;
+    public BookingDAO bookingDAO;
+    public MenuDAO menuDAO;
+    public MenuItemDAO menuItemDAO;
+    public OrderDAO orderDAO;
+    public OrderItemDAO orderItemDAO;
+    public PaymentDAO paymentDAO;
+    public RestaurantDAO restaurantDAO;
+    public RestaurantTableDAO restaurantTableDAO;
+    public ShipmentDAO shipmentDAO;
+    public UserDAO userDAO;
+
+    public Restaurant restaurant;
+    public int menuItemId;
+    // Id of the last order on the page before deepPage, i.e. the keyset cursor for deepPage
+    public int deepOrderCursor;
+
+    @Param("3")
+    public int restaurants;
+
+    @Param("20")
+    public int tablesPerRestaurant;
+
+    @Param("200")
+    public int ordersPerDay;
+
+    @Param("30")
+    public int daysOfHistory;
+
+    @Param("90")
+    public int deepPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource(ConnectionPool.buildConfig(
+                H2_URL, "sa", "", Env.getInstance(), poolMetrics
+        ));
+        sessionFactory = Main.buildSessionFactory(h2Properties(dataSource));
+        cacheMetrics = new CacheMetrics(sessionFactory.getStatistics());
+
+        Injector injector = Injector.getInstance();
+        UnitOfWork unitOfWork = new UnitOfWork(sessionFactory);
+        injector.register(UnitOfWork.class, unitOfWork);
+        injector.register(EntityManagerFactory.class, unitOfWork.getEntityManagerFactory());
+        AppBindings.install(injector);
+        SeedProfile profile = new SeedProfile();
+        profile.setRestaurants(restaurants);
+        profile.setTablesPerRestaurant(tablesPerRestaurant);
+        profile.setOrdersPerDay(ordersPerDay);
+        profile.setDaysOfHistory(daysOfHistory);
+        new DataSeeder(sessionFactory).seed(profile);
+
+        bookingAvailabilityDAO = injector.getInstance(BookingAvailabilityDAOImpl.class);
+        bookingDAO = injector.getInstance(BookingDAOImpl.class);
+        menuDAO = injector.getInstance(MenuDAOImpl.class);
+        menuItemDAO = injector.getInstance(MenuItemDAOImpl.class);
+        orderDAO = injector.getInstance(OrderDAOImpl.class);
+        orderItemDAO = injector.getInstance(OrderItemDAOImpl.class);
+        paymentDAO = injector.getInstance(PaymentDAOImpl.class);
+        restaurantDAO = injector.getInstance(RestaurantDAOImpl.class);
+        restaurantTableDAO = injector.getInstance(RestaurantTableDAOImpl.class);
+        shipmentDAO = injector.getInstance(ShipmentDAOImpl.class);
+        userDAO = injector.getInstance(UserDAOImpl.class);
+        menuItemDAO.recomputeOrderedCounts(profile.getBatchSize());
+
+        restaurant = restaurantDAO.findAll().get(0);
+        menuItemId = menuItemDAO.findByRestaurantId(restaurant.getId()).get(0).getId();
+
+        GetOrderDto previous = new GetOrderDto();
+        previous.setRestaurantId(restaurant.getId());
+        previous.setPage(Math.max(deepPage - 1, 0));
+        List<Order> before = orderDAO.find(previous);
+        deepOrderCursor = before.isEmpty() ? 0 : before.get(before.size() - 1).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (dataSource != null) {
+            System.out.println(poolMetrics.snapshot());
+            System.out.println(cacheMetrics.snapshot());
+        }
+        if (sessionFactory != null && sessionFactory.isOpen()) {
+            sessionFactory.close();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    static Properties h2Properties(DataSource dataSource) {
+        Properties props = new Properties();
+        props.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        props.put(Environment.CONNECTION_PROVIDER_DISABLES_AUTOCOMMIT, "true");
+        props.put(Environment.HBM2DDL_AUTO, "create");
+        props.put(Environment.SHOW_SQL, "false");
+        SecondLevelCache.configure(props, Env.getInstance());
+        JdbcBatching.configure(props, Env.getInstance());
+        return props;
+    }
+}
@@ -0,0 +1,63 @@
+package com.restaurant.benchmarks;
+
+import com.restaurant.Main;
+import com.restaurant.config.ConnectionPool;
+import com.restaurant.config.Env;
+import com.restaurant.seed.DataSeeder;
+import com.restaurant.seed.SeedProfile;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Seeds a fresh schema per iteration. batchSize=1 flushes every row on its own, the way IDENTITY ids forced
+// the seeder to; larger sizes send each flush as JDBC batches.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SeederBenchmark {
+    private static final String H2_URL =
+            "jdbc:h2:mem:restaurant_seed;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Param({"1", "500"})
+    public int batchSize;
+
+    @Param("2")
+    public int restaurants;
+
+    @Param("200")
+    public int ordersPerDay;
+
+    @Param("5")
+    public int daysOfHistory;
+
+    private HikariDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private SeedProfile profile;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        dataSource = new HikariDataSource(ConnectionPool.buildConfig(H2_URL, "sa", "", Env.getInstance(), null));
+        sessionFactory = Main.buildSessionFactory(DatabaseState.h2Properties(dataSource));
+        profile = new SeedProfile();
+        profile.setRestaurants(restaurants);
+        profile.setOrdersPerDay(ordersPerDay);
+        profile.setDaysOfHistory(daysOfHistory);
+        profile.setBatchSize(batchSize);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        sessionFactory.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void seed() {
+        new DataSeeder(sessionFactory).seed(profile);
+    }
+}
@@ -0,0 +1,51 @@
+-- One-off conversion of an existing restaurant_db to the minute-of-day booking slot columns.
+-- Run it once, with the application stopped, before starting the version that maps Booking.startTime to start_slot.
+-- Slots were stored as enum names such as 'SLOT_18_30'; they become SMALLINT minutes of the day (18:30 = 1110).
+-- Kept out of database/scripts, which the MySQL container runs on a fresh volume only.
+
+USE restaurant_db;
+
+-- bookings: start_time / end_time -> start_slot / end_slot
+ALTER TABLE bookings
+    ADD COLUMN start_slot SMALLINT NULL,
+    ADD COLUMN end_slot SMALLINT NULL;
+
+UPDATE bookings
+SET start_slot = CAST(SUBSTRING(start_time, 6, 2) AS UNSIGNED) * 60 + CAST(SUBSTRING(start_time, 9, 2) AS UNSIGNED),
+    end_slot   = CAST(SUBSTRING(end_time, 6, 2) AS UNSIGNED) * 60 + CAST(SUBSTRING(end_time, 9, 2) AS UNSIGNED);
+
+ALTER TABLE bookings
+    MODIFY start_slot SMALLINT NOT NULL,
+    MODIFY end_slot SMALLINT NOT NULL,
+    DROP COLUMN start_time,
+    DROP COLUMN end_time;
+
+ALTER TABLE bookings
+    ADD INDEX idx_bookings_table_date_start (table_id, date, start_slot),
+    ADD INDEX idx_bookings_date_table (date, table_id);
+
+-- booking_slots: slot enum name -> minute of the day, under the same unique key
+ALTER TABLE booking_slots
+    ADD COLUMN slot_minute SMALLINT NULL;
+
+UPDATE booking_slots
+SET slot_minute = CAST(SUBSTRING(slot, 6, 2) AS UNSIGNED) * 60 + CAST(SUBSTRING(slot, 9, 2) AS UNSIGNED);
+
+ALTER TABLE booking_slots
+    DROP INDEX uk_booking_slots_table_date_slot,
+    DROP COLUMN slot;
+
+ALTER TABLE booking_slots
+    CHANGE COLUMN slot_minute slot SMALLINT NOT NULL;
+
+ALTER TABLE booking_slots
+    ADD CONSTRAINT uk_booking_slots_table_date_slot UNIQUE (table_id, date, slot);
+
+-- Only BOOKED bookings hold slots
+DELETE s
+FROM booking_slots s
+         JOIN bookings b ON b.id = s.booking_id
+WHERE b.status <> 'BOOKED';
+
+-- The old single-column index on bookings(date) is covered by idx_bookings_date_table. Hibernate generated its name,
+-- so look it up with SHOW INDEX FROM bookings and drop it by hand if wanted.
@@ -1,41 +1,68 @@
 package com.restaurant;
 
-import com.restaurant.config.Env;
-import com.restaurant.controllers.*;
-import com.restaurant.controllers.impl.*;
+import com.restaurant.config.*;
 import com.restaurant.daos.*;
-import com.restaurant.daos.impl.*;
+import com.restaurant.di.AppBindings;
 import com.restaurant.di.Injector;
+import com.restaurant.events.ErrorEvent;
 import com.restaurant.models.*;
+import com.restaurant.pubsub.ErrorPubSubService;
 import com.restaurant.seed.DataSeeder;
+import com.restaurant.seed.SeedProfile;
 import com.restaurant.views.MainView;
+import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManagerFactory;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Environment;
 
+import java.util.List;
 import java.util.Properties;
 
 public class Main {
     public static SessionFactory sessionFactory;
+    public static HikariDataSource dataSource;
+    private static final ConnectionPoolMetrics poolMetrics = new ConnectionPoolMetrics();
+    private static CacheMetrics cacheMetrics;
+    private static MetricsReporter metricsReporter;
 
     public static void main(String[] args) {
         initSchema();
         injectDependencies();
 
         DataSeeder seeder = Injector.getInstance().getInstance(DataSeeder.class);
-        seeder.seed();
+        Env env = Env.getInstance();
+        if ("load".equalsIgnoreCase(env.get("SEED_MODE", "demo"))) {
+            seeder.seed(SeedProfile.fromEnv(env));
+        } else {
+            seeder.seed();
+        }
+        int recomputed = Injector.getInstance().getInstance(MenuItemDAO.class)
+                .recomputeOrderedCounts(env.getInt("ORDERED_COUNT_BATCH_SIZE", 500));
+        System.out.println("✔︎ Recomputed ordered counts for " + recomputed + " menu items");
+        int warmed = Injector.getInstance().getInstance(CustomerDAO.class)
+                .warmUp(env.getInt("CUSTOMER_CACHE_WARMUP", 0));
+        if (warmed > 0) {
+            System.out.println("✔︎ Warmed customer cache with " + warmed + " recent customers");
+        }
 
         EntityManagerFactory emf =
                 Injector.getInstance().getInstance(EntityManagerFactory.class);
 
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // Report while the SessionFactory is open; closing it clears the statistics and cache regions
+            metricsReporter.stop();
+            metricsReporter.report();
             if (emf.isOpen()) {
                 emf.close();
                 System.out.println("✔︎ SessionFactory closed via shutdown hook");
             }
+            if (dataSource != null && !dataSource.isClosed()) {
+                dataSource.close();
+            }
         }));
 
         MainView.launch();
@@ -44,24 +71,36 @@ public class Main {
     public static void initSchema() {
         Env env = Env.getInstance();
 
+        dataSource = ConnectionPool.create(env, poolMetrics);
+
         Properties props = new Properties();
-        props.put(Environment.DRIVER, "com.mysql.cj.jdbc.Driver");
-        props.put(Environment.URL, env.get("DB_URL"));
-        props.put(Environment.USER, env.get("DB_USER"));
-        props.put(Environment.PASS, env.get("DB_PASSWORD"));
+        props.put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        props.put(Environment.CONNECTION_PROVIDER_DISABLES_AUTOCOMMIT, "true");
         props.put(Environment.DIALECT, "org.hibernate.dialect.MySQLDialect");
         props.put(Environment.HBM2DDL_AUTO, "create");
         props.put(Environment.SHOW_SQL, "true");
+        SecondLevelCache.configure(props, env);
+        JdbcBatching.configure(props, env);
 
+        sessionFactory = buildSessionFactory(props);
+        cacheMetrics = new CacheMetrics(sessionFactory.getStatistics());
+        metricsReporter = new MetricsReporter(List.of(poolMetrics::snapshot, cacheMetrics::snapshot));
+        metricsReporter.start(env.getLong("METRICS_LOG_SECONDS", 0));
+        System.out.println("✔︎ Schema updated successfully");
+    }
+
+    public static SessionFactory buildSessionFactory(Properties props) {
         var registry = new StandardServiceRegistryBuilder()
                 .applySettings(props)
                 .build();
 
         Metadata metadata = new MetadataSources(registry)
                 .addAnnotatedClass(Booking.class)
+                .addAnnotatedClass(BookingSlot.class)
                 .addAnnotatedClass(Customer.class)
                 .addAnnotatedClass(Menu.class)
                 .addAnnotatedClass(MenuItem.class)
+                .addAnnotatedClass(MenuItemOrderCount.class)
                 .addAnnotatedClass(Order.class)
                 .addAnnotatedClass(OrderItem.class)
                 .addAnnotatedClass(Payment.class)
@@ -71,61 +110,29 @@ public class Main {
                 .addAnnotatedClass(User.class)
                 .buildMetadata();
 
-        sessionFactory = metadata.buildSessionFactory();
-        System.out.println("✔︎ Schema updated successfully");
+        return metadata.buildSessionFactory();
     }
 
     public static void injectDependencies() {
         Injector injector = Injector.getInstance();
 
-        EntityManagerFactory emf = sessionFactory;
-        injector.register(EntityManagerFactory.class, emf);
-        injector.register(DataSeeder.class, new DataSeeder(emf));
-
-        BookingDAO bookingDAO = injector.getInstance(BookingDAOImpl.class);
-        injector.register(BookingDAO.class, bookingDAO);
-        CustomerDAO customerDAO = injector.getInstance(CustomerDAOImpl.class);
-        injector.register(CustomerDAO.class, customerDAO);
-        RestaurantDAO restaurantDAO = injector.getInstance(RestaurantDAOImpl.class);
-        injector.register(RestaurantDAO.class, restaurantDAO);
-        MenuDAO menuDAO = injector.getInstance(MenuDAOImpl.class);
-        injector.register(MenuDAO.class, menuDAO);
-        MenuItemDAO menuItemDAO = injector.getInstance(MenuItemDAOImpl.class);
-        injector.register(MenuItemDAO.class, menuItemDAO);
-        OrderDAO orderDAO = injector.getInstance(OrderDAOImpl.class);
-        injector.register(OrderDAO.class, orderDAO);
-        OrderItemDAO orderItemDAO = injector.getInstance(OrderItemDAOImpl.class);
-        injector.register(OrderItemDAO.class, orderItemDAO);
-        PaymentDAO paymentDAO = injector.getInstance(PaymentDAOImpl.class);
-        injector.register(PaymentDAO.class, paymentDAO);
-        RestaurantTableDAO restaurantTableDAO = injector.getInstance(RestaurantTableDAOImpl.class);
-        injector.register(RestaurantTableDAO.class, restaurantTableDAO);
-        ShipmentDAO shipmentDAO = injector.getInstance(ShipmentDAOImpl.class);
-        injector.register(ShipmentDAO.class, shipmentDAO);
-        UserDAO userDAO = injector.getInstance(UserDAOImpl.class);
-        injector.register(UserDAO.class, userDAO);
-
-        BookingController bookingController = injector.getInstance(BookingControllerImpl.class);
-        injector.register(BookingController.class, bookingController);
-        MenuController menuController = injector.getInstance(MenuControllerImpl.class);
-        injector.register(MenuController.class, menuController);
-        MenuItemController menuItemController = injector.getInstance(MenuItemControllerImpl.class);
-        injector.register(MenuItemController.class, menuItemController);
-        OrderController orderController = injector.getInstance(OrderControllerImpl.class);
-        injector.register(OrderController.class, orderController);
-        OrderItemController orderItemController = injector.getInstance(OrderItemControllerImpl.class);
-        injector.register(OrderItemController.class, orderItemController);
-        PaymentController paymentController = injector.getInstance(PaymentControllerImpl.class);
-        injector.register(PaymentController.class, paymentController);
-        RestaurantTableController restaurantTableController = injector.getInstance(RestaurantTableControllerImpl.class);
-        injector.register(RestaurantTableController.class, restaurantTableController);
-        ShipmentController shipmentController = injector.getInstance(ShipmentControllerImpl.class);
-        injector.register(ShipmentController.class, shipmentController);
-        UserController userController = injector.getInstance(UserControllerImpl.class);
-        injector.register(UserController.class, userController);
-        RestaurantController restaurantController = injector.getInstance(RestaurantControllerImpl.class);
-        injector.register(RestaurantController.class, restaurantController);
+        UnitOfWork unitOfWork = new UnitOfWork(sessionFactory, e -> ErrorPubSubService.getInstance()
+                .publish(new ErrorEvent("Could not save changes: " + rootCause(e).getMessage())));
+        injector.register(UnitOfWork.class, unitOfWork);
+        injector.register(EntityManagerFactory.class, unitOfWork.getEntityManagerFactory());
+        injector.register(ConnectionPoolMetrics.class, poolMetrics);
+        injector.register(CacheMetrics.class, cacheMetrics);
+        AppBindings.install(injector);
+        cacheMetrics.addRegion("customers-by-phone", injector.getInstance(CustomerDAO.class)::cacheStats);
 
         System.out.println("✔︎ Dependencies injected successfully");
     }
+
+    private static Throwable rootCause(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
 }
@@ -0,0 +1,82 @@
+package com.restaurant.config;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class CacheMetrics {
+    private final Statistics statistics;
+    // Application-level caches outside Hibernate, reported alongside its regions
+    private final Map<String, Supplier<RegionStats>> extraRegions = new LinkedHashMap<>();
+
+    public CacheMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public synchronized void addRegion(String name, Supplier<RegionStats> stats) {
+        extraRegions.put(name, stats);
+    }
+
+    public synchronized Snapshot snapshot() {
+        Map<String, RegionStats> regions = new LinkedHashMap<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region;
+            try {
+                region = statistics.getDomainDataRegionStatistics(name);
+            } catch (IllegalArgumentException e) {
+                // Query-result regions are listed too but are not domain data regions
+                continue;
+            }
+            if (region == null) {
+                continue;
+            }
+            regions.put(name, new RegionStats(
+                    region.getHitCount(),
+                    region.getMissCount(),
+                    region.getPutCount(),
+                    region.getElementCountInMemory()
+            ));
+        }
+        extraRegions.forEach((name, stats) -> regions.put(name, stats.get()));
+        return new Snapshot(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getPrepareStatementCount(),
+                regions
+        );
+    }
+
+    public record RegionStats(long hits, long misses, long puts, long size) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    public record Snapshot(long hits, long misses, long queryHits, long queryMisses,
+                           long statements, Map<String, RegionStats> regions) {
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(
+                    "Cache hits=%d misses=%d hitRatio=%.2f queryHits=%d queryMisses=%d statements=%d",
+                    hits, misses, hitRatio(), queryHits, queryMisses, statements
+            ));
+            regions.forEach((name, r) -> sb.append(String.format(
+                    "%n  %s hits=%d misses=%d puts=%d size=%s",
+                    name.substring(name.lastIndexOf('.') + 1), r.hits(), r.misses(), r.puts(),
+                    r.size() < 0 ? "n/a" : r.size()
+            )));
+            return sb.toString();
+        }
+    }
+}
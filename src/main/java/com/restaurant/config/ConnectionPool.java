@@ -0,0 +1,51 @@
+package com.restaurant.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+public final class ConnectionPool {
+    private ConnectionPool() {
+    }
+
+    public static HikariDataSource create(Env env, ConnectionPoolMetrics metrics) {
+        return new HikariDataSource(buildConfig(
+                env.get("DB_URL"),
+                env.get("DB_USER"),
+                env.get("DB_PASSWORD"),
+                env,
+                metrics
+        ));
+    }
+
+    public static HikariConfig buildConfig(String url, String user, String password,
+                                           Env env, ConnectionPoolMetrics metrics) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("restaurant-pool");
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+
+        config.setMaximumPoolSize(env.getInt("DB_POOL_MAX_SIZE", 10));
+        config.setMinimumIdle(env.getInt("DB_POOL_MIN_IDLE", 2));
+        config.setIdleTimeout(env.getLong("DB_POOL_IDLE_TIMEOUT_MS", 600_000));
+        config.setMaxLifetime(env.getLong("DB_POOL_MAX_LIFETIME_MS", 1_800_000));
+        config.setConnectionTimeout(env.getLong("DB_POOL_CONNECTION_TIMEOUT_MS", 30_000));
+        config.setLeakDetectionThreshold(env.getLong("DB_POOL_LEAK_DETECTION_MS", 0));
+        config.setAutoCommit(false);
+
+        if (url != null && url.startsWith("jdbc:mysql:")) {
+            // Connector/J prepared statement cache, other drivers reject unknown properties
+            config.addDataSourceProperty("cachePrepStmts", env.get("DB_CACHE_PREP_STMTS", "true"));
+            config.addDataSourceProperty("prepStmtCacheSize", env.getInt("DB_PREP_STMT_CACHE_SIZE", 250));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", env.getInt("DB_PREP_STMT_CACHE_SQL_LIMIT", 2048));
+            config.addDataSourceProperty("useServerPrepStmts", env.get("DB_USE_SERVER_PREP_STMTS", "true"));
+            // Sends a JDBC insert batch as one multi-row INSERT instead of a round trip per row
+            config.addDataSourceProperty("rewriteBatchedStatements", env.get("DB_REWRITE_BATCHED_STATEMENTS", "true"));
+        }
+
+        if (metrics != null) {
+            config.setMetricsTrackerFactory(metrics);
+        }
+        return config;
+    }
+}
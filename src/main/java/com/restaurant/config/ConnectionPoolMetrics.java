@@ -0,0 +1,64 @@
+package com.restaurant.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                recordAcquire(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    void recordAcquire(long nanos) {
+        acquireCount.increment();
+        acquireNanos.add(nanos);
+        maxAcquireNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public Snapshot snapshot() {
+        PoolStats stats = poolStats;
+        long count = acquireCount.sum();
+        return new Snapshot(
+                stats != null ? stats.getActiveConnections() : 0,
+                stats != null ? stats.getIdleConnections() : 0,
+                stats != null ? stats.getPendingThreads() : 0,
+                stats != null ? stats.getTotalConnections() : 0,
+                count,
+                count == 0 ? 0 : acquireNanos.sum() / (double) count / 1_000_000,
+                maxAcquireNanos.get() / 1_000_000.0,
+                timeouts.sum()
+        );
+    }
+
+    public record Snapshot(int active, int idle, int waiting, int total,
+                           long acquired, double avgAcquireMillis, double maxAcquireMillis, long timeouts) {
+        @Override
+        public String toString() {
+            return String.format(
+                    "Pool active=%d idle=%d waiting=%d total=%d acquired=%d avgAcquire=%.3fms maxAcquire=%.3fms timeouts=%d",
+                    active, idle, waiting, total, acquired, avgAcquireMillis, maxAcquireMillis, timeouts
+            );
+        }
+    }
+}
@@ -39,4 +39,12 @@ public final class Env {
         String val = System.getenv().getOrDefault(key, dotenv.get(key));
         return (val == null || val.isBlank()) ? defaultVal : val;
     }
-}
\ No newline at end of file
+
+    public int getInt(String key, int defaultVal) {
+        return Integer.parseInt(get(key, String.valueOf(defaultVal)).trim());
+    }
+
+    public long getLong(String key, long defaultVal) {
+        return Long.parseLong(get(key, String.valueOf(defaultVal)).trim());
+    }
+}
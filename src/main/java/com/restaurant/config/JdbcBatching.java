@@ -0,0 +1,19 @@
+package com.restaurant.config;
+
+import com.restaurant.models.BaseModel;
+import org.hibernate.cfg.Environment;
+
+import java.util.Properties;
+
+public final class JdbcBatching {
+    private JdbcBatching() {
+    }
+
+    public static void configure(Properties props, Env env) {
+        props.put(Environment.STATEMENT_BATCH_SIZE, String.valueOf(env.getInt("JDBC_BATCH_SIZE", BaseModel.ID_ALLOCATION_SIZE)));
+        // Group statements by table so a flush of mixed entities still fills whole batches
+        props.put(Environment.ORDER_INSERTS, "true");
+        props.put(Environment.ORDER_UPDATES, "true");
+        props.put(Environment.BATCH_VERSIONED_DATA, "true");
+    }
+}
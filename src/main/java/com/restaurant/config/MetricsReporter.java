@@ -0,0 +1,41 @@
+package com.restaurant.config;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class MetricsReporter {
+    private final List<Supplier<?>> sources;
+    private ScheduledExecutorService executor;
+
+    public MetricsReporter(List<Supplier<?>> sources) {
+        this.sources = List.copyOf(sources);
+    }
+
+    public synchronized void start(long intervalSeconds) {
+        if (intervalSeconds <= 0 || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleAtFixedRate(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public void report() {
+        for (Supplier<?> source : sources) {
+            System.out.println("✔︎ " + source.get());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.restaurant.config;
+
+import org.hibernate.cfg.Environment;
+
+import java.util.Properties;
+
+public final class SecondLevelCache {
+    public static final String QUERY_CACHE_HINT = "org.hibernate.cacheable";
+
+    private SecondLevelCache() {
+    }
+
+    public static void configure(Properties props, Env env) {
+        boolean enabled = Boolean.parseBoolean(env.get("CACHE_ENABLED", "true"));
+        props.put(Environment.USE_SECOND_LEVEL_CACHE, String.valueOf(enabled));
+        props.put(Environment.USE_QUERY_CACHE, String.valueOf(enabled));
+        props.put(Environment.GENERATE_STATISTICS, env.get("CACHE_STATISTICS", "true"));
+        props.put(Environment.LOG_SESSION_METRICS, "false");
+        if (enabled) {
+            props.put(Environment.CACHE_REGION_FACTORY, "jcache");
+            props.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+            props.put("hibernate.javax.cache.uri", env.get("CACHE_CONFIG", "ehcache.xml"));
+            props.put("hibernate.javax.cache.missing_cache_strategy", "create-warn");
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.restaurant.config;
+
+import jakarta.persistence.*;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.metamodel.Metamodel;
+import org.hibernate.StaleStateException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Backs @Transactional: while a unit is open on the current thread, every EntityManager handed out by
+// getEntityManagerFactory() is the unit's one, and the DAOs' own begin/commit join its transaction.
+public class UnitOfWork {
+    static final int MAX_ATTEMPTS = 5;
+    private static final ThreadLocal<EntityManager> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> AFTER_COMMIT = new ThreadLocal<>();
+
+    private final EntityManagerFactory emf;
+    private final EntityManagerFactory joiningFactory;
+    private final Consumer<RuntimeException> failureHandler;
+
+    public UnitOfWork(EntityManagerFactory emf) {
+        this(emf, null);
+    }
+
+    // failureHandler sees what runReported/callReported throw, commit failures included, before it is rethrown
+    public UnitOfWork(EntityManagerFactory emf, Consumer<RuntimeException> failureHandler) {
+        this.emf = emf;
+        this.joiningFactory = new JoiningFactory(emf);
+        this.failureHandler = failureHandler;
+    }
+
+    public EntityManagerFactory getEntityManagerFactory() {
+        return joiningFactory;
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    // Runs once the current unit has committed, or straight away outside one; a rolled back attempt drops it
+    public static void afterCommit(Runnable action) {
+        List<Runnable> actions = AFTER_COMMIT.get();
+        if (actions == null) {
+            action.run();
+        } else {
+            actions.add(action);
+        }
+    }
+
+    // Dooms the current unit, so nothing it has written is committed; a no-op outside a unit
+    public static void setRollbackOnly() {
+        EntityManager em = CURRENT.get();
+        if (em != null) {
+            em.getTransaction().setRollbackOnly();
+        }
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T call(Supplier<T> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+        // A version conflict means another unit committed first; rerunning the work rereads its state
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(work);
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS || !isVersionConflict(e)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public void runReported(Runnable work) {
+        callReported(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Only the outermost unit reports; a nested one leaves the failure to it. The caller still gets the exception.
+    public <T> T callReported(Supplier<T> work) {
+        if (failureHandler == null || CURRENT.get() != null) {
+            return call(work);
+        }
+        try {
+            return call(work);
+        } catch (RuntimeException e) {
+            failureHandler.accept(e);
+            throw e;
+        }
+    }
+
+    private <T> T attempt(Supplier<T> work) {
+        List<Runnable> committed = new ArrayList<>();
+        T result;
+        try (EntityManager em = emf.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            CURRENT.set(shared(em, new JoinedTransaction(tx)));
+            AFTER_COMMIT.set(committed);
+            try {
+                tx.begin();
+                result = work.get();
+                if (tx.getRollbackOnly()) {
+                    tx.rollback();
+                    committed.clear();
+                } else {
+                    tx.commit();
+                }
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                throw e;
+            } finally {
+                CURRENT.remove();
+                AFTER_COMMIT.remove();
+            }
+        }
+        committed.forEach(Runnable::run);
+        return result;
+    }
+
+    private static boolean isVersionConflict(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof OptimisticLockException || t instanceof StaleStateException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The unit owns the EntityManager: closing it from a DAO's try-with-resources is a no-op
+    private static EntityManager shared(EntityManager em, EntityTransaction joined) {
+        return (EntityManager) Proxy.newProxyInstance(
+                UnitOfWork.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "close" -> null;
+                    case "getTransaction" -> joined;
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        try {
+                            yield method.invoke(em, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                }
+        );
+    }
+
+    // Commit is left to the unit; a rollback from a DAO dooms the whole unit
+    private record JoinedTransaction(EntityTransaction outer) implements EntityTransaction {
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void commit() {
+        }
+
+        @Override
+        public void rollback() {
+            outer.setRollbackOnly();
+        }
+
+        @Override
+        public void setRollbackOnly() {
+            outer.setRollbackOnly();
+        }
+
+        @Override
+        public boolean getRollbackOnly() {
+            return outer.getRollbackOnly();
+        }
+
+        @Override
+        public boolean isActive() {
+            return outer.isActive();
+        }
+    }
+
+    private record JoiningFactory(EntityManagerFactory delegate) implements EntityManagerFactory {
+        @Override
+        public EntityManager createEntityManager() {
+            EntityManager shared = CURRENT.get();
+            return shared != null ? shared : delegate.createEntityManager();
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public EntityManager createEntityManager(Map map) {
+            EntityManager shared = CURRENT.get();
+            return shared != null ? shared : delegate.createEntityManager(map);
+        }
+
+        @Override
+        public EntityManager createEntityManager(SynchronizationType synchronizationType) {
+            EntityManager shared = CURRENT.get();
+            return shared != null ? shared : delegate.createEntityManager(synchronizationType);
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public EntityManager createEntityManager(SynchronizationType synchronizationType, Map map) {
+            EntityManager shared = CURRENT.get();
+            return shared != null ? shared : delegate.createEntityManager(synchronizationType, map);
+        }
+
+        @Override
+        public CriteriaBuilder getCriteriaBuilder() {
+            return delegate.getCriteriaBuilder();
+        }
+
+        @Override
+        public Metamodel getMetamodel() {
+            return delegate.getMetamodel();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+
+        @Override
+        public Map<String, Object> getProperties() {
+            return delegate.getProperties();
+        }
+
+        @Override
+        public Cache getCache() {
+            return delegate.getCache();
+        }
+
+        @Override
+        public PersistenceUnitUtil getPersistenceUnitUtil() {
+            return delegate.getPersistenceUnitUtil();
+        }
+
+        @Override
+        public void addNamedQuery(String name, Query query) {
+            delegate.addNamedQuery(name, query);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> cls) {
+            return delegate.unwrap(cls);
+        }
+
+        @Override
+        public <T> void addNamedEntityGraph(String graphName, EntityGraph<T> entityGraph) {
+            delegate.addNamedEntityGraph(graphName, entityGraph);
+        }
+    }
+}
@@ -41,16 +41,42 @@ public enum BookingTimeSlot {
     SLOT_23_30("23:30");
 
 
+    private static final BookingTimeSlot[] SLOTS = values();
+
     private final String time;
+    private final int minuteOfDay;
 
     BookingTimeSlot(String time) {
         this.time = time;
+        this.minuteOfDay = Integer.parseInt(time.substring(0, 2)) * 60 + Integer.parseInt(time.substring(3));
     }
 
     public String getTime() {
         return time;
     }
 
+    public int getMinuteOfDay() {
+        return minuteOfDay;
+    }
+
+    public static BookingTimeSlot fromMinuteOfDay(int minuteOfDay) {
+        int index = (minuteOfDay - SLOT_05_00.minuteOfDay) / 30;
+        if (index < 0 || index >= SLOTS.length || SLOTS[index].minuteOfDay != minuteOfDay) {
+            throw new IllegalArgumentException("No booking slot starts at minute " + minuteOfDay);
+        }
+        return SLOTS[index];
+    }
+
+    // One bit per slot by ordinal, so a table's bookings for a day fit in a single long
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    // Slots from start up to, but not including, end
+    public static long range(BookingTimeSlot start, BookingTimeSlot end) {
+        return (1L << end.ordinal()) - (1L << start.ordinal());
+    }
+
     @Override
     public String toString() {
         return time;
@@ -2,6 +2,7 @@ package com.restaurant.controllers;
 
 import com.restaurant.dtos.order.CreateOrderDto;
 import com.restaurant.dtos.order.GetOrderDto;
+import com.restaurant.dtos.order.OrderRow;
 import com.restaurant.dtos.order.UpdateOrderDto;
 import com.restaurant.models.Order;
 
@@ -16,5 +17,7 @@ public interface OrderController {
 
     List<Order> findOrders(GetOrderDto getOrderDto);
 
+    List<OrderRow> findOrderRows(GetOrderDto getOrderDto);
+
     Order getOrder(int id);
 }
@@ -1,7 +1,9 @@
 package com.restaurant.controllers;
 
+import com.restaurant.constants.OrderItemStatus;
 import com.restaurant.dtos.orderItem.CreateOrderItemDto;
 import com.restaurant.dtos.orderItem.GetOrderItemDto;
+import com.restaurant.dtos.orderItem.OrderItemRow;
 import com.restaurant.dtos.orderItem.UpdateOrderItemDto;
 import com.restaurant.models.OrderItem;
 
@@ -10,11 +12,18 @@ import java.util.List;
 public interface OrderItemController {
     void createOrderItem(CreateOrderItemDto createOrderItemDto);
 
+    // All items must belong to the same order; they are added together or not at all
+    void createOrderItems(List<CreateOrderItemDto> createOrderItemDtos);
+
     void updateOrderItem(UpdateOrderItemDto updateOrderItemDto);
 
+    void updateOrderItemStatus(int id, OrderItemStatus expected, OrderItemStatus next);
+
     void deleteOrderItem(int id);
 
     OrderItem getOrderItem(int id);
 
     List<OrderItem> findOrderItems(GetOrderItemDto getOrderItemsDto);
+
+    List<OrderItemRow> findOrderItemRows(GetOrderItemDto getOrderItemDto);
 }
@@ -2,6 +2,7 @@ package com.restaurant.controllers;
 
 import com.restaurant.dtos.payment.CreatePaymentDto;
 import com.restaurant.dtos.payment.GetPaymentDto;
+import com.restaurant.dtos.payment.PaymentRow;
 import com.restaurant.models.Payment;
 
 import java.util.List;
@@ -10,4 +11,6 @@ public interface PaymentController {
     void createPayment(CreatePaymentDto createPaymentDto);
 
     List<Payment> findPayments(GetPaymentDto getPaymentDto);
+
+    List<PaymentRow> findPaymentRows(GetPaymentDto getPaymentDto);
 }
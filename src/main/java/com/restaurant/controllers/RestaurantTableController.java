@@ -3,9 +3,11 @@ package com.restaurant.controllers;
 import com.restaurant.dtos.restaurantTable.CreateRestaurantTableDto;
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableDto;
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableForBookingDto;
+import com.restaurant.dtos.restaurantTable.TableOccupancy;
 import com.restaurant.dtos.restaurantTable.UpdateRestaurantTableDto;
 import com.restaurant.models.RestaurantTable;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface RestaurantTableController {
@@ -17,5 +19,7 @@ public interface RestaurantTableController {
 
     List<RestaurantTable> findTablesForBooking(GetRestaurantTableForBookingDto getRestaurantTableForBookingDto);
 
+    TableOccupancy getOccupancy(int restaurantId, LocalDate date);
+
     List<RestaurantTable> findAllTablesForOrder(int restaurantId);
 }
@@ -1,7 +1,9 @@
 package com.restaurant.controllers;
 
+import com.restaurant.constants.ShipmentStatus;
 import com.restaurant.dtos.shipment.CreateShipmentDto;
 import com.restaurant.dtos.shipment.GetShipmentDto;
+import com.restaurant.dtos.shipment.ShipmentRow;
 import com.restaurant.dtos.shipment.UpdateShipmentDto;
 import com.restaurant.models.Shipment;
 
@@ -12,5 +14,11 @@ public interface ShipmentController {
 
     void updateShipment(UpdateShipmentDto updateShipmentDto);
 
+    void updateShipmentStatus(int id, ShipmentStatus expected, ShipmentStatus next);
+
     List<Shipment> findShipments(GetShipmentDto getShipmentDto);
+
+    List<ShipmentRow> findShipmentRows(GetShipmentDto getShipmentDto);
+
+    Shipment getShipment(int id);
 }
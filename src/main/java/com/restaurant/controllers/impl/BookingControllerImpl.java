@@ -1,12 +1,16 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
+import com.restaurant.constants.BookingStatus;
 import com.restaurant.constants.BookingTimeSlot;
 import com.restaurant.controllers.BookingController;
+import com.restaurant.daos.BookingAvailabilityDAO;
 import com.restaurant.daos.BookingDAO;
 import com.restaurant.daos.CustomerDAO;
 import com.restaurant.daos.RestaurantTableDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.booking.CreateBookingDto;
 import com.restaurant.dtos.booking.GetBookingsDto;
 import com.restaurant.dtos.booking.UpdateBookingDto;
@@ -24,40 +28,35 @@ import java.util.List;
 public class BookingControllerImpl implements BookingController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private BookingDAO bookingDAO;
+    BookingDAO bookingDAO;
     @Inject
-    private CustomerDAO customerDAO;
+    CustomerDAO customerDAO;
     @Inject
-    private RestaurantTableDAO tableDAO;
+    RestaurantTableDAO tableDAO;
+    @Inject
+    BookingAvailabilityDAO availabilityDAO;
 
     public BookingControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public void createBooking(CreateBookingDto dto) {
         LocalDate today = LocalDate.now();
         if (dto.getDate().isBefore(today)) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Booking date must be in the future"));
             return;
         }
         BookingTimeSlot start = dto.getStartTime();
         BookingTimeSlot end = dto.getEndTime();
         if (end.ordinal() <= start.ordinal()) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("End time must be after start time"));
             return;
         }
         RestaurantTable table = tableDAO.getById(dto.getTableId());
-        GetBookingsDto filter = new GetBookingsDto();
-        filter.setTableNumber(table.getNumber());
-        filter.setDate(dto.getDate());
-        List<Booking> existing = bookingDAO.find(filter);
-        for (Booking b : existing) {
-            if (b.getStartTime().ordinal() < end.ordinal() && b.getEndTime().ordinal() > start.ordinal()) {
-                pubSubService.publish(new ErrorEvent("Overlapping booking detected: id=" + b.getId()));
-                return;
-            }
-        }
         Customer customer = customerDAO.getByPhoneNumber(dto.getCustomerPhoneNumber());
         if (customer == null) {
             customer = new Customer();
@@ -68,7 +67,12 @@ public class BookingControllerImpl implements BookingController {
         }
         Booking booking = new Booking(dto.getDate(), start, end, table);
         booking.setCustomer(customer);
-        bookingDAO.add(booking);
+        if (!bookingDAO.add(booking)) {
+            UnitOfWork.setRollbackOnly();
+            pubSubService.publish(new ErrorEvent("Overlapping booking detected for table " + table.getNumber()));
+            return;
+        }
+        availabilityDAO.bookingsChanged(table, dto.getDate());
     }
 
     @Override
@@ -82,30 +86,49 @@ public class BookingControllerImpl implements BookingController {
     }
 
     @Override
+    @Transactional
     public void updateBooking(UpdateBookingDto dto) {
         Booking booking = bookingDAO.getById(dto.getId());
         if (booking == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Booking not found for ID " + dto.getId()));
             return;
         }
         LocalDate today = LocalDate.now();
         if (dto.getDate().isBefore(today)) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Booking date must be in the future"));
             return;
         }
         BookingTimeSlot start = dto.getStartTime();
         BookingTimeSlot end = dto.getEndTime();
         if (end.ordinal() <= start.ordinal()) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("End time must be after start time"));
             return;
         }
+        // The phone number is the customer's identity and its column is not updatable
+        if (dto.getCustomerPhoneNumber() != null && !Customer.normalizePhoneNumber(dto.getCustomerPhoneNumber())
+                .equals(booking.getCustomer().getPhoneNumber())) {
+            UnitOfWork.setRollbackOnly();
+            pubSubService.publish(new ErrorEvent("Customer phone number cannot be changed"));
+            return;
+        }
         RestaurantTable table = tableDAO.getById(dto.getTableId());
+        RestaurantTable oldTable = booking.getTable();
+        LocalDate oldDate = booking.getDate();
+        boolean wasHeld = booking.getStatus() == BookingStatus.BOOKED;
+        boolean moved = oldTable.getId() != table.getId() || !oldDate.equals(dto.getDate())
+                || booking.getStartTime() != start || booking.getEndTime() != end;
         booking.setDate(dto.getDate());
         booking.setStartTime(start);
         booking.setEndTime(end);
         if (dto.getStatus() != null) {
             booking.setStatus(dto.getStatus());
         }
+        boolean held = booking.getStatus() == BookingStatus.BOOKED;
+        // Only a BOOKED booking holds slots, so cancelling or completing one frees them and rebooking takes them back
+        boolean reslotted = wasHeld != held || held && moved;
         if (booking.getTable().getId() != table.getId()) {
             booking.setTable(table);
         }
@@ -115,10 +138,6 @@ public class BookingControllerImpl implements BookingController {
             c.setName(dto.getCustomerName());
             changed = true;
         }
-        if (dto.getCustomerPhoneNumber() != null && !dto.getCustomerPhoneNumber().equals(c.getPhoneNumber())) {
-            c.setPhoneNumber(dto.getCustomerPhoneNumber());
-            changed = true;
-        }
         if (dto.getCustomerEmail() != null && !dto.getCustomerEmail().equals(c.getEmail())) {
             c.setEmail(dto.getCustomerEmail());
             changed = true;
@@ -126,11 +145,28 @@ public class BookingControllerImpl implements BookingController {
         if (changed) {
             customerDAO.update(c);
         }
-        bookingDAO.update(booking);
+        if (!reslotted) {
+            bookingDAO.update(booking);
+            return;
+        }
+        if (!bookingDAO.reschedule(booking)) {
+            UnitOfWork.setRollbackOnly();
+            pubSubService.publish(new ErrorEvent("Overlapping booking detected for table " + table.getNumber()));
+            return;
+        }
+        availabilityDAO.bookingsChanged(oldTable, oldDate);
+        if (oldTable.getId() != table.getId() || !oldDate.equals(dto.getDate())) {
+            availabilityDAO.bookingsChanged(table, dto.getDate());
+        }
     }
 
     @Override
+    @Transactional
     public void deleteBooking(int id) {
+        Booking booking = bookingDAO.getById(id);
         bookingDAO.delete(id);
+        if (booking != null) {
+            availabilityDAO.bookingsChanged(booking.getTable(), booking.getDate());
+        }
     }
 }
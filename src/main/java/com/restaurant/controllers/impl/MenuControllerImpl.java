@@ -1,10 +1,12 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
 import com.restaurant.controllers.MenuController;
 import com.restaurant.daos.MenuDAO;
 import com.restaurant.daos.RestaurantDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.menu.CreateMenuDto;
 import com.restaurant.dtos.menu.GetMenuDto;
 import com.restaurant.dtos.menu.UpdateMenuDto;
@@ -20,17 +22,19 @@ import java.util.List;
 public class MenuControllerImpl implements MenuController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private MenuDAO menuDAO;
+    MenuDAO menuDAO;
     @Inject
-    private RestaurantDAO restaurantDAO;
+    RestaurantDAO restaurantDAO;
 
     public MenuControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public void createMenu(CreateMenuDto dto) {
         if (menuDAO.existsByNameAndRestaurant(dto.getName(), dto.getRestaurantId())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Duplicate menu detected: name=" + dto.getName()));
             return;
         }
@@ -48,11 +52,13 @@ public class MenuControllerImpl implements MenuController {
     }
 
     @Override
+    @Transactional
     public void updateMenu(UpdateMenuDto dto) {
         Menu m = menuDAO.getById(dto.getId());
         if (m == null) return;
         if (!m.getName().equals(dto.getName())
                 && menuDAO.existsByNameAndRestaurant(dto.getName(), dto.getRestaurantId(), dto.getId())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Duplicate menu detected: name=" + dto.getName()));
             return;
         }
@@ -66,6 +72,7 @@ public class MenuControllerImpl implements MenuController {
     }
 
     @Override
+    @Transactional
     public void deleteMenu(int id) {
         menuDAO.delete(id);
     }
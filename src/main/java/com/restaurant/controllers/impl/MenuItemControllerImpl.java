@@ -1,10 +1,12 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
 import com.restaurant.controllers.MenuItemController;
 import com.restaurant.daos.MenuDAO;
 import com.restaurant.daos.MenuItemDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.menuItem.CreateMenuItemDto;
 import com.restaurant.dtos.menuItem.GetMenuItemsDto;
 import com.restaurant.dtos.menuItem.UpdateMenuItemDto;
@@ -20,22 +22,25 @@ import java.util.List;
 public class MenuItemControllerImpl implements MenuItemController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private MenuItemDAO menuItemDAO;
+    MenuItemDAO menuItemDAO;
     @Inject
-    private MenuDAO menuDAO;
+    MenuDAO menuDAO;
 
     public MenuItemControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public void createMenuItem(CreateMenuItemDto dto) {
         if (menuItemDAO.existsByName(dto.getName())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Duplicate menu item: " + dto.getName()));
             return;
         }
         Menu menu = menuDAO.getById(dto.getMenuId());
         if (menu == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Menu not found: " + dto.getMenuId()));
             return;
         }
@@ -48,13 +53,16 @@ public class MenuItemControllerImpl implements MenuItemController {
     }
 
     @Override
+    @Transactional
     public void updateMenuItem(UpdateMenuItemDto dto) {
         MenuItem item = menuItemDAO.getById(dto.getId());
         if (item == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Menu item not found: " + dto.getId()));
             return;
         }
         if (!item.getName().equals(dto.getName()) && menuItemDAO.existsByName(dto.getName(), dto.getId())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Duplicate menu item: " + dto.getName()));
             return;
         }
@@ -70,6 +78,7 @@ public class MenuItemControllerImpl implements MenuItemController {
     }
 
     @Override
+    @Transactional
     public void deleteMenuItem(int id) {
         menuItemDAO.delete(id);
     }
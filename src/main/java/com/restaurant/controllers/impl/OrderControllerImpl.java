@@ -1,5 +1,6 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
 import com.restaurant.constants.OrderStatus;
 import com.restaurant.constants.OrderType;
 import com.restaurant.controllers.OrderController;
@@ -9,8 +10,10 @@ import com.restaurant.daos.RestaurantTableDAO;
 import com.restaurant.daos.ShipmentDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.order.CreateOrderDto;
 import com.restaurant.dtos.order.GetOrderDto;
+import com.restaurant.dtos.order.OrderRow;
 import com.restaurant.dtos.order.UpdateOrderDto;
 import com.restaurant.events.ErrorEvent;
 import com.restaurant.models.Order;
@@ -26,50 +29,60 @@ import java.util.List;
 public class OrderControllerImpl implements OrderController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private OrderDAO orderDAO;
+    OrderDAO orderDAO;
     @Inject
-    private RestaurantTableDAO tableDAO;
+    RestaurantTableDAO tableDAO;
     @Inject
-    private RestaurantDAO restaurantDAO;
+    RestaurantDAO restaurantDAO;
     @Inject
-    private ShipmentDAO shipmentDAO;
+    ShipmentDAO shipmentDAO;
 
     public OrderControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public Order createOrder(CreateOrderDto dto) {
-        if (orderDAO.hasPendingForTableAndType(dto.getRestaurantTableId(), dto.getOrderType())) {
-            pubSubService.publish(new ErrorEvent("Pending order already exists for table " + dto.getRestaurantTableId()));
+        int tableId = dto.getRestaurantTableId();
+        boolean seatsTable = tableId != 0 && dto.getOrderType() == OrderType.DINE_IN;
+        if (!seatsTable && orderDAO.hasPendingForTableAndType(tableId, dto.getOrderType())) {
+            UnitOfWork.setRollbackOnly();
+            pubSubService.publish(new ErrorEvent("Pending order already exists for table " + tableId));
             return null;
         }
-        Order order = new Order();
-        if (dto.getRestaurantTableId() != 0 && dto.getOrderType() == OrderType.DINE_IN) {
-            RestaurantTable table = tableDAO.getById(dto.getRestaurantTableId());
-            table.setAvailable(false);
-            tableDAO.update(table);
-            order.setRestaurantTable(table);
-        }
         Restaurant restaurant = restaurantDAO.getById(dto.getRestaurantId());
         if (restaurant == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Restaurant not found for ID " + dto.getRestaurantId()));
             return null;
         }
+        Order order = new Order();
+        if (seatsTable) {
+            if (!tableDAO.seat(tableId)) {
+                UnitOfWork.setRollbackOnly();
+                pubSubService.publish(new ErrorEvent("Table " + tableId + " is already occupied"));
+                return null;
+            }
+            order.setRestaurantTable(tableDAO.getById(tableId));
+        }
         order.setRestaurant(restaurant);
         order.setOrderType(dto.getOrderType());
         return orderDAO.add(order);
     }
 
     @Override
+    @Transactional
     public void updateOrder(UpdateOrderDto dto) {
         Order order = orderDAO.getById(dto.getId());
         if (order == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Order not found for ID " + dto.getId()));
             return;
         }
 
         if (order.getStatus() == OrderStatus.COMPLETED) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Cannot update completed order " + dto.getId()));
             return;
         }
@@ -78,20 +91,36 @@ public class OrderControllerImpl implements OrderController {
         OrderType oldType = order.getOrderType();
         OrderType newType = dto.getOrderType();
         Integer newTableId = dto.getRestaurantTableId() > 0 ? dto.getRestaurantTableId() : null;
-        RestaurantTable newTable = newTableId != null ? tableDAO.getById(newTableId) : null;
-        if (oldType == OrderType.DINE_IN &&
-                (newType != OrderType.DINE_IN ||
-                        (newTable != null && oldTable.getId() != newTable.getId()))) {
-            oldTable.setAvailable(true);
-            tableDAO.update(oldTable);
-            order.setRestaurantTable(null);
+        boolean takesNewTable = newType == OrderType.DINE_IN &&
+                newTableId != null &&
+                (oldTable == null || oldTable.getId() != newTableId);
+        boolean leavesOldTable = oldType == OrderType.DINE_IN && oldTable != null &&
+                (newType != OrderType.DINE_IN || takesNewTable);
+        boolean closesDineIn = newType == OrderType.DINE_IN &&
+                (dto.getStatus() == OrderStatus.COMPLETED || dto.getStatus() == OrderStatus.CANCELLED);
+        // Only the status changes: one conditional UPDATE instead of merging the order
+        if (newType == oldType && !takesNewTable && !leavesOldTable && !(closesDineIn && oldTable != null)) {
+            if (dto.getStatus() != order.getStatus() &&
+                    !orderDAO.updateStatus(order.getId(), order.getStatus(), dto.getStatus())) {
+                UnitOfWork.setRollbackOnly();
+                pubSubService.publish(new ErrorEvent("Order " + order.getId() + " is no longer " + order.getStatus()));
+            }
+            return;
         }
-        if (newType == OrderType.DINE_IN &&
-                newTable != null &&
-                (oldTable == null || oldTable.getId() != newTable.getId())) {
-            newTable.setAvailable(false);
-            tableDAO.update(newTable);
-            order.setRestaurantTable(newTable);
+        // Seat first: losing the table to another host must leave this order untouched
+        if (takesNewTable) {
+            if (!tableDAO.seat(newTableId)) {
+                UnitOfWork.setRollbackOnly();
+                pubSubService.publish(new ErrorEvent("Table " + newTableId + " is already occupied"));
+                return;
+            }
+            order.setRestaurantTable(tableDAO.getById(newTableId));
+        }
+        if (leavesOldTable) {
+            tableDAO.release(oldTable.getId());
+            if (!takesNewTable) {
+                order.setRestaurantTable(null);
+            }
         }
         if (oldType != OrderType.DINE_IN && newType == OrderType.DINE_IN) {
             Shipment toDelete = order.getShipment();
@@ -101,26 +130,17 @@ public class OrderControllerImpl implements OrderController {
                 shipmentDAO.delete(toDelete.getId());
             }
         }
-        if (oldType == OrderType.DINE_IN && newType != OrderType.DINE_IN) {
-            oldTable.setAvailable(true);
-            tableDAO.update(oldTable);
+        if (closesDineIn && order.getRestaurantTable() != null) {
+            tableDAO.release(order.getRestaurantTable().getId());
             order.setRestaurantTable(null);
         }
         order.setOrderType(newType);
         order.setStatus(dto.getStatus());
         orderDAO.update(order);
-        if (newType == OrderType.DINE_IN &&
-                (dto.getStatus() == OrderStatus.COMPLETED || dto.getStatus() == OrderStatus.CANCELLED) &&
-                order.getRestaurantTable() != null) {
-            RestaurantTable tbl = order.getRestaurantTable();
-            tbl.setAvailable(true);
-            tableDAO.update(tbl);
-            order.setRestaurantTable(null);
-            orderDAO.update(order);
-        }
     }
 
     @Override
+    @Transactional
     public void deleteOrder(int id) {
         orderDAO.delete(id);
     }
@@ -130,6 +150,11 @@ public class OrderControllerImpl implements OrderController {
         return orderDAO.find(dto);
     }
 
+    @Override
+    public List<OrderRow> findOrderRows(GetOrderDto dto) {
+        return orderDAO.findRows(dto);
+    }
+
     @Override
     public Order getOrder(int id) {
         return orderDAO.getById(id);
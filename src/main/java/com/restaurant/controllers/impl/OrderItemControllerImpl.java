@@ -1,13 +1,17 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
+import com.restaurant.constants.OrderItemStatus;
 import com.restaurant.controllers.OrderItemController;
 import com.restaurant.daos.MenuItemDAO;
 import com.restaurant.daos.OrderDAO;
 import com.restaurant.daos.OrderItemDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.orderItem.CreateOrderItemDto;
 import com.restaurant.dtos.orderItem.GetOrderItemDto;
+import com.restaurant.dtos.orderItem.OrderItemRow;
 import com.restaurant.dtos.orderItem.UpdateOrderItemDto;
 import com.restaurant.events.ErrorEvent;
 import com.restaurant.models.MenuItem;
@@ -16,25 +20,34 @@ import com.restaurant.models.OrderItem;
 import com.restaurant.pubsub.ErrorPubSubService;
 import com.restaurant.pubsub.PubSubService;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Injectable
 public class OrderItemControllerImpl implements OrderItemController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private OrderItemDAO orderItemDAO;
+    OrderItemDAO orderItemDAO;
     @Inject
-    private OrderDAO orderDAO;
+    OrderDAO orderDAO;
     @Inject
-    private MenuItemDAO menuItemDAO;
+    MenuItemDAO menuItemDAO;
 
     public OrderItemControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public void createOrderItem(CreateOrderItemDto dto) {
         if (orderItemDAO.existsByOrderAndMenuItem(dto.getOrderId(), dto.getMenuItemId(), dto.getCustomization())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Duplicate order item for order " + dto.getOrderId()));
             return;
         }
@@ -45,27 +58,96 @@ public class OrderItemControllerImpl implements OrderItemController {
         oi.setMenuItem(mi);
         oi.setQuantity(dto.getQuantity());
         oi.setCustomization(dto.getCustomization());
-        order.setTotalPrice(order.getTotalPrice() + (mi.getPrice() * dto.getQuantity()));
-        orderDAO.update(order);
         orderItemDAO.add(oi);
+        orderDAO.adjustTotal(order.getId(), mi.getPrice() * dto.getQuantity());
     }
 
     @Override
+    @Transactional
+    public void createOrderItems(List<CreateOrderItemDto> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        int orderId = dtos.get(0).getOrderId();
+        if (dtos.stream().anyMatch(dto -> dto.getOrderId() != orderId)) {
+            UnitOfWork.setRollbackOnly();
+            pubSubService.publish(new ErrorEvent("Order items must belong to one order"));
+            return;
+        }
+        Set<Integer> menuItemIds = dtos.stream().map(CreateOrderItemDto::getMenuItemId).collect(Collectors.toSet());
+        Map<Integer, Set<String>> existing = orderItemDAO.findCustomizationsByMenuItem(orderId, menuItemIds);
+        Map<Integer, Set<String>> requested = new HashMap<>();
+        for (CreateOrderItemDto dto : dtos) {
+            String customization = dto.getCustomization();
+            if (customization == null) {
+                continue;
+            }
+            if (existing.getOrDefault(dto.getMenuItemId(), Set.of()).contains(customization)
+                    || !requested.computeIfAbsent(dto.getMenuItemId(), k -> new HashSet<>()).add(customization)) {
+                UnitOfWork.setRollbackOnly();
+                pubSubService.publish(new ErrorEvent("Duplicate order item for order " + orderId));
+                return;
+            }
+        }
+
+        Order order = orderDAO.getById(orderId);
+        if (order == null) {
+            UnitOfWork.setRollbackOnly();
+            pubSubService.publish(new ErrorEvent("Order not found: " + orderId));
+            return;
+        }
+        Map<Integer, MenuItem> menuItems = menuItemDAO.findByIds(menuItemIds).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        List<OrderItem> items = new ArrayList<>(dtos.size());
+        double total = 0;
+        for (CreateOrderItemDto dto : dtos) {
+            MenuItem mi = menuItems.get(dto.getMenuItemId());
+            if (mi == null) {
+                UnitOfWork.setRollbackOnly();
+                pubSubService.publish(new ErrorEvent("Menu item not found: " + dto.getMenuItemId()));
+                return;
+            }
+            OrderItem oi = new OrderItem();
+            oi.setOrder(order);
+            oi.setMenuItem(mi);
+            oi.setQuantity(dto.getQuantity());
+            oi.setCustomization(dto.getCustomization());
+            total += mi.getPrice() * dto.getQuantity();
+            items.add(oi);
+        }
+        orderItemDAO.addAll(items);
+        orderDAO.adjustTotal(orderId, total);
+    }
+
+    @Override
+    @Transactional
     public void updateOrderItem(UpdateOrderItemDto dto) {
         OrderItem oi = orderItemDAO.getById(dto.getId());
         if (oi == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Order item not found: " + dto.getId()));
             return;
         }
-        if (dto.getQuantity() != 0) {
-            Order order = oi.getOrder();
-            order.setTotalPrice(order.getTotalPrice() - oi.getQuantity() * oi.getMenuItem().getPrice());
-            oi.setQuantity(dto.getQuantity());
-            order.setTotalPrice(order.getTotalPrice() + oi.getQuantity() * oi.getMenuItem().getPrice());
-            orderDAO.update(order);
+        int delta = dto.getQuantity() != 0 ? dto.getQuantity() - oi.getQuantity() : 0;
+        if (delta == 0) {
+            if (dto.getStatus() != null && dto.getStatus() != oi.getStatus()) {
+                updateOrderItemStatus(oi.getId(), oi.getStatus(), dto.getStatus());
+            }
+            return;
+        }
+        // Applied only at the version the delta was computed from; a concurrent edit of the item fails the version
+        // check and UnitOfWork retries the unit with the fresh quantity
+        orderItemDAO.updateQuantity(oi.getId(), dto.getQuantity(), dto.getStatus(), oi.getVersion());
+        orderDAO.adjustTotal(oi.getOrder().getId(), delta * oi.getMenuItem().getPrice());
+    }
+
+    @Override
+    @Transactional
+    public void updateOrderItemStatus(int id, OrderItemStatus expected, OrderItemStatus next) {
+        if (!orderItemDAO.updateStatus(id, expected, next)) {
+            UnitOfWork.setRollbackOnly();
+            pubSubService.publish(new ErrorEvent("Order item " + id + " is no longer " + expected));
         }
-        oi.setStatus(dto.getStatus());
-        orderItemDAO.update(oi);
     }
 
     @Override
@@ -74,15 +156,19 @@ public class OrderItemControllerImpl implements OrderItemController {
     }
 
     @Override
+    public List<OrderItemRow> findOrderItemRows(GetOrderItemDto dto) {
+        return orderItemDAO.findRows(dto);
+    }
+
+    @Override
+    @Transactional
     public void deleteOrderItem(int id) {
         OrderItem oi = orderItemDAO.getById(id);
         if (oi == null) {
             return;
         }
-        Order order = oi.getOrder();
-        order.setTotalPrice(order.getTotalPrice() - oi.getQuantity() * oi.getMenuItem().getPrice());
-        orderDAO.update(order);
         orderItemDAO.delete(id);
+        orderDAO.adjustTotal(oi.getOrder().getId(), -oi.getQuantity() * oi.getMenuItem().getPrice());
     }
 
     @Override
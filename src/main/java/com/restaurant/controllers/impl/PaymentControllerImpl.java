@@ -1,12 +1,15 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
 import com.restaurant.controllers.PaymentController;
 import com.restaurant.daos.OrderDAO;
 import com.restaurant.daos.PaymentDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.payment.CreatePaymentDto;
 import com.restaurant.dtos.payment.GetPaymentDto;
+import com.restaurant.dtos.payment.PaymentRow;
 import com.restaurant.events.ErrorEvent;
 import com.restaurant.models.Order;
 import com.restaurant.models.Payment;
@@ -19,17 +22,19 @@ import java.util.List;
 public class PaymentControllerImpl implements PaymentController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private PaymentDAO paymentDAO;
+    PaymentDAO paymentDAO;
     @Inject
-    private OrderDAO orderDAO;
+    OrderDAO orderDAO;
 
     public PaymentControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public void createPayment(CreatePaymentDto dto) {
         if (paymentDAO.existsByOrder(dto.getOrderId())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Payment already exists for order " + dto.getOrderId()));
             return;
         }
@@ -48,4 +53,9 @@ public class PaymentControllerImpl implements PaymentController {
     public List<Payment> findPayments(GetPaymentDto dto) {
         return paymentDAO.find(dto);
     }
+
+    @Override
+    public List<PaymentRow> findPaymentRows(GetPaymentDto dto) {
+        return paymentDAO.findRows(dto);
+    }
 }
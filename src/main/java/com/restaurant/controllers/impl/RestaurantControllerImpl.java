@@ -1,9 +1,11 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
 import com.restaurant.controllers.RestaurantController;
 import com.restaurant.daos.RestaurantDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.restaurant.CreateRestaurantDto;
 import com.restaurant.dtos.restaurant.GetRestaurantDto;
 import com.restaurant.dtos.restaurant.UpdateRestaurantDto;
@@ -18,15 +20,17 @@ import java.util.List;
 public class RestaurantControllerImpl implements RestaurantController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private RestaurantDAO restaurantDAO;
+    RestaurantDAO restaurantDAO;
 
     public RestaurantControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public void createRestaurant(CreateRestaurantDto dto) {
         if (restaurantDAO.existsByNameAndAddress(dto.getName(), dto.getAddress())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Duplicate restaurant: " + dto.getName()));
             return;
         }
@@ -39,9 +43,11 @@ public class RestaurantControllerImpl implements RestaurantController {
     }
 
     @Override
+    @Transactional
     public void updateRestaurant(UpdateRestaurantDto dto) {
         Restaurant r = restaurantDAO.getById(dto.getId());
         if (r == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Restaurant not found: " + dto.getId()));
             return;
         }
@@ -49,6 +55,7 @@ public class RestaurantControllerImpl implements RestaurantController {
         boolean addressChanged = !r.getAddress().equals(dto.getAddress());
         if ((nameChanged || addressChanged)
                 && restaurantDAO.existsByNameAndAddress(dto.getName(), dto.getAddress())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Duplicate restaurant: " + dto.getName()));
             return;
         }
@@ -1,13 +1,18 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
+import com.restaurant.constants.BookingTimeSlot;
 import com.restaurant.controllers.RestaurantTableController;
+import com.restaurant.daos.BookingAvailabilityDAO;
 import com.restaurant.daos.RestaurantDAO;
 import com.restaurant.daos.RestaurantTableDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.restaurantTable.CreateRestaurantTableDto;
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableDto;
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableForBookingDto;
+import com.restaurant.dtos.restaurantTable.TableOccupancy;
 import com.restaurant.dtos.restaurantTable.UpdateRestaurantTableDto;
 import com.restaurant.events.ErrorEvent;
 import com.restaurant.models.Restaurant;
@@ -15,34 +20,42 @@ import com.restaurant.models.RestaurantTable;
 import com.restaurant.pubsub.ErrorPubSubService;
 import com.restaurant.pubsub.PubSubService;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @Injectable
 public class RestaurantTableControllerImpl implements RestaurantTableController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private RestaurantTableDAO restaurantTableDAO;
+    RestaurantTableDAO restaurantTableDAO;
     @Inject
-    private RestaurantDAO restaurantDAO;
+    RestaurantDAO restaurantDAO;
+    @Inject
+    BookingAvailabilityDAO availabilityDAO;
 
     public RestaurantTableControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public void createTable(CreateRestaurantTableDto dto) {
         if (restaurantTableDAO.existsByRestaurantIdAndStartPosition(
                 dto.getRestaurantId(), dto.getStartX(), dto.getStartY(), null)) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Position (" + dto.getStartX() + "," + dto.getStartY() + ") is already taken in restaurant " + dto.getRestaurantId()));
             return;
         }
         if (restaurantTableDAO.existsByRestaurantIdAndEndPosition(
                 dto.getRestaurantId(), dto.getEndX(), dto.getEndY(), null)) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Position (" + dto.getEndX() + "," + dto.getEndY() + ") is already taken in restaurant " + dto.getRestaurantId()));
             return;
         }
         if (restaurantTableDAO.existsByRestaurantIdAndNumber(
                 dto.getRestaurantId(), dto.getNumber(), null)) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Table number " + dto.getNumber() + " already exists in restaurant " + dto.getRestaurantId()));
             return;
         }
@@ -56,27 +69,33 @@ public class RestaurantTableControllerImpl implements RestaurantTableController
         t.setEndX(dto.getEndX());
         t.setEndY(dto.getEndY());
         restaurantTableDAO.add(t);
+        availabilityDAO.tablesChanged(dto.getRestaurantId());
     }
 
     @Override
+    @Transactional
     public void updateTable(UpdateRestaurantTableDto dto) {
         RestaurantTable t = restaurantTableDAO.getById(dto.getId());
         if (t == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Table not found: " + dto.getId()));
             return;
         }
         if (restaurantTableDAO.existsByRestaurantIdAndStartPosition(
                 dto.getRestaurantId(), dto.getStartX(), dto.getStartY(), dto.getId())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Position (" + dto.getStartX() + "," + dto.getStartY() + ") is already taken in restaurant " + dto.getRestaurantId()));
             return;
         }
         if (restaurantTableDAO.existsByRestaurantIdAndEndPosition(
                 dto.getRestaurantId(), dto.getEndX(), dto.getEndY(), dto.getId())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Position (" + dto.getEndX() + "," + dto.getEndY() + ") is already taken in restaurant " + dto.getRestaurantId()));
             return;
         }
         if (restaurantTableDAO.existsByRestaurantIdAndNumber(
                 dto.getRestaurantId(), dto.getNumber(), dto.getId())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Table number " + dto.getNumber() + " already exists in restaurant " + dto.getRestaurantId()));
             return;
         }
@@ -89,6 +108,7 @@ public class RestaurantTableControllerImpl implements RestaurantTableController
         t.setEndX(dto.getEndX());
         t.setEndY(dto.getEndY());
         restaurantTableDAO.update(t);
+        availabilityDAO.tablesChanged(dto.getRestaurantId());
     }
 
     @Override
@@ -98,7 +118,22 @@ public class RestaurantTableControllerImpl implements RestaurantTableController
 
     @Override
     public List<RestaurantTable> findTablesForBooking(GetRestaurantTableForBookingDto dto) {
-        return restaurantTableDAO.findForBooking(dto);
+        TableOccupancy occupancy = getOccupancy(dto.getRestaurantId(), dto.getDate());
+        long slots = dto.getTime() != null
+                ? dto.getTime().mask()
+                : BookingTimeSlot.range(dto.getStartTime(), dto.getEndTime());
+        List<RestaurantTable> tables = new ArrayList<>();
+        for (RestaurantTable t : restaurantTableDAO.find(dto)) {
+            if (occupancy.isFree(t.getId(), slots)) {
+                tables.add(t);
+            }
+        }
+        return tables;
+    }
+
+    @Override
+    public TableOccupancy getOccupancy(int restaurantId, LocalDate date) {
+        return new TableOccupancy(date, availabilityDAO.findOccupancy(restaurantId, date));
     }
 
     @Override
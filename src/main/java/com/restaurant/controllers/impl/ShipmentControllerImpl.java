@@ -1,6 +1,8 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
 import com.restaurant.constants.ShipmentService;
+import com.restaurant.constants.ShipmentStatus;
 import com.restaurant.controllers.ShipmentController;
 import com.restaurant.daos.CustomerDAO;
 import com.restaurant.daos.OrderDAO;
@@ -8,8 +10,10 @@ import com.restaurant.daos.ShipmentDAO;
 import com.restaurant.daos.UserDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.shipment.CreateShipmentDto;
 import com.restaurant.dtos.shipment.GetShipmentDto;
+import com.restaurant.dtos.shipment.ShipmentRow;
 import com.restaurant.dtos.shipment.UpdateShipmentDto;
 import com.restaurant.events.ErrorEvent;
 import com.restaurant.models.Customer;
@@ -25,21 +29,23 @@ import java.util.List;
 public class ShipmentControllerImpl implements ShipmentController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private ShipmentDAO shipmentDAO;
+    ShipmentDAO shipmentDAO;
     @Inject
-    private OrderDAO orderDAO;
+    OrderDAO orderDAO;
     @Inject
-    private UserDAO userDAO;
+    UserDAO userDAO;
     @Inject
-    private CustomerDAO customerDAO;
+    CustomerDAO customerDAO;
 
     public ShipmentControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public void createShipment(CreateShipmentDto dto) {
         if (shipmentDAO.existsPendingByOrder(dto.getOrderId())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Pending shipment already exists for order " + dto.getOrderId()));
             return;
         }
@@ -63,28 +69,38 @@ public class ShipmentControllerImpl implements ShipmentController {
     }
 
     @Override
+    @Transactional
     public void updateShipment(UpdateShipmentDto dto) {
         Shipment s = shipmentDAO.getById(dto.getId());
         if (s == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Shipment not found for ID " + dto.getId()));
             return;
         }
 
         if (shipmentDAO.existsPendingByOrder(dto.getOrderId()) && dto.getOrderId() != s.getOrder().getId()) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Pending shipment already exists for order " + dto.getOrderId()));
             return;
         }
         s.setServiceType(dto.getServiceType());
         s.setStatus(dto.getStatus());
         Customer c = s.getCustomer();
-        if (dto.getCustomerAddress() != null) {
+        boolean changed = false;
+        if (dto.getCustomerAddress() != null && !dto.getCustomerAddress().equals(c.getAddress())) {
             c.setAddress(dto.getCustomerAddress());
+            changed = true;
         }
-        if (dto.getCustomerName() != null) {
+        if (dto.getCustomerName() != null && !dto.getCustomerName().equals(c.getName())) {
             c.setName(dto.getCustomerName());
+            changed = true;
         }
-        if (dto.getCustomerEmail() != null) {
+        if (dto.getCustomerEmail() != null && !dto.getCustomerEmail().equals(c.getEmail())) {
             c.setEmail(dto.getCustomerEmail());
+            changed = true;
+        }
+        if (changed) {
+            customerDAO.update(c);
         }
         if (dto.getServiceType() == ShipmentService.INTERNAL) {
             User shipper = userDAO.getById(dto.getShipperId());
@@ -95,8 +111,27 @@ public class ShipmentControllerImpl implements ShipmentController {
         shipmentDAO.update(s);
     }
 
+    @Override
+    @Transactional
+    public void updateShipmentStatus(int id, ShipmentStatus expected, ShipmentStatus next) {
+        if (!shipmentDAO.updateStatus(id, expected, next)) {
+            UnitOfWork.setRollbackOnly();
+            pubSubService.publish(new ErrorEvent("Shipment " + id + " is no longer " + expected));
+        }
+    }
+
     @Override
     public List<Shipment> findShipments(GetShipmentDto dto) {
         return shipmentDAO.find(dto);
     }
+
+    @Override
+    public List<ShipmentRow> findShipmentRows(GetShipmentDto dto) {
+        return shipmentDAO.findRows(dto);
+    }
+
+    @Override
+    public Shipment getShipment(int id) {
+        return shipmentDAO.getById(id);
+    }
 }
@@ -1,9 +1,11 @@
 package com.restaurant.controllers.impl;
 
+import com.restaurant.config.UnitOfWork;
 import com.restaurant.controllers.UserController;
 import com.restaurant.daos.UserDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
+import com.restaurant.di.Transactional;
 import com.restaurant.dtos.user.CreateUserDto;
 import com.restaurant.dtos.user.GetUserDto;
 import com.restaurant.dtos.user.LoginUserDto;
@@ -20,15 +22,17 @@ import java.util.List;
 public class UserControllerImpl implements UserController {
     private final PubSubService pubSubService = ErrorPubSubService.getInstance();
     @Inject
-    private UserDAO userDAO;
+    UserDAO userDAO;
 
     public UserControllerImpl() {
         // Default constructor for DI
     }
 
     @Override
+    @Transactional
     public void createUser(CreateUserDto dto) {
         if (userDAO.existsByUsername(dto.getUsername())) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("Username already taken: " + dto.getUsername()));
             return;
         }
@@ -43,9 +47,11 @@ public class UserControllerImpl implements UserController {
     }
 
     @Override
+    @Transactional
     public void updateUser(UpdateUserDto dto) {
         User u = userDAO.getById(dto.getId());
         if (u == null) {
+            UnitOfWork.setRollbackOnly();
             pubSubService.publish(new ErrorEvent("User not found: " + dto.getId()));
             return;
         }
@@ -93,6 +99,7 @@ public class UserControllerImpl implements UserController {
     }
 
     @Override
+    @Transactional
     public void deleteUser(int id) {
         userDAO.delete(id);
     }
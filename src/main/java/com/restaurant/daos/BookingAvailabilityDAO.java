@@ -0,0 +1,15 @@
+package com.restaurant.daos;
+
+import com.restaurant.models.RestaurantTable;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+// Slot sets are BookingTimeSlot masks: see BookingTimeSlot.mask() and BookingTimeSlot.range()
+public interface BookingAvailabilityDAO {
+    Map<Integer, Long> findOccupancy(int restaurantId, LocalDate date);
+
+    void bookingsChanged(RestaurantTable table, LocalDate date);
+
+    void tablesChanged(int restaurantId);
+}
@@ -6,7 +6,8 @@ import com.restaurant.models.Booking;
 import java.util.List;
 
 public interface BookingDAO {
-    void add(Booking booking);
+    // Returns false, writing nothing, when another booking already holds one of the table's slots
+    boolean add(Booking booking);
 
     Booking getById(int id);
 
@@ -14,5 +15,8 @@ public interface BookingDAO {
 
     void update(Booking booking);
 
+    // Update for a booking whose table, date, times or BOOKED status changed: its slots are released and taken again
+    boolean reschedule(Booking booking);
+
     void delete(int id);
 }
\ No newline at end of file
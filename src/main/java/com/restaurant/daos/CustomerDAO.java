@@ -1,5 +1,6 @@
 package com.restaurant.daos;
 
+import com.restaurant.config.CacheMetrics;
 import com.restaurant.models.Customer;
 
 import java.util.List;
@@ -14,4 +15,8 @@ public interface CustomerDAO {
     Customer getByPhoneNumber(String phoneNumber);
 
     Customer getById(int id);
+
+    int warmUp(int limit);
+
+    CacheMetrics.RegionStats cacheStats();
 }
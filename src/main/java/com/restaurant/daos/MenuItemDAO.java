@@ -3,6 +3,7 @@ package com.restaurant.daos;
 import com.restaurant.dtos.menuItem.GetMenuItemsDto;
 import com.restaurant.models.MenuItem;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MenuItemDAO {
@@ -21,4 +22,8 @@ public interface MenuItemDAO {
     boolean existsByName(String name, Integer excludeId);
 
     List<MenuItem> findByRestaurantId(int restaurantId);
+
+    List<MenuItem> findByIds(Collection<Integer> ids);
+
+    int recomputeOrderedCounts(int batchSize);
 }
\ No newline at end of file
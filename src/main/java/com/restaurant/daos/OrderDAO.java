@@ -1,7 +1,9 @@
 package com.restaurant.daos;
 
+import com.restaurant.constants.OrderStatus;
 import com.restaurant.constants.OrderType;
 import com.restaurant.dtos.order.GetOrderDto;
+import com.restaurant.dtos.order.OrderRow;
 import com.restaurant.models.Order;
 
 import java.util.List;
@@ -13,8 +15,14 @@ public interface OrderDAO {
 
     List<Order> find(GetOrderDto dto);
 
+    List<OrderRow> findRows(GetOrderDto dto);
+
     void update(Order order);
 
+    void adjustTotal(int orderId, double delta);
+
+    boolean updateStatus(int id, OrderStatus expected, OrderStatus next);
+
     void delete(int id);
 
     boolean hasPendingForTableAndType(int tableId, OrderType type);
@@ -1,20 +1,38 @@
 package com.restaurant.daos;
 
+import com.restaurant.constants.OrderItemStatus;
 import com.restaurant.dtos.orderItem.GetOrderItemDto;
+import com.restaurant.dtos.orderItem.OrderItemRow;
 import com.restaurant.models.OrderItem;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public interface OrderItemDAO {
     void add(OrderItem item);
 
+    void addAll(List<OrderItem> items);
+
     OrderItem getById(int id);
 
     List<OrderItem> find(GetOrderItemDto dto);
 
+    List<OrderItemRow> findRows(GetOrderItemDto dto);
+
     void update(OrderItem item);
 
+    // Sets the quantity (and the status when given) and moves the ordered count; throws OptimisticLockException
+    // when the item is no longer at expectedVersion
+    void updateQuantity(int id, int quantity, OrderItemStatus status, int expectedVersion);
+
+    // Single conditional UPDATE; false when the row is no longer in the expected status
+    boolean updateStatus(int id, OrderItemStatus expected, OrderItemStatus next);
+
     void delete(int id);
 
     boolean existsByOrderAndMenuItem(int orderId, int menuItemId, String customization);
+
+    Map<Integer, Set<String>> findCustomizationsByMenuItem(int orderId, Collection<Integer> menuItemIds);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.restaurant.daos;
 
 import com.restaurant.dtos.payment.GetPaymentDto;
+import com.restaurant.dtos.payment.PaymentRow;
 import com.restaurant.models.Payment;
 
 import java.util.List;
@@ -12,5 +13,7 @@ public interface PaymentDAO {
 
     List<Payment> find(GetPaymentDto dto);
 
+    List<PaymentRow> findRows(GetPaymentDto dto);
+
     boolean existsByOrder(int orderId);
 }
\ No newline at end of file
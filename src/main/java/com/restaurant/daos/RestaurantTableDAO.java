@@ -1,7 +1,6 @@
 package com.restaurant.daos;
 
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableDto;
-import com.restaurant.dtos.restaurantTable.GetRestaurantTableForBookingDto;
 import com.restaurant.models.RestaurantTable;
 
 import java.util.List;
@@ -11,12 +10,14 @@ public interface RestaurantTableDAO {
 
     List<RestaurantTable> find(GetRestaurantTableDto dto);
 
-    List<RestaurantTable> findForBooking(GetRestaurantTableForBookingDto dto);
-
     RestaurantTable getById(int id);
 
     void update(RestaurantTable restaurantTable);
 
+    boolean seat(int id);
+
+    boolean release(int id);
+
     void delete(int id);
 
     boolean existsByRestaurantIdAndStartPosition(int restaurantId, int startX, int startY, Integer excludeId);
@@ -1,6 +1,8 @@
 package com.restaurant.daos;
 
+import com.restaurant.constants.ShipmentStatus;
 import com.restaurant.dtos.shipment.GetShipmentDto;
+import com.restaurant.dtos.shipment.ShipmentRow;
 import com.restaurant.models.Shipment;
 
 import java.util.List;
@@ -12,8 +14,12 @@ public interface ShipmentDAO {
 
     List<Shipment> find(GetShipmentDto dto);
 
+    List<ShipmentRow> findRows(GetShipmentDto dto);
+
     void update(Shipment shipment);
 
+    boolean updateStatus(int id, ShipmentStatus expected, ShipmentStatus next);
+
     void delete(int id);
 
     boolean existsPendingByOrder(int orderId);
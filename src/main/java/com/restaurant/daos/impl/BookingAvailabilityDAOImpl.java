@@ -0,0 +1,123 @@
+package com.restaurant.daos.impl;
+
+import com.restaurant.config.UnitOfWork;
+import com.restaurant.constants.BookingStatus;
+import com.restaurant.constants.BookingTimeSlot;
+import com.restaurant.daos.BookingAvailabilityDAO;
+import com.restaurant.di.Inject;
+import com.restaurant.di.Injectable;
+import com.restaurant.models.RestaurantTable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps one occupancy long per table for each restaurant-day the booking screens have asked about,
+// so availability is a mask test rather than a query. Only BOOKED bookings occupy slots. Writes made here
+// are applied once they commit; bookings made from another terminal show up when the day expires.
+@Injectable
+public class BookingAvailabilityDAOImpl implements BookingAvailabilityDAO {
+    static final long EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<Day, Occupancy> days = new ConcurrentHashMap<>();
+    // Bumped on every committed change, so a day loaded concurrently with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+    @Inject
+    EntityManagerFactory emf;
+
+    public BookingAvailabilityDAOImpl() {
+        // Default constructor for DI
+    }
+
+    @Override
+    public Map<Integer, Long> findOccupancy(int restaurantId, LocalDate date) {
+        return Map.copyOf(occupancy(restaurantId, date));
+    }
+
+    @Override
+    public void bookingsChanged(RestaurantTable table, LocalDate date) {
+        Day day = new Day(table.getRestaurant().getId(), date);
+        int tableId = table.getId();
+        UnitOfWork.afterCommit(() -> {
+            generation.incrementAndGet();
+            Occupancy cached = days.get(day);
+            if (cached != null) {
+                cached.masks().put(tableId, loadTable(tableId, date));
+            }
+        });
+    }
+
+    @Override
+    public void tablesChanged(int restaurantId) {
+        UnitOfWork.afterCommit(() -> {
+            generation.incrementAndGet();
+            days.keySet().removeIf(day -> day.restaurantId() == restaurantId);
+        });
+    }
+
+    private Map<Integer, Long> occupancy(int restaurantId, LocalDate date) {
+        Day day = new Day(restaurantId, date);
+        Occupancy cached = days.get(day);
+        long now = System.nanoTime();
+        if (cached != null && now - cached.loadedAt() < EXPIRY_NANOS) {
+            return cached.masks();
+        }
+        long seen = generation.get();
+        Occupancy loaded = new Occupancy(loadDay(restaurantId, date), now);
+        days.values().removeIf(o -> now - o.loadedAt() >= EXPIRY_NANOS);
+        if (generation.get() == seen) {
+            days.put(day, loaded);
+        }
+        return loaded.masks();
+    }
+
+    private Map<Integer, Long> loadDay(int restaurantId, LocalDate date) {
+        try (EntityManager em = emf.createEntityManager()) {
+            List<Object[]> rows = em.createQuery(
+                            "SELECT t.id, b.startTime, b.endTime FROM RestaurantTable t " +
+                                    "LEFT JOIN Booking b ON b.table = t AND b.date = :date AND b.status = :status " +
+                                    "WHERE t.restaurant.id = :rid", Object[].class)
+                    .setParameter("date", date)
+                    .setParameter("status", BookingStatus.BOOKED)
+                    .setParameter("rid", restaurantId)
+                    .getResultList();
+            Map<Integer, Long> masks = new ConcurrentHashMap<>();
+            for (Object[] row : rows) {
+                long booked = row[1] == null ? 0 : BookingTimeSlot.range((BookingTimeSlot) row[1], (BookingTimeSlot) row[2]);
+                masks.merge((Integer) row[0], booked, (a, b) -> a | b);
+            }
+            return masks;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Error loading table availability", e);
+        }
+    }
+
+    private long loadTable(int tableId, LocalDate date) {
+        try (EntityManager em = emf.createEntityManager()) {
+            List<Object[]> rows = em.createQuery(
+                            "SELECT b.startTime, b.endTime FROM Booking b " +
+                                    "WHERE b.table.id = :tid AND b.date = :date AND b.status = :status",
+                            Object[].class)
+                    .setParameter("tid", tableId)
+                    .setParameter("date", date)
+                    .setParameter("status", BookingStatus.BOOKED)
+                    .getResultList();
+            long booked = 0;
+            for (Object[] row : rows) {
+                booked |= BookingTimeSlot.range((BookingTimeSlot) row[0], (BookingTimeSlot) row[1]);
+            }
+            return booked;
+        }
+    }
+
+    private record Day(int restaurantId, LocalDate date) {
+    }
+
+    private record Occupancy(Map<Integer, Long> masks, long loadedAt) {
+    }
+}
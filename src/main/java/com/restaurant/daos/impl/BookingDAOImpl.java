@@ -5,11 +5,13 @@ import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
 import com.restaurant.dtos.booking.GetBookingsDto;
 import com.restaurant.models.Booking;
+import com.restaurant.models.BookingSlot;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.hibernate.exception.ConstraintViolationException;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,22 +19,27 @@ import java.util.List;
 @Injectable
 public class BookingDAOImpl implements BookingDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public BookingDAOImpl() {
         // Default constructor for DI
     }
 
+    // The slot rows are flushed with the booking, so a taken slot fails here rather than at the unit's commit
     @Override
-    public void add(Booking booking) {
+    public boolean add(Booking booking) {
         try (EntityManager em = emf.createEntityManager()) {
             EntityTransaction tx = em.getTransaction();
             try {
                 tx.begin();
                 em.persist(booking);
+                BookingSlot.of(booking).forEach(em::persist);
+                em.flush();
                 tx.commit();
+                return true;
             } catch (RuntimeException e) {
                 if (tx.isActive()) tx.rollback();
+                if (isSlotTaken(e)) return false;
                 throw e;
             }
         }
@@ -41,7 +48,7 @@ public class BookingDAOImpl implements BookingDAO {
     @Override
     public Booking getById(int id) {
         try (EntityManager em = emf.createEntityManager()) {
-            return em.find(Booking.class, id);
+            return FetchGraphs.find(em, Booking.class, id, Booking.WITH_DETAILS);
         }
     }
 
@@ -52,9 +59,6 @@ public class BookingDAOImpl implements BookingDAO {
             CriteriaQuery<Booking> cq = cb.createQuery(Booking.class);
             Root<Booking> root = cq.from(Booking.class);
 
-            root.fetch("customer", JoinType.LEFT);
-            root.fetch("table", JoinType.LEFT);
-
             List<Predicate> preds = new ArrayList<>();
             if (dto.getCustomerName() != null && !dto.getCustomerName().isBlank()) {
                 preds.add(cb.like(
@@ -83,10 +87,6 @@ public class BookingDAOImpl implements BookingDAO {
             if (dto.getEndTime() != null) {
                 preds.add(cb.equal(root.get("endTime"), dto.getEndTime()));
             }
-            if (!preds.isEmpty()) {
-                cq.where(preds.toArray(new Predicate[0]));
-            }
-
             Path<?> sortPath;
             switch (dto.getSortBy()) {
                 case "date" -> sortPath = root.get("date");
@@ -99,13 +99,17 @@ public class BookingDAOImpl implements BookingDAO {
                 case "status" -> sortPath = root.get("status");
                 default -> sortPath = root.get("id");
             }
+            Predicate after = Keyset.after(cb, root, sortPath, dto);
+            if (after != null) {
+                preds.add(after);
+            }
+            if (!preds.isEmpty()) {
+                cq.where(preds.toArray(new Predicate[0]));
+            }
+            cq.orderBy(Keyset.orderBy(cb, root, sortPath, dto));
 
-            cq.orderBy("desc".equalsIgnoreCase(dto.getSortDir())
-                    ? cb.desc(sortPath)
-                    : cb.asc(sortPath));
-
-            TypedQuery<Booking> query = em.createQuery(cq);
-            query.setFirstResult(dto.getPage() * dto.getSize());
+            TypedQuery<Booking> query = FetchGraphs.apply(em, em.createQuery(cq), Booking.WITH_DETAILS);
+            query.setFirstResult(Keyset.firstResult(dto));
             query.setMaxResults(dto.getSize());
             return query.getResultList();
         }
@@ -126,12 +130,35 @@ public class BookingDAOImpl implements BookingDAO {
         }
     }
 
+    // The old slots are deleted by a statement that runs at once: Hibernate flushes inserts before deletes,
+    // so removing them as entities would collide with the new rows for any slot the booking keeps
+    @Override
+    public boolean reschedule(Booking booking) {
+        try (EntityManager em = emf.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                releaseSlots(em, booking.getId());
+                Booking managed = em.merge(booking);
+                BookingSlot.of(managed).forEach(em::persist);
+                em.flush();
+                tx.commit();
+                return true;
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                if (isSlotTaken(e)) return false;
+                throw e;
+            }
+        }
+    }
+
     @Override
     public void delete(int id) {
         try (EntityManager em = emf.createEntityManager()) {
             EntityTransaction tx = em.getTransaction();
             try {
                 tx.begin();
+                releaseSlots(em, id);
                 Booking b = em.find(Booking.class, id);
                 if (b != null) {
                     em.remove(b);
@@ -143,4 +170,20 @@ public class BookingDAOImpl implements BookingDAO {
             }
         }
     }
+
+    private static void releaseSlots(EntityManager em, int bookingId) {
+        em.createQuery("DELETE FROM BookingSlot s WHERE s.booking.id = :id")
+                .setParameter("id", bookingId)
+                .executeUpdate();
+    }
+
+    private static boolean isSlotTaken(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase().contains(BookingSlot.UNIQUE_SLOT)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
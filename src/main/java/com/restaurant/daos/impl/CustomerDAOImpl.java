@@ -1,5 +1,7 @@
 package com.restaurant.daos.impl;
 
+import com.restaurant.config.CacheMetrics;
+import com.restaurant.config.UnitOfWork;
 import com.restaurant.daos.CustomerDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
@@ -9,15 +11,55 @@ import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
+// Regular customers book and order again and again, so lookups by phone number are answered from a bounded
+// LRU of recently seen customers. Entries are written once their unit commits and dropped when a customer is updated;
+// edits made from another terminal show up when the entry expires.
 @Injectable
 public class CustomerDAOImpl implements CustomerDAO {
+    static final int MAX_CACHED = 10_000;
+    static final long EXPIRY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Map<String, Entry> byPhone = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    if (size() <= MAX_CACHED) {
+                        return false;
+                    }
+                    phoneById.remove(eldest.getValue().customer().getId(), eldest.getKey());
+                    return true;
+                }
+            });
+    // Guarded by byPhone; lets an update evict its customer without scanning the cache
+    private final Map<Integer, String> phoneById = new HashMap<>();
+    private final long expiryNanos;
+    private final LongSupplier clock;
+    // Bumped on every update, so a customer read concurrently with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public CustomerDAOImpl() {
         // Default constructor for DI
+        this(EXPIRY_NANOS, System::nanoTime);
+    }
+
+    CustomerDAOImpl(long expiryNanos, LongSupplier clock) {
+        this.expiryNanos = expiryNanos;
+        this.clock = clock;
     }
 
     @Override
@@ -33,6 +75,7 @@ public class CustomerDAOImpl implements CustomerDAO {
                 throw e;
             }
         }
+        cacheAfterCommit(customer, generation.get());
     }
 
     @Override
@@ -57,16 +100,36 @@ public class CustomerDAOImpl implements CustomerDAO {
                 throw e;
             }
         }
+        int id = customer.getId();
+        evict(id);
+        UnitOfWork.afterCommit(() -> evict(id));
     }
 
     @Override
     public Customer getByPhoneNumber(String phoneNumber) {
+        String phone = Customer.normalizePhoneNumber(phoneNumber);
+        Entry cached = byPhone.get(phone);
+        if (cached != null) {
+            if (clock.getAsLong() - cached.cachedAt() < expiryNanos) {
+                hits.increment();
+                return copy(cached.customer());
+            }
+            synchronized (byPhone) {
+                if (byPhone.remove(phone, cached)) {
+                    phoneById.remove(cached.customer().getId(), phone);
+                }
+            }
+        }
+        misses.increment();
+        long loadedAt = generation.get();
         try (EntityManager em = emf.createEntityManager()) {
             TypedQuery<Customer> q = em.createQuery(
                     "SELECT c FROM Customer c WHERE c.phoneNumber = :phone",
                     Customer.class);
-            q.setParameter("phone", phoneNumber);
-            return q.getResultStream().findFirst().orElse(null);
+            q.setParameter("phone", phone);
+            Customer customer = q.getResultStream().findFirst().orElse(null);
+            cacheAfterCommit(customer, loadedAt);
+            return customer;
         }
     }
 
@@ -76,4 +139,75 @@ public class CustomerDAOImpl implements CustomerDAO {
             return em.find(Customer.class, id);
         }
     }
+
+    @Override
+    public int warmUp(int limit) {
+        if (limit <= 0) {
+            return 0;
+        }
+        long loadedAt = generation.get();
+        try (EntityManager em = emf.createEntityManager()) {
+            List<Customer> recent = em.createQuery(
+                            "SELECT c FROM Customer c ORDER BY c.id DESC", Customer.class)
+                    .setMaxResults(Math.min(limit, MAX_CACHED))
+                    .getResultList();
+            // Oldest first, so the most recent customers end up least likely to be evicted
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                cache(recent.get(i), loadedAt);
+            }
+            return recent.size();
+        }
+    }
+
+    @Override
+    public CacheMetrics.RegionStats cacheStats() {
+        return new CacheMetrics.RegionStats(hits.sum(), misses.sum(), puts.sum(), byPhone.size());
+    }
+
+    // A customer added or read inside a unit that later rolls back must not be cached
+    private void cacheAfterCommit(Customer customer, long loadedAt) {
+        if (customer != null) {
+            Customer snapshot = copy(customer);
+            UnitOfWork.afterCommit(() -> cache(snapshot, loadedAt));
+        }
+    }
+
+    private void cache(Customer customer, long loadedAt) {
+        if (customer.getPhoneNumber() == null || generation.get() != loadedAt) {
+            return;
+        }
+        String phone = customer.getPhoneNumber();
+        synchronized (byPhone) {
+            Entry previous = byPhone.put(phone, new Entry(copy(customer), clock.getAsLong()));
+            if (previous != null && previous.customer().getId() != customer.getId()) {
+                phoneById.remove(previous.customer().getId(), phone);
+            }
+            String oldPhone = phoneById.put(customer.getId(), phone);
+            if (oldPhone != null && !oldPhone.equals(phone)) {
+                byPhone.remove(oldPhone);
+            }
+        }
+        puts.increment();
+    }
+
+    private void evict(int id) {
+        generation.incrementAndGet();
+        synchronized (byPhone) {
+            String phone = phoneById.remove(id);
+            if (phone != null) {
+                byPhone.remove(phone);
+            }
+        }
+    }
+
+    // Callers get their own detached instance, never the cached one
+    private static Customer copy(Customer customer) {
+        Customer copy = new Customer(customer.getName(), customer.getPhoneNumber(), customer.getAddress());
+        copy.setId(customer.getId());
+        copy.setEmail(customer.getEmail());
+        return copy;
+    }
+
+    private record Entry(Customer customer, long cachedAt) {
+    }
 }
@@ -0,0 +1,61 @@
+package com.restaurant.daos.impl;
+
+import jakarta.persistence.AttributeNode;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Hibernate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Associations are lazy; each read names the entity graph its screen renders, and only that
+// graph is joined in. Anything outside the graph stays an unloaded proxy.
+final class FetchGraphs {
+    static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+
+    private FetchGraphs() {
+    }
+
+    static <T> T find(EntityManager em, Class<T> type, int id, String graph) {
+        EntityGraph<?> entityGraph = em.getEntityGraph(graph);
+        Map<String, Object> hints = new HashMap<>();
+        hints.put(FETCH_GRAPH, entityGraph);
+        T entity = em.find(type, id, hints);
+        // A second-level cache hit skips the graph's joins, so load what the graph names explicitly
+        if (entity != null) {
+            initialize(entity, entityGraph.getAttributeNodes());
+        }
+        return entity;
+    }
+
+    static <T> TypedQuery<T> apply(EntityManager em, TypedQuery<T> query, String graph) {
+        query.setHint(FETCH_GRAPH, em.getEntityGraph(graph));
+        return query;
+    }
+
+    private static void initialize(Object entity, List<AttributeNode<?>> nodes) {
+        for (AttributeNode<?> node : nodes) {
+            Object value = read(entity, node.getAttributeName());
+            if (value == null) {
+                continue;
+            }
+            Hibernate.initialize(value);
+            for (Subgraph<?> subgraph : node.getSubgraphs().values()) {
+                initialize(value, subgraph.getAttributeNodes());
+            }
+        }
+    }
+
+    // Goes through the getter: enhanced entities only load lazy attributes on accessor calls
+    private static Object read(Object entity, String attribute) {
+        String getter = "get" + Character.toUpperCase(attribute.charAt(0)) + attribute.substring(1);
+        try {
+            return entity.getClass().getMethod(getter).invoke(entity);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot read " + attribute + " of " + entity.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.restaurant.daos.impl;
+
+import com.restaurant.dtos.PaginationDto;
+import jakarta.persistence.criteria.*;
+
+import java.util.List;
+
+// Seek pagination: when the dto carries a cursor the page starts after the last seen (sort key, id)
+// instead of skipping page * size rows, so every page costs the same as the first.
+final class Keyset {
+    private Keyset() {
+    }
+
+    // Associations on a dotted sort path are LEFT joined, so sorting by e.g. shipper.name keeps rows without a shipper.
+    // A join the query already has is reused, and a trailing id is read from the foreign key without a join.
+    static Path<?> path(Root<?> root, String attribute) {
+        String[] parts = (isIdSort(attribute) ? "id" : attribute).split("\\.");
+        From<?, ?> from = root;
+        for (int i = 0; i < parts.length - 1; i++) {
+            if (i == parts.length - 2 && "id".equals(parts[i + 1])) {
+                return from.get(parts[i]).get("id");
+            }
+            from = join(from, parts[i]);
+        }
+        return from.get(parts[parts.length - 1]);
+    }
+
+    private static From<?, ?> join(From<?, ?> from, String attribute) {
+        for (Join<?, ?> join : from.getJoins()) {
+            if (attribute.equals(join.getAttribute().getName())) {
+                return join;
+            }
+        }
+        return from.join(attribute, JoinType.LEFT);
+    }
+
+    static List<Order> orderBy(CriteriaBuilder cb, Root<?> root, Path<?> sortPath, PaginationDto dto) {
+        boolean desc = isDesc(dto);
+        Order byId = desc ? cb.desc(root.get("id")) : cb.asc(root.get("id"));
+        if (isIdSort(dto.getSortBy())) {
+            return List.of(byId);
+        }
+        return List.of(desc ? cb.desc(sortPath) : cb.asc(sortPath), byId);
+    }
+
+    // Null when the page has to be read by offset
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Predicate after(CriteriaBuilder cb, Root<?> root, Path<?> sortPath, PaginationDto dto) {
+        if (!usesCursor(dto)) {
+            return null;
+        }
+        boolean desc = isDesc(dto);
+        Expression<Integer> id = root.get("id");
+        Predicate afterId = desc
+                ? cb.lessThan(id, dto.getAfterId())
+                : cb.greaterThan(id, dto.getAfterId());
+        if (isIdSort(dto.getSortBy())) {
+            return afterId;
+        }
+        Expression key = sortPath;
+        Comparable value = (Comparable) dto.getAfterKey();
+        Predicate tie = cb.and(cb.equal(key, value), afterId);
+        // MySQL sorts NULL lowest, so in descending order null keys still follow the cursor
+        return desc
+                ? cb.or(cb.lessThan(key, value), tie, cb.isNull(key))
+                : cb.or(cb.greaterThan(key, value), tie);
+    }
+
+    static int firstResult(PaginationDto dto) {
+        return usesCursor(dto) ? 0 : dto.getPage() * dto.getSize();
+    }
+
+    private static boolean usesCursor(PaginationDto dto) {
+        return dto.hasCursor() && (isIdSort(dto.getSortBy()) || dto.getAfterKey() instanceof Comparable);
+    }
+
+    private static boolean isIdSort(String sortBy) {
+        return sortBy == null || sortBy.isBlank() || "id".equals(sortBy);
+    }
+
+    private static boolean isDesc(PaginationDto dto) {
+        return "desc".equalsIgnoreCase(dto.getSortDir());
+    }
+}
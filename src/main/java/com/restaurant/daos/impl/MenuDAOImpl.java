@@ -14,7 +14,7 @@ import java.util.List;
 @Injectable
 public class MenuDAOImpl implements MenuDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public MenuDAOImpl() {
         // Default constructor for DI
@@ -41,7 +41,6 @@ public class MenuDAOImpl implements MenuDAO {
             CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<Menu> cq = cb.createQuery(Menu.class);
             Root<Menu> root = cq.from(Menu.class);
-            root.fetch("restaurant", JoinType.LEFT);
 
             List<Predicate> preds = new ArrayList<>();
             if (dto.getName() != null && !dto.getName().isBlank()) {
@@ -67,7 +66,7 @@ public class MenuDAOImpl implements MenuDAO {
                     ? cb.desc(sortPath)
                     : cb.asc(sortPath));
 
-            TypedQuery<Menu> q = em.createQuery(cq);
+            TypedQuery<Menu> q = FetchGraphs.apply(em, em.createQuery(cq), Menu.WITH_RESTAURANT);
             q.setFirstResult(dto.getPage() * dto.getSize());
             q.setMaxResults(dto.getSize());
             return q.getResultList();
@@ -114,12 +113,11 @@ public class MenuDAOImpl implements MenuDAO {
                             "SELECT m FROM Menu m " +
                                     "LEFT JOIN FETCH m.restaurant " +
                                     "LEFT JOIN FETCH m.items i " +
+                                    "LEFT JOIN FETCH i.orderCount " +
                                     "WHERE m.id = :id", Menu.class)
                     .setParameter("id", id)
                     .getSingleResult();
 
-            menu.getItems().forEach(item -> item.getOrderItems().size());
-
             return menu;
         } catch (NoResultException e) {
             return null;
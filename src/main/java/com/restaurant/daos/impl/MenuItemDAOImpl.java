@@ -1,5 +1,6 @@
 package com.restaurant.daos.impl;
 
+import com.restaurant.config.SecondLevelCache;
 import com.restaurant.daos.MenuItemDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
@@ -10,14 +11,17 @@ import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.hibernate.Session;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 
 @Injectable
 public class MenuItemDAOImpl implements MenuItemDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public MenuItemDAOImpl() {
         // Default constructor for DI
@@ -41,7 +45,7 @@ public class MenuItemDAOImpl implements MenuItemDAO {
     @Override
     public MenuItem getById(int id) {
         try (EntityManager em = emf.createEntityManager()) {
-            return em.find(MenuItem.class, id);
+            return FetchGraphs.find(em, MenuItem.class, id, MenuItem.WITH_MENU);
         }
     }
 
@@ -52,10 +56,6 @@ public class MenuItemDAOImpl implements MenuItemDAO {
             CriteriaQuery<MenuItem> cq = cb.createQuery(MenuItem.class);
             Root<MenuItem> root = cq.from(MenuItem.class);
 
-            root.fetch("menu", JoinType.LEFT)
-                    .fetch("restaurant", JoinType.LEFT);
-            root.fetch("orderItems", JoinType.LEFT);
-
             List<Predicate> preds = new ArrayList<>();
             if (dto.getName() != null && !dto.getName().isBlank()) {
                 preds.add(cb.like(
@@ -82,21 +82,22 @@ public class MenuItemDAOImpl implements MenuItemDAO {
                 ));
             }
 
-            cq.select(root).distinct(true);
+            cq.select(root);
             if (!preds.isEmpty()) {
                 cq.where(cb.and(preds.toArray(new Predicate[0])));
             }
 
-            Path<?> sortPath = root.get(
-                    dto.getSortBy() != null && !dto.getSortBy().isBlank()
-                            ? dto.getSortBy()
-                            : "id"
-            );
-            cq.orderBy("desc".equalsIgnoreCase(dto.getSortDir())
+            String sortBy = dto.getSortBy() != null && !dto.getSortBy().isBlank() ? dto.getSortBy() : "id";
+            Path<?> sortPath = "totalOrderedCount".equals(sortBy)
+                    ? root.join("orderCount", JoinType.LEFT).get("total")
+                    : root.get(sortBy);
+            Order order = "desc".equalsIgnoreCase(dto.getSortDir())
                     ? cb.desc(sortPath)
-                    : cb.asc(sortPath));
+                    : cb.asc(sortPath);
+            // Offset pages need a total order: items tied on the sort column could otherwise repeat or go missing
+            cq.orderBy("id".equals(sortBy) ? List.of(order) : List.of(order, cb.asc(root.get("id"))));
 
-            TypedQuery<MenuItem> q = em.createQuery(cq);
+            TypedQuery<MenuItem> q = FetchGraphs.apply(em, em.createQuery(cq), MenuItem.WITH_MENU);
             q.setFirstResult(dto.getPage() * dto.getSize());
             q.setMaxResults(dto.getSize());
             return q.getResultList();
@@ -111,6 +112,7 @@ public class MenuItemDAOImpl implements MenuItemDAO {
             EntityTransaction tx = em.getTransaction();
             try {
                 tx.begin();
+                // The ordered count is a separate row owned by order item writes, so the merge never writes it
                 em.merge(item);
                 tx.commit();
             } catch (RuntimeException e) {
@@ -162,8 +164,58 @@ public class MenuItemDAOImpl implements MenuItemDAO {
         try (EntityManager em = emf.createEntityManager()) {
             String jpql = "SELECT m FROM MenuItem m JOIN m.menu r WHERE r.restaurant.id = :restaurantId";
             TypedQuery<MenuItem> q = em.createQuery(jpql, MenuItem.class)
-                    .setParameter("restaurantId", restaurantId);
+                    .setParameter("restaurantId", restaurantId)
+                    .setHint(SecondLevelCache.QUERY_CACHE_HINT, true);
             return q.getResultList();
         }
     }
+
+    @Override
+    public List<MenuItem> findByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        try (EntityManager em = emf.createEntityManager()) {
+            // Ids already in the persistence context or the second-level cache skip the database, the rest share one IN query
+            return em.unwrap(Session.class)
+                    .byMultipleIds(MenuItem.class)
+                    .multiLoad(new ArrayList<>(ids))
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+    }
+
+    @Override
+    public int recomputeOrderedCounts(int batchSize) {
+        try (EntityManager em = emf.createEntityManager()) {
+            int lastId = 0;
+            int updated = 0;
+            while (true) {
+                List<Integer> ids = em.createQuery(
+                                "SELECT m.id FROM MenuItem m WHERE m.id > :after ORDER BY m.id", Integer.class)
+                        .setParameter("after", lastId)
+                        .setMaxResults(batchSize)
+                        .getResultList();
+                if (ids.isEmpty()) {
+                    return updated;
+                }
+                EntityTransaction tx = em.getTransaction();
+                try {
+                    tx.begin();
+                    updated += em.createQuery(
+                                    "UPDATE MenuItemOrderCount c SET c.total = " +
+                                            "(SELECT COALESCE(SUM(oi.quantity), 0) FROM OrderItem oi WHERE oi.menuItem.id = c.menuItemId) " +
+                                            "WHERE c.menuItemId IN :ids")
+                            .setParameter("ids", ids)
+                            .executeUpdate();
+                    tx.commit();
+                } catch (RuntimeException e) {
+                    if (tx.isActive()) tx.rollback();
+                    throw e;
+                }
+                lastId = ids.get(ids.size() - 1);
+            }
+        }
+    }
 }
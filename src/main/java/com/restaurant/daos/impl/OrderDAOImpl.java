@@ -6,20 +6,27 @@ import com.restaurant.daos.OrderDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
 import com.restaurant.dtos.order.GetOrderDto;
+import com.restaurant.dtos.order.OrderRow;
 import com.restaurant.models.Order;
+import com.restaurant.models.OrderItem;
+import com.restaurant.models.Restaurant;
+import com.restaurant.models.RestaurantTable;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Injectable
 public class OrderDAOImpl implements OrderDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public OrderDAOImpl() {
         // Default constructor for DI
@@ -51,7 +58,7 @@ public class OrderDAOImpl implements OrderDAO {
     @Override
     public Order getById(int id) {
         try (EntityManager em = emf.createEntityManager()) {
-            return em.find(Order.class, id);
+            return FetchGraphs.find(em, Order.class, id, Order.WITH_DETAILS);
         }
     }
 
@@ -61,54 +68,17 @@ public class OrderDAOImpl implements OrderDAO {
             CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<Order> cq = cb.createQuery(Order.class);
             Root<Order> root = cq.from(Order.class);
-            root.fetch("restaurantTable", JoinType.LEFT);
-
-            List<Predicate> preds = new ArrayList<>();
-            if (dto.getRestaurantTable() != null) {
-                preds.add(cb.equal(
-                        root.get("restaurantTable").get("id"),
-                        dto.getRestaurantTable().getId()
-                ));
-            }
-            if (dto.getOrderType() != null) {
-                preds.add(cb.equal(root.get("orderType"), dto.getOrderType()));
-            }
-            if (dto.getTotalPrice() > 0) {
-                preds.add(cb.equal(root.get("totalPrice"), dto.getTotalPrice()));
-            }
-            if (dto.getDate() != null) {
-                preds.add(cb.equal(
-                        cb.function("DATE", dto.getDate().getClass(), root.get("createdAt")),
-                        dto.getDate()
-                ));
-            }
-            if (dto.getStatus() != null) {
-                preds.add(cb.equal(root.get("status"), dto.getStatus()));
-            }
-            if (dto.getRestaurantId() > 0) {
-                preds.add(cb.equal(
-                        root.get("restaurant").get("id"),
-                        dto.getRestaurantId()
-                ));
-            }
+
+            Path<?> sortPath = Keyset.path(root, dto.getSortBy());
+            List<Predicate> preds = filters(cb, root, sortPath, dto);
             if (!preds.isEmpty()) {
                 cq.where(preds.toArray(new Predicate[0]));
             }
+            cq.orderBy(Keyset.orderBy(cb, root, sortPath, dto));
 
-            Path<?> sortPath = root.get(
-                    dto.getSortBy() != null && !dto.getSortBy().isBlank()
-                            ? dto.getSortBy()
-                            : "id"
-            );
-            cq.orderBy("desc".equalsIgnoreCase(dto.getSortDir())
-                    ? cb.desc(sortPath)
-                    : cb.asc(sortPath)
-            );
-
-            TypedQuery<Order> q = em.createQuery(cq);
+            TypedQuery<Order> q = FetchGraphs.apply(em, em.createQuery(cq), Order.WITH_DETAILS);
             int pageSize = dto.getSize();
-            int page = dto.getPage();
-            q.setFirstResult(page * pageSize);
+            q.setFirstResult(Keyset.firstResult(dto));
             q.setMaxResults(pageSize + 1);
 
             List<Order> fetched = q.getResultList();
@@ -120,6 +90,76 @@ public class OrderDAOImpl implements OrderDAO {
         }
     }
 
+    @Override
+    public List<OrderRow> findRows(GetOrderDto dto) {
+        try (EntityManager em = emf.createEntityManager()) {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaQuery<OrderRow> cq = cb.createQuery(OrderRow.class);
+            Root<Order> root = cq.from(Order.class);
+            Join<Order, Restaurant> restaurant = root.join("restaurant");
+            Join<Order, RestaurantTable> table = root.join("restaurantTable", JoinType.LEFT);
+            cq.select(cb.construct(OrderRow.class,
+                    root.get("id"),
+                    restaurant.get("name"),
+                    table.get("number"),
+                    root.get("orderType"),
+                    root.get("status"),
+                    root.get("totalPrice"),
+                    root.get("createdAt")
+            ));
+
+            Path<?> sortPath = Keyset.path(root, dto.getSortBy());
+            List<Predicate> preds = filters(cb, root, sortPath, dto);
+            if (!preds.isEmpty()) {
+                cq.where(preds.toArray(new Predicate[0]));
+            }
+            cq.orderBy(Keyset.orderBy(cb, root, sortPath, dto));
+
+            TypedQuery<OrderRow> q = em.createQuery(cq);
+            q.setFirstResult(Keyset.firstResult(dto));
+            q.setMaxResults(dto.getSize());
+            return q.getResultList();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Error while fetching order rows", e);
+        }
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Order> root, Path<?> sortPath, GetOrderDto dto) {
+        List<Predicate> preds = new ArrayList<>();
+        if (dto.getRestaurantTable() != null) {
+            preds.add(cb.equal(
+                    root.get("restaurantTable").get("id"),
+                    dto.getRestaurantTable().getId()
+            ));
+        }
+        if (dto.getOrderType() != null) {
+            preds.add(cb.equal(root.get("orderType"), dto.getOrderType()));
+        }
+        if (dto.getTotalPrice() > 0) {
+            preds.add(cb.equal(root.get("totalPrice"), dto.getTotalPrice()));
+        }
+        if (dto.getDate() != null) {
+            // Half-open range on the raw column so the created_at indexes can be used
+            LocalDateTime dayStart = dto.getDate().atStartOfDay();
+            preds.add(cb.greaterThanOrEqualTo(root.get("createdAt"), dayStart));
+            preds.add(cb.lessThan(root.get("createdAt"), dayStart.plusDays(1)));
+        }
+        if (dto.getStatus() != null) {
+            preds.add(cb.equal(root.get("status"), dto.getStatus()));
+        }
+        if (dto.getRestaurantId() > 0) {
+            preds.add(cb.equal(
+                    root.get("restaurant").get("id"),
+                    dto.getRestaurantId()
+            ));
+        }
+        Predicate after = Keyset.after(cb, root, sortPath, dto);
+        if (after != null) {
+            preds.add(after);
+        }
+        return preds;
+    }
+
     @Override
     public void update(Order order) {
         try (EntityManager em = emf.createEntityManager()) {
@@ -135,6 +175,50 @@ public class OrderDAOImpl implements OrderDAO {
         }
     }
 
+    // Applied in the database so concurrent item edits add up instead of overwriting each other's total
+    @Override
+    public void adjustTotal(int orderId, double delta) {
+        try (EntityManager em = emf.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                // Through the entity, so an Order the unit already holds stays current; the version check at flush
+                // makes a concurrent adjustment fail and UnitOfWork retry the unit
+                Order o = em.find(Order.class, orderId);
+                if (o != null) {
+                    o.setTotalPrice(o.getTotalPrice() + delta);
+                }
+                tx.commit();
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public boolean updateStatus(int id, OrderStatus expected, OrderStatus next) {
+        try (EntityManager em = emf.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                int updated = em.createQuery(
+                                "UPDATE Order o SET o.status = :next, o.version = o.version + 1, o.updatedAt = :now " +
+                                        "WHERE o.id = :id AND o.status = :expected")
+                        .setParameter("next", next)
+                        .setParameter("now", LocalDateTime.now())
+                        .setParameter("id", id)
+                        .setParameter("expected", expected)
+                        .executeUpdate();
+                tx.commit();
+                return updated == 1;
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                throw e;
+            }
+        }
+    }
+
     @Override
     public void delete(int id) {
         try (EntityManager em = emf.createEntityManager()) {
@@ -143,6 +227,11 @@ public class OrderDAOImpl implements OrderDAO {
                 tx.begin();
                 Order o = em.find(Order.class, id);
                 if (o != null) {
+                    Map<Integer, Integer> quantities = new HashMap<>();
+                    for (OrderItem oi : o.getItems()) {
+                        quantities.merge(oi.getMenuItem().getId(), -oi.getQuantity(), Integer::sum);
+                    }
+                    OrderedCount.adjustAll(em, quantities);
                     em.remove(o);
                 }
                 tx.commit();
@@ -1,23 +1,36 @@
 package com.restaurant.daos.impl;
 
+import com.restaurant.constants.OrderItemStatus;
 import com.restaurant.daos.OrderItemDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
 import com.restaurant.dtos.orderItem.GetOrderItemDto;
+import com.restaurant.dtos.orderItem.OrderItemRow;
+import com.restaurant.models.MenuItem;
+import com.restaurant.models.Order;
 import com.restaurant.models.OrderItem;
+import com.restaurant.models.RestaurantTable;
+import com.restaurant.models.Shipment;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Injectable
 public class OrderItemDAOImpl implements OrderItemDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public OrderItemDAOImpl() {
         // Default constructor for DI
@@ -30,6 +43,30 @@ public class OrderItemDAOImpl implements OrderItemDAO {
             try {
                 tx.begin();
                 em.persist(item);
+                OrderedCount.adjust(em, item.getMenuItem(), item.getQuantity());
+                tx.commit();
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public void addAll(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        try (EntityManager em = emf.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                Map<Integer, Integer> quantities = new HashMap<>();
+                for (OrderItem item : items) {
+                    em.persist(item);
+                    quantities.merge(item.getMenuItem().getId(), item.getQuantity(), Integer::sum);
+                }
+                OrderedCount.adjustAll(em, quantities);
                 tx.commit();
             } catch (RuntimeException e) {
                 if (tx.isActive()) tx.rollback();
@@ -41,7 +78,7 @@ public class OrderItemDAOImpl implements OrderItemDAO {
     @Override
     public OrderItem getById(int id) {
         try (EntityManager em = emf.createEntityManager()) {
-            return em.find(OrderItem.class, id);
+            return FetchGraphs.find(em, OrderItem.class, id, OrderItem.WITH_DETAILS);
         }
     }
 
@@ -51,53 +88,16 @@ public class OrderItemDAOImpl implements OrderItemDAO {
             CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<OrderItem> cq = cb.createQuery(OrderItem.class);
             Root<OrderItem> root = cq.from(OrderItem.class);
-            root.fetch("order", JoinType.LEFT);
-            root.fetch("menuItem", JoinType.INNER);
 
-            List<Predicate> preds = new ArrayList<>();
-            if (dto.getId() > 0) {
-                preds.add(cb.equal(root.get("id"), dto.getId()));
-            }
-            if (dto.getMenuItemName() != null && !dto.getMenuItemName().isBlank()) {
-                preds.add(cb.like(
-                        cb.lower(root.get("menuItem").get("name")),
-                        "%" + dto.getMenuItemName().toLowerCase() + "%"
-                ));
-            }
-            if (dto.getStatus() != null) {
-                preds.add(cb.equal(
-                        root.get("status"),
-                        dto.getStatus()
-                ));
-            }
-            if (dto.getOrderId() > 0) {
-                preds.add(cb.equal(
-                        root.get("order").get("id"),
-                        dto.getOrderId()
-                ));
-            }
-            if (dto.getRestaurantId() > 0) {
-                preds.add(cb.equal(
-                        root.get("order").get("restaurant").get("id"),
-                        dto.getRestaurantId()
-                ));
-            }
+            Path<?> sortPath = Keyset.path(root, dto.getSortBy());
+            List<Predicate> preds = filters(cb, root, sortPath, dto);
             if (!preds.isEmpty()) {
                 cq.where(cb.and(preds.toArray(new Predicate[0])));
             }
+            cq.orderBy(Keyset.orderBy(cb, root, sortPath, dto));
 
-            Path<?> sortPath = root.get(
-                    (dto.getSortBy() != null && !dto.getSortBy().isBlank())
-                            ? dto.getSortBy()
-                            : "id"
-            );
-            cq.orderBy("desc".equalsIgnoreCase(dto.getSortDir())
-                    ? cb.desc(sortPath)
-                    : cb.asc(sortPath)
-            );
-
-            TypedQuery<OrderItem> q = em.createQuery(cq);
-            q.setFirstResult(dto.getPage() * dto.getSize());
+            TypedQuery<OrderItem> q = FetchGraphs.apply(em, em.createQuery(cq), OrderItem.WITH_DETAILS);
+            q.setFirstResult(Keyset.firstResult(dto));
             q.setMaxResults(dto.getSize());
             return q.getResultList();
         } catch (RuntimeException e) {
@@ -105,6 +105,78 @@ public class OrderItemDAOImpl implements OrderItemDAO {
         }
     }
 
+    @Override
+    public List<OrderItemRow> findRows(GetOrderItemDto dto) {
+        try (EntityManager em = emf.createEntityManager()) {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaQuery<OrderItemRow> cq = cb.createQuery(OrderItemRow.class);
+            Root<OrderItem> root = cq.from(OrderItem.class);
+            Join<OrderItem, MenuItem> menuItem = root.join("menuItem");
+            Join<OrderItem, Order> order = root.join("order");
+            Join<Order, RestaurantTable> table = order.join("restaurantTable", JoinType.LEFT);
+            Join<Order, Shipment> shipment = order.join("shipment", JoinType.LEFT);
+            cq.select(cb.construct(OrderItemRow.class,
+                    root.get("id"),
+                    menuItem.get("name"),
+                    root.get("quantity"),
+                    root.get("customization"),
+                    root.get("status"),
+                    table.get("number"),
+                    shipment.get("trackingNumber")
+            ));
+
+            Path<?> sortPath = Keyset.path(root, dto.getSortBy());
+            List<Predicate> preds = filters(cb, root, sortPath, dto);
+            if (!preds.isEmpty()) {
+                cq.where(cb.and(preds.toArray(new Predicate[0])));
+            }
+            cq.orderBy(Keyset.orderBy(cb, root, sortPath, dto));
+
+            TypedQuery<OrderItemRow> q = em.createQuery(cq);
+            q.setFirstResult(Keyset.firstResult(dto));
+            q.setMaxResults(dto.getSize());
+            return q.getResultList();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Error fetching order item rows", e);
+        }
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<OrderItem> root, Path<?> sortPath, GetOrderItemDto dto) {
+        List<Predicate> preds = new ArrayList<>();
+        if (dto.getId() > 0) {
+            preds.add(cb.equal(root.get("id"), dto.getId()));
+        }
+        if (dto.getMenuItemName() != null && !dto.getMenuItemName().isBlank()) {
+            preds.add(cb.like(
+                    cb.lower(root.get("menuItem").get("name")),
+                    "%" + dto.getMenuItemName().toLowerCase() + "%"
+            ));
+        }
+        if (dto.getStatus() != null) {
+            preds.add(cb.equal(
+                    root.get("status"),
+                    dto.getStatus()
+            ));
+        }
+        if (dto.getOrderId() > 0) {
+            preds.add(cb.equal(
+                    root.get("order").get("id"),
+                    dto.getOrderId()
+            ));
+        }
+        if (dto.getRestaurantId() > 0) {
+            preds.add(cb.equal(
+                    root.get("order").get("restaurant").get("id"),
+                    dto.getRestaurantId()
+            ));
+        }
+        Predicate after = Keyset.after(cb, root, sortPath, dto);
+        if (after != null) {
+            preds.add(after);
+        }
+        return preds;
+    }
+
     @Override
     public void update(OrderItem item) {
         try (EntityManager em = emf.createEntityManager()) {
@@ -116,6 +188,8 @@ public class OrderItemDAOImpl implements OrderItemDAO {
                     throw new IllegalArgumentException("No OrderItem with id=" + item.getId());
                 }
                 if (item.getQuantity() != 0) {
+                    OrderedCount.adjust(em, managed.getMenuItem(),
+                            item.getQuantity() - managed.getQuantity());
                     managed.setQuantity(item.getQuantity());
                 }
                 if (item.getCustomization() != null) {
@@ -132,6 +206,56 @@ public class OrderItemDAOImpl implements OrderItemDAO {
         }
     }
 
+    @Override
+    public void updateQuantity(int id, int quantity, OrderItemStatus status, int expectedVersion) {
+        try (EntityManager em = emf.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                OrderItem managed = em.find(OrderItem.class, id);
+                if (managed == null) {
+                    throw new IllegalArgumentException("No OrderItem with id=" + id);
+                }
+                // The flush checks the version against the row again, so a change committed after this read fails too
+                if (managed.getVersion() != expectedVersion) {
+                    throw new OptimisticLockException(managed);
+                }
+                OrderedCount.adjust(em, managed.getMenuItem(), quantity - managed.getQuantity());
+                managed.setQuantity(quantity);
+                if (status != null) {
+                    managed.setStatus(status);
+                }
+                tx.commit();
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                throw e;
+            }
+        }
+    }
+
+    @Override
+    public boolean updateStatus(int id, OrderItemStatus expected, OrderItemStatus next) {
+        try (EntityManager em = emf.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                int updated = em.createQuery(
+                                "UPDATE OrderItem oi SET oi.status = :next, oi.version = oi.version + 1, oi.updatedAt = :now " +
+                                        "WHERE oi.id = :id AND oi.status = :expected")
+                        .setParameter("next", next)
+                        .setParameter("now", LocalDateTime.now())
+                        .setParameter("id", id)
+                        .setParameter("expected", expected)
+                        .executeUpdate();
+                tx.commit();
+                return updated == 1;
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                throw e;
+            }
+        }
+    }
+
     @Override
     public void delete(int id) {
         try (EntityManager em = emf.createEntityManager()) {
@@ -140,6 +264,7 @@ public class OrderItemDAOImpl implements OrderItemDAO {
                 tx.begin();
                 OrderItem oi = em.find(OrderItem.class, id);
                 if (oi != null) {
+                    OrderedCount.adjust(em, oi.getMenuItem(), -oi.getQuantity());
                     em.remove(oi);
                 }
                 tx.commit();
@@ -166,4 +291,29 @@ public class OrderItemDAOImpl implements OrderItemDAO {
             return q.getSingleResult() > 0;
         }
     }
+
+    // Null customizations are left out: the single-item check compares with '=', which never matches NULL
+    @Override
+    public Map<Integer, Set<String>> findCustomizationsByMenuItem(int orderId, Collection<Integer> menuItemIds) {
+        if (menuItemIds.isEmpty()) {
+            return Map.of();
+        }
+        try (EntityManager em = emf.createEntityManager()) {
+            List<Object[]> rows = em.createQuery(
+                            "SELECT oi.menuItem.id, oi.customization FROM OrderItem oi " +
+                                    "WHERE oi.order.id = :oid " +
+                                    "  AND oi.menuItem.id IN :mids " +
+                                    "  AND oi.customization IS NOT NULL",
+                            Object[].class
+                    )
+                    .setParameter("oid", orderId)
+                    .setParameter("mids", menuItemIds)
+                    .getResultList();
+            Map<Integer, Set<String>> customizations = new HashMap<>();
+            for (Object[] row : rows) {
+                customizations.computeIfAbsent((Integer) row[0], k -> new HashSet<>()).add((String) row[1]);
+            }
+            return customizations;
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package com.restaurant.daos.impl;
+
+import com.restaurant.models.MenuItem;
+import jakarta.persistence.EntityManager;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+final class OrderedCount {
+    private OrderedCount() {
+    }
+
+    // Runs inside the caller's transaction as one atomic UPDATE of the counter row; the menu item row is not touched
+    static void adjust(EntityManager em, MenuItem menuItem, int delta) {
+        if (menuItem != null) {
+            adjust(em, menuItem.getId(), delta);
+        }
+    }
+
+    // One UPDATE per menu item of the batch, in id order so concurrent batches lock rows in the same order
+    static void adjustAll(EntityManager em, Map<Integer, Integer> deltas) {
+        new TreeMap<>(deltas).forEach((menuItemId, delta) -> adjust(em, menuItemId, delta));
+    }
+
+    private static void adjust(EntityManager em, int menuItemId, int delta) {
+        if (delta == 0) return;
+        em.createQuery(
+                        "UPDATE MenuItemOrderCount c SET c.total = " +
+                                "CASE WHEN c.total + :delta < 0 THEN 0 ELSE c.total + :delta END " +
+                                "WHERE c.menuItemId = :id")
+                .setParameter("delta", delta)
+                .setParameter("id", menuItemId)
+                .executeUpdate();
+    }
+}
@@ -5,7 +5,10 @@ import com.restaurant.daos.PaymentDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
 import com.restaurant.dtos.payment.GetPaymentDto;
+import com.restaurant.dtos.payment.PaymentRow;
+import com.restaurant.models.Order;
 import com.restaurant.models.Payment;
+import com.restaurant.models.Restaurant;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
@@ -18,7 +21,7 @@ import java.util.List;
 @Injectable
 public class PaymentDAOImpl implements PaymentDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public PaymentDAOImpl() {
         // Default constructor for DI
@@ -42,7 +45,7 @@ public class PaymentDAOImpl implements PaymentDAO {
     @Override
     public Payment getById(int id) {
         try (EntityManager em = emf.createEntityManager()) {
-            return em.find(Payment.class, id);
+            return FetchGraphs.find(em, Payment.class, id, Payment.WITH_DETAILS);
         }
     }
 
@@ -52,24 +55,16 @@ public class PaymentDAOImpl implements PaymentDAO {
             CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<Payment> cq = cb.createQuery(Payment.class);
             Root<Payment> root = cq.from(Payment.class);
-            root.fetch("order", JoinType.LEFT);
 
-            List<Predicate> preds = new ArrayList<>();
-            if (dto.getOrderId() > 0) {
-                preds.add(cb.equal(root.get("order").get("id"), dto.getOrderId()));
-            }
-            if (dto.getMethod() != null) {
-                preds.add(cb.equal(root.get("method"), dto.getMethod()));
-            }
-            if (dto.getStatus() != null) {
-                preds.add(cb.equal(root.get("status"), dto.getStatus()));
-            }
+            Path<?> sortPath = Keyset.path(root, dto.getSortBy());
+            List<Predicate> preds = filters(cb, root, sortPath, dto);
             if (!preds.isEmpty()) {
                 cq.where(preds.toArray(new Predicate[0]));
             }
+            cq.orderBy(Keyset.orderBy(cb, root, sortPath, dto));
 
-            TypedQuery<Payment> q = em.createQuery(cq);
-            q.setFirstResult(dto.getPage() * dto.getSize());
+            TypedQuery<Payment> q = FetchGraphs.apply(em, em.createQuery(cq), Payment.WITH_DETAILS);
+            q.setFirstResult(Keyset.firstResult(dto));
             q.setMaxResults(dto.getSize());
             return q.getResultList();
         } catch (RuntimeException e) {
@@ -77,6 +72,58 @@ public class PaymentDAOImpl implements PaymentDAO {
         }
     }
 
+    @Override
+    public List<PaymentRow> findRows(GetPaymentDto dto) {
+        try (EntityManager em = emf.createEntityManager()) {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaQuery<PaymentRow> cq = cb.createQuery(PaymentRow.class);
+            Root<Payment> root = cq.from(Payment.class);
+            Join<Payment, Order> order = root.join("order");
+            Join<Order, Restaurant> restaurant = order.join("restaurant");
+            cq.select(cb.construct(PaymentRow.class,
+                    root.get("id"),
+                    order.get("id"),
+                    restaurant.get("name"),
+                    root.get("method"),
+                    root.get("userPayAmount"),
+                    root.get("changeAmount"),
+                    root.get("status")
+            ));
+
+            Path<?> sortPath = Keyset.path(root, dto.getSortBy());
+            List<Predicate> preds = filters(cb, root, sortPath, dto);
+            if (!preds.isEmpty()) {
+                cq.where(preds.toArray(new Predicate[0]));
+            }
+            cq.orderBy(Keyset.orderBy(cb, root, sortPath, dto));
+
+            TypedQuery<PaymentRow> q = em.createQuery(cq);
+            q.setFirstResult(Keyset.firstResult(dto));
+            q.setMaxResults(dto.getSize());
+            return q.getResultList();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Error fetching payment rows", e);
+        }
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Payment> root, Path<?> sortPath, GetPaymentDto dto) {
+        List<Predicate> preds = new ArrayList<>();
+        if (dto.getOrderId() > 0) {
+            preds.add(cb.equal(root.get("order").get("id"), dto.getOrderId()));
+        }
+        if (dto.getMethod() != null) {
+            preds.add(cb.equal(root.get("method"), dto.getMethod()));
+        }
+        if (dto.getStatus() != null) {
+            preds.add(cb.equal(root.get("status"), dto.getStatus()));
+        }
+        Predicate after = Keyset.after(cb, root, sortPath, dto);
+        if (after != null) {
+            preds.add(after);
+        }
+        return preds;
+    }
+
     @Override
     public boolean existsByOrder(int orderId) {
         try (EntityManager em = emf.createEntityManager()) {
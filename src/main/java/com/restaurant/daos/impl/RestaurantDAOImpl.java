@@ -1,5 +1,6 @@
 package com.restaurant.daos.impl;
 
+import com.restaurant.config.SecondLevelCache;
 import com.restaurant.daos.RestaurantDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
@@ -17,7 +18,7 @@ import java.util.List;
 @Injectable
 public class RestaurantDAOImpl implements RestaurantDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public RestaurantDAOImpl() {
         // Default constructor for DI
@@ -144,6 +145,7 @@ public class RestaurantDAOImpl implements RestaurantDAO {
     public List<Restaurant> findAll() {
         try (EntityManager em = emf.createEntityManager()) {
             return em.createQuery("SELECT r FROM Restaurant r", Restaurant.class)
+                    .setHint(SecondLevelCache.QUERY_CACHE_HINT, true)
                     .getResultList();
         } catch (RuntimeException e) {
             throw new RuntimeException("Error fetching all restaurants", e);
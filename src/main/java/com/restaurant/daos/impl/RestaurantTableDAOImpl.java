@@ -4,19 +4,19 @@ import com.restaurant.daos.RestaurantTableDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableDto;
-import com.restaurant.dtos.restaurantTable.GetRestaurantTableForBookingDto;
 import com.restaurant.models.RestaurantTable;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Injectable
 public class RestaurantTableDAOImpl implements RestaurantTableDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public RestaurantTableDAOImpl() {
         // Default constructor for DI
@@ -44,6 +44,7 @@ public class RestaurantTableDAOImpl implements RestaurantTableDAO {
                     "SELECT t FROM RestaurantTable t WHERE t.restaurant.id = :rid",
                     RestaurantTable.class
             );
+            FetchGraphs.apply(em, q, RestaurantTable.WITH_RESTAURANT);
             q.setParameter("rid", dto.getRestaurantId());
             return q.getResultList();
         } catch (RuntimeException e) {
@@ -52,74 +53,52 @@ public class RestaurantTableDAOImpl implements RestaurantTableDAO {
     }
 
     @Override
-    public List<RestaurantTable> findForBooking(GetRestaurantTableForBookingDto dto) {
-        if (dto.getTime() != null) {
-            try (EntityManager em = emf.createEntityManager()) {
-                String jpql = """
-                        SELECT t
-                          FROM RestaurantTable t
-                         WHERE t.restaurant.id = :rid
-                           AND t.id NOT IN (
-                             SELECT b.table.id
-                               FROM Booking b
-                              WHERE b.date = :date
-                                AND b.startTime <= :time
-                                AND b.endTime > :time
-                           )
-                        """;
-                TypedQuery<RestaurantTable> q = em.createQuery(jpql, RestaurantTable.class)
-                        .setParameter("rid", dto.getRestaurantId())
-                        .setParameter("date", dto.getDate())
-                        .setParameter("time", dto.getTime());
-
-                return q.getResultList();
-            } catch (RuntimeException e) {
-                throw new RuntimeException("Error finding tables for booking", e);
-            }
-        } else {
-            try (EntityManager em = emf.createEntityManager()) {
-                String jpql = """
-                        SELECT t
-                          FROM RestaurantTable t
-                         WHERE t.restaurant.id = :rid
-                           AND t.id NOT IN (
-                             SELECT b.table.id
-                               FROM Booking b
-                              WHERE b.date = :date
-                                AND (
-                                    (b.startTime <= :endTime AND b.endTime > :startTime)
-                                )
-                           )
-                        """;
-
-                TypedQuery<RestaurantTable> q = em.createQuery(jpql, RestaurantTable.class)
-                        .setParameter("rid", dto.getRestaurantId())
-                        .setParameter("date", dto.getDate())
-                        .setParameter("startTime", dto.getStartTime())
-                        .setParameter("endTime", dto.getEndTime());
-
-                return q.getResultList();
-            } catch (RuntimeException e) {
-                throw new RuntimeException("Error finding tables for booking", e);
-            }
+    public RestaurantTable getById(int id) {
+        try (EntityManager em = emf.createEntityManager()) {
+            return FetchGraphs.find(em, RestaurantTable.class, id, RestaurantTable.WITH_RESTAURANT);
         }
     }
 
     @Override
-    public RestaurantTable getById(int id) {
+    public void update(RestaurantTable restaurantTable) {
         try (EntityManager em = emf.createEntityManager()) {
-            return em.find(RestaurantTable.class, id);
+            EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                em.merge(restaurantTable);
+                tx.commit();
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                throw e;
+            }
         }
     }
 
+    // Compare-and-set on the available flag: of two hosts seating the same table only one updates a row
     @Override
-    public void update(RestaurantTable restaurantTable) {
+    public boolean seat(int id) {
+        return compareAndSetAvailable(id, false);
+    }
+
+    @Override
+    public boolean release(int id) {
+        return compareAndSetAvailable(id, true);
+    }
+
+    private boolean compareAndSetAvailable(int id, boolean available) {
         try (EntityManager em = emf.createEntityManager()) {
             EntityTransaction tx = em.getTransaction();
             try {
                 tx.begin();
-                em.merge(restaurantTable);
+                int updated = em.createQuery(
+                                "UPDATE RestaurantTable t SET t.available = :available, t.updatedAt = :now " +
+                                        "WHERE t.id = :id AND t.available <> :available")
+                        .setParameter("available", available)
+                        .setParameter("now", LocalDateTime.now())
+                        .setParameter("id", id)
+                        .executeUpdate();
                 tx.commit();
+                return updated == 1;
             } catch (RuntimeException e) {
                 if (tx.isActive()) tx.rollback();
                 throw e;
@@ -197,7 +176,7 @@ public class RestaurantTableDAOImpl implements RestaurantTableDAO {
     public List<RestaurantTable> findTablesForOrder(int restaurantId) {
         try (EntityManager em = emf.createEntityManager()) {
             String jpql = "SELECT t FROM RestaurantTable t WHERE t.restaurant.id = :rid AND t.available = true";
-            TypedQuery<RestaurantTable> q = em.createQuery(jpql, RestaurantTable.class)
+            TypedQuery<RestaurantTable> q = FetchGraphs.apply(em, em.createQuery(jpql, RestaurantTable.class), RestaurantTable.WITH_RESTAURANT)
                     .setParameter("rid", restaurantId);
             return q.getResultList();
         } catch (RuntimeException e) {
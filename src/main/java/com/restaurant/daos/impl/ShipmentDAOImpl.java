@@ -5,20 +5,26 @@ import com.restaurant.daos.ShipmentDAO;
 import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
 import com.restaurant.dtos.shipment.GetShipmentDto;
+import com.restaurant.dtos.shipment.ShipmentRow;
+import com.restaurant.models.Customer;
+import com.restaurant.models.Order;
+import com.restaurant.models.Restaurant;
 import com.restaurant.models.Shipment;
+import com.restaurant.models.User;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Injectable
 public class ShipmentDAOImpl implements ShipmentDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public ShipmentDAOImpl() {
         // Default constructor for DI
@@ -42,7 +48,7 @@ public class ShipmentDAOImpl implements ShipmentDAO {
     @Override
     public Shipment getById(int id) {
         try (EntityManager em = emf.createEntityManager()) {
-            return em.find(Shipment.class, id);
+            return FetchGraphs.find(em, Shipment.class, id, Shipment.WITH_DETAILS);
         }
     }
 
@@ -52,44 +58,16 @@ public class ShipmentDAOImpl implements ShipmentDAO {
             CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<Shipment> cq = cb.createQuery(Shipment.class);
             Root<Shipment> root = cq.from(Shipment.class);
-            root.fetch("order", JoinType.LEFT);
-            root.fetch("shipper", JoinType.LEFT);
-            root.fetch("customer", JoinType.LEFT);
 
-            List<Predicate> preds = new ArrayList<>();
-            if (dto.getServiceType() != null) {
-                preds.add(cb.equal(root.get("serviceType"), dto.getServiceType()));
-            }
-            if (dto.getOrderId() > 0) {
-                preds.add(cb.equal(root.get("order").get("id"), dto.getOrderId()));
-            }
-            if (dto.getShipperName() != null && !dto.getShipperName().isBlank()) {
-                preds.add(cb.like(
-                        cb.lower(root.get("shipper").get("name")),
-                        "%" + dto.getShipperName().toLowerCase() + "%"
-                ));
-            }
-            if (dto.getCustomerName() != null && !dto.getCustomerName().isBlank()) {
-                preds.add(cb.like(
-                        cb.lower(root.get("customer").get("name")),
-                        "%" + dto.getCustomerName().toLowerCase() + "%"
-                ));
-            }
-            if (dto.getStatus() != null) {
-                preds.add(cb.equal(root.get("status"), dto.getStatus()));
-            }
-            if (dto.getTrackingNumber() != null && !dto.getTrackingNumber().isBlank()) {
-                preds.add(cb.like(
-                        cb.lower(root.get("trackingNumber")),
-                        "%" + dto.getTrackingNumber().toLowerCase() + "%"
-                ));
-            }
+            Path<?> sortPath = Keyset.path(root, dto.getSortBy());
+            List<Predicate> preds = filters(cb, root, sortPath, dto);
             if (!preds.isEmpty()) {
                 cq.where(preds.toArray(new Predicate[0]));
             }
+            cq.orderBy(Keyset.orderBy(cb, root, sortPath, dto));
 
-            TypedQuery<Shipment> q = em.createQuery(cq);
-            q.setFirstResult(dto.getPage() * dto.getSize());
+            TypedQuery<Shipment> q = FetchGraphs.apply(em, em.createQuery(cq), Shipment.WITH_DETAILS);
+            q.setFirstResult(Keyset.firstResult(dto));
             q.setMaxResults(dto.getSize());
             return q.getResultList();
         } catch (RuntimeException e) {
@@ -97,6 +75,79 @@ public class ShipmentDAOImpl implements ShipmentDAO {
         }
     }
 
+    @Override
+    public List<ShipmentRow> findRows(GetShipmentDto dto) {
+        try (EntityManager em = emf.createEntityManager()) {
+            CriteriaBuilder cb = em.getCriteriaBuilder();
+            CriteriaQuery<ShipmentRow> cq = cb.createQuery(ShipmentRow.class);
+            Root<Shipment> root = cq.from(Shipment.class);
+            Join<Shipment, Order> order = root.join("order");
+            Join<Order, Restaurant> restaurant = order.join("restaurant");
+            Join<Shipment, User> shipper = root.join("shipper", JoinType.LEFT);
+            Join<Shipment, Customer> customer = root.join("customer");
+            cq.select(cb.construct(ShipmentRow.class,
+                    root.get("id"),
+                    order.get("id"),
+                    restaurant.get("name"),
+                    root.get("serviceType"),
+                    shipper.get("name"),
+                    customer.get("name"),
+                    root.get("status"),
+                    root.get("trackingNumber")
+            ));
+
+            Path<?> sortPath = Keyset.path(root, dto.getSortBy());
+            List<Predicate> preds = filters(cb, root, sortPath, dto);
+            if (!preds.isEmpty()) {
+                cq.where(preds.toArray(new Predicate[0]));
+            }
+            cq.orderBy(Keyset.orderBy(cb, root, sortPath, dto));
+
+            TypedQuery<ShipmentRow> q = em.createQuery(cq);
+            q.setFirstResult(Keyset.firstResult(dto));
+            q.setMaxResults(dto.getSize());
+            return q.getResultList();
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Error fetching shipment rows", e);
+        }
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<Shipment> root, Path<?> sortPath, GetShipmentDto dto) {
+        List<Predicate> preds = new ArrayList<>();
+        if (dto.getServiceType() != null) {
+            preds.add(cb.equal(root.get("serviceType"), dto.getServiceType()));
+        }
+        if (dto.getOrderId() > 0) {
+            preds.add(cb.equal(root.get("order").get("id"), dto.getOrderId()));
+        }
+        if (dto.getShipperName() != null && !dto.getShipperName().isBlank()) {
+            preds.add(cb.like(
+                    cb.lower(root.get("shipper").get("name")),
+                    "%" + dto.getShipperName().toLowerCase() + "%"
+            ));
+        }
+        if (dto.getCustomerName() != null && !dto.getCustomerName().isBlank()) {
+            preds.add(cb.like(
+                    cb.lower(root.get("customer").get("name")),
+                    "%" + dto.getCustomerName().toLowerCase() + "%"
+            ));
+        }
+        if (dto.getStatus() != null) {
+            preds.add(cb.equal(root.get("status"), dto.getStatus()));
+        }
+        if (dto.getTrackingNumber() != null && !dto.getTrackingNumber().isBlank()) {
+            preds.add(cb.like(
+                    cb.lower(root.get("trackingNumber")),
+                    "%" + dto.getTrackingNumber().toLowerCase() + "%"
+            ));
+        }
+        Predicate after = Keyset.after(cb, root, sortPath, dto);
+        if (after != null) {
+            preds.add(after);
+        }
+        return preds;
+    }
+
     @Override
     public void update(Shipment shipment) {
         try (EntityManager em = emf.createEntityManager()) {
@@ -112,6 +163,29 @@ public class ShipmentDAOImpl implements ShipmentDAO {
         }
     }
 
+    @Override
+    public boolean updateStatus(int id, ShipmentStatus expected, ShipmentStatus next) {
+        try (EntityManager em = emf.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            try {
+                tx.begin();
+                int updated = em.createQuery(
+                                "UPDATE Shipment s SET s.status = :next, s.updatedAt = :now " +
+                                        "WHERE s.id = :id AND s.status = :expected")
+                        .setParameter("next", next)
+                        .setParameter("now", LocalDateTime.now())
+                        .setParameter("id", id)
+                        .setParameter("expected", expected)
+                        .executeUpdate();
+                tx.commit();
+                return updated == 1;
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                throw e;
+            }
+        }
+    }
+
     @Override
     public void delete(int id) {
         try (EntityManager em = emf.createEntityManager()) {
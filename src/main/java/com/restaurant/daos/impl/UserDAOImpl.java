@@ -21,7 +21,7 @@ import java.util.List;
 @Injectable
 public class UserDAOImpl implements UserDAO {
     @Inject
-    private EntityManagerFactory emf;
+    EntityManagerFactory emf;
 
     public UserDAOImpl() {
         // Default constructor for DI
@@ -1,59 +1,82 @@
 package com.restaurant.di;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+// Bindings come from the code generated for @Injectable classes (see AppBindings.install);
+// every bound type is a singleton created on first lookup.
 public class Injector {
-    private static Injector instance;
-    private final Map<Class<?>, Object> registry = new HashMap<>();
+    private static volatile Injector instance;
+    private final Map<Class<?>, Object> registry = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Function<Injector, ?>> factories = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Class<?>> aliases = new ConcurrentHashMap<>();
+    // Guarded by this; detects dependency cycles while singletons are being created
+    private final Set<Class<?>> creating = new HashSet<>();
 
     private Injector() {
     }
 
     public static Injector getInstance() {
-        if (instance == null) {
-            instance = new Injector();
+        Injector result = instance;
+        if (result == null) {
+            synchronized (Injector.class) {
+                result = instance;
+                if (result == null) {
+                    instance = result = new Injector();
+                }
+            }
         }
-        return instance;
+        return result;
     }
 
     public <T> void register(Class<T> type, T instance) {
         registry.put(type, instance);
     }
 
+    public <T> void bind(Class<T> type, Function<Injector, ? extends T> factory) {
+        factories.put(type, factory);
+    }
+
+    public <T> void alias(Class<T> type, Class<? extends T> implementation) {
+        aliases.put(type, implementation);
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T getInstance(Class<T> type) {
-        if (registry.containsKey(type)) {
-            return (T) registry.get(type);
+        Object existing = registry.get(type);
+        if (existing != null) {
+            return (T) existing;
         }
-        return createInstance(type);
-    }
-
-    private <T> T createInstance(Class<T> type) {
-        try {
-            Constructor<T> ctor = type.getDeclaredConstructor();
-            ctor.setAccessible(true);
-            T instance = ctor.newInstance();
-            performFieldInjection(instance);
-            return instance;
-        } catch (NoSuchMethodException e) {
-            throw new RuntimeException(
-                    type.getName() + " must have a no-arg constructor for field injection", e
+        Class<?> implementation = aliases.get(type);
+        if (implementation != null) {
+            return (T) getInstance(implementation);
+        }
+        Function<Injector, ?> factory = factories.get(type);
+        if (factory == null) {
+            throw new IllegalStateException(
+                    "No binding for " + type.getName() + "; annotate it with @Injectable or register an instance"
             );
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create instance of " + type.getName(), e);
         }
+        return (T) createSingleton(type, factory);
     }
 
-    private void performFieldInjection(Object instance) throws IllegalAccessException {
-        for (Field field : instance.getClass().getDeclaredFields()) {
-            if (field.isAnnotationPresent(Inject.class)) {
-                Object dependency = getInstance(field.getType());
-                field.setAccessible(true);
-                field.set(instance, dependency);
-            }
+    private synchronized Object createSingleton(Class<?> type, Function<Injector, ?> factory) {
+        Object existing = registry.get(type);
+        if (existing != null) {
+            return existing;
+        }
+        if (!creating.add(type)) {
+            throw new IllegalStateException("Circular dependency while creating " + type.getName());
+        }
+        try {
+            Object created = factory.apply(this);
+            registry.put(type, created);
+            return created;
+        } finally {
+            creating.remove(type);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,346 @@
+package com.restaurant.di.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Generates the wiring that Injector used to discover by reflection: one <Type>_Factory per
+// @Injectable class (same package, so it can set package-private @Inject fields) and a bindings
+// class whose install(Injector) registers every factory and its interface aliases. Classes with
+// @Transactional methods are built as a <Type>_Transactional subclass that runs them in a UnitOfWork,
+// whose failure handler reports what they throw.
+@SupportedAnnotationTypes({InjectorProcessor.INJECTABLE, InjectorProcessor.INJECT, InjectorProcessor.TRANSACTIONAL})
+@SupportedOptions(InjectorProcessor.BINDINGS_OPTION)
+public class InjectorProcessor extends AbstractProcessor {
+    static final String INJECTABLE = "com.restaurant.di.Injectable";
+    static final String INJECT = "com.restaurant.di.Inject";
+    static final String TRANSACTIONAL = "com.restaurant.di.Transactional";
+    private static final String UNIT_OF_WORK = "com.restaurant.config.UnitOfWork";
+    static final String BINDINGS_OPTION = "di.bindings";
+    private static final String DEFAULT_BINDINGS = "com.restaurant.di.AppBindings";
+
+    private final Map<String, TypeElement> injectables = new TreeMap<>();
+    private boolean bindingsWritten;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement injectable = processingEnv.getElementUtils().getTypeElement(INJECTABLE);
+        TypeElement inject = processingEnv.getElementUtils().getTypeElement(INJECT);
+        TypeElement transactional = processingEnv.getElementUtils().getTypeElement(TRANSACTIONAL);
+        if (injectable == null || inject == null || transactional == null) {
+            return false;
+        }
+
+        Set<? extends Element> found = roundEnv.getElementsAnnotatedWith(injectable);
+        for (Element element : found) {
+            TypeElement type = (TypeElement) element;
+            if (validateType(type)) {
+                injectables.put(type.getQualifiedName().toString(), type);
+                writeFactory(type, inject, transactional);
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(inject)) {
+            if (!isAnnotated(element.getEnclosingElement(), injectable)) {
+                error(element, "@Inject fields are only wired in @Injectable classes");
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(transactional)) {
+            if (!isAnnotated(element.getEnclosingElement(), injectable)) {
+                error(element, "@Transactional is only honoured on methods of @Injectable classes");
+            }
+        }
+
+        // Factories generated this round are compiled in the next one; write the index once they exist
+        if (!bindingsWritten && !injectables.isEmpty() && (found.isEmpty() || roundEnv.processingOver())) {
+            writeBindings();
+            bindingsWritten = true;
+        }
+        return false;
+    }
+
+    private boolean validateType(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(type, "@Injectable must be placed on a concrete class");
+            return false;
+        }
+        for (Element e = type; e instanceof TypeElement t; e = t.getEnclosingElement()) {
+            if (t.getModifiers().contains(Modifier.PRIVATE)
+                    || (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC))) {
+                error(type, "@Injectable classes must not be private or inner (non-static) classes");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeFactory(TypeElement type, TypeElement inject, TypeElement transactional) {
+        String pkg = packageOf(type);
+        String typeName = type.getQualifiedName().toString();
+        String factory = factoryName(type);
+
+        List<ExecutableElement> transactionalMethods = ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+                .filter(m -> isAnnotated(m, transactional))
+                .toList();
+        String creation;
+        if (transactionalMethods.isEmpty()) {
+            creation = creationExpression(type);
+        } else {
+            String proxy = writeTransactionalProxy(type, transactionalMethods);
+            creation = proxy == null ? null
+                    : "new " + proxy + "(injector.getInstance(" + UNIT_OF_WORK + ".class))";
+        }
+        if (creation == null) {
+            return;
+        }
+
+        StringBuilder src = new StringBuilder();
+        if (!pkg.isEmpty()) {
+            src.append("package ").append(pkg).append(";\n\n");
+        }
+        src.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(factory).append(" {\n")
+                .append("    private ").append(factory).append("() {\n    }\n\n")
+                .append("    public static ").append(typeName).append(" create(com.restaurant.di.Injector injector) {\n")
+                .append("        ").append(typeName).append(" instance = ").append(creation).append(";\n");
+        for (VariableElement field : injectedFields(type, inject)) {
+            src.append("        instance.").append(field.getSimpleName())
+                    .append(" = injector.getInstance(").append(classLiteral(field.asType())).append(");\n");
+        }
+        src.append("        return instance;\n    }\n}\n");
+
+        write(pkg.isEmpty() ? factory : pkg + "." + factory, src.toString(), type);
+    }
+
+    // Returns the proxy's qualified name, or null when the class cannot be subclassed
+    private String writeTransactionalProxy(TypeElement type, List<ExecutableElement> methods) {
+        String pkg = packageOf(type);
+        String typeName = type.getQualifiedName().toString();
+        String proxy = factoryName(type).replaceAll("_Factory$", "_Transactional");
+
+        boolean valid = true;
+        if (type.getModifiers().contains(Modifier.FINAL)) {
+            error(type, "Classes with @Transactional methods must not be final");
+            valid = false;
+        }
+        boolean hasNoArg = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+        if (!hasNoArg) {
+            error(type, "Classes with @Transactional methods need a non-private no-arg constructor");
+            valid = false;
+        }
+        for (ExecutableElement method : methods) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+                    || modifiers.contains(Modifier.FINAL)) {
+                error(method, "@Transactional methods must be overridable instance methods");
+                valid = false;
+            }
+            boolean checked = method.getThrownTypes().stream().anyMatch(t ->
+                    !processingEnv.getTypeUtils().isAssignable(t, type("java.lang.RuntimeException"))
+                            && !processingEnv.getTypeUtils().isAssignable(t, type("java.lang.Error")));
+            if (checked) {
+                error(method, "@Transactional methods cannot declare checked exceptions");
+                valid = false;
+            }
+        }
+        if (!valid) {
+            return null;
+        }
+
+        StringBuilder src = new StringBuilder();
+        if (!pkg.isEmpty()) {
+            src.append("package ").append(pkg).append(";\n\n");
+        }
+        src.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(proxy).append(" extends ").append(typeName).append(" {\n")
+                .append("    private final ").append(UNIT_OF_WORK).append(" unitOfWork;\n\n")
+                .append("    public ").append(proxy).append("(").append(UNIT_OF_WORK).append(" unitOfWork) {\n")
+                .append("        this.unitOfWork = unitOfWork;\n    }\n");
+        for (ExecutableElement method : methods) {
+            StringJoiner params = new StringJoiner(", ");
+            StringJoiner args = new StringJoiner(", ");
+            for (VariableElement param : method.getParameters()) {
+                params.add(param.asType() + " " + param.getSimpleName());
+                args.add(param.getSimpleName());
+            }
+            String visibility = method.getModifiers().contains(Modifier.PUBLIC) ? "public "
+                    : method.getModifiers().contains(Modifier.PROTECTED) ? "protected " : "";
+            String typeParams = method.getTypeParameters().isEmpty() ? ""
+                    : method.getTypeParameters().stream()
+                    .map(TypeParameterElement::toString)
+                    .collect(Collectors.joining(", ", "<", "> "));
+            String call = "super." + method.getSimpleName() + "(" + args + ")";
+            String body = method.getReturnType().getKind() == TypeKind.VOID
+                    ? "unitOfWork.runReported(() -> " + call + ");"
+                    : "return unitOfWork.callReported(() -> " + call + ");";
+            src.append("\n    @Override\n")
+                    .append("    ").append(visibility).append(typeParams).append(method.getReturnType())
+                    .append(" ").append(method.getSimpleName()).append("(").append(params).append(") {\n")
+                    .append("        ").append(body).append("\n")
+                    .append("    }\n");
+        }
+        src.append("}\n");
+
+        write(pkg.isEmpty() ? proxy : pkg + "." + proxy, src.toString(), type);
+        return pkg.isEmpty() ? proxy : pkg + "." + proxy;
+    }
+
+    private TypeMirror type(String name) {
+        return processingEnv.getElementUtils().getTypeElement(name).asType();
+    }
+
+    private boolean isAnnotated(Element element, TypeElement annotation) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(m -> m.getAnnotationType().asElement().equals(annotation));
+    }
+
+    private String creationExpression(TypeElement type) {
+        List<ExecutableElement> ctors = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .filter(c -> !c.getModifiers().contains(Modifier.PRIVATE))
+                .toList();
+        String typeName = type.getQualifiedName().toString();
+        Optional<ExecutableElement> noArg = ctors.stream().filter(c -> c.getParameters().isEmpty()).findFirst();
+        if (noArg.isPresent()) {
+            return "new " + typeName + "()";
+        }
+        if (ctors.size() == 1) {
+            StringJoiner args = new StringJoiner(", ");
+            for (VariableElement param : ctors.get(0).getParameters()) {
+                args.add("injector.getInstance(" + classLiteral(param.asType()) + ")");
+            }
+            return "new " + typeName + "(" + args + ")";
+        }
+        // Self-managed singletons keep their private constructor and static accessor
+        boolean hasAccessor = ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+                .anyMatch(m -> m.getSimpleName().contentEquals("getInstance")
+                        && m.getParameters().isEmpty()
+                        && m.getModifiers().contains(Modifier.STATIC)
+                        && !m.getModifiers().contains(Modifier.PRIVATE)
+                        && processingEnv.getTypeUtils().isSameType(m.getReturnType(), type.asType()));
+        if (ctors.isEmpty() && hasAccessor) {
+            return typeName + ".getInstance()";
+        }
+        error(type, "@Injectable class needs a no-arg constructor, a single constructor or a static getInstance()");
+        return null;
+    }
+
+    private List<VariableElement> injectedFields(TypeElement type, TypeElement inject) {
+        List<VariableElement> fields = new ArrayList<>();
+        for (TypeElement t = type; t != null; t = superclass(t)) {
+            for (VariableElement field : ElementFilter.fieldsIn(t.getEnclosedElements())) {
+                if (!isAnnotated(field, inject)) {
+                    continue;
+                }
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)
+                        || modifiers.contains(Modifier.STATIC)) {
+                    error(field, "@Inject fields must be non-private, non-final instance fields");
+                } else if (!packageOf(t).equals(packageOf(type)) && !modifiers.contains(Modifier.PUBLIC)) {
+                    error(field, "@Inject fields inherited from another package must be public");
+                } else {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror sup = type.getSuperclass();
+        if (sup.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement el = (TypeElement) ((DeclaredType) sup).asElement();
+        return el.getQualifiedName().contentEquals("java.lang.Object") ? null : el;
+    }
+
+    private void writeBindings() {
+        String bindings = processingEnv.getOptions().getOrDefault(BINDINGS_OPTION, DEFAULT_BINDINGS);
+        int dot = bindings.lastIndexOf('.');
+        String pkg = dot < 0 ? "" : bindings.substring(0, dot);
+        String simpleName = bindings.substring(dot + 1);
+
+        // An interface is aliased to its implementation only when exactly one @Injectable implements it
+        Map<String, List<String>> implementors = new TreeMap<>();
+        for (TypeElement type : injectables.values()) {
+            for (TypeMirror iface : type.getInterfaces()) {
+                implementors.computeIfAbsent(erasure(iface), k -> new ArrayList<>())
+                        .add(type.getQualifiedName().toString());
+            }
+        }
+
+        StringBuilder src = new StringBuilder();
+        if (!pkg.isEmpty()) {
+            src.append("package ").append(pkg).append(";\n\n");
+        }
+        src.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+                .append("public final class ").append(simpleName).append(" {\n")
+                .append("    private ").append(simpleName).append("() {\n    }\n\n")
+                .append("    public static void install(com.restaurant.di.Injector injector) {\n");
+        for (TypeElement type : injectables.values()) {
+            String typeName = type.getQualifiedName().toString();
+            String pkgOfType = packageOf(type);
+            String factory = (pkgOfType.isEmpty() ? "" : pkgOfType + ".") + factoryName(type);
+            src.append("        injector.bind(").append(typeName).append(".class, ")
+                    .append(factory).append("::create);\n");
+        }
+        implementors.forEach((iface, impls) -> {
+            if (impls.size() == 1) {
+                src.append("        injector.alias(").append(iface).append(".class, ")
+                        .append(impls.get(0)).append(".class);\n");
+            }
+        });
+        src.append("    }\n}\n");
+
+        write(bindings, src.toString(), injectables.values().toArray(new Element[0]));
+    }
+
+    private void write(String name, String source, Element... origins) {
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(name, origins);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + name + ": " + e.getMessage());
+        }
+    }
+
+    private String classLiteral(TypeMirror type) {
+        return erasure(type) + ".class";
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String factoryName(TypeElement type) {
+        String pkg = packageOf(type);
+        String qualified = type.getQualifiedName().toString();
+        String local = pkg.isEmpty() ? qualified : qualified.substring(pkg.length() + 1);
+        return local.replace('.', '_') + "_Factory";
+    }
+
+    private String packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
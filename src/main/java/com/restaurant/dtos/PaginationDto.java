@@ -1,10 +1,29 @@
 package com.restaurant.dtos;
 
-public abstract class PaginationDto {
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+public abstract class PaginationDto implements Cloneable {
     private int page = 0;
     private int size = 20;
     private String sortBy = "id";
     private String sortDir = "desc";
+    // Keyset cursor: sort key and id of the last row on the previous page
+    private Object afterKey;
+    private int afterId;
+    private Deque<Object[]> visited = new ArrayDeque<>();
+
+    // A private copy for a query that runs off the EDT, so edits the view makes meanwhile cannot reach it
+    @SuppressWarnings("unchecked")
+    public <T extends PaginationDto> T copy() {
+        try {
+            PaginationDto copy = (PaginationDto) super.clone();
+            copy.visited = new ArrayDeque<>(visited);
+            return (T) copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
     public int getPage() {
         return page;
@@ -12,6 +31,44 @@ public abstract class PaginationDto {
 
     public void setPage(int page) {
         this.page = Math.max(page, 0);
+        clearCursor();
+    }
+
+    public void nextPage(Object lastSortKey, int lastId) {
+        visited.push(new Object[]{afterKey, afterId});
+        afterKey = lastSortKey;
+        afterId = lastId;
+        page++;
+    }
+
+    public void previousPage() {
+        if (page == 0) return;
+        if (visited.isEmpty()) {
+            setPage(page - 1);
+            return;
+        }
+        Object[] cursor = visited.pop();
+        afterKey = cursor[0];
+        afterId = (int) cursor[1];
+        page--;
+    }
+
+    public boolean hasCursor() {
+        return afterId > 0;
+    }
+
+    public Object getAfterKey() {
+        return afterKey;
+    }
+
+    public int getAfterId() {
+        return afterId;
+    }
+
+    private void clearCursor() {
+        afterKey = null;
+        afterId = 0;
+        visited.clear();
     }
 
     public int getSize() {
@@ -0,0 +1,18 @@
+package com.restaurant.dtos.order;
+
+import com.restaurant.constants.OrderStatus;
+import com.restaurant.constants.OrderType;
+
+import java.time.LocalDateTime;
+
+// One line of the order list, read by a constructor expression instead of hydrating the Order
+public record OrderRow(
+        int id,
+        String restaurantName,
+        Integer tableNumber,
+        OrderType orderType,
+        OrderStatus status,
+        double totalPrice,
+        LocalDateTime createdAt
+) {
+}
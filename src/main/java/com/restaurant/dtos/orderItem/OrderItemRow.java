@@ -0,0 +1,15 @@
+package com.restaurant.dtos.orderItem;
+
+import com.restaurant.constants.OrderItemStatus;
+
+// One line of the order item list; tableNumber is null for deliveries, trackingNumber until shipped
+public record OrderItemRow(
+        int id,
+        String menuItemName,
+        int quantity,
+        String customization,
+        OrderItemStatus status,
+        Integer tableNumber,
+        String trackingNumber
+) {
+}
@@ -0,0 +1,16 @@
+package com.restaurant.dtos.payment;
+
+import com.restaurant.constants.PaymentMethod;
+import com.restaurant.constants.PaymentStatus;
+
+// One line of the payment list
+public record PaymentRow(
+        int id,
+        int orderId,
+        String restaurantName,
+        PaymentMethod method,
+        double userPayAmount,
+        double changeAmount,
+        PaymentStatus status
+) {
+}
@@ -0,0 +1,32 @@
+package com.restaurant.dtos.restaurantTable;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// A restaurant's table x slot grid for one day: each table's booked BookingTimeSlots as a mask.
+// Screens load it once per restaurant and date and answer every slot selection from it.
+public record TableOccupancy(LocalDate date, Map<Integer, Long> slotsByTable) {
+    public TableOccupancy {
+        slotsByTable = Map.copyOf(slotsByTable);
+    }
+
+    public long bookedSlots(int tableId) {
+        return slotsByTable.getOrDefault(tableId, 0L);
+    }
+
+    public boolean isFree(int tableId, long slots) {
+        return (bookedSlots(tableId) & slots) == 0;
+    }
+
+    public Set<Integer> freeTableIds(long slots) {
+        Set<Integer> free = new HashSet<>();
+        for (Map.Entry<Integer, Long> table : slotsByTable.entrySet()) {
+            if ((table.getValue() & slots) == 0) {
+                free.add(table.getKey());
+            }
+        }
+        return free;
+    }
+}
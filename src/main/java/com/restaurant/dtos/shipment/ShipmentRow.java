@@ -0,0 +1,17 @@
+package com.restaurant.dtos.shipment;
+
+import com.restaurant.constants.ShipmentService;
+import com.restaurant.constants.ShipmentStatus;
+
+// One line of the shipment list; shipperName is null while no shipper is assigned
+public record ShipmentRow(
+        int id,
+        int orderId,
+        String restaurantName,
+        ShipmentService serviceType,
+        String shipperName,
+        String customerName,
+        ShipmentStatus status,
+        String trackingNumber
+) {
+}
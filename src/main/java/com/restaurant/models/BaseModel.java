@@ -6,8 +6,19 @@ import java.time.LocalDateTime;
 
 @MappedSuperclass
 public abstract class BaseModel {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Ids come from one row per table in id_sequences, reserved 50 at a time, so inserts can be batched.
+    // IDENTITY would make Hibernate insert each row on persist() to read its key back.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids")
+    @TableGenerator(
+            name = "ids",
+            table = "id_sequences",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            allocationSize = BaseModel.ID_ALLOCATION_SIZE
+    )
     private int id;
 
     @Column(name = "created_at", nullable = false, updatable = false, columnDefinition = "TIMESTAMP")
@@ -18,8 +29,11 @@ public abstract class BaseModel {
 
     @PrePersist
     protected void onCreate() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = now;
+        }
+        this.updatedAt = now;
     }
 
     @PreUpdate
@@ -40,6 +54,11 @@ public abstract class BaseModel {
         return createdAt;
     }
 
+    public void setCreatedAt(LocalDateTime createdAt) {
+        // Seeding historical data only
+        this.createdAt = createdAt;
+    }
+
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -7,24 +7,33 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "bookings", indexes = @Index(columnList = "date"))
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_table_date_start", columnList = "table_id, date, start_slot"),
+        @Index(name = "idx_bookings_date_table", columnList = "date, table_id")
+})
+@NamedEntityGraph(name = Booking.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode(value = "table", subgraph = "table")
+}, subgraphs = @NamedSubgraph(name = "table", attributeNodes = @NamedAttributeNode("restaurant")))
 public class Booking extends BaseModel {
+    public static final String WITH_DETAILS = "Booking.withDetails";
+
     @Column(nullable = false, columnDefinition = "DATE")
     private LocalDate date;
 
-    @Enumerated(EnumType.STRING)
-    @Column(name = "start_time", length = 5, nullable = false)
+    @Convert(converter = BookingTimeSlotConverter.class)
+    @Column(name = "start_slot", nullable = false)
     private BookingTimeSlot startTime;
 
-    @Enumerated(EnumType.STRING)
-    @Column(name = "end_time", length = 5, nullable = false)
+    @Convert(converter = BookingTimeSlotConverter.class)
+    @Column(name = "end_slot", nullable = false)
     private BookingTimeSlot endTime;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "table_id", nullable = false)
     private RestaurantTable table;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
 
@@ -0,0 +1,73 @@
+package com.restaurant.models;
+
+import com.restaurant.constants.BookingStatus;
+import com.restaurant.constants.BookingTimeSlot;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// One row per half-hour slot a booking holds. The unique key means the database itself refuses a second booking of
+// a table's slot, however many hosts insert at once.
+@Entity
+@Table(name = "booking_slots",
+        uniqueConstraints = @UniqueConstraint(name = BookingSlot.UNIQUE_SLOT, columnNames = {"table_id", "date", "slot"}),
+        indexes = @Index(columnList = "booking_id"))
+public class BookingSlot extends BaseModel {
+    public static final String UNIQUE_SLOT = "uk_booking_slots_table_date_slot";
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booking_id", nullable = false)
+    private Booking booking;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "table_id", nullable = false)
+    private RestaurantTable table;
+
+    @Column(nullable = false, columnDefinition = "DATE")
+    private LocalDate date;
+
+    @Convert(converter = BookingTimeSlotConverter.class)
+    @Column(nullable = false)
+    private BookingTimeSlot slot;
+
+    public BookingSlot() {
+    }
+
+    public BookingSlot(Booking booking, BookingTimeSlot slot) {
+        this.booking = booking;
+        this.table = booking.getTable();
+        this.date = booking.getDate();
+        this.slot = slot;
+    }
+
+    // The slots from the booking's start up to, but not including, its end; a cancelled or completed booking holds none
+    public static List<BookingSlot> of(Booking booking) {
+        BookingTimeSlot[] slots = BookingTimeSlot.values();
+        List<BookingSlot> held = new ArrayList<>();
+        if (booking.getStatus() != BookingStatus.BOOKED) {
+            return held;
+        }
+        for (int i = booking.getStartTime().ordinal(); i < booking.getEndTime().ordinal(); i++) {
+            held.add(new BookingSlot(booking, slots[i]));
+        }
+        return held;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public RestaurantTable getTable() {
+        return table;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public BookingTimeSlot getSlot() {
+        return slot;
+    }
+}
@@ -0,0 +1,19 @@
+package com.restaurant.models;
+
+import com.restaurant.constants.BookingTimeSlot;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Stores a slot as its minute of the day in a SMALLINT, so columns order and range-compare by time
+@Converter
+public class BookingTimeSlotConverter implements AttributeConverter<BookingTimeSlot, Short> {
+    @Override
+    public Short convertToDatabaseColumn(BookingTimeSlot slot) {
+        return slot == null ? null : (short) slot.getMinuteOfDay();
+    }
+
+    @Override
+    public BookingTimeSlot convertToEntityAttribute(Short minuteOfDay) {
+        return minuteOfDay == null ? null : BookingTimeSlot.fromMinuteOfDay(minuteOfDay);
+    }
+}
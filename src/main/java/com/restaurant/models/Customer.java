@@ -5,9 +5,14 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
+import java.util.regex.Pattern;
+
 @Entity
 @Table(name = "customers", indexes = @Index(columnList = "phone_number", unique = true))
 public class Customer extends BaseModel {
+    // The separators PHONE_PATTERN allows; "+1 555-0100" and "15550100" are the same customer
+    private static final Pattern PHONE_SEPARATORS = Pattern.compile("[+\\- ]");
+
     @Column(nullable = false)
     private String name;
 
@@ -25,12 +30,12 @@ public class Customer extends BaseModel {
 
     public Customer(String name, String phoneNumber) {
         this.name = name;
-        this.phoneNumber = phoneNumber;
+        this.phoneNumber = normalizePhoneNumber(phoneNumber);
     }
 
     public Customer(String name, String phoneNumber, String address) {
         this.name = name;
-        this.phoneNumber = phoneNumber;
+        this.phoneNumber = normalizePhoneNumber(phoneNumber);
         this.address = address;
     }
 
@@ -47,7 +52,11 @@ public class Customer extends BaseModel {
     }
 
     public void setPhoneNumber(String phoneNumber) {
-        this.phoneNumber = phoneNumber;
+        this.phoneNumber = normalizePhoneNumber(phoneNumber);
+    }
+
+    public static String normalizePhoneNumber(String phoneNumber) {
+        return phoneNumber == null ? null : PHONE_SEPARATORS.matcher(phoneNumber.trim()).replaceAll("");
     }
 
     public String getEmail() {
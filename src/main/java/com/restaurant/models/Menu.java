@@ -1,20 +1,27 @@
 package com.restaurant.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "menus")
+@NamedEntityGraph(name = Menu.WITH_RESTAURANT, attributeNodes = @NamedAttributeNode("restaurant"))
 public class Menu extends BaseModel {
+    public static final String WITH_RESTAURANT = "Menu.withRestaurant";
+
     @Column(nullable = false)
     private String name;
 
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id")
     private Restaurant restaurant;
 
@@ -1,14 +1,26 @@
 package com.restaurant.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "menu_items", indexes = @Index(columnList = "name"),
         uniqueConstraints = @UniqueConstraint(columnNames = {"menu_id", "name"}))
+@NamedEntityGraph(name = MenuItem.WITH_MENU, attributeNodes = {
+        @NamedAttributeNode(value = "menu", subgraph = "menu"),
+        @NamedAttributeNode("orderCount")
+}, subgraphs = @NamedSubgraph(name = "menu", attributeNodes = @NamedAttributeNode("restaurant")))
 public class MenuItem extends BaseModel {
+    public static final String WITH_MENU = "MenuItem.withMenu";
+
     @Column(nullable = false)
     private String name;
 
@@ -21,7 +33,10 @@ public class MenuItem extends BaseModel {
     @OneToMany(mappedBy = "menuItem", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @OneToOne(mappedBy = "menuItem", cascade = {CascadeType.PERSIST, CascadeType.REMOVE}, fetch = FetchType.LAZY)
+    private MenuItemOrderCount orderCount = new MenuItemOrderCount(this);
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_id", nullable = false)
     private Menu menu;
 
@@ -53,9 +68,18 @@ public class MenuItem extends BaseModel {
     }
 
     public int getTotalOrderedCount() {
-        return orderItems.stream()
-                .mapToInt(OrderItem::getQuantity)
-                .sum();
+        return orderCount == null ? 0 : orderCount.getTotal();
+    }
+
+    public void setTotalOrderedCount(int totalOrderedCount) {
+        if (orderCount == null) {
+            orderCount = new MenuItemOrderCount(this);
+        }
+        orderCount.setTotal(totalOrderedCount);
+    }
+
+    public MenuItemOrderCount getOrderCount() {
+        return orderCount;
     }
 
     public List<OrderItem> getOrderItems() {
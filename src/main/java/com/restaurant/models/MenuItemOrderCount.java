@@ -0,0 +1,44 @@
+package com.restaurant.models;
+
+import jakarta.persistence.*;
+
+// How many of a menu item have been ordered. It lives in its own uncached row, so order item writes bump it with
+// one UPDATE instead of locking the menu item and evicting it from the second-level cache.
+@Entity
+@Table(name = "menu_item_order_counts")
+public class MenuItemOrderCount {
+    @Id
+    @Column(name = "menu_item_id")
+    private int menuItemId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "menu_item_id")
+    private MenuItem menuItem;
+
+    @Column(name = "total_ordered_count", nullable = false)
+    private int total;
+
+    public MenuItemOrderCount() {
+    }
+
+    public MenuItemOrderCount(MenuItem menuItem) {
+        this.menuItem = menuItem;
+    }
+
+    public int getMenuItemId() {
+        return menuItemId;
+    }
+
+    public MenuItem getMenuItem() {
+        return menuItem;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+}
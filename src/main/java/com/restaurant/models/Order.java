@@ -3,16 +3,30 @@ package com.restaurant.models;
 import com.restaurant.constants.OrderStatus;
 import com.restaurant.constants.OrderType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@DynamicUpdate
+@Table(name = "orders", indexes = {
+        @Index(name = "orders_restaurant_idx", columnList = "restaurant_id"),
+        @Index(name = "orders_restaurant_created_idx", columnList = "restaurant_id, created_at"),
+        @Index(name = "orders_restaurant_status_created_idx", columnList = "restaurant_id, status, created_at")
+})
+@NamedEntityGraph(name = Order.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode("restaurant"),
+        @NamedAttributeNode(value = "restaurantTable", subgraph = "restaurantTable"),
+        @NamedAttributeNode("payment"),
+        @NamedAttributeNode("shipment")
+}, subgraphs = @NamedSubgraph(name = "restaurantTable", attributeNodes = @NamedAttributeNode("restaurant")))
 public class Order extends BaseModel {
+    public static final String WITH_DETAILS = "Order.withDetails";
+
     @ManyToOne(
             cascade = CascadeType.ALL,
-            fetch = FetchType.EAGER
+            fetch = FetchType.LAZY
     )
     @JoinColumn(name = "restaurant_table_id")
     private RestaurantTable restaurantTable;
@@ -24,7 +38,7 @@ public class Order extends BaseModel {
     )
     private List<OrderItem> items = new ArrayList<>();
 
-    @OneToOne(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Payment payment;
 
     @Column(length = 20, nullable = false)
@@ -32,16 +46,21 @@ public class Order extends BaseModel {
 
     private double totalPrice;
 
+    // Bumped by every write, including OrderDAO.adjustTotal, so a merge of a stale copy fails instead of
+    // overwriting the total; UnitOfWork retries the unit
+    @Version
+    private int version;
+
     @Enumerated(EnumType.STRING)
     @Column(length = 20, nullable = false)
     private OrderType orderType;
 
-    @OneToOne(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Shipment shipment;
 
     @ManyToOne(
             cascade = CascadeType.ALL,
-            fetch = FetchType.EAGER,
+            fetch = FetchType.LAZY,
             optional = false
     )
     @JoinColumn(name = "restaurant_id")
@@ -96,6 +115,10 @@ public class Order extends BaseModel {
         this.totalPrice = price;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public RestaurantTable getRestaurantTable() {
         return restaurantTable;
     }
@@ -2,15 +2,27 @@ package com.restaurant.models;
 
 import com.restaurant.constants.OrderItemStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
+@DynamicUpdate
 @Table(name = "order_items")
+@NamedEntityGraph(name = OrderItem.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode("menuItem"),
+        @NamedAttributeNode(value = "order", subgraph = "order")
+}, subgraphs = @NamedSubgraph(name = "order", attributeNodes = {
+        @NamedAttributeNode("restaurantTable"),
+        @NamedAttributeNode("payment"),
+        @NamedAttributeNode("shipment")
+}))
 public class OrderItem extends BaseModel {
-    @ManyToOne(fetch = FetchType.EAGER)
+    public static final String WITH_DETAILS = "OrderItem.withDetails";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_item_id", nullable = false)
     private MenuItem menuItem;
 
@@ -19,6 +31,9 @@ public class OrderItem extends BaseModel {
 
     private int quantity = 1;
 
+    @Version
+    private int version;
+
     @Enumerated(EnumType.STRING)
     @Column(length = 20, nullable = false)
     private OrderItemStatus status = OrderItemStatus.PENDING;
@@ -63,6 +78,10 @@ public class OrderItem extends BaseModel {
         this.quantity = quantity;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
     public String getCustomization() {
         return customization;
     }
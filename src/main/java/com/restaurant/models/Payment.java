@@ -6,8 +6,15 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "payments")
+@NamedEntityGraph(name = Payment.WITH_DETAILS, attributeNodes = @NamedAttributeNode(value = "order", subgraph = "order"),
+        subgraphs = @NamedSubgraph(name = "order", attributeNodes = {
+                @NamedAttributeNode("restaurant"),
+                @NamedAttributeNode("shipment")
+        }))
 public class Payment extends BaseModel {
-    @OneToOne
+    public static final String WITH_DETAILS = "Payment.withDetails";
+
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false, unique = true)
     private Order order;
 
@@ -2,11 +2,15 @@ package com.restaurant.models;
 
 import com.restaurant.constants.RestaurantStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "restaurants", indexes = @Index(columnList = "name", unique = true))
 public class Restaurant extends BaseModel {
     @Column(name = "name", nullable = false, unique = true)
@@ -1,11 +1,17 @@
 package com.restaurant.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(
         name = "restaurant_tables",
         uniqueConstraints = {
@@ -17,8 +23,11 @@ import java.util.List;
                 @Index(name = "restaurant_idx", columnList = "restaurant_id"),
         }
 )
+@NamedEntityGraph(name = RestaurantTable.WITH_RESTAURANT, attributeNodes = @NamedAttributeNode("restaurant"))
 public class RestaurantTable extends BaseModel {
-    @ManyToOne(fetch = FetchType.EAGER)
+    public static final String WITH_RESTAURANT = "RestaurantTable.withRestaurant";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
     private Restaurant restaurant;
 
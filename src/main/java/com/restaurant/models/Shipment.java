@@ -3,21 +3,33 @@ package com.restaurant.models;
 import com.restaurant.constants.ShipmentService;
 import com.restaurant.constants.ShipmentStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Table(name = "shipments", indexes = {
         @Index(columnList = "order_id"),
         @Index(columnList = "status"),
         @Index(columnList = "service_type"),
         @Index(columnList = "shipper_id")
 })
+@NamedEntityGraph(name = Shipment.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode(value = "order", subgraph = "order"),
+        @NamedAttributeNode("shipper"),
+        @NamedAttributeNode("customer")
+}, subgraphs = @NamedSubgraph(name = "order", attributeNodes = {
+        @NamedAttributeNode("restaurant"),
+        @NamedAttributeNode("payment")
+}))
 public class Shipment extends BaseModel {
+    public static final String WITH_DETAILS = "Shipment.withDetails";
+
     @Column(unique = true)
     private final String trackingNumber;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
@@ -25,7 +37,7 @@ public class Shipment extends BaseModel {
     @Column(name = "service_type", nullable = false)
     private ShipmentService serviceType;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "shipper_id")
     private User shipper;
 
@@ -33,7 +45,7 @@ public class Shipment extends BaseModel {
     @Column(nullable = false)
     private ShipmentStatus status = ShipmentStatus.SHIPPING;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private Customer customer;
 
@@ -10,17 +10,17 @@ import java.util.function.Consumer;
 
 @Injectable
 public class ErrorPubSubService implements PubSubService {
-    private static ErrorPubSubService instance;
     private final Map<Class<?>, List<Consumer<?>>> subscribers = new ConcurrentHashMap<>();
 
     private ErrorPubSubService() {
     }
 
     public static ErrorPubSubService getInstance() {
-        if (instance == null) {
-            instance = new ErrorPubSubService();
-        }
-        return instance;
+        return Holder.INSTANCE;
+    }
+
+    private static class Holder {
+        private static final ErrorPubSubService INSTANCE = new ErrorPubSubService();
     }
 
     @Override
@@ -1,24 +1,25 @@
 package com.restaurant.seed;
 
 import com.restaurant.constants.*;
-import com.restaurant.di.Inject;
 import com.restaurant.di.Injectable;
 import com.restaurant.models.*;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import org.hibernate.Session;
 import org.mindrot.jbcrypt.BCrypt;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 @Injectable
 public class DataSeeder {
     private final Random random = new Random();
 
-    @Inject
     private final EntityManagerFactory emf;
 
     public DataSeeder(EntityManagerFactory emf) {
@@ -53,6 +54,214 @@ public class DataSeeder {
         }
     }
 
+    public void seed(SeedProfile profile) {
+        try (EntityManager em = emf.createEntityManager()) {
+            EntityTransaction tx = em.getTransaction();
+            BatchWriter writer = new BatchWriter(em, profile.getBatchSize());
+            try {
+                tx.begin();
+                seedUsers(em);
+                int[] customerIds = seedCustomers(writer, profile);
+                List<RestaurantFixture> fixtures = new ArrayList<>();
+                for (int r = 1; r <= profile.getRestaurants(); r++) {
+                    fixtures.add(seedRestaurantFixture(writer, profile, r));
+                }
+                writer.flushAndClear();
+                tx.commit();
+
+                LocalDate today = LocalDate.now();
+                for (int d = profile.getDaysOfHistory() - 1; d >= 0; d--) {
+                    tx.begin();
+                    LocalDate day = today.minusDays(d);
+                    for (RestaurantFixture fixture : fixtures) {
+                        seedDay(writer, profile, fixture, customerIds, day);
+                    }
+                    writer.flushAndClear();
+                    tx.commit();
+                }
+                System.out.println("✔︎ Database seeded with " + writer.getCount() + " generated rows");
+            } catch (RuntimeException e) {
+                if (tx.isActive()) {
+                    tx.rollback();
+                }
+                throw new RuntimeException("Seeding failed", e);
+            }
+        }
+    }
+
+    private int[] seedCustomers(BatchWriter writer, SeedProfile profile) {
+        int[] ids = new int[profile.getCustomers()];
+        List<Customer> pending = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            Customer c = new Customer();
+            c.setName("Customer " + (i + 1));
+            c.setPhoneNumber(String.format("555-%07d", i + 1));
+            c.setEmail("customer" + (i + 1) + "@example.com");
+            c.setAddress("456 Customer Street #" + (i + 1));
+            pending.add(c);
+            if (writer.persist(c)) {
+                collectIds(pending, ids, i + 1);
+            }
+        }
+        writer.flushAndClear();
+        collectIds(pending, ids, ids.length);
+        return ids;
+    }
+
+    private void collectIds(List<Customer> pending, int[] ids, int end) {
+        int start = end - pending.size();
+        for (int i = 0; i < pending.size(); i++) {
+            ids[start + i] = pending.get(i).getId();
+        }
+        pending.clear();
+    }
+
+    private RestaurantFixture seedRestaurantFixture(BatchWriter writer, SeedProfile profile, int index) {
+        int tableCount = profile.getTablesPerRestaurant();
+        int cols = (int) Math.ceil(Math.sqrt(tableCount));
+        int rows = (int) Math.ceil((double) tableCount / cols);
+
+        Restaurant r = new Restaurant();
+        r.setName("Load Test Restaurant " + index);
+        r.setAddress(index + " Load Test Street");
+        r.setStatus(RestaurantStatus.ACTIVE);
+        r.setMaxX(cols * 2);
+        r.setMaxY(rows * 2);
+        writer.persist(r);
+
+        Menu menu = new Menu();
+        menu.setName("Main Menu - " + r.getName());
+        menu.setRestaurant(r);
+        writer.persist(menu);
+
+        MenuItem[] items = new MenuItem[profile.getMenuItemsPerRestaurant()];
+        for (int i = 0; i < items.length; i++) {
+            MenuItem mi = new MenuItem();
+            mi.setName("Dish " + (i + 1));
+            mi.setDescription("Recipe for dish " + (i + 1));
+            mi.setPrice(5 + random.nextInt(30));
+            mi.setMenu(menu);
+            writer.persist(mi);
+            items[i] = mi;
+        }
+
+        RestaurantTable[] tables = new RestaurantTable[tableCount];
+        int[] capacities = {2, 4, 8};
+        for (int i = 0; i < tableCount; i++) {
+            RestaurantTable t = new RestaurantTable();
+            t.setRestaurant(r);
+            t.setNumber(i + 1);
+            t.setCapacity(capacities[random.nextInt(capacities.length)]);
+            t.setStartX((i % cols) * 2);
+            t.setStartY((i / cols) * 2);
+            t.setEndX(t.getStartX());
+            t.setEndY(t.getStartY());
+            t.setAvailable(true);
+            writer.persist(t);
+            tables[i] = t;
+        }
+        writer.flushAndClear();
+
+        RestaurantFixture fixture = new RestaurantFixture(r.getId(), items.length, tables.length);
+        for (int i = 0; i < items.length; i++) {
+            fixture.menuItemIds[i] = items[i].getId();
+            fixture.menuItemPrices[i] = items[i].getPrice();
+        }
+        for (int i = 0; i < tables.length; i++) {
+            fixture.tableIds[i] = tables[i].getId();
+        }
+        return fixture;
+    }
+
+    private void seedDay(BatchWriter writer, SeedProfile profile, RestaurantFixture fixture,
+                         int[] customerIds, LocalDate day) {
+        EntityManager em = writer.getEntityManager();
+        boolean isToday = day.equals(LocalDate.now());
+        BookingTimeSlot[] slots = BookingTimeSlot.values();
+        BookingStatus[] bookingStatuses = BookingStatus.values();
+        PaymentMethod[] methods = PaymentMethod.values();
+        ShipmentService[] services = ShipmentService.values();
+        OrderStatus[] openStatuses = {OrderStatus.PENDING, OrderStatus.READY, OrderStatus.PROCESSED};
+
+        for (int tableId : fixture.tableIds) {
+            Booking b = new Booking();
+            b.setDate(day);
+            int startIdx = random.nextInt(slots.length - 1);
+            b.setStartTime(slots[startIdx]);
+            b.setEndTime(slots[startIdx + 1 + random.nextInt(Math.min(4, slots.length - startIdx - 1))]);
+            b.setTable(em.getReference(RestaurantTable.class, tableId));
+            b.setCustomer(em.getReference(Customer.class, customerIds[random.nextInt(customerIds.length)]));
+            b.setStatus(isToday ? BookingStatus.BOOKED : bookingStatuses[random.nextInt(bookingStatuses.length)]);
+            writer.persist(b);
+            for (BookingSlot slot : BookingSlot.of(b)) {
+                writer.persist(slot);
+            }
+        }
+
+        for (int i = 0; i < profile.getOrdersPerDay(); i++) {
+            Order o = new Order();
+            o.setCreatedAt(day.atTime(10 + random.nextInt(12), random.nextInt(60), random.nextInt(60)));
+            o.setRestaurant(em.getReference(Restaurant.class, fixture.restaurantId));
+            o.setOrderType(random.nextInt(4) == 0 ? OrderType.DELIVERY : OrderType.DINE_IN);
+            if (o.getOrderType() == OrderType.DINE_IN) {
+                o.setRestaurantTable(em.getReference(RestaurantTable.class,
+                        fixture.tableIds[random.nextInt(fixture.tableIds.length)]));
+            }
+            OrderStatus status = isToday
+                    ? openStatuses[random.nextInt(openStatuses.length)]
+                    : (random.nextInt(20) == 0 ? OrderStatus.CANCELLED : OrderStatus.COMPLETED);
+            o.setStatus(status);
+
+            int itemCount = 2 + random.nextInt(4);
+            List<OrderItem> items = new ArrayList<>(itemCount);
+            double total = 0;
+            for (int k = 0; k < itemCount; k++) {
+                int idx = random.nextInt(fixture.menuItemIds.length);
+                OrderItem oi = new OrderItem();
+                oi.setOrder(o);
+                oi.setMenuItem(em.getReference(MenuItem.class, fixture.menuItemIds[idx]));
+                oi.setQuantity(1 + random.nextInt(3));
+                oi.setCreatedAt(o.getCreatedAt());
+                oi.setStatus(switch (status) {
+                    case COMPLETED -> OrderItemStatus.SERVED;
+                    case CANCELLED -> OrderItemStatus.CANCELLED;
+                    default -> OrderItemStatus.PENDING;
+                });
+                total += fixture.menuItemPrices[idx] * oi.getQuantity();
+                items.add(oi);
+            }
+            o.setTotalPrice(total);
+            writer.persist(o);
+            for (OrderItem oi : items) {
+                writer.persist(oi);
+            }
+
+            if (status == OrderStatus.COMPLETED) {
+                Payment p = new Payment();
+                p.setOrder(o);
+                p.setCreatedAt(o.getCreatedAt());
+                p.setUserPayAmount(total + random.nextInt(20));
+                p.setChangeAmount(p.getUserPayAmount() - total);
+                p.setMethod(methods[random.nextInt(methods.length)]);
+                p.setStatus(PaymentStatus.COMPLETED);
+                writer.persist(p);
+            }
+            if (o.getOrderType() == OrderType.DELIVERY) {
+                Shipment s = new Shipment();
+                s.setOrder(o);
+                s.setCreatedAt(o.getCreatedAt());
+                s.setServiceType(services[random.nextInt(services.length)]);
+                s.setStatus(switch (status) {
+                    case COMPLETED -> ShipmentStatus.SUCCESS;
+                    case CANCELLED -> ShipmentStatus.FAILED;
+                    default -> ShipmentStatus.SHIPPING;
+                });
+                s.setCustomer(em.getReference(Customer.class, customerIds[random.nextInt(customerIds.length)]));
+                writer.persist(s);
+            }
+        }
+    }
+
     private List<Restaurant> seedRestaurants(EntityManager em) {
         List<Restaurant> restaurants = new ArrayList<>();
         String[] names = {
@@ -236,6 +445,8 @@ public class DataSeeder {
     private void seedBookings(EntityManager em, List<Customer> customers, List<RestaurantTable> tables) {
         BookingStatus[] statuses = BookingStatus.values();
         BookingTimeSlot[] slots = BookingTimeSlot.values();
+        // Booked slots per table and day; a random booking that overlaps one is skipped, as the unique key would reject it
+        Map<String, Long> taken = new HashMap<>();
         for (int i = 0; i < 50; i++) {
             Booking b = new Booking();
             LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(14));
@@ -248,7 +459,14 @@ public class DataSeeder {
             b.setTable(tables.get(random.nextInt(tables.size())));
             b.setCustomer(customers.get(random.nextInt(customers.size())));
             b.setStatus(statuses[random.nextInt(statuses.length)]);
+            String day = b.getTable().getId() + "@" + date;
+            long held = BookingTimeSlot.range(b.getStartTime(), b.getEndTime());
+            if ((taken.getOrDefault(day, 0L) & held) != 0) {
+                continue;
+            }
+            taken.merge(day, held, (x, y) -> x | y);
             em.persist(b);
+            BookingSlot.of(b).forEach(em::persist);
         }
     }
 
@@ -333,4 +551,52 @@ public class DataSeeder {
             }
         }
     }
+
+    private static final class RestaurantFixture {
+        private final int restaurantId;
+        private final int[] menuItemIds;
+        private final double[] menuItemPrices;
+        private final int[] tableIds;
+
+        private RestaurantFixture(int restaurantId, int menuItemCount, int tableCount) {
+            this.restaurantId = restaurantId;
+            this.menuItemIds = new int[menuItemCount];
+            this.menuItemPrices = new double[menuItemCount];
+            this.tableIds = new int[tableCount];
+        }
+    }
+
+    private static final class BatchWriter {
+        private final EntityManager em;
+        private final int batchSize;
+        private long count;
+
+        private BatchWriter(EntityManager em, int batchSize) {
+            this.em = em;
+            this.batchSize = batchSize;
+            em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        }
+
+        private boolean persist(Object entity) {
+            em.persist(entity);
+            if (++count % batchSize == 0) {
+                flushAndClear();
+                return true;
+            }
+            return false;
+        }
+
+        private void flushAndClear() {
+            em.flush();
+            em.clear();
+        }
+
+        private EntityManager getEntityManager() {
+            return em;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package com.restaurant.seed;
+
+import com.restaurant.config.Env;
+
+public class SeedProfile {
+    private int restaurants = 3;
+    private int tablesPerRestaurant = 20;
+    private int menuItemsPerRestaurant = 30;
+    private int ordersPerDay = 200;
+    private int daysOfHistory = 30;
+    private int customers = 1_000;
+    private int batchSize = 500;
+
+    public SeedProfile() {
+    }
+
+    public static SeedProfile fromEnv(Env env) {
+        SeedProfile profile = new SeedProfile();
+        profile.setRestaurants(env.getInt("SEED_RESTAURANTS", 3));
+        profile.setTablesPerRestaurant(env.getInt("SEED_TABLES_PER_RESTAURANT", 20));
+        profile.setMenuItemsPerRestaurant(env.getInt("SEED_MENU_ITEMS_PER_RESTAURANT", 30));
+        profile.setOrdersPerDay(env.getInt("SEED_ORDERS_PER_DAY", 200));
+        profile.setDaysOfHistory(env.getInt("SEED_DAYS_OF_HISTORY", 30));
+        profile.setCustomers(env.getInt("SEED_CUSTOMERS", 1_000));
+        profile.setBatchSize(env.getInt("SEED_BATCH_SIZE", 500));
+        return profile;
+    }
+
+    public int getRestaurants() {
+        return restaurants;
+    }
+
+    public void setRestaurants(int restaurants) {
+        this.restaurants = Math.max(restaurants, 1);
+    }
+
+    public int getTablesPerRestaurant() {
+        return tablesPerRestaurant;
+    }
+
+    public void setTablesPerRestaurant(int tablesPerRestaurant) {
+        this.tablesPerRestaurant = Math.max(tablesPerRestaurant, 1);
+    }
+
+    public int getMenuItemsPerRestaurant() {
+        return menuItemsPerRestaurant;
+    }
+
+    public void setMenuItemsPerRestaurant(int menuItemsPerRestaurant) {
+        this.menuItemsPerRestaurant = Math.max(menuItemsPerRestaurant, 1);
+    }
+
+    public int getOrdersPerDay() {
+        return ordersPerDay;
+    }
+
+    public void setOrdersPerDay(int ordersPerDay) {
+        this.ordersPerDay = Math.max(ordersPerDay, 0);
+    }
+
+    public int getDaysOfHistory() {
+        return daysOfHistory;
+    }
+
+    public void setDaysOfHistory(int daysOfHistory) {
+        this.daysOfHistory = Math.max(daysOfHistory, 1);
+    }
+
+    public int getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(int customers) {
+        this.customers = Math.max(customers, 1);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize > 0 ? batchSize : 500;
+    }
+}
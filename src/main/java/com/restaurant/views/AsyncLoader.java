@@ -0,0 +1,116 @@
+package com.restaurant.views;
+
+import com.restaurant.events.ErrorEvent;
+import com.restaurant.pubsub.ErrorPubSubService;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Runs a view's queries off the EDT; only the newest load of a view is ever applied to its model
+public class AsyncLoader {
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())),
+            r -> {
+                Thread t = new Thread(r, "view-loader-" + THREADS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+    );
+
+    private final JComponent owner;
+    private final JProgressBar indicator = new JProgressBar();
+    // EDT-confined
+    private Future<?> inFlight;
+    private Runnable inFlightRequest;
+    private Runnable pending;
+    private long generation;
+
+    public AsyncLoader(JComponent owner) {
+        this.owner = owner;
+        indicator.setIndeterminate(true);
+        indicator.setPreferredSize(new Dimension(80, 14));
+        indicator.setVisible(false);
+        // Hidden views (unselected tabs, closed dialogs) defer their loads until shown again
+        owner.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+            if (owner.isShowing()) {
+                Runnable request = pending;
+                pending = null;
+                if (request != null) request.run();
+            } else if (inFlight != null) {
+                Runnable request = inFlightRequest;
+                cancel();
+                pending = request;
+            }
+        });
+    }
+
+    public JProgressBar getIndicator() {
+        return indicator;
+    }
+
+    public <T> void load(Supplier<T> query, Consumer<T> apply) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> load(query, apply));
+            return;
+        }
+        cancel();
+        Runnable request = () -> load(query, apply);
+        if (!owner.isShowing()) {
+            pending = request;
+            return;
+        }
+        long current = generation;
+        setBusy(true);
+        inFlightRequest = request;
+        inFlight = EXECUTOR.submit(() -> {
+            Runnable done = () -> {
+            };
+            try {
+                T result = query.get();
+                done = () -> apply.accept(result);
+            } catch (RuntimeException e) {
+                done = () -> ErrorPubSubService.getInstance()
+                        .publish(new ErrorEvent("Failed to load data: " + e.getMessage()));
+            } finally {
+                // Also reached when the query throws an Error, so the indicator is never left spinning
+                Runnable then = done;
+                SwingUtilities.invokeLater(() -> {
+                    if (current != generation) return;
+                    finish();
+                    then.run();
+                });
+            }
+        });
+    }
+
+    public void cancel() {
+        generation++;
+        pending = null;
+        // Not interrupted: that can break the query's pooled connection mid-read. The bumped generation
+        // already drops its result.
+        if (inFlight != null) {
+            inFlight.cancel(false);
+        }
+        finish();
+    }
+
+    private void finish() {
+        inFlight = null;
+        inFlightRequest = null;
+        setBusy(false);
+    }
+
+    private void setBusy(boolean busy) {
+        indicator.setVisible(busy);
+        owner.setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+    }
+}
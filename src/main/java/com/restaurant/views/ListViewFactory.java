@@ -17,52 +17,53 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 
+// Tabs hold factories, not views: a view is only built (and queried) once its tab is first opened
 public class ListViewFactory {
     private static final Map<UserRole, List<ViewTab>> map = new EnumMap<>(UserRole.class);
 
     static {
         map.put(UserRole.OWNER, List.of(
-                new ViewTab("Bookings", new BookingListView()),
-                new ViewTab("Menus", new MenuListView()),
-                new ViewTab("Menu Items", new MenuItemListView()),
-                new ViewTab("Orders", new OrderListView()),
-                new ViewTab("Order Items", new OrderItemListView(null, () -> {
+                new ViewTab("Bookings", BookingListView::new),
+                new ViewTab("Menus", MenuListView::new),
+                new ViewTab("Menu Items", MenuItemListView::new),
+                new ViewTab("Orders", OrderListView::new),
+                new ViewTab("Order Items", () -> new OrderItemListView(null, () -> {
                 })),
-                new ViewTab("Payments", new PaymentListView()),
-                new ViewTab("Restaurants", new RestaurantListView()),
-                new ViewTab("Tables", new RestaurantTableMapView()),
-                new ViewTab("Shipments", new ShipmentListView()),
-                new ViewTab("Users", new UserListView())
+                new ViewTab("Payments", PaymentListView::new),
+                new ViewTab("Restaurants", RestaurantListView::new),
+                new ViewTab("Tables", RestaurantTableMapView::new),
+                new ViewTab("Shipments", ShipmentListView::new),
+                new ViewTab("Users", UserListView::new)
         ));
         map.put(UserRole.SHIPPER, List.of(
-                new ViewTab("Shipments", new ShipmentListView())
+                new ViewTab("Shipments", ShipmentListView::new)
         ));
         map.put(UserRole.MANAGER, List.of(
-                new ViewTab("Bookings", new BookingListView()),
-                new ViewTab("Menus", new MenuListView()),
-                new ViewTab("Menu Items", new MenuItemListView()),
-                new ViewTab("Orders", new OrderListView()),
-                new ViewTab("Order Items", new OrderItemListView(null, () -> {
+                new ViewTab("Bookings", BookingListView::new),
+                new ViewTab("Menus", MenuListView::new),
+                new ViewTab("Menu Items", MenuItemListView::new),
+                new ViewTab("Orders", OrderListView::new),
+                new ViewTab("Order Items", () -> new OrderItemListView(null, () -> {
                 })),
-                new ViewTab("Payments", new PaymentListView()),
-                new ViewTab("Restaurants", new RestaurantListView()),
-                new ViewTab("Tables", new RestaurantTableMapView()),
-                new ViewTab("Shipments", new ShipmentListView())
+                new ViewTab("Payments", PaymentListView::new),
+                new ViewTab("Restaurants", RestaurantListView::new),
+                new ViewTab("Tables", RestaurantTableMapView::new),
+                new ViewTab("Shipments", ShipmentListView::new)
         ));
         map.put(UserRole.COOK, List.of(
-                new ViewTab("Menu Items", new MenuItemListView()),
-                new ViewTab("Order Items", new OrderItemListView(null, () -> {
+                new ViewTab("Menu Items", MenuItemListView::new),
+                new ViewTab("Order Items", () -> new OrderItemListView(null, () -> {
                 }))
         ));
         map.put(UserRole.WAIT_STAFF, List.of(
-                new ViewTab("Orders", new OrderListView()),
-                new ViewTab("Order Items", new OrderItemListView(null, () -> {
+                new ViewTab("Orders", OrderListView::new),
+                new ViewTab("Order Items", () -> new OrderItemListView(null, () -> {
                 })),
-                new ViewTab("Menus", new MenuListView()),
-                new ViewTab("Payments", new PaymentListView()),
-                new ViewTab("Shipments", new ShipmentListView()),
-                new ViewTab("Tables", new RestaurantTableMapView()),
-                new ViewTab("Bookings", new BookingListView())
+                new ViewTab("Menus", MenuListView::new),
+                new ViewTab("Payments", PaymentListView::new),
+                new ViewTab("Shipments", ShipmentListView::new),
+                new ViewTab("Tables", RestaurantTableMapView::new),
+                new ViewTab("Bookings", BookingListView::new)
         ));
     }
 
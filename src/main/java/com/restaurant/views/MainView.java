@@ -8,6 +8,7 @@ import com.restaurant.views.user.UserLoginDialog;
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
+import java.util.function.Supplier;
 
 public class MainView extends JFrame {
     private static MainView currentInstance;
@@ -57,15 +58,17 @@ public class MainView extends JFrame {
         JTabbedPane tabs = new JTabbedPane();
         List<ViewTab> tabsForRole = ListViewFactory.getTabsForRole(user.getRole());
         for (ViewTab vt : tabsForRole) {
-            tabs.addTab(vt.title(), vt.view());
+            tabs.addTab(vt.title(), new LazyTab(vt.factory()));
         }
         tabs.addTab("My Profile", createProfilePanel(user));
         tabs.addChangeListener(e -> {
-            Component c = tabs.getSelectedComponent();
-            if (c instanceof LoadableView lv) {
-                lv.loadData();
+            if (tabs.getSelectedComponent() instanceof LazyTab tab) {
+                tab.open();
             }
         });
+        if (tabs.getSelectedComponent() instanceof LazyTab tab) {
+            tab.open();
+        }
         getContentPane().add(tabs, BorderLayout.CENTER);
         revalidate();
         repaint();
@@ -109,4 +112,25 @@ public class MainView extends JFrame {
         detailTab.add(smallPanel, dgbc);
         return detailTab;
     }
-}
\ No newline at end of file
+
+    // Placeholder that builds its view on first selection; the view's own loads wait until it is showing
+    private static class LazyTab extends JPanel {
+        private final Supplier<JPanel> factory;
+        private JPanel view;
+
+        LazyTab(Supplier<JPanel> factory) {
+            super(new BorderLayout());
+            this.factory = factory;
+        }
+
+        void open() {
+            if (view == null) {
+                view = factory.get();
+                add(view, BorderLayout.CENTER);
+                revalidate();
+            } else if (view instanceof LoadableView lv) {
+                lv.loadData();
+            }
+        }
+    }
+}
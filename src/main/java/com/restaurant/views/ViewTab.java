@@ -1,6 +1,7 @@
 package com.restaurant.views;
 
 import javax.swing.*;
+import java.util.function.Supplier;
 
-public record ViewTab(String title, JPanel view) {
-}
\ No newline at end of file
+public record ViewTab(String title, Supplier<JPanel> factory) {
+}
@@ -8,7 +8,8 @@ import com.restaurant.controllers.RestaurantTableController;
 import com.restaurant.di.Injector;
 import com.restaurant.dtos.booking.CreateBookingDto;
 import com.restaurant.dtos.booking.UpdateBookingDto;
-import com.restaurant.dtos.restaurantTable.GetRestaurantTableForBookingDto;
+import com.restaurant.dtos.restaurantTable.GetRestaurantTableDto;
+import com.restaurant.dtos.restaurantTable.TableOccupancy;
 import com.restaurant.models.Booking;
 import com.restaurant.models.Restaurant;
 import com.restaurant.models.RestaurantTable;
@@ -40,6 +41,8 @@ public class BookingFormDialog extends JDialog {
     private final RestaurantTableController tableController;
     private final Booking existing;
     private final Runnable onSaved;
+    private List<RestaurantTable> tables = List.of();
+    private TableOccupancy occupancy;
 
     public BookingFormDialog(Frame owner, Booking existing, Runnable onSaved) {
         super(owner, existing == null ? "New Booking" : "Edit Booking", true);
@@ -61,14 +64,15 @@ public class BookingFormDialog extends JDialog {
         });
 
         tableCombo.setEnabled(false);
-        restaurantCombo.addActionListener(e -> refreshTables());
-        datePicker.addActionListener(e -> refreshTables());
+        restaurantCombo.addActionListener(e -> loadDay());
+        datePicker.addActionListener(e -> loadDay());
         startCombo.addActionListener(e -> refreshTables());
         endCombo.addActionListener(e -> refreshTables());
 
         if (existing != null) {
             nameField.setText(existing.getCustomer().getName());
             phoneField.setText(existing.getCustomer().getPhoneNumber());
+            phoneField.setEditable(false);
             emailField.setText(existing.getCustomer().getEmail());
             datePicker.setDate(Date.from(existing.getDate().atStartOfDay(ZoneId.systemDefault()).toInstant()));
             startCombo.setSelectedItem(existing.getStartTime());
@@ -114,25 +118,42 @@ public class BookingFormDialog extends JDialog {
         getContentPane().add(b, BorderLayout.SOUTH);
     }
 
-    private void refreshTables() {
+    // Reads the restaurant's tables and the day's occupancy; slot changes are then answered from them
+    private void loadDay() {
         Restaurant r = (Restaurant) restaurantCombo.getSelectedItem();
         Date d = datePicker.getDate();
+        if (r == null || d == null) {
+            tables = List.of();
+            occupancy = null;
+        } else {
+            GetRestaurantTableDto dto = new GetRestaurantTableDto();
+            dto.setRestaurantId(r.getId());
+            tables = tableController.findTables(dto);
+            occupancy = tableController.getOccupancy(r.getId(), d.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+        }
+        refreshTables();
+    }
+
+    private void refreshTables() {
         BookingTimeSlot s = (BookingTimeSlot) startCombo.getSelectedItem();
         BookingTimeSlot e = (BookingTimeSlot) endCombo.getSelectedItem();
-        boolean ok = r != null && d != null && s != null && e != null && e.ordinal() > s.ordinal();
+        boolean ok = occupancy != null && s != null && e != null && e.ordinal() > s.ordinal();
         tableCombo.setEnabled(ok);
+        tableCombo.removeAllItems();
         if (!ok) {
-            tableCombo.removeAllItems();
             return;
         }
-        GetRestaurantTableForBookingDto dto = new GetRestaurantTableForBookingDto();
-        dto.setRestaurantId(r.getId());
-        dto.setDate(d.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
-        dto.setStartTime(s);
-        dto.setEndTime(e);
-        List<RestaurantTable> ts = tableController.findTablesForBooking(dto);
-        tableCombo.removeAllItems();
-        ts.forEach(tableCombo::addItem);
+        long slots = BookingTimeSlot.range(s, e);
+        for (RestaurantTable t : tables) {
+            long booked = occupancy.bookedSlots(t.getId());
+            // The booking being edited does not block its own table
+            if (existing != null && existing.getTable().getId() == t.getId() && existing.getDate().equals(occupancy.date())) {
+                booked &= ~BookingTimeSlot.range(existing.getStartTime(), existing.getEndTime());
+            }
+            if ((booked & slots) == 0) {
+                tableCombo.addItem(t);
+            }
+        }
     }
 
     private void onSave() {
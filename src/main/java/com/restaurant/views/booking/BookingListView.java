@@ -6,6 +6,7 @@ import com.restaurant.controllers.BookingController;
 import com.restaurant.di.Injector;
 import com.restaurant.dtos.booking.GetBookingsDto;
 import com.restaurant.models.Booking;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 import org.jdesktop.swingx.JXDatePicker;
 
@@ -39,7 +40,9 @@ public class BookingListView extends JPanel implements LoadableView {
     private final JComboBox<BookingStatus> cmbStatus;
     private final JButton btnPrev = new JButton("Previous");
     private final JButton btnNext = new JButton("Next");
+    private final AsyncLoader loader = new AsyncLoader(this);
     private final GetBookingsDto currentDto = new GetBookingsDto();
+    private Booking lastShown;
 
     public BookingListView() {
         bookingController = Injector.getInstance().getInstance(BookingController.class);
@@ -164,6 +167,7 @@ public class BookingListView extends JPanel implements LoadableView {
         JPanel paging = new JPanel();
         paging.add(btnPrev);
         paging.add(btnNext);
+        paging.add(loader.getIndicator());
         add(paging, BorderLayout.SOUTH);
 
         DocumentListener dl = new DocumentListener() {
@@ -234,13 +238,15 @@ public class BookingListView extends JPanel implements LoadableView {
 
         btnPrev.addActionListener(e -> {
             if (currentDto.getPage() > 0) {
-                currentDto.setPage(currentDto.getPage() - 1);
+                currentDto.previousPage();
                 loadData();
             }
         });
         btnNext.addActionListener(e -> {
-            currentDto.setPage(currentDto.getPage() + 1);
-            loadData();
+            if (lastShown != null) {
+                currentDto.nextPage(sortKey(lastShown), lastShown.getId());
+                loadData();
+            }
         });
 
         resetFilters();
@@ -314,23 +320,36 @@ public class BookingListView extends JPanel implements LoadableView {
 
     @Override
     public void loadData() {
-        model.setRowCount(0);
-        List<Booking> page = bookingController.findBookings(currentDto);
-        for (Booking b : page) {
-            model.addRow(new Object[]{
-                    b.getId(),
-                    b.getCustomer().getName(),
-                    b.getCustomer().getPhoneNumber(),
-                    b.getTable().getRestaurant().getName(),
-                    b.getTable().getNumber(),
-                    b.getTable().getCapacity(),
-                    DATE_FMT.format(b.getDate()),
-                    b.getStartTime().toString(),
-                    b.getEndTime().toString(),
-                    b.getStatus()
-            });
-        }
-        btnPrev.setEnabled(currentDto.getPage() > 0);
-        btnNext.setEnabled(page.size() == currentDto.getSize());
+        GetBookingsDto query = currentDto.copy();
+        loader.load(() -> bookingController.findBookings(query), page -> {
+            model.setRowCount(0);
+            for (Booking b : page) {
+                model.addRow(new Object[]{
+                        b.getId(),
+                        b.getCustomer().getName(),
+                        b.getCustomer().getPhoneNumber(),
+                        b.getTable().getRestaurant().getName(),
+                        b.getTable().getNumber(),
+                        b.getTable().getCapacity(),
+                        DATE_FMT.format(b.getDate()),
+                        b.getStartTime().toString(),
+                        b.getEndTime().toString(),
+                        b.getStatus()
+                });
+            }
+            lastShown = page.isEmpty() ? null : page.get(page.size() - 1);
+            btnPrev.setEnabled(currentDto.getPage() > 0);
+            btnNext.setEnabled(page.size() == currentDto.getSize());
+        });
+    }
+
+    private Object sortKey(Booking b) {
+        return switch (currentDto.getSortBy()) {
+            case "date" -> b.getDate();
+            case "startTime" -> b.getStartTime();
+            case "endTime" -> b.getEndTime();
+            case "status" -> b.getStatus();
+            default -> b.getId();
+        };
     }
 }
@@ -6,6 +6,7 @@ import com.restaurant.di.Injector;
 import com.restaurant.dtos.menu.GetMenuDto;
 import com.restaurant.models.Menu;
 import com.restaurant.models.Restaurant;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 
 import javax.swing.*;
@@ -17,7 +18,6 @@ import java.awt.*;
 import java.awt.event.ItemEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.List;
 
 public class MenuListView extends JPanel implements LoadableView {
     private static final String[] COLUMNS = {"ID", "Name", "Restaurant", "Description"};
@@ -28,6 +28,7 @@ public class MenuListView extends JPanel implements LoadableView {
     private final JComboBox<Restaurant> cmbRestaurant = new JComboBox<>();
     private final JButton btnPrev = new JButton("Previous");
     private final JButton btnNext = new JButton("Next");
+    private final AsyncLoader loader = new AsyncLoader(this);
     private final GetMenuDto currentDto = new GetMenuDto();
 
     public MenuListView() {
@@ -91,6 +92,7 @@ public class MenuListView extends JPanel implements LoadableView {
         JPanel paging = new JPanel();
         paging.add(btnPrev);
         paging.add(btnNext);
+        paging.add(loader.getIndicator());
         add(paging, BorderLayout.SOUTH);
 
         txtName.getDocument().addDocumentListener(new DocumentListener() {
@@ -168,13 +170,15 @@ public class MenuListView extends JPanel implements LoadableView {
 
     @Override
     public void loadData() {
-        model.setRowCount(0);
-        List<Menu> list = menuController.findMenus(currentDto);
-        for (Menu m : list) {
-            model.addRow(new Object[]{m.getId(), m.getName(), m.getRestaurant().getName(), m.getDescription()});
-        }
-        btnPrev.setEnabled(currentDto.getPage() > 0);
-        btnNext.setEnabled(list.size() == currentDto.getSize());
+        GetMenuDto query = currentDto.copy();
+        loader.load(() -> menuController.findMenus(query), list -> {
+            model.setRowCount(0);
+            for (Menu m : list) {
+                model.addRow(new Object[]{m.getId(), m.getName(), m.getRestaurant().getName(), m.getDescription()});
+            }
+            btnPrev.setEnabled(currentDto.getPage() > 0);
+            btnNext.setEnabled(list.size() == currentDto.getSize());
+        });
     }
 
     private void openForm(Menu m) {
@@ -9,6 +9,7 @@ import com.restaurant.dtos.menuItem.GetMenuItemsDto;
 import com.restaurant.models.Menu;
 import com.restaurant.models.MenuItem;
 import com.restaurant.models.Restaurant;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 
 import javax.swing.*;
@@ -19,8 +20,6 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 
 public class MenuItemListView extends JPanel implements LoadableView {
@@ -38,6 +37,7 @@ public class MenuItemListView extends JPanel implements LoadableView {
     private final JTextField txtMaxPrice = new JTextField(6);
     private final JButton btnPrev = new JButton("Previous");
     private final JButton btnNext = new JButton("Next");
+    private final AsyncLoader loader = new AsyncLoader(this);
     private final GetMenuItemsDto currentDto = new GetMenuItemsDto();
     private String sortBy = "id";
     private String sortDir = "desc";
@@ -122,6 +122,7 @@ public class MenuItemListView extends JPanel implements LoadableView {
         JPanel paging = new JPanel();
         paging.add(btnPrev);
         paging.add(btnNext);
+        paging.add(loader.getIndicator());
         add(paging, BorderLayout.SOUTH);
 
         cmbRestaurant.addActionListener(e -> {
@@ -174,13 +175,14 @@ public class MenuItemListView extends JPanel implements LoadableView {
                 int col = table.columnAtPoint(e.getPoint());
                 String key = null;
                 if (col == 4) key = "price";
-                else if (col == 5) key = "ordered";
+                else if (col == 5) key = "totalOrderedCount";
                 if (key != null) {
                     if (key.equals(sortBy)) sortDir = sortDir.equals("asc") ? "desc" : "asc";
                     else {
                         sortBy = key;
                         sortDir = "asc";
                     }
+                    currentDto.setPage(0);
                     loadData();
                 }
             }
@@ -266,27 +268,24 @@ public class MenuItemListView extends JPanel implements LoadableView {
 
     @Override
     public void loadData() {
-        model.setRowCount(0);
-        List<MenuItem> list = menuItemController.findMenuItems(currentDto);
-        if ("price".equals(sortBy)) {
-            list.sort(Comparator.comparing(MenuItem::getPrice));
-            if ("desc".equals(sortDir)) Collections.reverse(list);
-        } else if ("ordered".equals(sortBy)) {
-            list.sort(Comparator.comparing(MenuItem::getTotalOrderedCount));
-            if ("desc".equals(sortDir)) Collections.reverse(list);
-        }
-        for (MenuItem item : list) {
-            model.addRow(new Object[]{
-                    item.getId(),
-                    item.getName(),
-                    item.getMenu().getName(),
-                    item.getMenu().getRestaurant().getName(),
-                    String.format("%.2f", item.getPrice()),
-                    item.getTotalOrderedCount()
-            });
-        }
-        btnPrev.setEnabled(currentDto.getPage() > 0);
-        btnNext.setEnabled(list.size() == currentDto.getSize());
+        currentDto.setSortBy(sortBy);
+        currentDto.setSortDir(sortDir);
+        GetMenuItemsDto query = currentDto.copy();
+        loader.load(() -> menuItemController.findMenuItems(query), list -> {
+            model.setRowCount(0);
+            for (MenuItem item : list) {
+                model.addRow(new Object[]{
+                        item.getId(),
+                        item.getName(),
+                        item.getMenu().getName(),
+                        item.getMenu().getRestaurant().getName(),
+                        String.format("%.2f", item.getPrice()),
+                        item.getTotalOrderedCount()
+                });
+            }
+            btnPrev.setEnabled(currentDto.getPage() > 0);
+            btnNext.setEnabled(list.size() == currentDto.getSize());
+        });
     }
 
     private void openForm(MenuItem item) {
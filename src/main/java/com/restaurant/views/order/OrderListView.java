@@ -6,8 +6,10 @@ import com.restaurant.controllers.OrderController;
 import com.restaurant.controllers.RestaurantController;
 import com.restaurant.di.Injector;
 import com.restaurant.dtos.order.GetOrderDto;
+import com.restaurant.dtos.order.OrderRow;
 import com.restaurant.models.Order;
 import com.restaurant.models.Restaurant;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 import org.jdesktop.swingx.JXDatePicker;
 
@@ -29,12 +31,14 @@ public class OrderListView extends JPanel implements LoadableView {
     private final DefaultTableModel model;
     private final JTable table;
     private final GetOrderDto currentDto = new GetOrderDto();
+    private OrderRow lastShown;
     private final JComboBox<OrderType> cbType = new JComboBox<>(OrderType.values());
     private final JComboBox<OrderStatus> cbStatus = new JComboBox<>(OrderStatus.values());
     private final JComboBox<Restaurant> cbRestaurant = new JComboBox<>();
     private final JXDatePicker dpDate = new JXDatePicker();
     private final JButton btnPrev = new JButton("Previous");
     private final JButton btnNext = new JButton("Next");
+    private final AsyncLoader loader = new AsyncLoader(this);
 
     public OrderListView() {
         this.orderController = Injector.getInstance().getInstance(OrderController.class);
@@ -79,6 +83,7 @@ public class OrderListView extends JPanel implements LoadableView {
         JPanel paging = new JPanel();
         paging.add(btnPrev);
         paging.add(btnNext);
+        paging.add(loader.getIndicator());
         add(paging, BorderLayout.SOUTH);
 
         dpDate.addActionListener(e -> applyFilters());
@@ -94,13 +99,15 @@ public class OrderListView extends JPanel implements LoadableView {
 
         btnPrev.addActionListener(e -> {
             if (currentDto.getPage() > 0) {
-                currentDto.setPage(currentDto.getPage() - 1);
+                currentDto.previousPage();
                 loadData();
             }
         });
         btnNext.addActionListener(e -> {
-            currentDto.setPage(currentDto.getPage() + 1);
-            loadData();
+            if (lastShown != null) {
+                currentDto.nextPage(lastShown.id(), lastShown.id());
+                loadData();
+            }
         });
 
         table.addMouseListener(new MouseAdapter() {
@@ -162,36 +169,36 @@ public class OrderListView extends JPanel implements LoadableView {
 
     @Override
     public void loadData() {
-        model.setRowCount(0);
         DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd MMM yyyy");
-
         int pageSize = currentDto.getSize();
-        currentDto.setSize(pageSize + 1);
-        List<Order> fetched = orderController.findOrders(currentDto);
-
-        boolean hasNext = fetched.size() > pageSize;
-        List<Order> toShow = hasNext
-                ? fetched.subList(0, pageSize)
-                : fetched;
-
-        for (Order o : toShow) {
-            model.addRow(new Object[]{
-                    o.getId(),
-                    o.getRestaurant().getName(),
-                    o.getRestaurantTable() != null
-                            ? o.getRestaurantTable().getNumber()
-                            : "",
-                    o.getOrderType(),
-                    o.getStatus(),
-                    String.format("%.2f", o.getTotalPrice()),
-                    fmt.format(o.getCreatedAt())
-            });
-        }
-
-        currentDto.setSize(pageSize);
+        // One extra row tells whether there is a next page
+        GetOrderDto query = currentDto.copy();
+        query.setSize(pageSize + 1);
+        loader.load(() -> orderController.findOrderRows(query), fetched -> {
+            model.setRowCount(0);
+            boolean hasNext = fetched.size() > pageSize;
+            List<OrderRow> toShow = hasNext
+                    ? fetched.subList(0, pageSize)
+                    : fetched;
+
+            for (OrderRow o : toShow) {
+                model.addRow(new Object[]{
+                        o.id(),
+                        o.restaurantName(),
+                        o.tableNumber() != null
+                                ? o.tableNumber()
+                                : "",
+                        o.orderType(),
+                        o.status(),
+                        String.format("%.2f", o.totalPrice()),
+                        fmt.format(o.createdAt())
+                });
+            }
+            lastShown = toShow.isEmpty() ? null : toShow.get(toShow.size() - 1);
 
-        btnPrev.setEnabled(currentDto.getPage() > 0);
-        btnNext.setEnabled(hasNext);
+            btnPrev.setEnabled(currentDto.getPage() > 0);
+            btnNext.setEnabled(hasNext);
+        });
     }
 
     private void openForm() {
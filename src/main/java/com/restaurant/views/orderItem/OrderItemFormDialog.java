@@ -110,6 +110,13 @@ public class OrderItemFormDialog extends JDialog {
                 if (!v.triggerCreateErrors(cd)) return;
 
                 orderItemController.createOrderItem(cd);
+            } else if (qty == existing.getQuantity()
+                    && Objects.requireNonNull(m).getId() == existing.getMenuItem().getId()
+                    && notes.equals(Objects.toString(existing.getCustomization(), ""))) {
+                OrderItemStatus status = (OrderItemStatus) cbStatus.getSelectedItem();
+                if (status != existing.getStatus()) {
+                    orderItemController.updateOrderItemStatus(existing.getId(), existing.getStatus(), status);
+                }
             } else {
                 UpdateOrderItemDto ud = new UpdateOrderItemDto();
                 ud.setId(existing.getId());
@@ -5,7 +5,10 @@ import com.restaurant.controllers.OrderItemController;
 import com.restaurant.controllers.RestaurantController;
 import com.restaurant.di.Injector;
 import com.restaurant.dtos.orderItem.GetOrderItemDto;
-import com.restaurant.models.*;
+import com.restaurant.dtos.orderItem.OrderItemRow;
+import com.restaurant.models.Order;
+import com.restaurant.models.Restaurant;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 
 import javax.swing.*;
@@ -22,6 +25,7 @@ public class OrderItemListView extends JPanel implements LoadableView {
     private final Runnable onUpdated;
     private final OrderItemController orderItemController;
     private final GetOrderItemDto dto = new GetOrderItemDto();
+    private OrderItemRow lastShown;
     private final DefaultTableModel model;
     private final JTable table;
     private final JTextField txtIdFilter = new JTextField(5);
@@ -30,6 +34,7 @@ public class OrderItemListView extends JPanel implements LoadableView {
     private final JComboBox<Restaurant> cbRestaurantFilter = new JComboBox<>();
     private final JButton btnPrev = new JButton("Previous");
     private final JButton btnNext = new JButton("Next");
+    private final AsyncLoader loader = new AsyncLoader(this);
 
     public OrderItemListView(Order order, Runnable onUpdated) {
         super(new BorderLayout(5, 5));
@@ -76,6 +81,7 @@ public class OrderItemListView extends JPanel implements LoadableView {
         JPanel paging = new JPanel();
         paging.add(btnPrev);
         paging.add(btnNext);
+        paging.add(loader.getIndicator());
         add(paging, BorderLayout.SOUTH);
 
         dto.setSize(20);
@@ -115,7 +121,7 @@ public class OrderItemListView extends JPanel implements LoadableView {
             public void mouseClicked(java.awt.event.MouseEvent e) {
                 int col = table.columnAtPoint(e.getPoint());
                 String key = switch (col) {
-                    case 1 -> "menuItemName";
+                    case 1 -> "menuItem.name";
                     case 2 -> "quantity";
                     case 3 -> "customization";
                     case 4 -> "status";
@@ -135,13 +141,15 @@ public class OrderItemListView extends JPanel implements LoadableView {
 
         btnPrev.addActionListener(e -> {
             if (dto.getPage() > 0) {
-                dto.setPage(dto.getPage() - 1);
+                dto.previousPage();
                 loadData();
             }
         });
         btnNext.addActionListener(e -> {
-            dto.setPage(dto.getPage() + 1);
-            loadData();
+            if (lastShown != null) {
+                dto.nextPage(sortKey(lastShown), lastShown.id());
+                loadData();
+            }
         });
 
         resetFilters();
@@ -182,29 +190,39 @@ public class OrderItemListView extends JPanel implements LoadableView {
     @Override
     public void loadData() {
         dto.setOrderId(order != null ? order.getId() : 0);
-        List<OrderItem> items = orderItemController.findOrderItems(dto);
-        model.setRowCount(0);
-        for (OrderItem i : items) {
-            Order o = i.getOrder();
-            RestaurantTable rt = o.getRestaurantTable();
-            Shipment sh = o.getShipment();
-            String type = rt != null ? "Dine In" : "Delivery";
-            String location = rt != null
-                    ? "Table #" + rt.getNumber()
-                    : (sh != null ? "Tracking #" + sh.getTrackingNumber() : "");
-            model.addRow(new Object[]{
-                    i.getId(),
-                    i.getMenuItem().getName(),
-                    i.getQuantity(),
-                    i.getCustomization(),
-                    i.getStatus(),
-                    type,
-                    location
-            });
-        }
-        btnPrev.setEnabled(dto.getPage() > 0);
-        btnNext.setEnabled(items.size() == dto.getSize());
-        onUpdated.run();
+        GetOrderItemDto query = dto.copy();
+        loader.load(() -> orderItemController.findOrderItemRows(query), items -> {
+            model.setRowCount(0);
+            for (OrderItemRow i : items) {
+                String type = i.tableNumber() != null ? "Dine In" : "Delivery";
+                String location = i.tableNumber() != null
+                        ? "Table #" + i.tableNumber()
+                        : (i.trackingNumber() != null ? "Tracking #" + i.trackingNumber() : "");
+                model.addRow(new Object[]{
+                        i.id(),
+                        i.menuItemName(),
+                        i.quantity(),
+                        i.customization(),
+                        i.status(),
+                        type,
+                        location
+                });
+            }
+            lastShown = items.isEmpty() ? null : items.get(items.size() - 1);
+            btnPrev.setEnabled(dto.getPage() > 0);
+            btnNext.setEnabled(items.size() == dto.getSize());
+            onUpdated.run();
+        });
+    }
+
+    private Object sortKey(OrderItemRow i) {
+        return switch (dto.getSortBy()) {
+            case "menuItem.name" -> i.menuItemName();
+            case "quantity" -> i.quantity();
+            case "customization" -> i.customization();
+            case "status" -> i.status();
+            default -> i.id();
+        };
     }
 
     private static class TextAreaRenderer extends JTextArea implements TableCellRenderer {
@@ -5,7 +5,8 @@ import com.restaurant.constants.PaymentStatus;
 import com.restaurant.controllers.PaymentController;
 import com.restaurant.di.Injector;
 import com.restaurant.dtos.payment.GetPaymentDto;
-import com.restaurant.models.Payment;
+import com.restaurant.dtos.payment.PaymentRow;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 
 import javax.swing.*;
@@ -14,11 +15,11 @@ import java.awt.*;
 import java.awt.event.ItemEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.List;
 
 public class PaymentListView extends JPanel implements LoadableView {
     private final PaymentController paymentController;
     private final GetPaymentDto dto = new GetPaymentDto();
+    private PaymentRow lastShown;
     private final DefaultTableModel model;
     private final JTable table;
     private final JComboBox<PaymentMethod> cbMethodFilter = new JComboBox<>();
@@ -26,6 +27,7 @@ public class PaymentListView extends JPanel implements LoadableView {
     private final JSpinner spinnerOrderId = new JSpinner(new SpinnerNumberModel(0, 0, Integer.MAX_VALUE, 1));
     private final JButton btnPrev = new JButton("Previous");
     private final JButton btnNext = new JButton("Next");
+    private final AsyncLoader loader = new AsyncLoader(this);
 
     public PaymentListView() {
         super(new BorderLayout(5, 5));
@@ -64,6 +66,7 @@ public class PaymentListView extends JPanel implements LoadableView {
         JPanel paging = new JPanel();
         paging.add(btnPrev);
         paging.add(btnNext);
+        paging.add(loader.getIndicator());
         add(paging, BorderLayout.SOUTH);
 
         cbMethodFilter.addItemListener(e -> {
@@ -106,13 +109,15 @@ public class PaymentListView extends JPanel implements LoadableView {
 
         btnPrev.addActionListener(e -> {
             if (dto.getPage() > 0) {
-                dto.setPage(dto.getPage() - 1);
+                dto.previousPage();
                 loadData();
             }
         });
         btnNext.addActionListener(e -> {
-            dto.setPage(dto.getPage() + 1);
-            loadData();
+            if (lastShown != null) {
+                dto.nextPage(sortKey(lastShown), lastShown.id());
+                loadData();
+            }
         });
 
         resetFilters();
@@ -140,20 +145,35 @@ public class PaymentListView extends JPanel implements LoadableView {
 
     @Override
     public void loadData() {
-        model.setRowCount(0);
-        List<Payment> list = paymentController.findPayments(dto);
-        for (Payment p : list) {
-            model.addRow(new Object[]{
-                    p.getId(),
-                    p.getOrder().getId(),
-                    p.getOrder().getRestaurant().getName(),
-                    p.getMethod(),
-                    p.getUserPayAmount(),
-                    p.getChangeAmount(),
-                    p.getStatus()
-            });
-        }
-        btnPrev.setEnabled(dto.getPage() > 0);
-        btnNext.setEnabled(list.size() == dto.getSize());
+        GetPaymentDto query = dto.copy();
+        loader.load(() -> paymentController.findPaymentRows(query), list -> {
+            model.setRowCount(0);
+            for (PaymentRow p : list) {
+                model.addRow(new Object[]{
+                        p.id(),
+                        p.orderId(),
+                        p.restaurantName(),
+                        p.method(),
+                        p.userPayAmount(),
+                        p.changeAmount(),
+                        p.status()
+                });
+            }
+            lastShown = list.isEmpty() ? null : list.get(list.size() - 1);
+            btnPrev.setEnabled(dto.getPage() > 0);
+            btnNext.setEnabled(list.size() == dto.getSize());
+        });
+    }
+
+    private Object sortKey(PaymentRow p) {
+        return switch (dto.getSortBy()) {
+            case "order.id" -> p.orderId();
+            case "order.restaurant.name" -> p.restaurantName();
+            case "method" -> p.method();
+            case "userPayAmount" -> p.userPayAmount();
+            case "changeAmount" -> p.changeAmount();
+            case "status" -> p.status();
+            default -> p.id();
+        };
     }
 }
@@ -5,6 +5,7 @@ import com.restaurant.controllers.RestaurantController;
 import com.restaurant.di.Injector;
 import com.restaurant.dtos.restaurant.GetRestaurantDto;
 import com.restaurant.models.Restaurant;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 
 import javax.swing.*;
@@ -13,7 +14,6 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.List;
 
 public class RestaurantListView extends JPanel implements LoadableView {
     private static final String[] COLUMNS = {
@@ -29,6 +29,7 @@ public class RestaurantListView extends JPanel implements LoadableView {
     private final GetRestaurantDto currentDto = new GetRestaurantDto();
     private final JButton btnPrev = new JButton("Previous");
     private final JButton btnNext = new JButton("Next");
+    private final AsyncLoader loader = new AsyncLoader(this);
 
     public RestaurantListView() {
         controller = Injector.getInstance()
@@ -111,6 +112,7 @@ public class RestaurantListView extends JPanel implements LoadableView {
         JPanel paging = new JPanel();
         paging.add(btnPrev);
         paging.add(btnNext);
+        paging.add(loader.getIndicator());
         btnPrev.addActionListener(e -> {
             if (currentDto.getPage() > 0) {
                 currentDto.setPage(currentDto.getPage() - 1);
@@ -150,20 +152,22 @@ public class RestaurantListView extends JPanel implements LoadableView {
 
     @Override
     public void loadData() {
-        model.setRowCount(0);
-        List<Restaurant> list = controller.findRestaurants(currentDto);
-        for (Restaurant r : list) {
-            model.addRow(new Object[]{
-                    r.getId(),
-                    r.getName(),
-                    r.getAddress(),
-                    r.getStatus(),
-                    r.getMaxX(),
-                    r.getMaxY()
-            });
-        }
-        btnPrev.setEnabled(currentDto.getPage() > 0);
-        btnNext.setEnabled(list.size() == currentDto.getSize());
+        GetRestaurantDto query = currentDto.copy();
+        loader.load(() -> controller.findRestaurants(query), list -> {
+            model.setRowCount(0);
+            for (Restaurant r : list) {
+                model.addRow(new Object[]{
+                        r.getId(),
+                        r.getName(),
+                        r.getAddress(),
+                        r.getStatus(),
+                        r.getMaxX(),
+                        r.getMaxY()
+                });
+            }
+            btnPrev.setEnabled(currentDto.getPage() > 0);
+            btnNext.setEnabled(list.size() == currentDto.getSize());
+        });
     }
 
     private Restaurant getSelected() {
@@ -5,9 +5,10 @@ import com.restaurant.controllers.RestaurantController;
 import com.restaurant.controllers.RestaurantTableController;
 import com.restaurant.di.Injector;
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableDto;
-import com.restaurant.dtos.restaurantTable.GetRestaurantTableForBookingDto;
+import com.restaurant.dtos.restaurantTable.TableOccupancy;
 import com.restaurant.models.Restaurant;
 import com.restaurant.models.RestaurantTable;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 import org.jdesktop.swingx.JXDatePicker;
 
@@ -15,9 +16,9 @@ import javax.swing.*;
 import javax.swing.plaf.basic.BasicComboBoxRenderer;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -28,13 +29,13 @@ public class RestaurantTableMapView extends JPanel implements LoadableView {
     private final JComboBox<BookingTimeSlot> cbTime;
     private final JPanel mapContainer = new JPanel(new GridBagLayout());
     private GetRestaurantTableDto searchDto;
-    private GetRestaurantTableForBookingDto bookingDto;
+    private final AsyncLoader loader = new AsyncLoader(this);
+    private TableMap tableMap;
 
     public RestaurantTableMapView() {
         RestaurantController restaurantController = Injector.getInstance().getInstance(RestaurantController.class);
         tableController = Injector.getInstance().getInstance(RestaurantTableController.class);
         searchDto = new GetRestaurantTableDto();
-        bookingDto = new GetRestaurantTableForBookingDto();
         List<Restaurant> rests = restaurantController.findAllRestaurants();
         for (Restaurant r : rests) {
             cmbRestaurant.addItem(r);
@@ -67,13 +68,15 @@ public class RestaurantTableMapView extends JPanel implements LoadableView {
         top.add(cbTime);
         JButton btnReset = new JButton("Reset");
         top.add(btnReset);
+        top.add(loader.getIndicator());
         setLayout(new BorderLayout(5, 5));
         add(top, BorderLayout.NORTH);
         add(mapContainer, BorderLayout.CENTER);
         ActionListener refresher = e -> loadData();
         cmbRestaurant.addActionListener(refresher);
         datePicker.addActionListener(refresher);
-        cbTime.addActionListener(refresher);
+        // The day's occupancy is already loaded: a slot change only recolours the map
+        cbTime.addActionListener(e -> showMap());
         btnReset.addActionListener(e -> {
             if (cmbRestaurant.getItemCount() > 0) {
                 cmbRestaurant.setSelectedIndex(0);
@@ -82,7 +85,6 @@ public class RestaurantTableMapView extends JPanel implements LoadableView {
             }
             datePicker.setDate(null);
             cbTime.setSelectedIndex(0);
-            bookingDto = new GetRestaurantTableForBookingDto();
             loadData();
         });
     }
@@ -91,23 +93,33 @@ public class RestaurantTableMapView extends JPanel implements LoadableView {
     public void loadData() {
         Restaurant r = (Restaurant) cmbRestaurant.getSelectedItem();
         if (r == null) {
+            loader.cancel();
             return;
         }
         searchDto.setRestaurantId(r.getId());
-        List<RestaurantTable> all = tableController.findTables(searchDto);
+        GetRestaurantTableDto query = new GetRestaurantTableDto();
+        query.setRestaurantId(r.getId());
         Date d = datePicker.getDate();
-        BookingTimeSlot slot = (BookingTimeSlot) cbTime.getSelectedItem();
-        Set<Integer> availIds = null;
-        if (d != null && slot != null) {
-            bookingDto.setRestaurantId(r.getId());
-            bookingDto.setDate(d.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
-            bookingDto.setTime(slot);
-            availIds = new HashSet<>();
-            for (RestaurantTable t : tableController.findTablesForBooking(bookingDto)) {
-                availIds.add(t.getId());
-            }
+        LocalDate date = d == null ? null : d.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        loader.load(() -> {
+            List<RestaurantTable> all = tableController.findTables(query);
+            TableOccupancy occupancy = date == null ? null : tableController.getOccupancy(r.getId(), date);
+            return new TableMap(r, all, occupancy);
+        }, data -> {
+            tableMap = data;
+            showMap();
+        });
+    }
+
+    private void showMap() {
+        if (tableMap == null) {
+            return;
         }
-        TableMapPanel map = getTableMapPanel(r, all, availIds);
+        BookingTimeSlot slot = (BookingTimeSlot) cbTime.getSelectedItem();
+        Set<Integer> availIds = slot != null && tableMap.occupancy() != null
+                ? tableMap.occupancy().freeTableIds(slot.mask())
+                : null;
+        TableMapPanel map = getTableMapPanel(tableMap.restaurant(), tableMap.tables(), availIds);
         mapContainer.removeAll();
         GridBagConstraints gbc = new GridBagConstraints();
         gbc.gridx = 0;
@@ -149,4 +161,7 @@ public class RestaurantTableMapView extends JPanel implements LoadableView {
         }
         dlg.setVisible(true);
     }
+
+    private record TableMap(Restaurant restaurant, List<RestaurantTable> tables, TableOccupancy occupancy) {
+    }
 }
@@ -17,6 +17,7 @@ import com.restaurant.validators.ValidatorFactory;
 import javax.swing.*;
 import java.awt.*;
 import java.util.List;
+import java.util.Objects;
 
 public class ShipmentFormDialog extends JDialog {
     private final JComboBox<ShipmentService> cbService = new JComboBox<>(ShipmentService.values());
@@ -129,6 +130,11 @@ public class ShipmentFormDialog extends JDialog {
                     ValidatorFactory.getCreateValidator(CreateShipmentDto.class);
             if (!v.triggerCreateErrors(dto)) return;
             shipmentController.createShipment(dto);
+        } else if (onlyStatusChanged(service, shipperId, name, email, address)) {
+            ShipmentStatus status = (ShipmentStatus) cbStatus.getSelectedItem();
+            if (status != shipment.getStatus()) {
+                shipmentController.updateShipmentStatus(shipment.getId(), shipment.getStatus(), status);
+            }
         } else {
             UpdateShipmentDto dto = new UpdateShipmentDto();
             dto.setId(shipment.getId());
@@ -150,4 +156,13 @@ public class ShipmentFormDialog extends JDialog {
         onSaved.run();
         dispose();
     }
+
+    private boolean onlyStatusChanged(ShipmentService service, int shipperId, String name, String email, String address) {
+        int currentShipperId = shipment.getShipper() != null ? shipment.getShipper().getId() : 0;
+        return service == shipment.getServiceType()
+                && (service != ShipmentService.INTERNAL || shipperId == currentShipperId)
+                && name.equals(Objects.toString(shipment.getCustomer().getName(), ""))
+                && email.equals(Objects.toString(shipment.getCustomer().getEmail(), ""))
+                && address.equals(Objects.toString(shipment.getCustomer().getAddress(), ""));
+    }
 }
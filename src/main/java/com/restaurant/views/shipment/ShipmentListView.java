@@ -5,7 +5,9 @@ import com.restaurant.constants.ShipmentStatus;
 import com.restaurant.controllers.ShipmentController;
 import com.restaurant.di.Injector;
 import com.restaurant.dtos.shipment.GetShipmentDto;
+import com.restaurant.dtos.shipment.ShipmentRow;
 import com.restaurant.models.Shipment;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 
 import javax.swing.*;
@@ -31,7 +33,9 @@ public class ShipmentListView extends JPanel implements LoadableView {
     private final JTextField tfTrackingNumber = new JTextField(10);
     private final JButton btnPrev = new JButton("Previous");
     private final JButton btnNext = new JButton("Next");
-    private List<Shipment> currentShipments;
+    private final AsyncLoader loader = new AsyncLoader(this);
+    private List<ShipmentRow> currentShipments;
+    private ShipmentRow lastShown;
 
     public ShipmentListView() {
         super(new BorderLayout(5, 5));
@@ -73,6 +77,7 @@ public class ShipmentListView extends JPanel implements LoadableView {
         JPanel paging = new JPanel();
         paging.add(btnPrev);
         paging.add(btnNext);
+        paging.add(loader.getIndicator());
         add(paging, BorderLayout.SOUTH);
 
         cbServiceFilter.addItemListener(e -> {
@@ -112,8 +117,8 @@ public class ShipmentListView extends JPanel implements LoadableView {
                     case 1 -> "order.id";
                     case 2 -> "order.restaurant.name";
                     case 3 -> "serviceType";
-                    case 4 -> "shipperName";
-                    case 5 -> "customerName";
+                    case 4 -> "shipper.name";
+                    case 5 -> "customer.name";
                     case 6 -> "status";
                     case 7 -> "trackingNumber";
                     default -> null;
@@ -135,7 +140,8 @@ public class ShipmentListView extends JPanel implements LoadableView {
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2 && table.getSelectedRow() != -1) {
                     int row = table.convertRowIndexToModel(table.getSelectedRow());
-                    Shipment s = currentShipments.get(row);
+                    Shipment s = shipmentController.getShipment(currentShipments.get(row).id());
+                    if (s == null) return;
                     Frame owner = (Frame) SwingUtilities.getWindowAncestor(ShipmentListView.this);
                     new ShipmentFormDialog(owner, s, ShipmentListView.this::loadData).setVisible(true);
                 }
@@ -144,13 +150,15 @@ public class ShipmentListView extends JPanel implements LoadableView {
 
         btnPrev.addActionListener(e -> {
             if (dto.getPage() > 0) {
-                dto.setPage(dto.getPage() - 1);
+                dto.previousPage();
                 loadData();
             }
         });
         btnNext.addActionListener(e -> {
-            dto.setPage(dto.getPage() + 1);
-            loadData();
+            if (lastShown != null) {
+                dto.nextPage(sortKey(lastShown), lastShown.id());
+                loadData();
+            }
         });
 
         resetFilters();
@@ -190,21 +198,38 @@ public class ShipmentListView extends JPanel implements LoadableView {
 
     @Override
     public void loadData() {
-        model.setRowCount(0);
-        currentShipments = shipmentController.findShipments(dto);
-        for (Shipment s : currentShipments) {
-            model.addRow(new Object[]{
-                    s.getId(),
-                    s.getOrder().getId(),
-                    s.getOrder().getRestaurant().getName(),
-                    s.getServiceType(),
-                    s.getShipper() != null ? s.getShipper().getName() : "",
-                    s.getCustomer().getName(),
-                    s.getStatus(),
-                    s.getTrackingNumber()
-            });
-        }
-        btnPrev.setEnabled(dto.getPage() > 0);
-        btnNext.setEnabled(currentShipments.size() == dto.getSize());
+        GetShipmentDto query = dto.copy();
+        loader.load(() -> shipmentController.findShipmentRows(query), shipments -> {
+            currentShipments = shipments;
+            model.setRowCount(0);
+            for (ShipmentRow s : currentShipments) {
+                model.addRow(new Object[]{
+                        s.id(),
+                        s.orderId(),
+                        s.restaurantName(),
+                        s.serviceType(),
+                        s.shipperName() != null ? s.shipperName() : "",
+                        s.customerName(),
+                        s.status(),
+                        s.trackingNumber()
+                });
+            }
+            lastShown = currentShipments.isEmpty() ? null : currentShipments.get(currentShipments.size() - 1);
+            btnPrev.setEnabled(dto.getPage() > 0);
+            btnNext.setEnabled(currentShipments.size() == dto.getSize());
+        });
+    }
+
+    private Object sortKey(ShipmentRow s) {
+        return switch (dto.getSortBy()) {
+            case "order.id" -> s.orderId();
+            case "order.restaurant.name" -> s.restaurantName();
+            case "serviceType" -> s.serviceType();
+            case "shipper.name" -> s.shipperName();
+            case "customer.name" -> s.customerName();
+            case "status" -> s.status();
+            case "trackingNumber" -> s.trackingNumber();
+            default -> s.id();
+        };
     }
 }
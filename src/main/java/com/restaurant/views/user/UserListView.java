@@ -5,6 +5,7 @@ import com.restaurant.controllers.UserController;
 import com.restaurant.di.Injector;
 import com.restaurant.dtos.user.GetUserDto;
 import com.restaurant.models.User;
+import com.restaurant.views.AsyncLoader;
 import com.restaurant.views.LoadableView;
 
 import javax.swing.*;
@@ -16,7 +17,6 @@ import java.awt.*;
 import java.awt.event.ItemEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.List;
 
 public class UserListView extends JPanel implements LoadableView {
     private static final String[] COLUMNS = {"ID", "Username", "Name", "Email", "Role", "Active"};
@@ -29,6 +29,7 @@ public class UserListView extends JPanel implements LoadableView {
     private final JComboBox<UserRole> cmbRole = new JComboBox<>();
     private final JButton btnPrev = new JButton("Previous");
     private final JButton btnNext = new JButton("Next");
+    private final AsyncLoader loader = new AsyncLoader(this);
     private final GetUserDto currentDto = new GetUserDto();
 
     public UserListView() {
@@ -75,6 +76,7 @@ public class UserListView extends JPanel implements LoadableView {
         JPanel paging = new JPanel();
         paging.add(btnPrev);
         paging.add(btnNext);
+        paging.add(loader.getIndicator());
         add(paging, BorderLayout.SOUTH);
 
         txtName.getDocument().addDocumentListener(new FilterListener());
@@ -140,20 +142,22 @@ public class UserListView extends JPanel implements LoadableView {
 
     @Override
     public void loadData() {
-        model.setRowCount(0);
-        List<User> list = userController.findUsers(currentDto);
-        for (User u : list) {
-            model.addRow(new Object[]{
-                    u.getId(),
-                    u.getUsername(),
-                    u.getName(),
-                    u.getEmail(),
-                    u.getRole(),
-                    u.isActive()
-            });
-        }
-        btnPrev.setEnabled(currentDto.getPage() > 0);
-        btnNext.setEnabled(list.size() == currentDto.getSize());
+        GetUserDto query = currentDto.copy();
+        loader.load(() -> userController.findUsers(query), list -> {
+            model.setRowCount(0);
+            for (User u : list) {
+                model.addRow(new Object[]{
+                        u.getId(),
+                        u.getUsername(),
+                        u.getName(),
+                        u.getEmail(),
+                        u.getRole(),
+                        u.isActive()
+                });
+            }
+            btnPrev.setEnabled(currentDto.getPage() > 0);
+            btnNext.setEnabled(list.size() == currentDto.getSize());
+        });
     }
 
     private void openForm(User u) {
@@ -0,0 +1,73 @@
+package com.restaurant.config;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CacheMetricsTest {
+
+    @Test
+    void snapshot_collectsTotalsAndRegions() {
+        Statistics stats = mock(Statistics.class);
+        CacheRegionStatistics region = mock(CacheRegionStatistics.class);
+        when(stats.getSecondLevelCacheHitCount()).thenReturn(30L);
+        when(stats.getSecondLevelCacheMissCount()).thenReturn(10L);
+        when(stats.getQueryCacheHitCount()).thenReturn(4L);
+        when(stats.getQueryCacheMissCount()).thenReturn(1L);
+        when(stats.getPrepareStatementCount()).thenReturn(12L);
+        when(stats.getSecondLevelCacheRegionNames()).thenReturn(new String[]{
+                "com.restaurant.models.Restaurant", "default-query-results-region"
+        });
+        when(stats.getDomainDataRegionStatistics("com.restaurant.models.Restaurant")).thenReturn(region);
+        when(region.getHitCount()).thenReturn(9L);
+        when(region.getMissCount()).thenReturn(3L);
+        when(region.getPutCount()).thenReturn(3L);
+        when(region.getElementCountInMemory()).thenReturn(3L);
+
+        CacheMetrics.Snapshot snapshot = new CacheMetrics(stats).snapshot();
+
+        assertEquals(30, snapshot.hits());
+        assertEquals(10, snapshot.misses());
+        assertEquals(0.75, snapshot.hitRatio(), 1e-9);
+        assertEquals(4, snapshot.queryHits());
+        assertEquals(12, snapshot.statements());
+        assertEquals(1, snapshot.regions().size());
+        CacheMetrics.RegionStats r = snapshot.regions().get("com.restaurant.models.Restaurant");
+        assertEquals(0.75, r.hitRatio(), 1e-9);
+        assertTrue(snapshot.toString().contains("Restaurant hits=9 misses=3"));
+    }
+
+    @Test
+    void snapshot_skipsQueryResultRegions() {
+        Statistics stats = mock(Statistics.class);
+        when(stats.getSecondLevelCacheRegionNames()).thenReturn(new String[]{"default-query-results-region"});
+        when(stats.getDomainDataRegionStatistics("default-query-results-region"))
+                .thenThrow(new IllegalArgumentException("query result region"));
+
+        assertTrue(new CacheMetrics(stats).snapshot().regions().isEmpty());
+    }
+
+    @Test
+    void hitRatio_isZeroWithoutTraffic() {
+        Statistics stats = mock(Statistics.class);
+        when(stats.getSecondLevelCacheRegionNames()).thenReturn(new String[0]);
+
+        assertEquals(0.0, new CacheMetrics(stats).snapshot().hitRatio());
+    }
+
+    @Test
+    void snapshot_includesAddedRegions() {
+        Statistics stats = mock(Statistics.class);
+        when(stats.getSecondLevelCacheRegionNames()).thenReturn(new String[0]);
+        CacheMetrics metrics = new CacheMetrics(stats);
+        metrics.addRegion("customers-by-phone", () -> new CacheMetrics.RegionStats(8, 2, 2, 2));
+
+        CacheMetrics.Snapshot snapshot = metrics.snapshot();
+
+        assertEquals(0.8, snapshot.regions().get("customers-by-phone").hitRatio(), 1e-9);
+        assertTrue(snapshot.toString().contains("customers-by-phone hits=8 misses=2 puts=2 size=2"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.restaurant.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolMetricsTest {
+
+    private static PoolStats stats(int active, int idle, int waiting) {
+        return new PoolStats(0) {
+            @Override
+            protected void update() {
+                this.activeConnections = active;
+                this.idleConnections = idle;
+                this.pendingThreads = waiting;
+                this.totalConnections = active + idle;
+            }
+        };
+    }
+
+    @Test
+    void snapshot_beforePoolStarts_isEmpty() {
+        ConnectionPoolMetrics.Snapshot s = new ConnectionPoolMetrics().snapshot();
+
+        assertEquals(0, s.active());
+        assertEquals(0, s.total());
+        assertEquals(0, s.acquired());
+        assertEquals(0.0, s.avgAcquireMillis());
+    }
+
+    @Test
+    void snapshot_reportsPoolState() {
+        ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+        metrics.create("pool", stats(3, 7, 2));
+
+        ConnectionPoolMetrics.Snapshot s = metrics.snapshot();
+
+        assertEquals(3, s.active());
+        assertEquals(7, s.idle());
+        assertEquals(2, s.waiting());
+        assertEquals(10, s.total());
+    }
+
+    @Test
+    void tracker_recordsAcquireTimesAndTimeouts() {
+        ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+        IMetricsTracker tracker = metrics.create("pool", stats(0, 0, 0));
+
+        tracker.recordConnectionAcquiredNanos(1_000_000);
+        tracker.recordConnectionAcquiredNanos(3_000_000);
+        tracker.recordConnectionTimeout();
+
+        ConnectionPoolMetrics.Snapshot s = metrics.snapshot();
+        assertEquals(2, s.acquired());
+        assertEquals(2.0, s.avgAcquireMillis(), 1e-9);
+        assertEquals(3.0, s.maxAcquireMillis(), 1e-9);
+        assertEquals(1, s.timeouts());
+        assertTrue(s.toString().contains("active=0"));
+    }
+}
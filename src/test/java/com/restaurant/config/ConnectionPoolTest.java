@@ -0,0 +1,84 @@
+package com.restaurant.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ConnectionPoolTest {
+
+    private Dotenv dotenv;
+    private Env env;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Field instance = Env.class.getDeclaredField("INSTANCE");
+        instance.setAccessible(true);
+        instance.set(null, null);
+        env = Env.getInstance();
+        dotenv = mock(Dotenv.class);
+        Field dotField = Env.class.getDeclaredField("dotenv");
+        dotField.setAccessible(true);
+        dotField.set(env, dotenv);
+    }
+
+    @Test
+    void buildConfig_appliesDefaults() {
+        HikariConfig config = ConnectionPool.buildConfig(
+                "jdbc:mysql://localhost:3306/db", "user", "pass", env, null);
+
+        assertEquals("jdbc:mysql://localhost:3306/db", config.getJdbcUrl());
+        assertEquals("user", config.getUsername());
+        assertEquals("pass", config.getPassword());
+        assertEquals(10, config.getMaximumPoolSize());
+        assertEquals(2, config.getMinimumIdle());
+        assertEquals(600_000, config.getIdleTimeout());
+        assertEquals(0, config.getLeakDetectionThreshold());
+        assertFalse(config.isAutoCommit());
+        assertNull(config.getMetricsTrackerFactory());
+    }
+
+    @Test
+    void buildConfig_readsOverridesFromEnv() {
+        when(dotenv.get("DB_POOL_MAX_SIZE")).thenReturn("32");
+        when(dotenv.get("DB_POOL_IDLE_TIMEOUT_MS")).thenReturn("120000");
+        when(dotenv.get("DB_POOL_LEAK_DETECTION_MS")).thenReturn("5000");
+        when(dotenv.get("DB_PREP_STMT_CACHE_SIZE")).thenReturn("500");
+
+        HikariConfig config = ConnectionPool.buildConfig(
+                "jdbc:mysql://localhost:3306/db", "user", "pass", env, null);
+
+        assertEquals(32, config.getMaximumPoolSize());
+        assertEquals(120_000, config.getIdleTimeout());
+        assertEquals(5_000, config.getLeakDetectionThreshold());
+        assertEquals(500, config.getDataSourceProperties().get("prepStmtCacheSize"));
+    }
+
+    @Test
+    void buildConfig_enablesStatementCacheOnlyForMySql() {
+        HikariConfig mysql = ConnectionPool.buildConfig(
+                "jdbc:mysql://localhost:3306/db", "u", "p", env, null);
+        HikariConfig h2 = ConnectionPool.buildConfig(
+                "jdbc:h2:mem:test", "sa", "", env, null);
+
+        assertEquals("true", mysql.getDataSourceProperties().get("cachePrepStmts"));
+        assertEquals(2048, mysql.getDataSourceProperties().get("prepStmtCacheSqlLimit"));
+        assertEquals("true", mysql.getDataSourceProperties().get("rewriteBatchedStatements"));
+        assertTrue(h2.getDataSourceProperties().isEmpty());
+    }
+
+    @Test
+    void buildConfig_registersMetricsTracker() {
+        ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+
+        HikariConfig config = ConnectionPool.buildConfig(
+                "jdbc:h2:mem:test", "sa", "", env, metrics);
+
+        assertSame(metrics, config.getMetricsTrackerFactory());
+    }
+}
@@ -95,4 +95,34 @@ class EnvTest {
         when(mockDotenv.get("FOO")).thenReturn("  ");
         assertEquals("theDefault", env.get("FOO", "theDefault"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getInt_parsesValueOrFallsBackToDefault() throws Exception {
+        Env env = Env.getInstance();
+        Dotenv mockDotenv = mock(Dotenv.class);
+        Field dotField = Env.class.getDeclaredField("dotenv");
+        dotField.setAccessible(true);
+        dotField.set(env, mockDotenv);
+
+        when(mockDotenv.get("POOL_SIZE")).thenReturn(" 16 ");
+        assertEquals(16, env.getInt("POOL_SIZE", 10));
+
+        when(mockDotenv.get("POOL_SIZE")).thenReturn(null);
+        assertEquals(10, env.getInt("POOL_SIZE", 10));
+    }
+
+    @Test
+    void getLong_parsesValueOrFallsBackToDefault() throws Exception {
+        Env env = Env.getInstance();
+        Dotenv mockDotenv = mock(Dotenv.class);
+        Field dotField = Env.class.getDeclaredField("dotenv");
+        dotField.setAccessible(true);
+        dotField.set(env, mockDotenv);
+
+        when(mockDotenv.get("TIMEOUT")).thenReturn("600000");
+        assertEquals(600_000L, env.getLong("TIMEOUT", 0));
+
+        when(mockDotenv.get("TIMEOUT")).thenReturn("");
+        assertEquals(30_000L, env.getLong("TIMEOUT", 30_000));
+    }
+}
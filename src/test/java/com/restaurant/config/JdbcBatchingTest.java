@@ -0,0 +1,88 @@
+package com.restaurant.config;
+
+import com.restaurant.Main;
+import com.restaurant.models.BaseModel;
+import com.restaurant.models.Customer;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JdbcBatchingTest {
+
+    private Dotenv dotenv;
+    private Env env;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Field instance = Env.class.getDeclaredField("INSTANCE");
+        instance.setAccessible(true);
+        instance.set(null, null);
+        env = Env.getInstance();
+        dotenv = mock(Dotenv.class);
+        Field dotField = Env.class.getDeclaredField("dotenv");
+        dotField.setAccessible(true);
+        dotField.set(env, dotenv);
+    }
+
+    @Test
+    void configure_appliesDefaults() {
+        Properties props = new Properties();
+        JdbcBatching.configure(props, env);
+
+        assertEquals(String.valueOf(BaseModel.ID_ALLOCATION_SIZE), props.get(Environment.STATEMENT_BATCH_SIZE));
+        assertEquals("true", props.get(Environment.ORDER_INSERTS));
+        assertEquals("true", props.get(Environment.ORDER_UPDATES));
+    }
+
+    @Test
+    void configure_readsBatchSizeFromEnv() {
+        when(dotenv.get("JDBC_BATCH_SIZE")).thenReturn("20");
+        Properties props = new Properties();
+        JdbcBatching.configure(props, env);
+
+        assertEquals("20", props.get(Environment.STATEMENT_BATCH_SIZE));
+    }
+
+    @Test
+    void persist_batchesInsertsWithPooledIds() {
+        Properties props = new Properties();
+        props.put(Environment.JAKARTA_JDBC_URL, "jdbc:h2:mem:batching;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        props.put(Environment.JAKARTA_JDBC_USER, "sa");
+        props.put(Environment.HBM2DDL_AUTO, "create-drop");
+        props.put(Environment.GENERATE_STATISTICS, "true");
+        JdbcBatching.configure(props, env);
+
+        try (SessionFactory sessionFactory = Main.buildSessionFactory(props)) {
+            Statistics statistics = sessionFactory.getStatistics();
+            statistics.clear();
+            List<Customer> customers = new ArrayList<>();
+            sessionFactory.inTransaction(session -> {
+                for (int i = 0; i < BaseModel.ID_ALLOCATION_SIZE; i++) {
+                    Customer c = new Customer("Customer " + i, String.format("555-%07d", i));
+                    session.persist(c);
+                    // The id is known on persist(), nothing has been written yet
+                    assertTrue(c.getId() > 0);
+                    customers.add(c);
+                }
+                assertEquals(0, statistics.getEntityInsertCount());
+            });
+
+            assertEquals(BaseModel.ID_ALLOCATION_SIZE, statistics.getEntityInsertCount());
+            assertEquals(BaseModel.ID_ALLOCATION_SIZE, customers.stream().mapToInt(Customer::getId).distinct().count());
+            // One insert statement for the whole batch; IDENTITY prepared one per row
+            assertTrue(statistics.getPrepareStatementCount() < 5,
+                    "prepared " + statistics.getPrepareStatementCount() + " statements");
+        }
+    }
+}
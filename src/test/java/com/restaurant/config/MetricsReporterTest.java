@@ -0,0 +1,34 @@
+package com.restaurant.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsReporterTest {
+
+    @Test
+    void report_pollsEverySource() {
+        AtomicInteger a = new AtomicInteger();
+        AtomicInteger b = new AtomicInteger();
+        MetricsReporter reporter = new MetricsReporter(List.of(a::incrementAndGet, b::incrementAndGet));
+
+        reporter.report();
+
+        assertEquals(1, a.get());
+        assertEquals(1, b.get());
+    }
+
+    @Test
+    void start_ignoresNonPositiveInterval() {
+        AtomicInteger calls = new AtomicInteger();
+        MetricsReporter reporter = new MetricsReporter(List.of(calls::incrementAndGet));
+
+        reporter.start(0);
+        reporter.stop();
+
+        assertEquals(0, calls.get());
+    }
+}
@@ -0,0 +1,288 @@
+package com.restaurant.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.RollbackException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UnitOfWorkTest {
+    private EntityManagerFactory emf;
+    private EntityManager em;
+    private EntityTransaction tx;
+    private UnitOfWork unitOfWork;
+
+    @BeforeEach
+    void setUp() {
+        emf = mock(EntityManagerFactory.class);
+        em = mock(EntityManager.class);
+        tx = mock(EntityTransaction.class);
+        when(emf.createEntityManager()).thenReturn(em);
+        when(em.getTransaction()).thenReturn(tx);
+        unitOfWork = new UnitOfWork(emf);
+    }
+
+    @Test
+    void call_sharesOneEntityManagerAndCommitsOnce() {
+        EntityManagerFactory shared = unitOfWork.getEntityManagerFactory();
+        when(tx.isActive()).thenReturn(true);
+
+        String result = unitOfWork.call(() -> {
+            EntityManager first = shared.createEntityManager();
+            EntityManager second = shared.createEntityManager();
+            assertSame(first, second);
+            EntityTransaction joined = first.getTransaction();
+            joined.begin();
+            first.persist("a");
+            joined.commit();
+            first.close();
+            second.persist("b");
+            return "done";
+        });
+
+        assertEquals("done", result);
+        verify(emf, times(1)).createEntityManager();
+        verify(em).persist("a");
+        verify(em).persist("b");
+        verify(tx, times(1)).begin();
+        verify(tx, times(1)).commit();
+        verify(em, times(1)).close();
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    @Test
+    void call_rollsBackAndRethrowsOnFailure() {
+        when(tx.isActive()).thenReturn(true);
+        RuntimeException failure = new RuntimeException("boom");
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> unitOfWork.run(() -> {
+            throw failure;
+        }));
+
+        assertSame(failure, thrown);
+        verify(tx).rollback();
+        verify(tx, never()).commit();
+        verify(em).close();
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    @Test
+    void joinedRollback_marksUnitRollbackOnly() {
+        EntityManagerFactory shared = unitOfWork.getEntityManagerFactory();
+        when(tx.isActive()).thenReturn(true);
+
+        unitOfWork.run(() -> shared.createEntityManager().getTransaction().rollback());
+
+        verify(tx).setRollbackOnly();
+        verify(tx, never()).rollback();
+        verify(tx).commit();
+    }
+
+    @Test
+    void nestedCall_joinsOuterUnit() {
+        unitOfWork.run(() -> unitOfWork.run(() -> assertTrue(UnitOfWork.isActive())));
+
+        verify(emf, times(1)).createEntityManager();
+        verify(tx, times(1)).begin();
+        verify(tx, times(1)).commit();
+    }
+
+    @Test
+    void call_retriesWholeUnitOnVersionConflictAtCommit() {
+        when(tx.isActive()).thenReturn(true);
+        doThrow(new RollbackException(new OptimisticLockException("stale"))).doNothing().when(tx).commit();
+        AtomicInteger runs = new AtomicInteger();
+
+        int result = unitOfWork.call(runs::incrementAndGet);
+
+        assertEquals(2, result);
+        verify(emf, times(2)).createEntityManager();
+        verify(tx, times(2)).begin();
+        verify(tx).rollback();
+        verify(em, times(2)).close();
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    @Test
+    void call_givesUpAfterMaxAttempts() {
+        when(tx.isActive()).thenReturn(true);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(OptimisticLockException.class, () -> unitOfWork.run(() -> {
+            runs.incrementAndGet();
+            throw new OptimisticLockException("stale");
+        }));
+
+        assertEquals(UnitOfWork.MAX_ATTEMPTS, runs.get());
+        verify(tx, times(UnitOfWork.MAX_ATTEMPTS)).rollback();
+        verify(tx, never()).commit();
+    }
+
+    @Test
+    void call_doesNotRetryOtherFailures() {
+        when(tx.isActive()).thenReturn(true);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> unitOfWork.run(() -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void nestedCall_leavesRetryToOuterUnit() {
+        when(tx.isActive()).thenReturn(true);
+        AtomicInteger outerRuns = new AtomicInteger();
+        AtomicInteger innerRuns = new AtomicInteger();
+
+        unitOfWork.run(() -> {
+            outerRuns.incrementAndGet();
+            try {
+                unitOfWork.run(() -> {
+                    if (innerRuns.incrementAndGet() == 1) {
+                        throw new OptimisticLockException("stale");
+                    }
+                });
+            } catch (OptimisticLockException e) {
+                throw new RuntimeException("Error updating order", e);
+            }
+        });
+
+        assertEquals(2, outerRuns.get());
+        assertEquals(2, innerRuns.get());
+        verify(tx, times(1)).commit();
+    }
+
+    @Test
+    void afterCommit_runsOnceTheUnitCommits() {
+        when(tx.isActive()).thenReturn(true);
+        List<String> events = new ArrayList<>();
+        doAnswer(invocation -> events.add("commit")).when(tx).commit();
+
+        unitOfWork.run(() -> {
+            UnitOfWork.afterCommit(() -> events.add("action"));
+            events.add("work");
+        });
+
+        assertEquals(List.of("work", "commit", "action"), events);
+    }
+
+    @Test
+    void afterCommit_droppedWhenAttemptRollsBack() {
+        when(tx.isActive()).thenReturn(true);
+        AtomicInteger actions = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+
+        unitOfWork.run(() -> {
+            UnitOfWork.afterCommit(actions::incrementAndGet);
+            if (runs.incrementAndGet() == 1) {
+                throw new OptimisticLockException("stale");
+            }
+        });
+
+        assertEquals(2, runs.get());
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void doomedUnit_rollsBackAndDropsAfterCommit() {
+        when(tx.isActive()).thenReturn(true);
+        when(tx.getRollbackOnly()).thenReturn(true);
+        AtomicInteger actions = new AtomicInteger();
+
+        unitOfWork.run(() -> UnitOfWork.afterCommit(actions::incrementAndGet));
+
+        verify(tx).rollback();
+        verify(tx, never()).commit();
+        assertEquals(0, actions.get());
+    }
+
+    @Test
+    void afterCommit_outsideUnit_runsImmediately() {
+        AtomicInteger actions = new AtomicInteger();
+
+        UnitOfWork.afterCommit(actions::incrementAndGet);
+
+        assertEquals(1, actions.get());
+    }
+
+    @Test
+    void createEntityManager_outsideUnit_opensNewEntityManager() {
+        EntityManager em = unitOfWork.getEntityManagerFactory().createEntityManager();
+
+        assertSame(this.em, em);
+        verifyNoInteractions(tx);
+    }
+
+    @Test
+    void setRollbackOnly_doomsCurrentUnit() {
+        when(tx.isActive()).thenReturn(true);
+
+        unitOfWork.run(UnitOfWork::setRollbackOnly);
+
+        verify(tx).setRollbackOnly();
+    }
+
+    @Test
+    void setRollbackOnly_outsideUnit_isNoOp() {
+        UnitOfWork.setRollbackOnly();
+
+        verifyNoInteractions(emf);
+    }
+
+    @Test
+    void runReported_passesCommitFailureToHandlerAndRethrows() {
+        List<RuntimeException> reported = new ArrayList<>();
+        UnitOfWork reporting = new UnitOfWork(emf, reported::add);
+        when(tx.isActive()).thenReturn(true);
+        RollbackException failure = new RollbackException("constraint violated");
+        doThrow(failure).when(tx).commit();
+
+        RollbackException thrown = assertThrows(RollbackException.class, () -> reporting.runReported(() -> {
+        }));
+
+        assertSame(failure, thrown);
+        assertEquals(List.of(failure), reported);
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    @Test
+    void callReported_nestedFailureReachesOuterUnitOnly() {
+        List<RuntimeException> reported = new ArrayList<>();
+        UnitOfWork reporting = new UnitOfWork(emf, reported::add);
+        when(tx.isActive()).thenReturn(true);
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> reporting.callReported(() -> {
+            reporting.runReported(() -> {
+                throw failure;
+            });
+            return "not reached";
+        }));
+
+        assertSame(failure, thrown);
+        assertEquals(List.of(failure), reported);
+        verify(tx).rollback();
+        verify(tx, never()).commit();
+    }
+
+    @Test
+    void runReported_withoutHandler_rethrows() {
+        when(tx.isActive()).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> unitOfWork.runReported(() -> {
+            throw new IllegalStateException("boom");
+        }));
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class BookingTimeSlotTest {
 
@@ -59,4 +61,40 @@ public class BookingTimeSlotTest {
     void values_lengthShouldBe38() {
         assertEquals(38, BookingTimeSlot.values().length);
     }
-}
\ No newline at end of file
+
+    @Test
+    void mask_setsTheSlotsOrdinalBit() {
+        assertEquals(1L, BookingTimeSlot.SLOT_05_00.mask());
+        assertEquals(1L << 37, BookingTimeSlot.SLOT_23_30.mask());
+    }
+
+    @Test
+    void range_coversStartUpToEnd() {
+        long range = BookingTimeSlot.range(BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_00);
+        assertEquals(BookingTimeSlot.SLOT_10_00.mask() | BookingTimeSlot.SLOT_10_30.mask(), range);
+        assertEquals(0L, range & BookingTimeSlot.SLOT_11_00.mask());
+        assertEquals(0L, BookingTimeSlot.range(BookingTimeSlot.SLOT_12_00, BookingTimeSlot.SLOT_12_00));
+        assertEquals((1L << 37) - 1, BookingTimeSlot.range(BookingTimeSlot.SLOT_05_00, BookingTimeSlot.SLOT_23_30));
+    }
+
+    @Test
+    void minuteOfDay_matchesTheSlotsTime() {
+        assertEquals(300, BookingTimeSlot.SLOT_05_00.getMinuteOfDay());
+        assertEquals(750, BookingTimeSlot.SLOT_12_30.getMinuteOfDay());
+        assertEquals(1410, BookingTimeSlot.SLOT_23_30.getMinuteOfDay());
+    }
+
+    @Test
+    void fromMinuteOfDay_roundTripsEverySlot() {
+        for (BookingTimeSlot slot : BookingTimeSlot.values()) {
+            assertSame(slot, BookingTimeSlot.fromMinuteOfDay(slot.getMinuteOfDay()));
+        }
+    }
+
+    @Test
+    void fromMinuteOfDay_rejectsMinutesOffTheGrid() {
+        assertThrows(IllegalArgumentException.class, () -> BookingTimeSlot.fromMinuteOfDay(270));
+        assertThrows(IllegalArgumentException.class, () -> BookingTimeSlot.fromMinuteOfDay(315));
+        assertThrows(IllegalArgumentException.class, () -> BookingTimeSlot.fromMinuteOfDay(1440));
+    }
+}
@@ -1,7 +1,9 @@
 package com.restaurant.controllers;
 
+import com.restaurant.constants.BookingStatus;
 import com.restaurant.constants.BookingTimeSlot;
 import com.restaurant.controllers.impl.BookingControllerImpl;
+import com.restaurant.daos.BookingAvailabilityDAO;
 import com.restaurant.daos.BookingDAO;
 import com.restaurant.daos.CustomerDAO;
 import com.restaurant.daos.RestaurantTableDAO;
@@ -33,6 +35,8 @@ class BookingControllerImplTest {
     CustomerDAO customerDAO;
     @Mock
     RestaurantTableDAO tableDAO;
+    @Mock
+    BookingAvailabilityDAO availabilityDAO;
     @InjectMocks
     BookingControllerImpl controller;
 
@@ -55,7 +59,7 @@ class BookingControllerImplTest {
         createDto.setStartTime(BookingTimeSlot.SLOT_10_00);
         createDto.setEndTime(BookingTimeSlot.SLOT_11_00);
         controller.createBooking(createDto);
-        verifyNoInteractions(tableDAO, bookingDAO, customerDAO);
+        verifyNoInteractions(tableDAO, bookingDAO, customerDAO, availabilityDAO);
     }
 
     @Test
@@ -68,7 +72,7 @@ class BookingControllerImplTest {
     }
 
     @Test
-    void createBooking_overlappingBooking_noCalls() {
+    void createBooking_slotTaken_notResynced() {
         createDto.setDate(today.plusDays(1));
         createDto.setStartTime(BookingTimeSlot.SLOT_10_00);
         createDto.setEndTime(BookingTimeSlot.SLOT_11_00);
@@ -77,16 +81,12 @@ class BookingControllerImplTest {
         table.setId(5);
         table.setNumber(3);
         when(tableDAO.getById(5)).thenReturn(table);
-        GetBookingsDto f = new GetBookingsDto();
-        f.setTableNumber(3);
-        f.setDate(today.plusDays(1));
-        Booking existing = new Booking(today.plusDays(1), BookingTimeSlot.SLOT_10_30, BookingTimeSlot.SLOT_11_30, table);
-        existing.setId(1);
-        when(bookingDAO.find(any())).thenReturn(List.of(existing));
+        when(customerDAO.getByPhoneNumber(any())).thenReturn(new Customer());
+        when(bookingDAO.add(any())).thenReturn(false);
         controller.createBooking(createDto);
         verify(tableDAO).getById(5);
-        verify(bookingDAO).find(any());
-        verifyNoMoreInteractions(bookingDAO, customerDAO);
+        verify(bookingDAO).add(any(Booking.class));
+        verifyNoInteractions(availabilityDAO);
     }
 
     @Test
@@ -102,11 +102,13 @@ class BookingControllerImplTest {
         table.setId(2);
         table.setNumber(4);
         when(tableDAO.getById(2)).thenReturn(table);
-        when(bookingDAO.find(any())).thenReturn(List.of());
         when(customerDAO.getByPhoneNumber("123")).thenReturn(null);
+        when(bookingDAO.add(any())).thenReturn(true);
         controller.createBooking(createDto);
         verify(customerDAO).add(any(Customer.class));
         verify(bookingDAO).add(any(Booking.class));
+        verify(availabilityDAO).bookingsChanged(table, today.plusDays(1));
+        verify(bookingDAO, never()).find(any());
     }
 
     @Test
@@ -118,7 +120,7 @@ class BookingControllerImplTest {
         createDto.setCustomerPhoneNumber("456");
         Customer c = new Customer();
         when(tableDAO.getById(7)).thenReturn(new RestaurantTable());
-        when(bookingDAO.find(any())).thenReturn(List.of());
+        when(bookingDAO.add(any())).thenReturn(true);
         when(customerDAO.getByPhoneNumber("456")).thenReturn(c);
         controller.createBooking(createDto);
         verify(customerDAO, never()).add(any());
@@ -184,6 +186,7 @@ class BookingControllerImplTest {
         b.setCustomer(c);
         when(bookingDAO.getById(13)).thenReturn(b);
         when(tableDAO.getById(20)).thenReturn(t);
+        when(bookingDAO.reschedule(b)).thenReturn(true);
         updateDto.setId(13);
         updateDto.setDate(today.plusDays(2));
         updateDto.setStartTime(BookingTimeSlot.SLOT_17_00);
@@ -191,7 +194,9 @@ class BookingControllerImplTest {
         updateDto.setTableId(20);
         controller.updateBooking(updateDto);
         verify(customerDAO, never()).update(any());
-        verify(bookingDAO).update(b);
+        verify(bookingDAO).reschedule(b);
+        verify(availabilityDAO).bookingsChanged(t, today.plusDays(1));
+        verify(availabilityDAO).bookingsChanged(t, today.plusDays(2));
     }
 
     @Test
@@ -206,6 +211,7 @@ class BookingControllerImplTest {
         b.setCustomer(c);
         when(bookingDAO.getById(14)).thenReturn(b);
         when(tableDAO.getById(31)).thenReturn(nw);
+        when(bookingDAO.reschedule(b)).thenReturn(true);
         updateDto.setId(14);
         updateDto.setDate(today.plusDays(2));
         updateDto.setStartTime(BookingTimeSlot.SLOT_12_00);
@@ -213,7 +219,28 @@ class BookingControllerImplTest {
         updateDto.setTableId(31);
         controller.updateBooking(updateDto);
         assertEquals(nw, b.getTable());
-        verify(bookingDAO).update(b);
+        verify(bookingDAO).reschedule(b);
+        verify(availabilityDAO).bookingsChanged(old, today.plusDays(1));
+        verify(availabilityDAO).bookingsChanged(nw, today.plusDays(2));
+    }
+
+    @Test
+    void updateBooking_sameTableAndDate_resyncsOnce() {
+        RestaurantTable t = new RestaurantTable();
+        t.setId(50);
+        Booking b = new Booking(today.plusDays(1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_00, t);
+        b.setId(16);
+        b.setCustomer(new Customer());
+        when(bookingDAO.getById(16)).thenReturn(b);
+        when(tableDAO.getById(50)).thenReturn(t);
+        when(bookingDAO.reschedule(b)).thenReturn(true);
+        updateDto.setId(16);
+        updateDto.setDate(today.plusDays(1));
+        updateDto.setStartTime(BookingTimeSlot.SLOT_12_00);
+        updateDto.setEndTime(BookingTimeSlot.SLOT_13_00);
+        updateDto.setTableId(50);
+        controller.updateBooking(updateDto);
+        verify(availabilityDAO, times(1)).bookingsChanged(t, today.plusDays(1));
     }
 
     @Test
@@ -229,22 +256,125 @@ class BookingControllerImplTest {
         b.setCustomer(c);
         when(bookingDAO.getById(15)).thenReturn(b);
         when(tableDAO.getById(40)).thenReturn(t);
+        when(bookingDAO.reschedule(b)).thenReturn(true);
         updateDto.setId(15);
         updateDto.setDate(today.plusDays(2));
         updateDto.setStartTime(BookingTimeSlot.SLOT_11_00);
         updateDto.setEndTime(BookingTimeSlot.SLOT_12_00);
         updateDto.setTableId(40);
         updateDto.setCustomerName("B");
-        updateDto.setCustomerPhoneNumber("2");
+        updateDto.setCustomerPhoneNumber("1");
         updateDto.setCustomerEmail("b");
         controller.updateBooking(updateDto);
         verify(customerDAO).update(c);
+        verify(bookingDAO).reschedule(b);
+    }
+
+    @Test
+    void updateBooking_phoneChanged_rejectedWithoutWrites() {
+        RestaurantTable t = new RestaurantTable();
+        t.setId(41);
+        Customer c = new Customer();
+        c.setName("A");
+        c.setPhoneNumber("1");
+        Booking b = new Booking(today.plusDays(1), BookingTimeSlot.SLOT_09_00, BookingTimeSlot.SLOT_10_00, t);
+        b.setId(16);
+        b.setCustomer(c);
+        when(bookingDAO.getById(16)).thenReturn(b);
+        updateDto.setId(16);
+        updateDto.setDate(today.plusDays(1));
+        updateDto.setStartTime(BookingTimeSlot.SLOT_09_00);
+        updateDto.setEndTime(BookingTimeSlot.SLOT_10_00);
+        updateDto.setTableId(41);
+        updateDto.setCustomerName("B");
+        updateDto.setCustomerPhoneNumber("2");
+        controller.updateBooking(updateDto);
+        assertEquals("1", c.getPhoneNumber());
+        assertEquals("A", c.getName());
+        verifyNoInteractions(customerDAO);
+        verify(bookingDAO, never()).update(any());
+        verify(bookingDAO, never()).reschedule(any());
+    }
+
+    @Test
+    void updateBooking_unmoved_updatesWithoutTouchingSlots() {
+        RestaurantTable t = new RestaurantTable();
+        t.setId(60);
+        Booking b = new Booking(today.plusDays(1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_00, t);
+        b.setId(17);
+        b.setCustomer(new Customer());
+        when(bookingDAO.getById(17)).thenReturn(b);
+        when(tableDAO.getById(60)).thenReturn(t);
+        updateDto.setId(17);
+        updateDto.setDate(today.plusDays(1));
+        updateDto.setStartTime(BookingTimeSlot.SLOT_10_00);
+        updateDto.setEndTime(BookingTimeSlot.SLOT_11_00);
+        updateDto.setTableId(60);
+        updateDto.setStatus(BookingStatus.BOOKED);
+        controller.updateBooking(updateDto);
         verify(bookingDAO).update(b);
+        verify(bookingDAO, never()).reschedule(any());
+        verifyNoInteractions(availabilityDAO);
+    }
+
+    @Test
+    void updateBooking_completed_releasesSlotsAndResyncs() {
+        RestaurantTable t = new RestaurantTable();
+        t.setId(61);
+        Booking b = new Booking(today.plusDays(1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_00, t);
+        b.setId(19);
+        b.setCustomer(new Customer());
+        when(bookingDAO.getById(19)).thenReturn(b);
+        when(tableDAO.getById(61)).thenReturn(t);
+        when(bookingDAO.reschedule(b)).thenReturn(true);
+        updateDto.setId(19);
+        updateDto.setDate(today.plusDays(1));
+        updateDto.setStartTime(BookingTimeSlot.SLOT_10_00);
+        updateDto.setEndTime(BookingTimeSlot.SLOT_11_00);
+        updateDto.setTableId(61);
+        updateDto.setStatus(BookingStatus.COMPLETED);
+        controller.updateBooking(updateDto);
+        assertEquals(BookingStatus.COMPLETED, b.getStatus());
+        verify(bookingDAO).reschedule(b);
+        verify(bookingDAO, never()).update(any());
+        verify(availabilityDAO).bookingsChanged(t, today.plusDays(1));
+    }
+
+    @Test
+    void updateBooking_slotTaken_notResynced() {
+        RestaurantTable t = new RestaurantTable();
+        t.setId(70);
+        Booking b = new Booking(today.plusDays(1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_00, t);
+        b.setId(18);
+        b.setCustomer(new Customer());
+        when(bookingDAO.getById(18)).thenReturn(b);
+        when(tableDAO.getById(70)).thenReturn(t);
+        when(bookingDAO.reschedule(b)).thenReturn(false);
+        updateDto.setId(18);
+        updateDto.setDate(today.plusDays(1));
+        updateDto.setStartTime(BookingTimeSlot.SLOT_10_30);
+        updateDto.setEndTime(BookingTimeSlot.SLOT_11_30);
+        updateDto.setTableId(70);
+        controller.updateBooking(updateDto);
+        verify(bookingDAO, never()).update(any());
+        verifyNoInteractions(availabilityDAO);
     }
 
     @Test
     void deleteBooking_invokesDao() {
+        RestaurantTable t = new RestaurantTable();
+        Booking b = new Booking(today.plusDays(1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_00, t);
+        when(bookingDAO.getById(99)).thenReturn(b);
         controller.deleteBooking(99);
         verify(bookingDAO).delete(99);
+        verify(availabilityDAO).bookingsChanged(t, today.plusDays(1));
+    }
+
+    @Test
+    void deleteBooking_missing_skipsResync() {
+        when(bookingDAO.getById(98)).thenReturn(null);
+        controller.deleteBooking(98);
+        verify(bookingDAO).delete(98);
+        verifyNoInteractions(availabilityDAO);
     }
 }
@@ -0,0 +1,216 @@
+package com.restaurant.controllers;
+
+import com.restaurant.Main;
+import com.restaurant.config.UnitOfWork;
+import com.restaurant.constants.BookingStatus;
+import com.restaurant.constants.BookingTimeSlot;
+import com.restaurant.di.AppBindings;
+import com.restaurant.di.Injector;
+import com.restaurant.dtos.booking.CreateBookingDto;
+import com.restaurant.dtos.booking.UpdateBookingDto;
+import com.restaurant.events.ErrorEvent;
+import com.restaurant.models.*;
+import com.restaurant.pubsub.ErrorPubSubService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Environment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingUnitOfWorkTest {
+    private static final List<String> errors = new CopyOnWriteArrayList<>();
+
+    private static SessionFactory sessionFactory;
+    private static BookingController controller;
+    private static int restaurants;
+
+    private final LocalDate day = LocalDate.now().plusDays(1);
+    private int tableId;
+    private int bookingId;
+    private int customerId;
+
+    @BeforeAll
+    static void setUpDatabase() throws Exception {
+        Properties props = new Properties();
+        props.put(Environment.JAKARTA_JDBC_URL, "jdbc:h2:mem:bookings;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        props.put(Environment.JAKARTA_JDBC_USER, "sa");
+        props.put(Environment.HBM2DDL_AUTO, "create-drop");
+        sessionFactory = Main.buildSessionFactory(props);
+
+        resetInjector();
+        Injector injector = Injector.getInstance();
+        UnitOfWork unitOfWork = new UnitOfWork(sessionFactory, e -> errors.add("Could not save changes"));
+        injector.register(UnitOfWork.class, unitOfWork);
+        injector.register(EntityManagerFactory.class, unitOfWork.getEntityManagerFactory());
+        AppBindings.install(injector);
+        controller = injector.getInstance(BookingController.class);
+        ErrorPubSubService.getInstance().subscribe(ErrorEvent.class, e -> errors.add(e.getMessage()));
+    }
+
+    @AfterAll
+    static void tearDownDatabase() throws Exception {
+        resetInjector();
+        sessionFactory.close();
+    }
+
+    private static void resetInjector() throws Exception {
+        Field instance = Injector.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, null);
+    }
+
+    @BeforeEach
+    void setUp() {
+        errors.clear();
+        sessionFactory.inTransaction(session -> {
+            Restaurant restaurant = new Restaurant("Booked " + ++restaurants, "1 Main St");
+            restaurant.setMaxX(10);
+            restaurant.setMaxY(10);
+            session.persist(restaurant);
+            RestaurantTable table = new RestaurantTable();
+            table.setRestaurant(restaurant);
+            table.setNumber(1);
+            table.setCapacity(4);
+            table.setEndX(1);
+            table.setEndY(1);
+            session.persist(table);
+            Customer customer = new Customer("Alice", "09000" + restaurants);
+            session.persist(customer);
+            Booking booked = book(session, table, customer, BookingTimeSlot.SLOT_18_00, BookingTimeSlot.SLOT_19_00);
+            book(session, table, customer, BookingTimeSlot.SLOT_20_00, BookingTimeSlot.SLOT_21_00);
+            tableId = table.getId();
+            bookingId = booked.getId();
+            customerId = customer.getId();
+        });
+    }
+
+    private Booking book(org.hibernate.Session session, RestaurantTable table, Customer customer,
+                         BookingTimeSlot start, BookingTimeSlot end) {
+        Booking booking = new Booking(day, start, end, table);
+        booking.setCustomer(customer);
+        session.persist(booking);
+        BookingSlot.of(booking).forEach(session::persist);
+        return booking;
+    }
+
+    private UpdateBookingDto moveTo(BookingTimeSlot start, BookingTimeSlot end) {
+        UpdateBookingDto dto = new UpdateBookingDto();
+        dto.setId(bookingId);
+        dto.setDate(day);
+        dto.setStartTime(start);
+        dto.setEndTime(end);
+        dto.setTableId(tableId);
+        dto.setCustomerName("Renamed");
+        return dto;
+    }
+
+    @Test
+    void updateBooking_clash_reportsAndKeepsCustomerEdits() {
+        controller.updateBooking(moveTo(BookingTimeSlot.SLOT_19_30, BookingTimeSlot.SLOT_20_30));
+
+        assertEquals(List.of("Overlapping booking detected for table 1"), errors);
+        sessionFactory.inSession(session -> {
+            assertEquals("Alice", session.find(Customer.class, customerId).getName());
+            assertEquals(BookingTimeSlot.SLOT_18_00, session.find(Booking.class, bookingId).getStartTime());
+        });
+    }
+
+    @Test
+    void updateBooking_endBeforeStart_leavesCustomerUntouched() {
+        UpdateBookingDto dto = moveTo(BookingTimeSlot.SLOT_18_00, BookingTimeSlot.SLOT_19_00);
+        dto.setStartTime(BookingTimeSlot.SLOT_19_00);
+        dto.setEndTime(BookingTimeSlot.SLOT_18_00);
+
+        controller.updateBooking(dto);
+
+        assertEquals(List.of("End time must be after start time"), errors);
+        sessionFactory.inSession(session ->
+                assertEquals("Alice", session.find(Customer.class, customerId).getName()));
+    }
+
+    @Test
+    void updateBooking_moveToFreeSlots_commits() {
+        controller.updateBooking(moveTo(BookingTimeSlot.SLOT_21_00, BookingTimeSlot.SLOT_22_00));
+
+        assertEquals(List.of(), errors);
+        sessionFactory.inSession(session -> {
+            assertEquals("Renamed", session.find(Customer.class, customerId).getName());
+            assertEquals(BookingTimeSlot.SLOT_21_00, session.find(Booking.class, bookingId).getStartTime());
+        });
+    }
+
+    @Test
+    void updateBooking_phoneChange_reportsAndLeavesCustomerCached() {
+        UpdateBookingDto dto = moveTo(BookingTimeSlot.SLOT_21_00, BookingTimeSlot.SLOT_22_00);
+        dto.setCustomerPhoneNumber("07000" + restaurants);
+
+        controller.updateBooking(dto);
+
+        assertEquals(List.of("Customer phone number cannot be changed"), errors);
+        sessionFactory.inSession(session -> {
+            assertEquals("Alice", session.find(Customer.class, customerId).getName());
+            assertEquals("09000" + restaurants, session.find(Customer.class, customerId).getPhoneNumber());
+            assertEquals(BookingTimeSlot.SLOT_18_00, session.find(Booking.class, bookingId).getStartTime());
+        });
+    }
+
+    private UpdateBookingDto setStatus(BookingStatus status) {
+        UpdateBookingDto dto = moveTo(BookingTimeSlot.SLOT_18_00, BookingTimeSlot.SLOT_19_00);
+        dto.setStatus(status);
+        return dto;
+    }
+
+    private CreateBookingDto rebook() {
+        CreateBookingDto dto = new CreateBookingDto();
+        dto.setDate(day);
+        dto.setStartTime(BookingTimeSlot.SLOT_18_00);
+        dto.setEndTime(BookingTimeSlot.SLOT_19_00);
+        dto.setTableId(tableId);
+        dto.setCustomerName("Bob");
+        dto.setCustomerPhoneNumber("08000" + restaurants);
+        return dto;
+    }
+
+    @Test
+    void updateBooking_cancel_releasesSlotsForRebooking() {
+        controller.updateBooking(setStatus(BookingStatus.CANCELLED));
+        controller.createBooking(rebook());
+
+        assertEquals(List.of(), errors);
+        sessionFactory.inSession(session -> {
+            assertEquals(BookingStatus.CANCELLED, session.find(Booking.class, bookingId).getStatus());
+            assertEquals(0L, session.createQuery(
+                            "SELECT COUNT(s) FROM BookingSlot s WHERE s.booking.id = :id", Long.class)
+                    .setParameter("id", bookingId)
+                    .getSingleResult());
+            assertEquals("Bob", session.createQuery(
+                            "SELECT s.booking.customer.name FROM BookingSlot s WHERE s.table.id = :table AND s.slot = :slot",
+                            String.class)
+                    .setParameter("table", tableId)
+                    .setParameter("slot", BookingTimeSlot.SLOT_18_00)
+                    .getSingleResult());
+        });
+    }
+
+    @Test
+    void updateBooking_reinstateOverRebookedSlot_reportsClash() {
+        controller.updateBooking(setStatus(BookingStatus.CANCELLED));
+        controller.createBooking(rebook());
+
+        controller.updateBooking(setStatus(BookingStatus.BOOKED));
+
+        assertEquals(List.of("Overlapping booking detected for table 1"), errors);
+        sessionFactory.inSession(session ->
+                assertEquals(BookingStatus.CANCELLED, session.find(Booking.class, bookingId).getStatus()));
+    }
+}
@@ -9,6 +9,7 @@ import com.restaurant.daos.RestaurantTableDAO;
 import com.restaurant.daos.ShipmentDAO;
 import com.restaurant.dtos.order.CreateOrderDto;
 import com.restaurant.dtos.order.GetOrderDto;
+import com.restaurant.dtos.order.OrderRow;
 import com.restaurant.dtos.order.UpdateOrderDto;
 import com.restaurant.models.Order;
 import com.restaurant.models.Restaurant;
@@ -53,20 +54,19 @@ class OrderControllerImplTest {
 
     @Test
     void createOrder_pendingExists_returnsNull() {
-        createDto.setRestaurantTableId(1);
-        createDto.setOrderType(OrderType.DINE_IN);
-        when(orderDAO.hasPendingForTableAndType(1, OrderType.DINE_IN)).thenReturn(true);
+        createDto.setOrderType(OrderType.DELIVERY);
+        when(orderDAO.hasPendingForTableAndType(0, OrderType.DELIVERY)).thenReturn(true);
         assertNull(controller.createOrder(createDto));
-        verify(orderDAO).hasPendingForTableAndType(1, OrderType.DINE_IN);
+        verify(orderDAO).hasPendingForTableAndType(0, OrderType.DELIVERY);
         verifyNoMoreInteractions(orderDAO, tableDAO, restaurantDAO);
     }
 
     @Test
-    void createOrder_dineIn_tableReserved_andOrderAdded() {
+    void createOrder_dineIn_seatsTable_andOrderAdded() {
         createDto.setRestaurantTableId(2);
         createDto.setOrderType(OrderType.DINE_IN);
         createDto.setRestaurantId(3);
-        when(orderDAO.hasPendingForTableAndType(2, OrderType.DINE_IN)).thenReturn(false);
+        when(tableDAO.seat(2)).thenReturn(true);
         RestaurantTable table = new RestaurantTable();
         when(tableDAO.getById(2)).thenReturn(table);
         Restaurant restaurant = new Restaurant();
@@ -77,8 +77,11 @@ class OrderControllerImplTest {
         Order result = controller.createOrder(createDto);
 
         assertSame(saved, result);
-        assertFalse(table.isAvailable());
-        verify(tableDAO).update(table);
+        InOrder in = inOrder(tableDAO);
+        in.verify(tableDAO).seat(2);
+        in.verify(tableDAO).getById(2);
+        verify(tableDAO, never()).update(any());
+        verify(orderDAO, never()).hasPendingForTableAndType(anyInt(), any());
         ArgumentCaptor<Order> capt = ArgumentCaptor.forClass(Order.class);
         verify(orderDAO).add(capt.capture());
         Order o = capt.getValue();
@@ -86,6 +89,20 @@ class OrderControllerImplTest {
         assertSame(restaurant, o.getRestaurant());
     }
 
+    @Test
+    void createOrder_dineIn_tableAlreadyOccupied_returnsNull() {
+        createDto.setRestaurantTableId(2);
+        createDto.setOrderType(OrderType.DINE_IN);
+        createDto.setRestaurantId(3);
+        when(restaurantDAO.getById(3)).thenReturn(new Restaurant());
+        when(tableDAO.seat(2)).thenReturn(false);
+
+        assertNull(controller.createOrder(createDto));
+
+        verify(tableDAO).seat(2);
+        verifyNoMoreInteractions(orderDAO, tableDAO);
+    }
+
     @Test
     void createOrder_restaurantNotFound_returnsNull() {
         createDto.setOrderType(OrderType.DELIVERY);
@@ -97,6 +114,18 @@ class OrderControllerImplTest {
         verifyNoMoreInteractions(orderDAO, tableDAO, restaurantDAO);
     }
 
+    @Test
+    void createOrder_dineIn_restaurantNotFound_leavesTableFree() {
+        createDto.setRestaurantTableId(2);
+        createDto.setOrderType(OrderType.DINE_IN);
+        createDto.setRestaurantId(4);
+        when(restaurantDAO.getById(4)).thenReturn(null);
+
+        assertNull(controller.createOrder(createDto));
+
+        verifyNoInteractions(tableDAO);
+    }
+
     @Test
     void createOrder_delivery_noTable_andOrderAdded() {
         createDto.setOrderType(OrderType.DELIVERY);
@@ -115,6 +144,7 @@ class OrderControllerImplTest {
         Order o = capt.getValue();
         assertNull(o.getRestaurantTable());
         assertSame(restaurant, o.getRestaurant());
+        verifyNoInteractions(tableDAO);
     }
 
     @Test
@@ -127,7 +157,7 @@ class OrderControllerImplTest {
     }
 
     @Test
-    void updateOrder_deliveryToDineIn_setsTableUnavailable_andNoShipment() {
+    void updateOrder_deliveryToDineIn_seatsTable_andNoShipment() {
         Order order = new Order();
         order.setOrderType(OrderType.DELIVERY);
         updateDto.setId(7);
@@ -135,23 +165,132 @@ class OrderControllerImplTest {
         updateDto.setRestaurantTableId(8);
         updateDto.setStatus(OrderStatus.PENDING);
         when(orderDAO.getById(7)).thenReturn(order);
+        when(tableDAO.seat(8)).thenReturn(true);
         RestaurantTable newTable = new RestaurantTable();
         when(tableDAO.getById(8)).thenReturn(newTable);
 
         controller.updateOrder(updateDto);
 
-        assertFalse(newTable.isAvailable());
-        verify(tableDAO).update(newTable);
-        verify(orderDAO).update(order);
+        verify(tableDAO).seat(8);
+        verify(tableDAO, never()).update(any());
+        verify(orderDAO, times(1)).update(order);
+        assertSame(newTable, order.getRestaurantTable());
         assertEquals(OrderType.DINE_IN, order.getOrderType());
         assertEquals(OrderStatus.PENDING, order.getStatus());
     }
 
     @Test
-    void updateOrder_completeDineIn_releasesTable_andUpdatesTwice() {
+    void updateOrder_moveToOccupiedTable_leavesOrderUntouched() {
+        Order order = new Order();
+        order.setOrderType(OrderType.DINE_IN);
+        RestaurantTable oldTable = new RestaurantTable();
+        oldTable.setId(3);
+        order.setRestaurantTable(oldTable);
+        updateDto.setId(9);
+        updateDto.setOrderType(OrderType.DINE_IN);
+        updateDto.setRestaurantTableId(8);
+        updateDto.setStatus(OrderStatus.PENDING);
+        when(orderDAO.getById(9)).thenReturn(order);
+        when(tableDAO.seat(8)).thenReturn(false);
+
+        controller.updateOrder(updateDto);
+
+        verify(tableDAO, never()).release(anyInt());
+        verify(orderDAO, never()).update(any());
+        assertSame(oldTable, order.getRestaurantTable());
+    }
+
+    @Test
+    void updateOrder_moveTable_seatsNewThenReleasesOld() {
+        Order order = new Order();
+        order.setOrderType(OrderType.DINE_IN);
+        RestaurantTable oldTable = new RestaurantTable();
+        oldTable.setId(3);
+        order.setRestaurantTable(oldTable);
+        updateDto.setId(10);
+        updateDto.setOrderType(OrderType.DINE_IN);
+        updateDto.setRestaurantTableId(8);
+        updateDto.setStatus(OrderStatus.PENDING);
+        when(orderDAO.getById(10)).thenReturn(order);
+        when(tableDAO.seat(8)).thenReturn(true);
+        RestaurantTable newTable = new RestaurantTable();
+        when(tableDAO.getById(8)).thenReturn(newTable);
+
+        controller.updateOrder(updateDto);
+
+        InOrder in = inOrder(tableDAO, orderDAO);
+        in.verify(tableDAO).seat(8);
+        in.verify(tableDAO).release(3);
+        in.verify(orderDAO).update(order);
+        assertSame(newTable, order.getRestaurantTable());
+    }
+
+    @Test
+    void updateOrder_dineInToDelivery_releasesTable() {
+        Order order = new Order();
+        order.setOrderType(OrderType.DINE_IN);
+        RestaurantTable oldTable = new RestaurantTable();
+        oldTable.setId(3);
+        order.setRestaurantTable(oldTable);
+        updateDto.setId(11);
+        updateDto.setOrderType(OrderType.DELIVERY);
+        updateDto.setStatus(OrderStatus.PENDING);
+        when(orderDAO.getById(11)).thenReturn(order);
+
+        controller.updateOrder(updateDto);
+
+        verify(tableDAO).release(3);
+        verify(tableDAO, never()).seat(anyInt());
+        verify(orderDAO).update(order);
+        assertNull(order.getRestaurantTable());
+    }
+
+    @Test
+    void updateOrder_statusOnly_issuesConditionalStatusUpdate() {
+        Order order = new Order();
+        order.setId(16);
+        order.setOrderType(OrderType.DELIVERY);
+        updateDto.setId(16);
+        updateDto.setOrderType(OrderType.DELIVERY);
+        updateDto.setStatus(OrderStatus.READY);
+        when(orderDAO.getById(16)).thenReturn(order);
+        when(orderDAO.updateStatus(16, OrderStatus.PENDING, OrderStatus.READY)).thenReturn(true);
+
+        controller.updateOrder(updateDto);
+
+        verify(orderDAO).updateStatus(16, OrderStatus.PENDING, OrderStatus.READY);
+        verify(orderDAO, never()).update(any());
+        verifyNoInteractions(tableDAO, shipmentDAO);
+    }
+
+    @Test
+    void updateOrder_statusOnly_onSameTable_keepsTableSeated() {
+        Order order = new Order();
+        order.setId(17);
+        order.setOrderType(OrderType.DINE_IN);
+        RestaurantTable tbl = new RestaurantTable();
+        tbl.setId(4);
+        order.setRestaurantTable(tbl);
+        updateDto.setId(17);
+        updateDto.setOrderType(OrderType.DINE_IN);
+        updateDto.setRestaurantTableId(4);
+        updateDto.setStatus(OrderStatus.PROCESSED);
+        when(orderDAO.getById(17)).thenReturn(order);
+        when(orderDAO.updateStatus(17, OrderStatus.PENDING, OrderStatus.PROCESSED)).thenReturn(true);
+
+        controller.updateOrder(updateDto);
+
+        verify(orderDAO).updateStatus(17, OrderStatus.PENDING, OrderStatus.PROCESSED);
+        verify(orderDAO, never()).update(any());
+        verifyNoInteractions(tableDAO);
+    }
+
+    @Test
+    void updateOrder_completeDineIn_releasesTable_andUpdatesOnce() {
         Order order = new Order();
         order.setOrderType(OrderType.DINE_IN);
         RestaurantTable tbl = new RestaurantTable();
+        tbl.setId(12);
         order.setRestaurantTable(tbl);
         updateDto.setId(13);
         updateDto.setOrderType(OrderType.DINE_IN);
@@ -160,10 +299,12 @@ class OrderControllerImplTest {
 
         controller.updateOrder(updateDto);
 
-        assertTrue(tbl.isAvailable());
         InOrder in = inOrder(tableDAO, orderDAO);
-        in.verify(tableDAO).update(tbl);
+        in.verify(tableDAO).release(12);
         in.verify(orderDAO).update(order);
+        verify(orderDAO, times(1)).update(order);
+        verify(tableDAO, never()).update(any());
+        assertNull(order.getRestaurantTable());
     }
 
     @Test
@@ -179,6 +320,14 @@ class OrderControllerImplTest {
         assertEquals(list, controller.findOrders(getDto));
     }
 
+    @Test
+    void findOrderRows_delegatesToDao() {
+        List<OrderRow> rows = List.of(new OrderRow(1, "Bistro", 3, OrderType.DINE_IN, OrderStatus.PENDING, 12.5, null));
+        when(orderDAO.findRows(getDto)).thenReturn(rows);
+        assertEquals(rows, controller.findOrderRows(getDto));
+        verify(orderDAO).findRows(getDto);
+    }
+
     @Test
     void getOrder_delegatesToDao() {
         Order o = new Order();
@@ -7,6 +7,7 @@ import com.restaurant.daos.OrderDAO;
 import com.restaurant.daos.OrderItemDAO;
 import com.restaurant.dtos.orderItem.CreateOrderItemDto;
 import com.restaurant.dtos.orderItem.GetOrderItemDto;
+import com.restaurant.dtos.orderItem.OrderItemRow;
 import com.restaurant.dtos.orderItem.UpdateOrderItemDto;
 import com.restaurant.models.MenuItem;
 import com.restaurant.models.Order;
@@ -20,11 +21,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 
+@SuppressWarnings("unchecked")
 @ExtendWith(MockitoExtension.class)
 class OrderItemControllerImplTest {
     @Mock
@@ -61,7 +66,7 @@ class OrderItemControllerImplTest {
     }
 
     @Test
-    void createOrderItem_success_updatesOrderAndAddsItem() {
+    void createOrderItem_success_addsItemAndAdjustsTotal() {
         createDto.setOrderId(10);
         createDto.setMenuItemId(20);
         createDto.setQuantity(3);
@@ -69,7 +74,7 @@ class OrderItemControllerImplTest {
         when(orderItemDAO.existsByOrderAndMenuItem(10, 20, "No onions")).thenReturn(false);
 
         Order order = new Order();
-        order.setTotalPrice(10.0);
+        order.setId(10);
         when(orderDAO.getById(10)).thenReturn(order);
 
         MenuItem mi = new MenuItem();
@@ -79,8 +84,8 @@ class OrderItemControllerImplTest {
 
         controller.createOrderItem(createDto);
 
-        assertEquals(25.0, order.getTotalPrice());
-        verify(orderDAO).update(order);
+        verify(orderDAO).adjustTotal(10, 15.0);
+        verify(orderDAO, never()).update(any());
 
         ArgumentCaptor<OrderItem> capt = ArgumentCaptor.forClass(OrderItem.class);
         verify(orderItemDAO).add(capt.capture());
@@ -91,6 +96,78 @@ class OrderItemControllerImplTest {
         assertEquals("No onions", added.getCustomization());
     }
 
+    @Test
+    void createOrderItems_success_adjustsTotalOnceAndAddsAll() {
+        List<CreateOrderItemDto> dtos = List.of(item(10, 20, 2, "No onions"), item(10, 21, 1, null), item(10, 20, 1, "Extra spicy"));
+        when(orderItemDAO.findCustomizationsByMenuItem(10, Set.of(20, 21))).thenReturn(Map.of(20, Set.of("Well done")));
+        Order order = new Order();
+        when(orderDAO.getById(10)).thenReturn(order);
+        MenuItem soup = new MenuItem();
+        soup.setId(20);
+        soup.setPrice(5.0);
+        MenuItem salad = new MenuItem();
+        salad.setId(21);
+        salad.setPrice(7.0);
+        when(menuItemDAO.findByIds(Set.of(20, 21))).thenReturn(List.of(soup, salad));
+
+        controller.createOrderItems(dtos);
+
+        verify(orderDAO, times(1)).adjustTotal(10, 22.0);
+        verify(orderDAO, never()).update(any());
+        ArgumentCaptor<List<OrderItem>> capt = ArgumentCaptor.forClass(List.class);
+        verify(orderItemDAO).addAll(capt.capture());
+        List<OrderItem> added = capt.getValue();
+        assertEquals(3, added.size());
+        assertSame(soup, added.get(0).getMenuItem());
+        assertSame(salad, added.get(1).getMenuItem());
+        assertSame(order, added.get(2).getOrder());
+        assertEquals("Extra spicy", added.get(2).getCustomization());
+        verify(orderItemDAO, never()).add(any());
+        verify(orderItemDAO, never()).existsByOrderAndMenuItem(anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void createOrderItems_duplicateOfExistingItem_addsNothing() {
+        when(orderItemDAO.findCustomizationsByMenuItem(10, Set.of(20))).thenReturn(Map.of(20, Set.of("No onions")));
+
+        controller.createOrderItems(List.of(item(10, 20, 1, "No onions")));
+
+        verifyNoInteractions(orderDAO, menuItemDAO);
+        verify(orderItemDAO, never()).addAll(any());
+    }
+
+    @Test
+    void createOrderItems_duplicateWithinBatch_addsNothing() {
+        when(orderItemDAO.findCustomizationsByMenuItem(10, Set.of(20))).thenReturn(Map.of());
+
+        controller.createOrderItems(List.of(item(10, 20, 1, "No onions"), item(10, 20, 2, "No onions")));
+
+        verifyNoInteractions(orderDAO, menuItemDAO);
+        verify(orderItemDAO, never()).addAll(any());
+    }
+
+    @Test
+    void createOrderItems_itemsOfDifferentOrders_addsNothing() {
+        controller.createOrderItems(List.of(item(10, 20, 1, null), item(11, 20, 1, null)));
+
+        verifyNoInteractions(orderItemDAO, orderDAO, menuItemDAO);
+    }
+
+    @Test
+    void createOrderItems_unknownMenuItem_addsNothing() {
+        when(orderItemDAO.findCustomizationsByMenuItem(10, Set.of(20, 99))).thenReturn(Map.of());
+        Order order = new Order();
+        when(orderDAO.getById(10)).thenReturn(order);
+        MenuItem soup = new MenuItem();
+        soup.setId(20);
+        when(menuItemDAO.findByIds(Set.of(20, 99))).thenReturn(List.of(soup));
+
+        controller.createOrderItems(List.of(item(10, 20, 1, null), item(10, 99, 1, null)));
+
+        verify(orderDAO, never()).adjustTotal(anyInt(), anyDouble());
+        verify(orderItemDAO, never()).addAll(any());
+    }
+
     @Test
     void updateOrderItem_notFound_noUpdate() {
         updateDto.setId(5);
@@ -103,7 +180,7 @@ class OrderItemControllerImplTest {
     }
 
     @Test
-    void updateOrderItem_quantityAndStatus_updatesOrderAndItem() {
+    void updateOrderItem_quantityAndStatus_updatesItemAndAdjustsTotal() {
         updateDto.setId(6);
         updateDto.setOrderId(7);
         updateDto.setMenuItemId(8);
@@ -116,7 +193,7 @@ class OrderItemControllerImplTest {
         mi.setPrice(4.0);
         oi.setMenuItem(mi);
         Order order = new Order();
-        order.setTotalPrice(100.0);
+        order.setId(7);
         oi.setOrder(order);
         oi.setStatus(null);
         when(orderItemDAO.getById(6)).thenReturn(oi);
@@ -126,29 +203,68 @@ class OrderItemControllerImplTest {
 
         controller.updateOrderItem(updateDto);
 
-        assertEquals(112.0, order.getTotalPrice());
-        verify(orderDAO).update(order);
-        assertEquals(5, oi.getQuantity());
-        verify(orderItemDAO).update(oi);
+        verify(orderDAO).adjustTotal(7, 12.0);
+        verify(orderDAO, never()).update(any());
+        verify(orderItemDAO).updateQuantity(6, 5, null, oi.getVersion());
+        verify(orderItemDAO, never()).update(any());
     }
 
     @Test
-    void updateOrderItem_statusOnly_updatesItem() {
+    void updateOrderItem_statusOnly_issuesConditionalStatusUpdate() {
         updateDto.setId(9);
+        updateDto.setQuantity(2);
         updateDto.setStatus(OrderItemStatus.SERVED);
 
         OrderItem oi = new OrderItem();
         oi.setId(9);
-        oi.setQuantity(0);
+        oi.setQuantity(2);
         oi.setMenuItem(new MenuItem());
         oi.setOrder(new Order());
         when(orderItemDAO.getById(9)).thenReturn(oi);
+        when(orderItemDAO.updateStatus(9, OrderItemStatus.PENDING, OrderItemStatus.SERVED)).thenReturn(true);
 
         controller.updateOrderItem(updateDto);
 
-        assertEquals(OrderItemStatus.SERVED, oi.getStatus());
-        verify(orderDAO, never()).update(any());
-        verify(orderItemDAO).update(oi);
+        verify(orderItemDAO).updateStatus(9, OrderItemStatus.PENDING, OrderItemStatus.SERVED);
+        verify(orderItemDAO, never()).update(any());
+        verifyNoInteractions(orderDAO);
+    }
+
+    @Test
+    void updateOrderItem_nothingChanged_writesNothing() {
+        updateDto.setId(9);
+        updateDto.setStatus(OrderItemStatus.PENDING);
+
+        OrderItem oi = new OrderItem();
+        oi.setId(9);
+        when(orderItemDAO.getById(9)).thenReturn(oi);
+
+        controller.updateOrderItem(updateDto);
+
+        verify(orderItemDAO).getById(9);
+        verifyNoMoreInteractions(orderItemDAO);
+        verifyNoInteractions(orderDAO);
+    }
+
+    @Test
+    void updateOrderItemStatus_delegatesWithoutLoading() {
+        when(orderItemDAO.updateStatus(4, OrderItemStatus.PENDING, OrderItemStatus.READY)).thenReturn(true);
+
+        controller.updateOrderItemStatus(4, OrderItemStatus.PENDING, OrderItemStatus.READY);
+
+        verify(orderItemDAO).updateStatus(4, OrderItemStatus.PENDING, OrderItemStatus.READY);
+        verifyNoMoreInteractions(orderItemDAO);
+        verifyNoInteractions(orderDAO, menuItemDAO);
+    }
+
+    @Test
+    void updateOrderItemStatus_lostTransition_changesNothingElse() {
+        when(orderItemDAO.updateStatus(4, OrderItemStatus.PENDING, OrderItemStatus.READY)).thenReturn(false);
+
+        controller.updateOrderItemStatus(4, OrderItemStatus.PENDING, OrderItemStatus.READY);
+
+        verify(orderItemDAO).updateStatus(4, OrderItemStatus.PENDING, OrderItemStatus.READY);
+        verifyNoMoreInteractions(orderItemDAO);
     }
 
     @Test
@@ -158,6 +274,14 @@ class OrderItemControllerImplTest {
         assertEquals(list, controller.findOrderItems(getDto));
     }
 
+    @Test
+    void findOrderItemRows_delegatesToDao() {
+        List<OrderItemRow> rows = List.of(new OrderItemRow(1, "Soup", 2, null, OrderItemStatus.PENDING, 3, null));
+        when(orderItemDAO.findRows(getDto)).thenReturn(rows);
+        assertEquals(rows, controller.findOrderItemRows(getDto));
+        verify(orderItemDAO).findRows(getDto);
+    }
+
     @Test
     void deleteOrderItem_notFound_noDelete() {
         when(orderItemDAO.getById(5)).thenReturn(null);
@@ -169,7 +293,7 @@ class OrderItemControllerImplTest {
     }
 
     @Test
-    void deleteOrderItem_updatesOrderAndDeletesItem() {
+    void deleteOrderItem_deletesItemAndAdjustsTotal() {
         OrderItem oi = new OrderItem();
         oi.setId(4);
         oi.setQuantity(2);
@@ -177,15 +301,15 @@ class OrderItemControllerImplTest {
         mi.setPrice(3.0);
         oi.setMenuItem(mi);
         Order order = new Order();
-        order.setTotalPrice(50.0);
+        order.setId(1);
         oi.setOrder(order);
         when(orderItemDAO.getById(4)).thenReturn(oi);
 
         controller.deleteOrderItem(4);
 
-        assertEquals(44.0, order.getTotalPrice());
-        verify(orderDAO).update(order);
         verify(orderItemDAO).delete(4);
+        verify(orderDAO).adjustTotal(1, -6.0);
+        verify(orderDAO, never()).update(any());
     }
 
     @Test
@@ -194,4 +318,13 @@ class OrderItemControllerImplTest {
         when(orderItemDAO.getById(11)).thenReturn(oi);
         assertSame(oi, controller.getOrderItem(11));
     }
+
+    private static CreateOrderItemDto item(int orderId, int menuItemId, int quantity, String customization) {
+        CreateOrderItemDto dto = new CreateOrderItemDto();
+        dto.setOrderId(orderId);
+        dto.setMenuItemId(menuItemId);
+        dto.setQuantity(quantity);
+        dto.setCustomization(customization);
+        return dto;
+    }
 }
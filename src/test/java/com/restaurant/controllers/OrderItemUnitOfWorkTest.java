@@ -0,0 +1,141 @@
+package com.restaurant.controllers;
+
+import com.restaurant.Main;
+import com.restaurant.config.UnitOfWork;
+import com.restaurant.constants.OrderItemStatus;
+import com.restaurant.constants.OrderType;
+import com.restaurant.di.AppBindings;
+import com.restaurant.di.Injector;
+import com.restaurant.dtos.orderItem.UpdateOrderItemDto;
+import com.restaurant.models.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Environment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the controller through its generated @Transactional wrapper against H2, so the DAOs share the unit's
+// EntityManager and managed instances the way they do in the application
+class OrderItemUnitOfWorkTest {
+    private static SessionFactory sessionFactory;
+    private static OrderItemController controller;
+    private static int restaurants;
+
+    private int menuItemId;
+    private int orderItemId;
+
+    @BeforeAll
+    static void setUpDatabase() throws Exception {
+        Properties props = new Properties();
+        props.put(Environment.JAKARTA_JDBC_URL, "jdbc:h2:mem:order-items;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        props.put(Environment.JAKARTA_JDBC_USER, "sa");
+        props.put(Environment.HBM2DDL_AUTO, "create-drop");
+        sessionFactory = Main.buildSessionFactory(props);
+
+        resetInjector();
+        Injector injector = Injector.getInstance();
+        UnitOfWork unitOfWork = new UnitOfWork(sessionFactory);
+        injector.register(UnitOfWork.class, unitOfWork);
+        injector.register(EntityManagerFactory.class, unitOfWork.getEntityManagerFactory());
+        AppBindings.install(injector);
+        controller = injector.getInstance(OrderItemController.class);
+    }
+
+    @AfterAll
+    static void tearDownDatabase() throws Exception {
+        resetInjector();
+        sessionFactory.close();
+    }
+
+    private static void resetInjector() throws Exception {
+        Field instance = Injector.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, null);
+    }
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory.inTransaction(session -> {
+            Restaurant restaurant = new Restaurant("Counted " + ++restaurants, "1 Main St");
+            restaurant.setMaxX(10);
+            restaurant.setMaxY(10);
+            session.persist(restaurant);
+            Menu menu = new Menu("Main", restaurant);
+            session.persist(menu);
+            MenuItem menuItem = new MenuItem();
+            menuItem.setName("Soup");
+            menuItem.setPrice(4.0);
+            menuItem.setMenu(menu);
+            menuItem.setTotalOrderedCount(2);
+            session.persist(menuItem);
+            Order order = new Order();
+            order.setRestaurant(restaurant);
+            order.setOrderType(OrderType.DINE_IN);
+            order.setTotalPrice(8.0);
+            session.persist(order);
+            OrderItem orderItem = new OrderItem(order, menuItem, 2);
+            session.persist(orderItem);
+            menuItemId = menuItem.getId();
+            orderItemId = orderItem.getId();
+        });
+    }
+
+    @Test
+    void updateOrderItem_quantityChange_movesOrderedCountAndTotal() {
+        UpdateOrderItemDto dto = new UpdateOrderItemDto();
+        dto.setId(orderItemId);
+        dto.setQuantity(5);
+
+        controller.updateOrderItem(dto);
+
+        sessionFactory.inSession(session -> {
+            OrderItem item = session.find(OrderItem.class, orderItemId);
+            assertEquals(5, item.getQuantity());
+            assertEquals(OrderItemStatus.PENDING, item.getStatus());
+            assertEquals(5, session.find(MenuItem.class, menuItemId).getTotalOrderedCount());
+            assertEquals(20.0, item.getOrder().getTotalPrice(), 1e-9);
+        });
+    }
+
+    @Test
+    void updateOrderItem_quantityDecrease_lowersOrderedCount() {
+        UpdateOrderItemDto dto = new UpdateOrderItemDto();
+        dto.setId(orderItemId);
+        dto.setQuantity(1);
+        dto.setStatus(OrderItemStatus.PENDING);
+
+        controller.updateOrderItem(dto);
+
+        sessionFactory.inSession(session ->
+                assertEquals(1, session.find(MenuItem.class, menuItemId).getTotalOrderedCount()));
+    }
+
+    @Test
+    void updateOrderItem_leavesMenuItemRowAndCacheEntryAlone() {
+        LocalDateTime updatedAt = sessionFactory.fromSession(session ->
+                session.find(MenuItem.class, menuItemId).getUpdatedAt());
+        assertTrue(sessionFactory.getCache().containsEntity(MenuItem.class, menuItemId));
+        UpdateOrderItemDto dto = new UpdateOrderItemDto();
+        dto.setId(orderItemId);
+        dto.setQuantity(3);
+
+        controller.updateOrderItem(dto);
+
+        assertTrue(sessionFactory.getCache().containsEntity(MenuItem.class, menuItemId));
+        sessionFactory.getCache().evictEntityData(MenuItem.class, menuItemId);
+        sessionFactory.inSession(session -> {
+            MenuItem menuItem = session.find(MenuItem.class, menuItemId);
+            assertEquals(updatedAt, menuItem.getUpdatedAt());
+            assertEquals(3, menuItem.getTotalOrderedCount());
+        });
+    }
+}
@@ -1,10 +1,13 @@
 package com.restaurant.controllers;
 
+import com.restaurant.constants.PaymentMethod;
+import com.restaurant.constants.PaymentStatus;
 import com.restaurant.controllers.impl.PaymentControllerImpl;
 import com.restaurant.daos.OrderDAO;
 import com.restaurant.daos.PaymentDAO;
 import com.restaurant.dtos.payment.CreatePaymentDto;
 import com.restaurant.dtos.payment.GetPaymentDto;
+import com.restaurant.dtos.payment.PaymentRow;
 import com.restaurant.models.Order;
 import com.restaurant.models.Payment;
 import org.junit.jupiter.api.BeforeEach;
@@ -95,4 +98,12 @@ class PaymentControllerImplTest {
         assertEquals(list, controller.findPayments(getDto));
         verify(paymentDAO).find(getDto);
     }
+
+    @Test
+    void findPaymentRows_delegatesToDao() {
+        List<PaymentRow> rows = List.of(new PaymentRow(1, 2, "Bistro", PaymentMethod.CASH, 20, 7.5, PaymentStatus.COMPLETED));
+        when(paymentDAO.findRows(getDto)).thenReturn(rows);
+        assertEquals(rows, controller.findPaymentRows(getDto));
+        verify(paymentDAO).findRows(getDto);
+    }
 }
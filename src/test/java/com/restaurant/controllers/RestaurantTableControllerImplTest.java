@@ -1,11 +1,14 @@
 package com.restaurant.controllers;
 
+import com.restaurant.constants.BookingTimeSlot;
 import com.restaurant.controllers.impl.RestaurantTableControllerImpl;
+import com.restaurant.daos.BookingAvailabilityDAO;
 import com.restaurant.daos.RestaurantDAO;
 import com.restaurant.daos.RestaurantTableDAO;
 import com.restaurant.dtos.restaurantTable.CreateRestaurantTableDto;
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableDto;
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableForBookingDto;
+import com.restaurant.dtos.restaurantTable.TableOccupancy;
 import com.restaurant.dtos.restaurantTable.UpdateRestaurantTableDto;
 import com.restaurant.models.Restaurant;
 import com.restaurant.models.RestaurantTable;
@@ -17,10 +20,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +36,8 @@ class RestaurantTableControllerImplTest {
     RestaurantTableDAO tableDAO;
     @Mock
     RestaurantDAO restaurantDAO;
+    @Mock
+    BookingAvailabilityDAO availabilityDAO;
     @InjectMocks
     RestaurantTableControllerImpl controller;
 
@@ -109,6 +118,7 @@ class RestaurantTableControllerImplTest {
 
         ArgumentCaptor<RestaurantTable> capt = ArgumentCaptor.forClass(RestaurantTable.class);
         verify(tableDAO).add(capt.capture());
+        verify(availabilityDAO).tablesChanged(createDto.getRestaurantId());
         RestaurantTable t = capt.getValue();
         assertSame(r, t.getRestaurant());
         assertEquals(10, t.getNumber());
@@ -202,6 +212,7 @@ class RestaurantTableControllerImplTest {
         assertEquals(3, t.getEndX());
         assertEquals(4, t.getEndY());
         verify(tableDAO).update(t);
+        verify(availabilityDAO).tablesChanged(15);
     }
 
     @Test
@@ -212,10 +223,36 @@ class RestaurantTableControllerImplTest {
     }
 
     @Test
-    void findTablesForBooking_delegatesToDao() {
-        List<RestaurantTable> list = List.of(new RestaurantTable());
-        when(tableDAO.findForBooking(bookingDto)).thenReturn(list);
-        assertEquals(list, controller.findTablesForBooking(bookingDto));
+    void findTablesForBooking_keepsFreeTables() {
+        RestaurantTable free = new RestaurantTable();
+        free.setId(1);
+        RestaurantTable booked = new RestaurantTable();
+        booked.setId(2);
+        bookingDto.setRestaurantId(3);
+        bookingDto.setDate(LocalDate.of(2025, 5, 1));
+        bookingDto.setStartTime(BookingTimeSlot.SLOT_10_00);
+        bookingDto.setEndTime(BookingTimeSlot.SLOT_11_00);
+        when(availabilityDAO.findOccupancy(3, bookingDto.getDate())).thenReturn(Map.of(
+                1, BookingTimeSlot.range(BookingTimeSlot.SLOT_11_00, BookingTimeSlot.SLOT_12_00),
+                2, BookingTimeSlot.SLOT_10_30.mask()));
+        when(tableDAO.find(bookingDto)).thenReturn(List.of(free, booked));
+        assertEquals(List.of(free), controller.findTablesForBooking(bookingDto));
+    }
+
+    @Test
+    void getOccupancy_answersSlotsFromTheDaysMasks() {
+        LocalDate date = LocalDate.of(2025, 5, 1);
+        when(availabilityDAO.findOccupancy(3, date)).thenReturn(Map.of(
+                4, BookingTimeSlot.range(BookingTimeSlot.SLOT_12_00, BookingTimeSlot.SLOT_13_00),
+                5, 0L));
+
+        TableOccupancy occupancy = controller.getOccupancy(3, date);
+
+        assertEquals(date, occupancy.date());
+        assertEquals(Set.of(5), occupancy.freeTableIds(BookingTimeSlot.SLOT_12_30.mask()));
+        assertEquals(Set.of(4, 5), occupancy.freeTableIds(BookingTimeSlot.SLOT_13_00.mask()));
+        assertTrue(occupancy.isFree(6, BookingTimeSlot.SLOT_12_30.mask()));
+        verifyNoInteractions(tableDAO);
     }
 
     @Test
@@ -9,6 +9,7 @@ import com.restaurant.daos.ShipmentDAO;
 import com.restaurant.daos.UserDAO;
 import com.restaurant.dtos.shipment.CreateShipmentDto;
 import com.restaurant.dtos.shipment.GetShipmentDto;
+import com.restaurant.dtos.shipment.ShipmentRow;
 import com.restaurant.dtos.shipment.UpdateShipmentDto;
 import com.restaurant.models.Customer;
 import com.restaurant.models.Order;
@@ -161,6 +162,7 @@ class ShipmentControllerImplTest {
         assertEquals("b@e.com", c.getEmail());
         assertNull(s.getShipper());
         verify(shipmentDAO).update(s);
+        verify(customerDAO).update(c);
     }
 
     @Test
@@ -185,6 +187,18 @@ class ShipmentControllerImplTest {
         assertEquals(ShipmentStatus.FAILED, s.getStatus());
         assertSame(newShipper, s.getShipper());
         verify(shipmentDAO).update(s);
+        verify(customerDAO, never()).update(any());
+    }
+
+    @Test
+    void updateShipmentStatus_delegatesWithoutLoading() {
+        when(shipmentDAO.updateStatus(3, ShipmentStatus.SHIPPING, ShipmentStatus.SUCCESS)).thenReturn(true);
+
+        controller.updateShipmentStatus(3, ShipmentStatus.SHIPPING, ShipmentStatus.SUCCESS);
+
+        verify(shipmentDAO).updateStatus(3, ShipmentStatus.SHIPPING, ShipmentStatus.SUCCESS);
+        verifyNoMoreInteractions(shipmentDAO);
+        verifyNoInteractions(orderDAO, userDAO, customerDAO);
     }
 
     @Test
@@ -194,4 +208,19 @@ class ShipmentControllerImplTest {
         assertEquals(list, controller.findShipments(getDto));
         verify(shipmentDAO).find(getDto);
     }
+
+    @Test
+    void findShipmentRows_delegatesToDao() {
+        List<ShipmentRow> rows = List.of(new ShipmentRow(1, 2, "Bistro", ShipmentService.INTERNAL, null, "Alice", ShipmentStatus.SHIPPING, "TRK1"));
+        when(shipmentDAO.findRows(getDto)).thenReturn(rows);
+        assertEquals(rows, controller.findShipmentRows(getDto));
+        verify(shipmentDAO).findRows(getDto);
+    }
+
+    @Test
+    void getShipment_delegatesToDao() {
+        Shipment s = new Shipment();
+        when(shipmentDAO.getById(4)).thenReturn(s);
+        assertSame(s, controller.getShipment(4));
+    }
 }
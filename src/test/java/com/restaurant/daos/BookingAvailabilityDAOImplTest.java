@@ -0,0 +1,135 @@
+package com.restaurant.daos;
+
+import com.restaurant.constants.BookingStatus;
+import com.restaurant.constants.BookingTimeSlot;
+import com.restaurant.daos.impl.BookingAvailabilityDAOImpl;
+import com.restaurant.models.Restaurant;
+import com.restaurant.models.RestaurantTable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.restaurant.constants.BookingTimeSlot.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BookingAvailabilityDAOImplTest {
+    private static final LocalDate DATE = LocalDate.of(2025, 5, 1);
+
+    @Mock
+    EntityManagerFactory emf;
+    @Mock
+    EntityManager em;
+    @Mock
+    TypedQuery<Object[]> dayQuery;
+    @Mock
+    TypedQuery<Object[]> tableQuery;
+    @InjectMocks
+    BookingAvailabilityDAOImpl dao;
+
+    private final List<Object[]> dayRows = new ArrayList<>();
+    private final List<Object[]> tableRows = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(emf.createEntityManager()).thenReturn(em);
+        when(em.createQuery(startsWith("SELECT t.id"), eq(Object[].class))).thenReturn(dayQuery);
+        when(em.createQuery(startsWith("SELECT b.startTime"), eq(Object[].class))).thenReturn(tableQuery);
+        when(dayQuery.setParameter(anyString(), any())).thenReturn(dayQuery);
+        when(tableQuery.setParameter(anyString(), any())).thenReturn(tableQuery);
+        when(dayQuery.getResultList()).thenReturn(dayRows);
+        when(tableQuery.getResultList()).thenReturn(tableRows);
+        // Table 1 holds 10:00-11:00 and 18:00-19:00, table 2 holds 12:00-14:00, table 3 has no bookings
+        dayRows.add(new Object[]{1, SLOT_10_00, SLOT_11_00});
+        dayRows.add(new Object[]{1, SLOT_18_00, SLOT_19_00});
+        dayRows.add(new Object[]{2, SLOT_12_00, SLOT_14_00});
+        dayRows.add(new Object[]{3, null, null});
+    }
+
+    @Test
+    void findOccupancy_foldsBookingsIntoOneMaskPerTable() {
+        Map<Integer, Long> occupancy = dao.findOccupancy(4, DATE);
+
+        assertEquals(Map.of(
+                1, BookingTimeSlot.range(SLOT_10_00, SLOT_11_00) | BookingTimeSlot.range(SLOT_18_00, SLOT_19_00),
+                2, BookingTimeSlot.range(SLOT_12_00, SLOT_14_00),
+                3, 0L), occupancy);
+        verify(dayQuery).setParameter("rid", 4);
+        verify(dayQuery).setParameter("date", DATE);
+        verify(dayQuery).setParameter("status", BookingStatus.BOOKED);
+    }
+
+    @Test
+    void findOccupancy_cachesTheDay() {
+        dao.findOccupancy(4, DATE);
+        dao.findOccupancy(4, DATE);
+        dao.findOccupancy(4, DATE.plusDays(1));
+
+        verify(dayQuery, times(2)).getResultList();
+        verify(em, times(2)).close();
+    }
+
+    @Test
+    void findOccupancy_wrapsFailures() {
+        when(dayQuery.getResultList()).thenThrow(new IllegalStateException("db down"));
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> dao.findOccupancy(4, DATE));
+        assertEquals("Error loading table availability", ex.getMessage());
+        verify(em).close();
+    }
+
+    @Test
+    void bookingsChanged_reloadsTheTableInACachedDay() {
+        dao.findOccupancy(4, DATE);
+        tableRows.add(new Object[]{SLOT_10_00, SLOT_11_00});
+
+        dao.bookingsChanged(table(3, 4), DATE);
+
+        assertEquals(BookingTimeSlot.range(SLOT_10_00, SLOT_11_00), dao.findOccupancy(4, DATE).get(3));
+        verify(dayQuery, times(1)).getResultList();
+        verify(tableQuery).setParameter("status", BookingStatus.BOOKED);
+    }
+
+    @Test
+    void bookingsChanged_uncachedDay_noQuery() {
+        dao.bookingsChanged(table(3, 4), DATE);
+
+        verifyNoInteractions(emf);
+    }
+
+    @Test
+    void tablesChanged_evictsTheRestaurant() {
+        dao.findOccupancy(4, DATE);
+        dayRows.add(new Object[]{5, null, null});
+
+        dao.tablesChanged(4);
+
+        assertEquals(Set.of(1, 2, 3, 5), dao.findOccupancy(4, DATE).keySet());
+        verify(dayQuery, times(2)).getResultList();
+    }
+
+    private static RestaurantTable table(int id, int restaurantId) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(restaurantId);
+        RestaurantTable table = new RestaurantTable();
+        table.setId(id);
+        table.setRestaurant(restaurant);
+        return table;
+    }
+}
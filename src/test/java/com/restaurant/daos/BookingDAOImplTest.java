@@ -5,14 +5,21 @@ import com.restaurant.constants.BookingTimeSlot;
 import com.restaurant.daos.impl.BookingDAOImpl;
 import com.restaurant.dtos.booking.GetBookingsDto;
 import com.restaurant.models.Booking;
+import com.restaurant.models.BookingSlot;
+import com.restaurant.models.RestaurantTable;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -20,6 +27,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
@@ -45,15 +53,13 @@ class BookingDAOImplTest {
     @Mock
     private Root<Booking> root;
     @Mock
-    private Fetch fetchCustomer;
-    @Mock
-    private Fetch fetchTable;
-    @Mock
     private Predicate predicate;
     @Mock
     private TypedQuery<Booking> typedQuery;
     @Mock
     private Path path;
+    @Mock
+    private Query slotRelease;
     @InjectMocks
     private BookingDAOImpl dao;
 
@@ -64,8 +70,6 @@ class BookingDAOImplTest {
         when(em.getCriteriaBuilder()).thenReturn(cb);
         when(cb.createQuery(Booking.class)).thenReturn(cq);
         when(cq.from(Booking.class)).thenReturn(root);
-        when(root.fetch("customer", JoinType.LEFT)).thenReturn(fetchCustomer);
-        when(root.fetch("table", JoinType.LEFT)).thenReturn(fetchTable);
         when(root.get(anyString())).thenReturn(path);
         when(path.get(anyString())).thenReturn(path);
         when(cb.lower(path)).thenReturn(mock(Expression.class));
@@ -79,11 +83,13 @@ class BookingDAOImplTest {
         when(typedQuery.setFirstResult(anyInt())).thenReturn(typedQuery);
         when(typedQuery.setMaxResults(anyInt())).thenReturn(typedQuery);
         when(typedQuery.getResultList()).thenReturn(Collections.emptyList());
+        when(em.createQuery(startsWith("DELETE FROM BookingSlot"))).thenReturn(slotRelease);
+        when(slotRelease.setParameter(anyString(), any())).thenReturn(slotRelease);
     }
 
     @Test
     void add_shouldPersistCommitAndClose() {
-        Booking b = new Booking();
+        Booking b = new Booking(LocalDate.of(2025, 5, 1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_10_30, new RestaurantTable());
         dao.add(b);
         InOrder o = inOrder(emf, em, tx);
         o.verify(emf).createEntityManager();
@@ -94,6 +100,69 @@ class BookingDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void add_persistsOneSlotPerHalfHourAndFlushes() {
+        Booking b = new Booking(LocalDate.of(2025, 5, 1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_30, new RestaurantTable());
+        assertTrue(dao.add(b));
+        ArgumentCaptor<BookingSlot> slots = ArgumentCaptor.forClass(BookingSlot.class);
+        InOrder o = inOrder(em, tx);
+        o.verify(em).persist(b);
+        o.verify(em, times(3)).persist(slots.capture());
+        o.verify(em).flush();
+        o.verify(tx).commit();
+        assertEquals(List.of(BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_10_30, BookingTimeSlot.SLOT_11_00),
+                slots.getAllValues().stream().map(BookingSlot::getSlot).toList());
+        assertSame(b, slots.getValue().getBooking());
+        assertSame(b.getTable(), slots.getValue().getTable());
+        assertEquals(b.getDate(), slots.getValue().getDate());
+    }
+
+    @Test
+    void add_slotTaken_rollsBackAndReturnsFalse() {
+        Booking b = new Booking(LocalDate.of(2025, 5, 1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_00, new RestaurantTable());
+        when(tx.isActive()).thenReturn(true);
+        doThrow(new PersistenceException(new ConstraintViolationException("duplicate", new SQLException("duplicate"),
+                "PUBLIC." + BookingSlot.UNIQUE_SLOT.toUpperCase()))).when(em).flush();
+        assertFalse(dao.add(b));
+        verify(tx).rollback();
+        verify(tx, never()).commit();
+        verify(em).close();
+    }
+
+    @Test
+    void add_otherConstraint_rethrows() {
+        Booking b = new Booking(LocalDate.of(2025, 5, 1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_00, new RestaurantTable());
+        when(tx.isActive()).thenReturn(true);
+        doThrow(new ConstraintViolationException("fk", new SQLException("fk"), "fk_booking_slots_table")).when(em).flush();
+        assertThrows(ConstraintViolationException.class, () -> dao.add(b));
+        verify(tx).rollback();
+    }
+
+    @Test
+    void reschedule_releasesOldSlotsBeforeTakingNewOnes() {
+        Booking b = new Booking(LocalDate.of(2025, 5, 1), BookingTimeSlot.SLOT_12_00, BookingTimeSlot.SLOT_13_00, new RestaurantTable());
+        b.setId(8);
+        when(em.merge(b)).thenReturn(b);
+        assertTrue(dao.reschedule(b));
+        InOrder o = inOrder(slotRelease, em, tx);
+        o.verify(slotRelease).setParameter("id", 8);
+        o.verify(slotRelease).executeUpdate();
+        o.verify(em).merge(b);
+        o.verify(em, times(2)).persist(any(BookingSlot.class));
+        o.verify(em).flush();
+        o.verify(tx).commit();
+    }
+
+    @Test
+    void reschedule_slotTaken_returnsFalse() {
+        Booking b = new Booking(LocalDate.of(2025, 5, 1), BookingTimeSlot.SLOT_12_00, BookingTimeSlot.SLOT_13_00, new RestaurantTable());
+        when(em.merge(b)).thenReturn(b);
+        when(tx.isActive()).thenReturn(true);
+        doThrow(new ConstraintViolationException("duplicate", new SQLException("duplicate"), BookingSlot.UNIQUE_SLOT)).when(em).flush();
+        assertFalse(dao.reschedule(b));
+        verify(tx).rollback();
+    }
+
     @Test
     void add_whenPersistThrows_shouldRollbackAndClose() {
         Booking b = new Booking();
@@ -111,7 +180,8 @@ class BookingDAOImplTest {
     void getById_returnsAndCloses() {
         Booking b = new Booking();
         when(emf.createEntityManager()).thenReturn(em);
-        when(em.find(Booking.class, 5)).thenReturn(b);
+        doReturn(mock(EntityGraph.class)).when(em).getEntityGraph(Booking.WITH_DETAILS);
+        when(em.find(eq(Booking.class), eq(5), anyMap())).thenReturn(b);
         Booking result = dao.getById(5);
         assertSame(b, result);
         verify(em).close();
@@ -142,7 +212,7 @@ class BookingDAOImplTest {
         verify(cb).equal(path, dto.getDate());
         verify(cb).equal(path, dto.getStartTime());
         verify(cb).equal(path, dto.getEndTime());
-        verify(cb).desc(path);
+        verify(cb, times(2)).desc(path);
         verify(typedQuery).setFirstResult(2);
         verify(typedQuery).setMaxResults(2);
         verify(em).close();
@@ -205,8 +275,10 @@ class BookingDAOImplTest {
 
         dao.delete(9);
 
-        InOrder o = inOrder(em, tx);
+        InOrder o = inOrder(em, tx, slotRelease);
         o.verify(tx).begin();
+        o.verify(slotRelease).setParameter("id", 9);
+        o.verify(slotRelease).executeUpdate();
         o.verify(em).find(Booking.class, 9);
         o.verify(em).remove(b);
         o.verify(tx).commit();
@@ -240,4 +312,43 @@ class BookingDAOImplTest {
         o.verify(tx).rollback();
         verify(em).close();
     }
+
+    @Test
+    void find_withCursorOnSortKey_seeksPastKeyAndId() {
+        LocalDate lastDate = LocalDate.of(2025, 5, 3);
+        Predicate keyAfter = mock(Predicate.class);
+        Predicate idAfter = mock(Predicate.class);
+        Predicate tie = mock(Predicate.class);
+        Predicate seek = mock(Predicate.class);
+        when(cb.greaterThan(path, lastDate)).thenReturn(keyAfter);
+        when(cb.greaterThan(path, 41)).thenReturn(idAfter);
+        when(cb.equal(path, lastDate)).thenReturn(predicate);
+        when(cb.and(predicate, idAfter)).thenReturn(tie);
+        when(cb.or(keyAfter, tie)).thenReturn(seek);
+        GetBookingsDto dto = new GetBookingsDto();
+        dto.setSortBy("date");
+        dto.setSortDir("asc");
+        dto.setSize(5);
+        dto.nextPage(lastDate, 41);
+
+        dao.find(dto);
+
+        verify(cq).where(new Predicate[]{seek});
+        verify(typedQuery).setFirstResult(0);
+        verify(typedQuery).setMaxResults(5);
+    }
+
+    @Test
+    void find_withCursorButNullSortKey_fallsBackToOffset() {
+        GetBookingsDto dto = new GetBookingsDto();
+        dto.setSortBy("date");
+        dto.setSortDir("asc");
+        dto.setSize(5);
+        dto.nextPage(null, 41);
+
+        dao.find(dto);
+
+        verify(cb, never()).or(any(Predicate[].class));
+        verify(typedQuery).setFirstResult(5);
+    }
 }
@@ -39,8 +39,6 @@ class MenuDAOImplTest {
     @Mock
     private Root<Menu> root;
     @Mock
-    private Fetch fetch;
-    @Mock
     private Predicate predicate;
     @Mock
     private TypedQuery<Menu> typedQuery;
@@ -56,7 +54,6 @@ class MenuDAOImplTest {
         when(em.getCriteriaBuilder()).thenReturn(cb);
         when(cb.createQuery(Menu.class)).thenReturn(cq);
         when(cq.from(Menu.class)).thenReturn(root);
-        when(root.fetch("restaurant", JoinType.LEFT)).thenReturn(fetch);
         when(root.get(anyString())).thenReturn(path);
         when(cb.lower(path)).thenReturn(mock(Expression.class));
         when(cb.like(any(Expression.class), anyString())).thenReturn(predicate);
@@ -3,11 +3,16 @@ package com.restaurant.daos;
 import com.restaurant.daos.impl.MenuItemDAOImpl;
 import com.restaurant.dtos.menuItem.GetMenuItemsDto;
 import com.restaurant.models.MenuItem;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.hibernate.MultiIdentifierLoadAccess;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -42,11 +48,9 @@ class MenuItemDAOImplTest {
     @Mock
     private Root<MenuItem> root;
     @Mock
-    private Fetch menuFetch;
+    private TypedQuery<Integer> idQuery;
     @Mock
-    private Fetch restaurantFetch;
-    @Mock
-    private Fetch orderItemsFetch;
+    private Query updateQuery;
     @Mock
     private Predicate predicate;
     @Mock
@@ -65,9 +69,6 @@ class MenuItemDAOImplTest {
         when(em.getCriteriaBuilder()).thenReturn(cb);
         when(cb.createQuery(MenuItem.class)).thenReturn(cq);
         when(cq.from(MenuItem.class)).thenReturn(root);
-        when(root.fetch("menu", JoinType.LEFT)).thenReturn(menuFetch);
-        when(menuFetch.fetch("restaurant", JoinType.LEFT)).thenReturn(restaurantFetch);
-        when(root.fetch("orderItems", JoinType.LEFT)).thenReturn(orderItemsFetch);
         when(root.get(anyString())).thenReturn(path);
         when(path.get(anyString())).thenReturn(path);
         when(cb.lower(path)).thenReturn(mock(Expression.class));
@@ -78,7 +79,6 @@ class MenuItemDAOImplTest {
         when(cb.equal(path, 6)).thenReturn(predicate);
         when(cb.and(any(Predicate[].class))).thenReturn(predicate);
         when(cq.select(root)).thenReturn(cq);
-        when(cq.distinct(true)).thenReturn(cq);
         when(cq.where(predicate)).thenReturn(cq);
         when(cb.asc(path)).thenReturn(mock(Order.class));
         when(cb.desc(path)).thenReturn(mock(Order.class));
@@ -90,6 +90,11 @@ class MenuItemDAOImplTest {
         when(em.createQuery(anyString(), eq(Long.class))).thenReturn(countQuery);
         when(countQuery.setParameter(anyString(), any())).thenReturn(countQuery);
         when(countQuery.getSingleResult()).thenReturn(1L);
+        when(em.createQuery(anyString(), eq(Integer.class))).thenReturn(idQuery);
+        when(idQuery.setParameter(anyString(), any())).thenReturn(idQuery);
+        when(idQuery.setMaxResults(anyInt())).thenReturn(idQuery);
+        when(em.createQuery(startsWith("UPDATE"))).thenReturn(updateQuery);
+        when(updateQuery.setParameter(anyString(), any())).thenReturn(updateQuery);
     }
 
     @Test
@@ -122,7 +127,8 @@ class MenuItemDAOImplTest {
     void getById_returnsAndCloses() {
         MenuItem m = new MenuItem();
         when(emf.createEntityManager()).thenReturn(em);
-        when(em.find(MenuItem.class, 9)).thenReturn(m);
+        doReturn(mock(EntityGraph.class)).when(em).getEntityGraph(MenuItem.WITH_MENU);
+        when(em.find(eq(MenuItem.class), eq(9), anyMap())).thenReturn(m);
         MenuItem result = dao.getById(9);
         assertSame(m, result);
         verify(em).close();
@@ -148,11 +154,28 @@ class MenuItemDAOImplTest {
         verify(cb).equal(path, 5);
         verify(cb).equal(path, 6);
         verify(cb).desc(path);
+        verify(root).get("id");
+        verify(cb).asc(path);
+        verify(cq).orderBy(argThat((List<Order> orders) -> orders.size() == 2));
         verify(typedQuery).setFirstResult(4);
         verify(typedQuery).setMaxResults(4);
         verify(em).close();
     }
 
+    @Test
+    void find_sortByOrderedCount_joinsCounterRow() {
+        Join<MenuItem, ?> orderCount = mock(Join.class);
+        doReturn(orderCount).when(root).join("orderCount", JoinType.LEFT);
+        when(orderCount.get("total")).thenReturn(path);
+        GetMenuItemsDto dto = new GetMenuItemsDto();
+        dto.setSortBy("totalOrderedCount");
+        dto.setSortDir("desc");
+        dao.find(dto);
+        verify(orderCount).get("total");
+        verify(root, never()).get("totalOrderedCount");
+        verify(cb).desc(path);
+    }
+
     @Test
     void find_withNoFilters_defaultSortAndPagination() {
         GetMenuItemsDto dto = new GetMenuItemsDto();
@@ -163,11 +186,24 @@ class MenuItemDAOImplTest {
         List<MenuItem> result = dao.find(dto);
         assertTrue(result.isEmpty());
         verify(cb).desc(path);
+        verify(cq).orderBy(argThat((List<Order> orders) -> orders.size() == 1));
         verify(typedQuery).setFirstResult(0);
         verify(typedQuery).setMaxResults(3);
         verify(em).close();
     }
 
+    @Test
+    void find_doesNotFetchOrderItemsCollection() {
+        GetMenuItemsDto dto = new GetMenuItemsDto();
+        dto.setPage(0);
+        dto.setSize(3);
+        dto.setMoreThanPrice(0.0);
+        dto.setLessThanPrice(Double.MAX_VALUE);
+        dao.find(dto);
+        verify(root, never()).fetch(eq("orderItems"), any(JoinType.class));
+        verify(cq, never()).distinct(true);
+    }
+
     @Test
     void find_whenException_shouldWrapAndClose() {
         when(em.getCriteriaBuilder()).thenThrow(IllegalStateException.class);
@@ -284,9 +320,72 @@ class MenuItemDAOImplTest {
         when(emf.createEntityManager()).thenReturn(em);
         when(em.createQuery(anyString(), eq(MenuItem.class))).thenReturn(q);
         when(q.setParameter("restaurantId", 5)).thenReturn(q);
+        when(q.setHint("org.hibernate.cacheable", true)).thenReturn(q);
         when(q.getResultList()).thenReturn(List.of(new MenuItem()));
         List<MenuItem> list = dao.findByRestaurantId(5);
         assertEquals(1, list.size());
+        verify(q).setHint("org.hibernate.cacheable", true);
+        verify(em).close();
+    }
+
+    @Test
+    void update_mergesWithoutLockingTheMenuItem() {
+        MenuItem item = new MenuItem();
+        item.setId(4);
+        dao.update(item);
+        verify(em).merge(item);
+        verify(em, never()).find(eq(MenuItem.class), any(), any(LockModeType.class));
+        verify(em, never()).createQuery(anyString());
+    }
+
+    @Test
+    void findByIds_multiLoadsAndDropsMissing() {
+        Session session = mock(Session.class);
+        MultiIdentifierLoadAccess<MenuItem> access = mock(MultiIdentifierLoadAccess.class);
+        when(em.unwrap(Session.class)).thenReturn(session);
+        when(session.byMultipleIds(MenuItem.class)).thenReturn(access);
+        MenuItem soup = new MenuItem();
+        when(access.multiLoad(List.of(3, 4))).thenReturn(Arrays.asList(soup, null));
+
+        assertEquals(List.of(soup), dao.findByIds(List.of(3, 4)));
+        verify(em).close();
+    }
+
+    @Test
+    void findByIds_withNoIds_skipsDatabase() {
+        assertTrue(dao.findByIds(List.of()).isEmpty());
+        verifyNoInteractions(emf);
+    }
+
+    @Test
+    void recomputeOrderedCounts_updatesInIdBatchesUntilExhausted() {
+        when(idQuery.getResultList())
+                .thenReturn(List.of(1, 2))
+                .thenReturn(List.of(3))
+                .thenReturn(Collections.emptyList());
+        when(updateQuery.executeUpdate()).thenReturn(2).thenReturn(1);
+
+        int updated = dao.recomputeOrderedCounts(2);
+
+        assertEquals(3, updated);
+        verify(idQuery).setParameter("after", 0);
+        verify(idQuery).setParameter("after", 2);
+        verify(idQuery).setParameter("after", 3);
+        verify(idQuery, times(3)).setMaxResults(2);
+        verify(em, times(2)).createQuery(startsWith("UPDATE MenuItemOrderCount c"));
+        verify(updateQuery).setParameter("ids", List.of(1, 2));
+        verify(updateQuery).setParameter("ids", List.of(3));
+        verify(tx, times(2)).commit();
+        verify(em).close();
+    }
+
+    @Test
+    void recomputeOrderedCounts_whenUpdateFails_rollsBackAndCloses() {
+        when(idQuery.getResultList()).thenReturn(List.of(1));
+        when(updateQuery.executeUpdate()).thenThrow(RuntimeException.class);
+        when(tx.isActive()).thenReturn(true);
+        assertThrows(RuntimeException.class, () -> dao.recomputeOrderedCounts(10));
+        verify(tx).rollback();
         verify(em).close();
     }
 }
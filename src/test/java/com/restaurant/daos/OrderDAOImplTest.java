@@ -4,12 +4,17 @@ import com.restaurant.constants.OrderStatus;
 import com.restaurant.constants.OrderType;
 import com.restaurant.daos.impl.OrderDAOImpl;
 import com.restaurant.dtos.order.GetOrderDto;
+import com.restaurant.dtos.order.OrderRow;
+import com.restaurant.models.MenuItem;
 import com.restaurant.models.Order;
+import com.restaurant.models.OrderItem;
 import com.restaurant.models.Restaurant;
 import com.restaurant.models.RestaurantTable;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +28,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -48,8 +54,6 @@ class OrderDAOImplTest {
     @Mock
     Root<Order> root;
     @Mock
-    Fetch<?, ?> tableFetch;
-    @Mock
     Predicate predicate;
     @Mock
     TypedQuery<Order> orderQuery;
@@ -67,7 +71,6 @@ class OrderDAOImplTest {
         when(em.getCriteriaBuilder()).thenReturn(cb);
         when(cb.createQuery(Order.class)).thenReturn(cq);
         when(cq.from(Order.class)).thenReturn(root);
-        when(root.fetch(eq("restaurantTable"), eq(JoinType.LEFT))).thenReturn((Fetch) tableFetch);
         when(root.get(anyString())).thenReturn((Path) path);
         when(cb.equal(any(Expression.class), any())).thenReturn(predicate);
         when(cq.where(any(Predicate[].class))).thenReturn(cq);
@@ -126,7 +129,8 @@ class OrderDAOImplTest {
     @Test
     void getById_findsAndCloses() {
         Order o = new Order();
-        when(em.find(Order.class, 42)).thenReturn(o);
+        doReturn(mock(EntityGraph.class)).when(em).getEntityGraph(Order.WITH_DETAILS);
+        when(em.find(eq(Order.class), eq(42), anyMap())).thenReturn(o);
         Order result = dao.getById(42);
         assertSame(o, result);
         verify(em).close();
@@ -158,7 +162,7 @@ class OrderDAOImplTest {
         verify(cb).equal(root.get("totalPrice"), 123.45);
         verify(cb).equal(root.get("status"), OrderStatus.COMPLETED);
         verify(cb).equal(root.get("restaurant").get("id"), 9);
-        verify(cb).desc(path);
+        verify(cb, times(2)).desc(path);
         verify(orderQuery).setFirstResult(6);
         verify(orderQuery).setMaxResults(4);
         assertEquals(3, result.size());
@@ -189,6 +193,37 @@ class OrderDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void findRows_projectsJoinedColumnsWithoutEntityGraph() {
+        CriteriaQuery<OrderRow> rowCq = mock(CriteriaQuery.class);
+        TypedQuery<OrderRow> rowQuery = mock(TypedQuery.class);
+        CompoundSelection<OrderRow> selection = mock(CompoundSelection.class);
+        Join<Object, Object> join = mock(Join.class);
+        when(cb.createQuery(OrderRow.class)).thenReturn(rowCq);
+        when(rowCq.from(Order.class)).thenReturn(root);
+        doReturn(join).when(root).join(anyString());
+        doReturn(join).when(root).join(anyString(), any(JoinType.class));
+        doReturn(path).when(join).get(anyString());
+        when(cb.construct(eq(OrderRow.class), any())).thenReturn(selection);
+        when(em.createQuery(rowCq)).thenReturn(rowQuery);
+        List<OrderRow> rows = List.of(new OrderRow(1, "Bistro", 4, OrderType.DINE_IN, OrderStatus.PENDING, 10, LocalDateTime.now()));
+        when(rowQuery.getResultList()).thenReturn(rows);
+        GetOrderDto dto = new GetOrderDto();
+        dto.setStatus(OrderStatus.PENDING);
+        dto.setPage(1);
+        dto.setSize(5);
+
+        assertSame(rows, dao.findRows(dto));
+        verify(root).join("restaurant");
+        verify(root).join("restaurantTable", JoinType.LEFT);
+        verify(rowCq).select(selection);
+        verify(cb).equal(root.get("status"), OrderStatus.PENDING);
+        verify(rowQuery).setFirstResult(5);
+        verify(rowQuery).setMaxResults(5);
+        verify(em, never()).getEntityGraph(anyString());
+        verify(em).close();
+    }
+
     @Test
     void update_mergesCommitsAndCloses() {
         Order o = new Order();
@@ -211,6 +246,64 @@ class OrderDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void adjustTotal_appliesDeltaThroughTheEntity() {
+        Order o = new Order();
+        o.setTotalPrice(20.0);
+        when(em.find(Order.class, 3)).thenReturn(o);
+
+        dao.adjustTotal(3, -7.5);
+
+        assertEquals(12.5, o.getTotalPrice(), 1e-9);
+        InOrder in = inOrder(tx, em);
+        in.verify(tx).begin();
+        in.verify(em).find(Order.class, 3);
+        in.verify(tx).commit();
+        verify(em, never()).createQuery(anyString());
+        verify(em).close();
+    }
+
+    @Test
+    void adjustTotal_whenCommitFails_rollsBack() {
+        when(em.find(Order.class, 3)).thenReturn(new Order());
+        doThrow(RuntimeException.class).when(tx).commit();
+        when(tx.isActive()).thenReturn(true);
+        assertThrows(RuntimeException.class, () -> dao.adjustTotal(3, 1.0));
+        verify(tx).rollback();
+        verify(em).close();
+    }
+
+    @Test
+    void updateStatus_whenStillExpected_updatesInOneStatement() {
+        Query update = mock(Query.class);
+        when(em.createQuery(startsWith("UPDATE Order "))).thenReturn(update);
+        when(update.setParameter(anyString(), any())).thenReturn(update);
+        when(update.executeUpdate()).thenReturn(1);
+
+        assertTrue(dao.updateStatus(5, OrderStatus.PENDING, OrderStatus.READY));
+
+        verify(em).createQuery(contains("WHERE o.id = :id AND o.status = :expected"));
+        verify(em).createQuery(contains("o.version = o.version + 1"));
+        verify(update).setParameter("expected", OrderStatus.PENDING);
+        verify(update).setParameter("next", OrderStatus.READY);
+        verify(update).setParameter("id", 5);
+        verify(tx).commit();
+        verify(em, never()).merge(any());
+        verify(em, never()).find(any(), any());
+        verify(em).close();
+    }
+
+    @Test
+    void updateStatus_whenStatusAlreadyMoved_returnsFalse() {
+        Query update = mock(Query.class);
+        when(em.createQuery(startsWith("UPDATE Order "))).thenReturn(update);
+        when(update.setParameter(anyString(), any())).thenReturn(update);
+        when(update.executeUpdate()).thenReturn(0);
+
+        assertFalse(dao.updateStatus(5, OrderStatus.PENDING, OrderStatus.READY));
+        verify(em).close();
+    }
+
     @Test
     void delete_whenExists_removesCommitsAndCloses() {
         Order o = new Order();
@@ -225,6 +318,24 @@ class OrderDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void delete_decrementsOrderedCountsOfItems() {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(2);
+        Query countUpdate = mock(Query.class);
+        when(em.createQuery(startsWith("UPDATE MenuItemOrderCount"))).thenReturn(countUpdate);
+        when(countUpdate.setParameter(anyString(), any())).thenReturn(countUpdate);
+        Order o = new Order();
+        o.addItem(new OrderItem(o, menuItem, 3));
+        o.addItem(new OrderItem(o, menuItem, 1));
+        when(em.find(Order.class, 7)).thenReturn(o);
+        dao.delete(7);
+        verify(countUpdate).setParameter("delta", -4);
+        verify(countUpdate).setParameter("id", 2);
+        verify(countUpdate).executeUpdate();
+        verify(em).remove(o);
+    }
+
     @Test
     void delete_whenNotExists_commitsWithoutRemove() {
         when(em.find(Order.class, 6)).thenReturn(null);
@@ -259,4 +370,14 @@ class OrderDAOImplTest {
         assertFalse(dao.hasPendingForTableAndType(3, OrderType.DINE_IN));
         verify(em, times(2)).close();
     }
+
+    @Test
+    void find_withDate_usesHalfOpenCreatedAtRange() {
+        GetOrderDto dto = new GetOrderDto();
+        dto.setDate(LocalDate.of(2025, 5, 1));
+        dao.find(dto);
+        verify(cb).greaterThanOrEqualTo(any(Expression.class), eq(LocalDateTime.of(2025, 5, 1, 0, 0)));
+        verify(cb).lessThan(any(Expression.class), eq(LocalDateTime.of(2025, 5, 2, 0, 0)));
+        verify(cb, never()).function(anyString(), any(), any(Expression[].class));
+    }
 }
@@ -3,10 +3,16 @@ package com.restaurant.daos;
 import com.restaurant.constants.OrderItemStatus;
 import com.restaurant.daos.impl.OrderItemDAOImpl;
 import com.restaurant.dtos.orderItem.GetOrderItemDto;
+import com.restaurant.dtos.orderItem.OrderItemRow;
+import com.restaurant.models.MenuItem;
 import com.restaurant.models.OrderItem;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +27,8 @@ import org.mockito.quality.Strictness;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,10 +50,6 @@ class OrderItemDAOImplTest {
     @Mock
     Root<OrderItem> root;
     @Mock
-    Fetch<OrderItem, ?> fetchOrder;
-    @Mock
-    Fetch<OrderItem, ?> fetchMenuItem;
-    @Mock
     Path<Object> path;
     @Mock
     Expression<String> expr;
@@ -57,6 +61,8 @@ class OrderItemDAOImplTest {
     TypedQuery<OrderItem> query;
     @Mock
     TypedQuery<Long> countQ;
+    @Mock
+    Query countUpdate;
     @InjectMocks
     OrderItemDAOImpl dao;
 
@@ -67,8 +73,6 @@ class OrderItemDAOImplTest {
         when(em.getCriteriaBuilder()).thenReturn(cb);
         when(cb.createQuery(OrderItem.class)).thenReturn(cq);
         when(cq.from(OrderItem.class)).thenReturn(root);
-        when(root.fetch(eq("order"), eq(JoinType.LEFT))).thenReturn((Fetch) fetchOrder);
-        when(root.fetch(eq("menuItem"), eq(JoinType.INNER))).thenReturn((Fetch) fetchMenuItem);
         when(root.get(anyString())).thenReturn(path);
         when(path.get(anyString())).thenReturn(path);
         when(cb.equal(any(Expression.class), any())).thenReturn(predicate);
@@ -86,6 +90,8 @@ class OrderItemDAOImplTest {
         when(query.getResultList()).thenReturn(new ArrayList<>());
         when(em.createQuery(anyString(), eq(Long.class))).thenReturn(countQ);
         when(countQ.setParameter(anyString(), any())).thenReturn(countQ);
+        when(em.createQuery(startsWith("UPDATE MenuItemOrderCount"))).thenReturn(countUpdate);
+        when(countUpdate.setParameter(anyString(), any())).thenReturn(countUpdate);
     }
 
     @Test
@@ -113,7 +119,8 @@ class OrderItemDAOImplTest {
     @Test
     void getById_returnsAndClose() {
         OrderItem oi = new OrderItem();
-        when(em.find(OrderItem.class, 10)).thenReturn(oi);
+        doReturn(mock(EntityGraph.class)).when(em).getEntityGraph(OrderItem.WITH_DETAILS);
+        when(em.find(eq(OrderItem.class), eq(10), anyMap())).thenReturn(oi);
         assertSame(oi, dao.getById(10));
         verify(em).close();
     }
@@ -125,7 +132,7 @@ class OrderItemDAOImplTest {
         dto.setSize(3);
         dao.find(dto);
         verify(cb).desc(path);
-        verify(cq).orderBy(jpaOrder);
+        verify(cq).orderBy(List.of(jpaOrder));
         verify(query).setFirstResult(0);
         verify(query).setMaxResults(3);
         verify(em).close();
@@ -151,8 +158,8 @@ class OrderItemDAOImplTest {
         verify(cb).equal(path, 7);
         verify(cb).equal(path, 2);
         verify(cq).where(predicate);
-        verify(cb).asc(path);
-        verify(cq).orderBy(jpaOrder);
+        verify(cb, times(2)).asc(path);
+        verify(cq).orderBy(List.of(jpaOrder, jpaOrder));
         verify(query).setFirstResult(4);
         verify(query).setMaxResults(4);
         assertEquals(1, result.size());
@@ -166,6 +173,37 @@ class OrderItemDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void findRows_projectsJoinedColumnsWithoutEntityGraph() {
+        CriteriaQuery<OrderItemRow> rowCq = mock(CriteriaQuery.class);
+        TypedQuery<OrderItemRow> rowQuery = mock(TypedQuery.class);
+        CompoundSelection<OrderItemRow> selection = mock(CompoundSelection.class);
+        Join<Object, Object> join = mock(Join.class);
+        when(cb.createQuery(OrderItemRow.class)).thenReturn(rowCq);
+        when(rowCq.from(OrderItem.class)).thenReturn(root);
+        doReturn(join).when(root).join(anyString());
+        doReturn(join).when(join).join(anyString(), any(JoinType.class));
+        doReturn(path).when(join).get(anyString());
+        when(cb.construct(eq(OrderItemRow.class), any())).thenReturn(selection);
+        when(em.createQuery(rowCq)).thenReturn(rowQuery);
+        List<OrderItemRow> rows = List.of(new OrderItemRow(1, "Soup", 2, null, OrderItemStatus.PENDING, null, "TRK1"));
+        when(rowQuery.getResultList()).thenReturn(rows);
+        GetOrderItemDto dto = new GetOrderItemDto();
+        dto.setOrderId(3);
+        dto.setSize(10);
+
+        assertSame(rows, dao.findRows(dto));
+        verify(root).join("menuItem");
+        verify(root).join("order");
+        verify(join).join("restaurantTable", JoinType.LEFT);
+        verify(join).join("shipment", JoinType.LEFT);
+        verify(rowCq).select(selection);
+        verify(rowQuery).setFirstResult(0);
+        verify(rowQuery).setMaxResults(10);
+        verify(em, never()).getEntityGraph(anyString());
+        verify(em).close();
+    }
+
     @Test
     void update_existing_commitsAndClose() {
         OrderItem item = new OrderItem();
@@ -198,6 +236,37 @@ class OrderItemDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void updateStatus_whenStillExpected_updatesInOneStatement() {
+        Query update = mock(Query.class);
+        when(em.createQuery(startsWith("UPDATE OrderItem "))).thenReturn(update);
+        when(update.setParameter(anyString(), any())).thenReturn(update);
+        when(update.executeUpdate()).thenReturn(1);
+
+        assertTrue(dao.updateStatus(5, OrderItemStatus.PENDING, OrderItemStatus.SERVED));
+
+        verify(em).createQuery(contains("WHERE oi.id = :id AND oi.status = :expected"));
+        verify(em).createQuery(contains("oi.version = oi.version + 1"));
+        verify(update).setParameter("expected", OrderItemStatus.PENDING);
+        verify(update).setParameter("next", OrderItemStatus.SERVED);
+        verify(update).setParameter("id", 5);
+        verify(tx).commit();
+        verify(em, never()).merge(any());
+        verify(em, never()).find(any(), any());
+        verify(em).close();
+    }
+
+    @Test
+    void updateStatus_whenStatusAlreadyMoved_returnsFalse() {
+        Query update = mock(Query.class);
+        when(em.createQuery(startsWith("UPDATE OrderItem "))).thenReturn(update);
+        when(update.setParameter(anyString(), any())).thenReturn(update);
+        when(update.executeUpdate()).thenReturn(0);
+
+        assertFalse(dao.updateStatus(5, OrderItemStatus.PENDING, OrderItemStatus.SERVED));
+        verify(em).close();
+    }
+
     @Test
     void delete_existing_removesCommitsAndClose() {
         OrderItem oi = new OrderItem();
@@ -241,4 +310,139 @@ class OrderItemDAOImplTest {
         verify(countQ, times(2)).setParameter("cust", "cust");
         verify(em, times(2)).close();
     }
+
+    private MenuItem menuItem(int id) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(id);
+        return menuItem;
+    }
+
+    @Test
+    void add_incrementsOrderedCount() {
+        OrderItem item = new OrderItem(null, menuItem(3), 4);
+        dao.add(item);
+        InOrder in = inOrder(em, countUpdate, tx);
+        in.verify(em).persist(item);
+        in.verify(countUpdate).setParameter("delta", 4);
+        in.verify(countUpdate).setParameter("id", 3);
+        in.verify(countUpdate).executeUpdate();
+        in.verify(tx).commit();
+        verify(em, never()).find(eq(MenuItem.class), any(), any(LockModeType.class));
+    }
+
+    @Test
+    void update_appliesQuantityDeltaToOrderedCount() {
+        OrderItem managed = new OrderItem(null, menuItem(3), 4);
+        when(em.find(OrderItem.class, 20)).thenReturn(managed);
+        OrderItem item = new OrderItem();
+        item.setId(20);
+        item.setQuantity(1);
+        dao.update(item);
+        verify(countUpdate).setParameter("delta", -3);
+        verify(countUpdate).setParameter("id", 3);
+        assertEquals(1, managed.getQuantity());
+    }
+
+    @Test
+    void update_withoutQuantity_leavesOrderedCount() {
+        OrderItem managed = new OrderItem(null, menuItem(3), 4);
+        when(em.find(OrderItem.class, 21)).thenReturn(managed);
+        OrderItem item = new OrderItem();
+        item.setId(21);
+        item.setQuantity(0);
+        dao.update(item);
+        verify(countUpdate, never()).executeUpdate();
+    }
+
+    @Test
+    void updateQuantity_atExpectedVersion_setsQuantityAndMovesOrderedCount() {
+        OrderItem managed = new OrderItem(null, menuItem(3), 4);
+        when(em.find(OrderItem.class, 23)).thenReturn(managed);
+        dao.updateQuantity(23, 6, OrderItemStatus.READY, 0);
+        assertEquals(6, managed.getQuantity());
+        assertEquals(OrderItemStatus.READY, managed.getStatus());
+        verify(countUpdate).setParameter("delta", 2);
+        verify(tx).commit();
+    }
+
+    @Test
+    void updateQuantity_atStaleVersion_throwsAndRollsBack() {
+        OrderItem managed = new OrderItem(null, menuItem(3), 4);
+        when(em.find(OrderItem.class, 24)).thenReturn(managed);
+        when(tx.isActive()).thenReturn(true);
+        assertThrows(OptimisticLockException.class, () -> dao.updateQuantity(24, 6, null, 1));
+        assertEquals(4, managed.getQuantity());
+        verify(countUpdate, never()).executeUpdate();
+        verify(tx).rollback();
+        verify(em).close();
+    }
+
+    @Test
+    void delete_decrementsOrderedCount() {
+        OrderItem oi = new OrderItem(null, menuItem(3), 5);
+        when(em.find(OrderItem.class, 22)).thenReturn(oi);
+        dao.delete(22);
+        verify(countUpdate).setParameter("delta", -5);
+        verify(countUpdate).setParameter("id", 3);
+        verify(em).remove(oi);
+    }
+
+    @Test
+    void addAll_persistsEachAndUpdatesEachMenuItemOnce() {
+        MenuItem soup = menuItem(3);
+        MenuItem salad = menuItem(4);
+        OrderItem first = new OrderItem(null, soup, 2);
+        OrderItem second = new OrderItem(null, salad, 1);
+        OrderItem third = new OrderItem(null, soup, 3);
+
+        dao.addAll(List.of(first, second, third));
+
+        InOrder in = inOrder(em, countUpdate, tx);
+        in.verify(tx).begin();
+        in.verify(em).persist(first);
+        in.verify(em).persist(second);
+        in.verify(em).persist(third);
+        in.verify(countUpdate).setParameter("id", 3);
+        in.verify(countUpdate).setParameter("id", 4);
+        in.verify(tx).commit();
+        verify(countUpdate).setParameter("delta", 5);
+        verify(countUpdate).setParameter("delta", 1);
+        verify(countUpdate, times(2)).executeUpdate();
+        verify(em).close();
+    }
+
+    @Test
+    void addAll_whenPersistFails_rollsBackAndCloses() {
+        OrderItem oi = new OrderItem(null, new MenuItem(), 1);
+        doThrow(RuntimeException.class).when(em).persist(oi);
+        when(tx.isActive()).thenReturn(true);
+        assertThrows(RuntimeException.class, () -> dao.addAll(List.of(oi)));
+        verify(tx).rollback();
+        verify(em).close();
+    }
+
+    @Test
+    void findCustomizationsByMenuItem_groupsByMenuItem() {
+        TypedQuery<Object[]> q = mock(TypedQuery.class);
+        when(em.createQuery(anyString(), eq(Object[].class))).thenReturn(q);
+        when(q.setParameter(anyString(), any())).thenReturn(q);
+        when(q.getResultList()).thenReturn(List.of(
+                new Object[]{3, "No onions"},
+                new Object[]{3, "Extra spicy"},
+                new Object[]{4, "Large"}
+        ));
+
+        Map<Integer, Set<String>> result = dao.findCustomizationsByMenuItem(2, List.of(3, 4, 5));
+
+        assertEquals(Map.of(3, Set.of("No onions", "Extra spicy"), 4, Set.of("Large")), result);
+        verify(q).setParameter("oid", 2);
+        verify(q).setParameter("mids", List.of(3, 4, 5));
+        verify(em).close();
+    }
+
+    @Test
+    void findCustomizationsByMenuItem_withNoMenuItems_skipsQuery() {
+        assertTrue(dao.findCustomizationsByMenuItem(2, List.of()).isEmpty());
+        verifyNoInteractions(emf);
+    }
 }
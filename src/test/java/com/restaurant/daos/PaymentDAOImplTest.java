@@ -4,7 +4,9 @@ import com.restaurant.constants.PaymentMethod;
 import com.restaurant.constants.PaymentStatus;
 import com.restaurant.daos.impl.PaymentDAOImpl;
 import com.restaurant.dtos.payment.GetPaymentDto;
+import com.restaurant.dtos.payment.PaymentRow;
 import com.restaurant.models.Payment;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
@@ -44,12 +46,12 @@ class PaymentDAOImplTest {
     @Mock
     Root<Payment> root;
     @Mock
-    Fetch<Object, Object> fetchOrder;
-    @Mock
     Path<Object> path;
     @Mock
     Predicate predicate;
     @Mock
+    jakarta.persistence.criteria.Order jpaOrder;
+    @Mock
     TypedQuery<Payment> query;
     @Mock
     TypedQuery<Long> countQ;
@@ -63,11 +65,12 @@ class PaymentDAOImplTest {
         when(em.getCriteriaBuilder()).thenReturn(cb);
         when(cb.createQuery(Payment.class)).thenReturn(cq);
         when(cq.from(Payment.class)).thenReturn(root);
-        when(root.fetch(eq("order"), eq(JoinType.LEFT))).thenReturn(fetchOrder);
         when(root.get(anyString())).thenReturn(path);
         when(path.get(anyString())).thenReturn(path);
         when(cb.equal(any(Expression.class), any())).thenReturn(predicate);
         when(cq.where(any(Predicate[].class))).thenReturn(cq);
+        when(cb.asc(any(Expression.class))).thenReturn(jpaOrder);
+        when(cb.desc(any(Expression.class))).thenReturn(jpaOrder);
         when(em.createQuery(cq)).thenReturn(query);
         when(query.setFirstResult(anyInt())).thenReturn(query);
         when(query.setMaxResults(anyInt())).thenReturn(query);
@@ -101,7 +104,8 @@ class PaymentDAOImplTest {
     @Test
     void getById_returnsAndCloses() {
         Payment p = new Payment();
-        when(em.find(Payment.class, 5)).thenReturn(p);
+        doReturn(mock(EntityGraph.class)).when(em).getEntityGraph(Payment.WITH_DETAILS);
+        when(em.find(eq(Payment.class), eq(5), anyMap())).thenReturn(p);
         Payment result = dao.getById(5);
         assertSame(p, result);
         verify(em).close();
@@ -147,6 +151,35 @@ class PaymentDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void findRows_projectsJoinedColumnsWithoutEntityGraph() {
+        CriteriaQuery<PaymentRow> rowCq = mock(CriteriaQuery.class);
+        TypedQuery<PaymentRow> rowQuery = mock(TypedQuery.class);
+        CompoundSelection<PaymentRow> selection = mock(CompoundSelection.class);
+        Join<Object, Object> join = mock(Join.class);
+        when(cb.createQuery(PaymentRow.class)).thenReturn(rowCq);
+        when(rowCq.from(Payment.class)).thenReturn(root);
+        doReturn(join).when(root).join(anyString());
+        doReturn(join).when(join).join(anyString());
+        doReturn(path).when(join).get(anyString());
+        when(cb.construct(eq(PaymentRow.class), any())).thenReturn(selection);
+        when(em.createQuery(rowCq)).thenReturn(rowQuery);
+        List<PaymentRow> rows = List.of(new PaymentRow(1, 2, "Bistro", PaymentMethod.CASH, 20, 5, PaymentStatus.COMPLETED));
+        when(rowQuery.getResultList()).thenReturn(rows);
+        GetPaymentDto dto = new GetPaymentDto();
+        dto.setMethod(PaymentMethod.CASH);
+        dto.setSize(4);
+
+        assertSame(rows, dao.findRows(dto));
+        verify(root).join("order");
+        verify(join).join("restaurant");
+        verify(rowCq).select(selection);
+        verify(cb).equal(path, PaymentMethod.CASH);
+        verify(rowQuery).setMaxResults(4);
+        verify(em, never()).getEntityGraph(anyString());
+        verify(em).close();
+    }
+
     @Test
     void existsByOrder_trueAndFalse() {
         when(countQ.getSingleResult()).thenReturn(1L);
@@ -155,4 +188,25 @@ class PaymentDAOImplTest {
         assertFalse(dao.existsByOrder(7));
         verify(em, times(2)).close();
     }
+
+    @Test
+    void find_withCursor_seeksPastLastRowInsteadOfOffset() {
+        Predicate seek = mock(Predicate.class);
+        when(cb.lessThan(any(Expression.class), eq(30))).thenReturn(seek);
+        GetPaymentDto dto = new GetPaymentDto();
+        dto.setSize(10);
+        dto.nextPage(30, 30);
+        dto.nextPage(20, 20);
+        dao.find(dto);
+        verify(cb).lessThan(any(Expression.class), eq(20));
+        verify(cq).orderBy(List.of(jpaOrder));
+        verify(query).setFirstResult(0);
+        verify(query).setMaxResults(10);
+
+        dto.previousPage();
+        dao.find(dto);
+        verify(cb).lessThan(any(Expression.class), eq(30));
+        verify(cq).where(new Predicate[]{seek});
+        assertEquals(1, dto.getPage());
+    }
 }
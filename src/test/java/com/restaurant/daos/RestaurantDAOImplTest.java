@@ -93,6 +93,7 @@ class RestaurantDAOImplTest {
         when(countQ.setParameter(anyString(), any())).thenReturn(countQ);
 
         when(em.createQuery(eq("SELECT r FROM Restaurant r"), eq(Restaurant.class))).thenReturn(queryAll);
+        when(queryAll.setHint(anyString(), any())).thenReturn(queryAll);
         when(queryAll.getResultList()).thenReturn(new ArrayList<>());
     }
 
@@ -260,6 +261,7 @@ class RestaurantDAOImplTest {
 
         List<Restaurant> result = dao.findAll();
         assertEquals(all, result);
+        verify(queryAll).setHint("org.hibernate.cacheable", true);
         verify(em).close();
     }
 }
@@ -1,13 +1,13 @@
 package com.restaurant.daos;
 
-import com.restaurant.constants.BookingTimeSlot;
 import com.restaurant.daos.impl.RestaurantTableDAOImpl;
 import com.restaurant.dtos.restaurantTable.GetRestaurantTableDto;
-import com.restaurant.dtos.restaurantTable.GetRestaurantTableForBookingDto;
 import com.restaurant.models.RestaurantTable;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,7 +19,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
-import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,11 +38,11 @@ class RestaurantTableDAOImplTest {
     @Mock
     TypedQuery<RestaurantTable> qFind;
     @Mock
-    TypedQuery<RestaurantTable> qBooking;
-    @Mock
     TypedQuery<RestaurantTable> qAvailable;
     @Mock
     TypedQuery<Long> countQ;
+    @Mock
+    Query availableUpdate;
     @InjectMocks
     RestaurantTableDAOImpl dao;
 
@@ -52,16 +51,13 @@ class RestaurantTableDAOImplTest {
         when(emf.createEntityManager()).thenReturn(em);
         when(em.getTransaction()).thenReturn(tx);
         when(em.createQuery(startsWith("SELECT t FROM RestaurantTable t WHERE t.restaurant.id = :rid"), eq(RestaurantTable.class))).thenReturn(qFind);
-        when(em.createQuery(contains("Booking b"), eq(RestaurantTable.class))).thenReturn(qBooking);
         when(em.createQuery(eq("SELECT t FROM RestaurantTable t WHERE t.restaurant.id = :rid AND t.available = true"), eq(RestaurantTable.class))).thenReturn(qAvailable);
         when(qFind.setParameter(eq("rid"), anyInt())).thenReturn(qFind);
-        when(qBooking.setParameter(eq("rid"), anyInt())).thenReturn(qBooking);
-        when(qBooking.setParameter(eq("date"), any(LocalDate.class))).thenReturn(qBooking);
-        when(qBooking.setParameter(eq("startTime"), any())).thenReturn(qBooking);
-        when(qBooking.setParameter(eq("endTime"), any())).thenReturn(qBooking);
         when(qAvailable.setParameter(eq("rid"), anyInt())).thenReturn(qAvailable);
         when(em.createQuery(startsWith("SELECT COUNT(t)"), eq(Long.class))).thenReturn(countQ);
         when(countQ.setParameter(anyString(), any())).thenReturn(countQ);
+        when(em.createQuery(startsWith("UPDATE RestaurantTable"))).thenReturn(availableUpdate);
+        when(availableUpdate.setParameter(anyString(), any())).thenReturn(availableUpdate);
     }
 
     @Test
@@ -88,28 +84,11 @@ class RestaurantTableDAOImplTest {
         verify(em).close();
     }
 
-    @Test
-    void findForBooking_filtersAndClose() {
-        GetRestaurantTableForBookingDto dto = new GetRestaurantTableForBookingDto();
-        dto.setRestaurantId(4);
-        dto.setDate(LocalDate.of(2025, 5, 1));
-        dto.setStartTime(BookingTimeSlot.SLOT_10_00);
-        dto.setEndTime(BookingTimeSlot.SLOT_11_00);
-        List<RestaurantTable> list = List.of(new RestaurantTable());
-        when(qBooking.getResultList()).thenReturn(list);
-        List<RestaurantTable> result = dao.findForBooking(dto);
-        verify(qBooking).setParameter("rid", 4);
-        verify(qBooking).setParameter("date", dto.getDate());
-        verify(qBooking).setParameter("startTime", dto.getStartTime());
-        verify(qBooking).setParameter("endTime", dto.getEndTime());
-        assertEquals(list, result);
-        verify(em).close();
-    }
-
     @Test
     void getById_returnsAndClose() {
         RestaurantTable rt = new RestaurantTable();
-        when(em.find(RestaurantTable.class, 7)).thenReturn(rt);
+        doReturn(mock(EntityGraph.class)).when(em).getEntityGraph(RestaurantTable.WITH_RESTAURANT);
+        when(em.find(eq(RestaurantTable.class), eq(7), anyMap())).thenReturn(rt);
         RestaurantTable result = dao.getById(7);
         assertSame(rt, result);
         verify(em).close();
@@ -127,6 +106,54 @@ class RestaurantTableDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void seat_whenTableWasFree_winsInOneConditionalUpdate() {
+        when(availableUpdate.executeUpdate()).thenReturn(1);
+
+        assertTrue(dao.seat(4));
+
+        verify(em).createQuery(contains("WHERE t.id = :id AND t.available <> :available"));
+        verify(availableUpdate).setParameter("available", false);
+        verify(availableUpdate).setParameter("id", 4);
+        InOrder in = inOrder(tx, availableUpdate);
+        in.verify(tx).begin();
+        in.verify(availableUpdate).executeUpdate();
+        in.verify(tx).commit();
+        verify(em, never()).merge(any());
+        verify(em).close();
+    }
+
+    @Test
+    void seat_whenTableAlreadyTaken_loses() {
+        when(availableUpdate.executeUpdate()).thenReturn(0);
+
+        assertFalse(dao.seat(4));
+
+        verify(tx).commit();
+        verify(em).close();
+    }
+
+    @Test
+    void release_setsTableAvailable() {
+        when(availableUpdate.executeUpdate()).thenReturn(1);
+
+        assertTrue(dao.release(4));
+
+        verify(availableUpdate).setParameter("available", true);
+        verify(availableUpdate).setParameter("id", 4);
+    }
+
+    @Test
+    void seat_whenUpdateFails_rollsBack() {
+        when(availableUpdate.executeUpdate()).thenThrow(RuntimeException.class);
+        when(tx.isActive()).thenReturn(true);
+
+        assertThrows(RuntimeException.class, () -> dao.seat(4));
+
+        verify(tx).rollback();
+        verify(em).close();
+    }
+
     @Test
     void delete_existing_removesAndClose() {
         RestaurantTable rt = new RestaurantTable();
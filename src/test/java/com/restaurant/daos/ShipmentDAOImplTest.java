@@ -4,10 +4,13 @@ import com.restaurant.constants.ShipmentService;
 import com.restaurant.constants.ShipmentStatus;
 import com.restaurant.daos.impl.ShipmentDAOImpl;
 import com.restaurant.dtos.shipment.GetShipmentDto;
+import com.restaurant.dtos.shipment.ShipmentRow;
 import com.restaurant.models.Shipment;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,18 +47,16 @@ class ShipmentDAOImplTest {
     @Mock
     Root<Shipment> root;
     @Mock
-    Fetch<Shipment, ?> fetchOrder;
-    @Mock
-    Fetch<Shipment, ?> fetchShipper;
-    @Mock
-    Fetch<Shipment, ?> fetchCustomer;
-    @Mock
     Path<?> path;
     @Mock
+    Join<Shipment, ?> join;
+    @Mock
     Expression<String> expr;
     @Mock
     Predicate predicate;
     @Mock
+    jakarta.persistence.criteria.Order jpaOrder;
+    @Mock
     TypedQuery<Shipment> query;
     @Mock
     TypedQuery<Long> countQ;
@@ -69,15 +70,16 @@ class ShipmentDAOImplTest {
         when(em.getCriteriaBuilder()).thenReturn(cb);
         when(cb.createQuery(Shipment.class)).thenReturn(cq);
         when(cq.from(Shipment.class)).thenReturn(root);
-        when(root.fetch("order", JoinType.LEFT)).thenReturn((Fetch) fetchOrder);
-        when(root.fetch("shipper", JoinType.LEFT)).thenReturn((Fetch) fetchShipper);
-        when(root.fetch("customer", JoinType.LEFT)).thenReturn((Fetch) fetchCustomer);
         when(root.get(anyString())).thenReturn((Path) path);
         when(path.get(anyString())).thenReturn((Path) path);
+        when(root.join(anyString(), any(JoinType.class))).thenReturn((Join) join);
+        when(join.get(anyString())).thenReturn((Path) path);
         when(cb.equal(any(Expression.class), any())).thenReturn(predicate);
         when(cb.lower(any(Expression.class))).thenReturn(expr);
         when(cb.like(any(Expression.class), anyString())).thenReturn(predicate);
         when(cq.where(any(Predicate[].class))).thenReturn(cq);
+        when(cb.asc(any(Expression.class))).thenReturn(jpaOrder);
+        when(cb.desc(any(Expression.class))).thenReturn(jpaOrder);
         when(em.createQuery(cq)).thenReturn(query);
         when(query.setFirstResult(anyInt())).thenReturn(query);
         when(query.setMaxResults(anyInt())).thenReturn(query);
@@ -111,7 +113,8 @@ class ShipmentDAOImplTest {
     @Test
     void getById_returnsAndClose() {
         Shipment s = new Shipment();
-        when(em.find(Shipment.class, 42)).thenReturn(s);
+        doReturn(mock(EntityGraph.class)).when(em).getEntityGraph(Shipment.WITH_DETAILS);
+        when(em.find(eq(Shipment.class), eq(42), anyMap())).thenReturn(s);
         Shipment result = dao.getById(42);
         assertSame(s, result);
         verify(em).close();
@@ -123,9 +126,8 @@ class ShipmentDAOImplTest {
         dto.setPage(0);
         dto.setSize(5);
         dao.find(dto);
-        verify(root).fetch("order", JoinType.LEFT);
-        verify(root).fetch("shipper", JoinType.LEFT);
-        verify(root).fetch("customer", JoinType.LEFT);
+        verify(em).getEntityGraph(Shipment.WITH_DETAILS);
+        verify(query).setHint(eq("jakarta.persistence.fetchgraph"), any());
         verify(cq, never()).where(any(Predicate[].class));
         verify(query).setFirstResult(0);
         verify(query).setMaxResults(5);
@@ -166,6 +168,38 @@ class ShipmentDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void findRows_projectsJoinedColumnsWithoutEntityGraph() {
+        CriteriaQuery<ShipmentRow> rowCq = mock(CriteriaQuery.class);
+        TypedQuery<ShipmentRow> rowQuery = mock(TypedQuery.class);
+        CompoundSelection<ShipmentRow> selection = mock(CompoundSelection.class);
+        Join<Object, Object> join = mock(Join.class);
+        when(cb.createQuery(ShipmentRow.class)).thenReturn(rowCq);
+        when(rowCq.from(Shipment.class)).thenReturn(root);
+        doReturn(join).when(root).join(anyString());
+        doReturn(join).when(root).join(anyString(), any(JoinType.class));
+        doReturn(join).when(join).join(anyString());
+        doReturn(path).when(join).get(anyString());
+        when(cb.construct(eq(ShipmentRow.class), any())).thenReturn(selection);
+        when(em.createQuery(rowCq)).thenReturn(rowQuery);
+        List<ShipmentRow> rows = List.of(new ShipmentRow(1, 2, "Bistro", ShipmentService.INTERNAL, null, "Alice", ShipmentStatus.SHIPPING, "TRK1"));
+        when(rowQuery.getResultList()).thenReturn(rows);
+        GetShipmentDto dto = new GetShipmentDto();
+        dto.setPage(2);
+        dto.setSize(10);
+
+        assertSame(rows, dao.findRows(dto));
+        verify(root).join("order");
+        verify(join).join("restaurant");
+        verify(root).join("shipper", JoinType.LEFT);
+        verify(root).join("customer");
+        verify(rowCq).select(selection);
+        verify(rowQuery).setFirstResult(20);
+        verify(rowQuery).setMaxResults(10);
+        verify(em, never()).getEntityGraph(anyString());
+        verify(em).close();
+    }
+
     @Test
     void update_mergesCommitAndClose() {
         Shipment s = new Shipment();
@@ -188,6 +222,36 @@ class ShipmentDAOImplTest {
         verify(em).close();
     }
 
+    @Test
+    void updateStatus_whenStillExpected_updatesInOneStatement() {
+        Query update = mock(Query.class);
+        when(em.createQuery(startsWith("UPDATE Shipment "))).thenReturn(update);
+        when(update.setParameter(anyString(), any())).thenReturn(update);
+        when(update.executeUpdate()).thenReturn(1);
+
+        assertTrue(dao.updateStatus(5, ShipmentStatus.SHIPPING, ShipmentStatus.SUCCESS));
+
+        verify(em).createQuery(contains("WHERE s.id = :id AND s.status = :expected"));
+        verify(update).setParameter("expected", ShipmentStatus.SHIPPING);
+        verify(update).setParameter("next", ShipmentStatus.SUCCESS);
+        verify(update).setParameter("id", 5);
+        verify(tx).commit();
+        verify(em, never()).merge(any());
+        verify(em, never()).find(any(), any());
+        verify(em).close();
+    }
+
+    @Test
+    void updateStatus_whenStatusAlreadyMoved_returnsFalse() {
+        Query update = mock(Query.class);
+        when(em.createQuery(startsWith("UPDATE Shipment "))).thenReturn(update);
+        when(update.setParameter(anyString(), any())).thenReturn(update);
+        when(update.executeUpdate()).thenReturn(0);
+
+        assertFalse(dao.updateStatus(5, ShipmentStatus.SHIPPING, ShipmentStatus.SUCCESS));
+        verify(em).close();
+    }
+
     @Test
     void delete_existing_removesCommitAndClose() {
         Shipment s = new Shipment();
@@ -232,4 +296,24 @@ class ShipmentDAOImplTest {
         verify(countQ, times(2)).setParameter("st", ShipmentStatus.SHIPPING);
         verify(em, times(2)).close();
     }
+
+    @Test
+    void find_sortsByNestedAttributeWithIdTiebreaker() {
+        GetShipmentDto dto = new GetShipmentDto();
+        dto.setSortBy("shipper.name");
+        dto.setSortDir("asc");
+        dao.find(dto);
+        verify(root).join("shipper", JoinType.LEFT);
+        verify(join).get("name");
+        verify(cq).orderBy(List.of(jpaOrder, jpaOrder));
+    }
+
+    @Test
+    void find_sortByAssociationIdReadsForeignKeyWithoutJoin() {
+        GetShipmentDto dto = new GetShipmentDto();
+        dto.setSortBy("order.id");
+        dao.find(dto);
+        verify(root, never()).join(anyString(), any(JoinType.class));
+        verify(path).get("id");
+    }
 }
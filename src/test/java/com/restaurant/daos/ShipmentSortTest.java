@@ -0,0 +1,90 @@
+package com.restaurant.daos;
+
+import com.restaurant.Main;
+import com.restaurant.constants.OrderType;
+import com.restaurant.constants.ShipmentService;
+import com.restaurant.constants.UserRole;
+import com.restaurant.daos.impl.ShipmentDAOImpl;
+import com.restaurant.dtos.shipment.GetShipmentDto;
+import com.restaurant.dtos.shipment.ShipmentRow;
+import com.restaurant.models.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Environment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ShipmentSortTest {
+    private static SessionFactory sessionFactory;
+    private static ShipmentDAOImpl dao;
+
+    @BeforeAll
+    static void setUpDatabase() throws Exception {
+        Properties props = new Properties();
+        props.put(Environment.JAKARTA_JDBC_URL, "jdbc:h2:mem:shipments;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        props.put(Environment.JAKARTA_JDBC_USER, "sa");
+        props.put(Environment.HBM2DDL_AUTO, "create-drop");
+        sessionFactory = Main.buildSessionFactory(props);
+        dao = new ShipmentDAOImpl();
+        Field emf = ShipmentDAOImpl.class.getDeclaredField("emf");
+        emf.setAccessible(true);
+        emf.set(dao, sessionFactory);
+
+        sessionFactory.inTransaction(session -> {
+            Restaurant restaurant = new Restaurant("Shipping", "1 Main St");
+            session.persist(restaurant);
+            User shipper = new User("shipper", "hash", UserRole.SHIPPER);
+            shipper.setName("Bob");
+            shipper.setEmail("bob@example.com");
+            session.persist(shipper);
+            for (int i = 0; i < 3; i++) {
+                Order order = new Order();
+                order.setRestaurant(restaurant);
+                order.setOrderType(OrderType.DELIVERY);
+                session.persist(order);
+                Customer customer = new Customer("Customer " + i, "0900000" + i);
+                session.persist(customer);
+                Shipment shipment = new Shipment(order, ShipmentService.INTERNAL, customer);
+                if (i > 0) {
+                    shipment.setShipper(shipper);
+                }
+                session.persist(shipment);
+            }
+        });
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void sortByShipperName_keepsShipmentsWithoutShipper() {
+        GetShipmentDto dto = new GetShipmentDto();
+        dto.setSortBy("shipper.name");
+        assertEquals(3, dao.find(dto).size());
+        assertEquals(3, dao.findRows(dto).size());
+    }
+
+    @Test
+    void sortByShipperNameDesc_keysetWalksPastNullShipper() {
+        GetShipmentDto dto = new GetShipmentDto();
+        dto.setSortBy("shipper.name");
+        dto.setSortDir("desc");
+        dto.setSize(2);
+        List<ShipmentRow> first = dao.findRows(dto);
+        ShipmentRow last = first.get(first.size() - 1);
+        dto.nextPage(last.shipperName(), last.id());
+
+        List<ShipmentRow> second = dao.findRows(dto);
+        assertEquals(1, second.size());
+        assertNull(second.get(0).shipperName());
+    }
+}
@@ -1,6 +1,6 @@
-package com.restaurant.daos;
+package com.restaurant.daos.impl;
 
-import com.restaurant.daos.impl.CustomerDAOImpl;
+import com.restaurant.config.CacheMetrics;
 import com.restaurant.models.Customer;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
@@ -10,7 +10,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -36,12 +35,16 @@ class CustomerDAOImplTest {
     private TypedQuery<Customer> listQuery;
     @Mock
     private TypedQuery<Customer> streamQuery;
+    @Mock
+    private TypedQuery<Customer> recentQuery;
 
-    @InjectMocks
     private CustomerDAOImpl dao;
+    private long now;
 
     @BeforeEach
     void setUp() {
+        dao = new CustomerDAOImpl(CustomerDAOImpl.EXPIRY_NANOS, () -> now);
+        dao.emf = emf;
         when(emf.createEntityManager()).thenReturn(em);
         when(em.getTransaction()).thenReturn(tx);
         when(em.createQuery("SELECT c FROM Customer c", Customer.class)).thenReturn(listQuery);
@@ -49,6 +52,15 @@ class CustomerDAOImplTest {
         when(listQuery.getResultList()).thenReturn(List.of());
         when(streamQuery.setParameter(anyString(), any())).thenReturn(streamQuery);
         when(streamQuery.getResultStream()).thenReturn(Stream.empty());
+        when(em.createQuery("SELECT c FROM Customer c ORDER BY c.id DESC", Customer.class)).thenReturn(recentQuery);
+        when(recentQuery.setMaxResults(anyInt())).thenReturn(recentQuery);
+        when(recentQuery.getResultList()).thenReturn(List.of());
+    }
+
+    private static Customer customer(int id, String phone) {
+        Customer c = new Customer("C" + id, phone);
+        c.setId(id);
+        return c;
     }
 
     @Test
@@ -148,4 +160,102 @@ class CustomerDAOImplTest {
         verify(em).find(Customer.class, 77);
         verify(em).close();
     }
+
+    @Test
+    void getByPhoneNumber_repeatedLookup_servedFromCache() {
+        Customer c = customer(5, "555-0100");
+        when(streamQuery.getResultStream()).thenReturn(Stream.of(c));
+
+        assertSame(c, dao.getByPhoneNumber("555-0100"));
+        Customer cached = dao.getByPhoneNumber("555 0100");
+
+        assertNotSame(c, cached);
+        assertEquals(5, cached.getId());
+        assertEquals("5550100", cached.getPhoneNumber());
+        verify(streamQuery, times(1)).getResultStream();
+        verify(streamQuery).setParameter("phone", "5550100");
+        CacheMetrics.RegionStats stats = dao.cacheStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+    }
+
+    @Test
+    void getByPhoneNumber_notFound_isNotCached() {
+        when(streamQuery.getResultStream()).thenAnswer(inv -> Stream.empty());
+        dao.getByPhoneNumber("00000");
+        dao.getByPhoneNumber("00000");
+
+        verify(streamQuery, times(2)).getResultStream();
+        assertEquals(0, dao.cacheStats().size());
+    }
+
+    @Test
+    void add_writesThroughToCache() {
+        dao.add(customer(6, "+1 555-0101"));
+
+        Customer cached = dao.getByPhoneNumber("15550101");
+
+        assertEquals(6, cached.getId());
+        verify(streamQuery, never()).getResultStream();
+    }
+
+    @Test
+    void update_evictsCustomer() {
+        Customer c = customer(7, "5550102");
+        dao.add(c);
+        c.setName("Renamed");
+
+        dao.update(c);
+        when(streamQuery.getResultStream()).thenReturn(Stream.of(c));
+
+        assertSame(c, dao.getByPhoneNumber("5550102"));
+        verify(streamQuery).getResultStream();
+    }
+
+    @Test
+    void update_leavesOtherCustomersCached() {
+        dao.add(customer(11, "5550111"));
+        Customer c = customer(12, "5550112");
+        dao.add(c);
+
+        dao.update(c);
+
+        assertEquals(11, dao.getByPhoneNumber("5550111").getId());
+        assertNull(dao.getByPhoneNumber("5550112"));
+        assertEquals(1, dao.cacheStats().size());
+    }
+
+    @Test
+    void getByPhoneNumber_expiredEntry_isReloaded() {
+        Customer c = customer(10, "5550110");
+        dao.add(c);
+        now += CustomerDAOImpl.EXPIRY_NANOS;
+        when(streamQuery.getResultStream()).thenReturn(Stream.of(c));
+
+        assertSame(c, dao.getByPhoneNumber("5550110"));
+
+        verify(streamQuery).getResultStream();
+        assertEquals(0, dao.cacheStats().hits());
+        assertEquals(1, dao.cacheStats().misses());
+    }
+
+    @Test
+    void warmUp_cachesMostRecentCustomers() {
+        when(recentQuery.getResultList()).thenReturn(List.of(customer(9, "5550109"), customer(8, "5550108")));
+
+        assertEquals(2, dao.warmUp(50));
+
+        verify(recentQuery).setMaxResults(50);
+        assertEquals(9, dao.getByPhoneNumber("5550109").getId());
+        assertEquals(8, dao.getByPhoneNumber("5550108").getId());
+        verify(streamQuery, never()).getResultStream();
+    }
+
+    @Test
+    void warmUp_disabled_doesNotQuery() {
+        assertEquals(0, dao.warmUp(0));
+
+        verifyNoInteractions(emf);
+    }
 }
@@ -1,11 +1,21 @@
 package com.restaurant.di;
 
+import com.restaurant.config.UnitOfWork;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class InjectorTest {
 
@@ -14,6 +24,7 @@ class InjectorTest {
         Field instanceField = Injector.class.getDeclaredField("instance");
         instanceField.setAccessible(true);
         instanceField.set(null, null);
+        TestBindings.install(Injector.getInstance());
     }
 
     @Test
@@ -33,11 +44,11 @@ class InjectorTest {
     }
 
     @Test
-    void testNewInstanceForUnregisteredType() {
+    void testInjectableIsSingleton() {
         Injector injector = Injector.getInstance();
         ServiceA a1 = injector.getInstance(ServiceA.class);
         ServiceA a2 = injector.getInstance(ServiceA.class);
-        assertNotSame(a1, a2);
+        assertSame(a1, a2);
     }
 
     @Test
@@ -45,7 +56,7 @@ class InjectorTest {
         Injector injector = Injector.getInstance();
         ServiceB result = injector.getInstance(ServiceB.class);
         assertNotNull(result);
-        assertNotNull(result.getServiceA());
+        assertSame(injector.getInstance(ServiceA.class), result.getServiceA());
     }
 
     @Test
@@ -58,9 +69,61 @@ class InjectorTest {
     }
 
     @Test
-    void testMissingNoArgConstructorThrows() {
+    void testInterfaceResolvesToImplementation() {
         Injector injector = Injector.getInstance();
-        assertThrows(RuntimeException.class, () -> injector.getInstance(NoDefaultConstructor.class));
+        Greeter greeter = injector.getInstance(Greeter.class);
+        assertSame(injector.getInstance(EnglishGreeter.class), greeter);
+    }
+
+    @Test
+    void testConstructorInjection() {
+        Injector injector = Injector.getInstance();
+        ServiceD result = injector.getInstance(ServiceD.class);
+        assertSame(injector.getInstance(ServiceA.class), result.getServiceA());
+    }
+
+    @Test
+    void testTransactionalMethodsRunInUnitOfWork() {
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        EntityManager em = mock(EntityManager.class);
+        EntityTransaction tx = mock(EntityTransaction.class);
+        when(emf.createEntityManager()).thenReturn(em);
+        when(em.getTransaction()).thenReturn(tx);
+        Injector injector = Injector.getInstance();
+        injector.register(UnitOfWork.class, new UnitOfWork(emf));
+
+        TransactionalService service = injector.getInstance(TransactionalService.class);
+
+        assertTrue(service.write());
+        assertFalse(service.read());
+        assertNotNull(service.serviceA);
+        verify(tx, times(1)).commit();
+    }
+
+    @Test
+    void testTransactionalFailureIsReported() {
+        EntityManagerFactory emf = mock(EntityManagerFactory.class);
+        EntityManager em = mock(EntityManager.class);
+        EntityTransaction tx = mock(EntityTransaction.class);
+        when(emf.createEntityManager()).thenReturn(em);
+        when(em.getTransaction()).thenReturn(tx);
+        when(tx.isActive()).thenReturn(true);
+        List<RuntimeException> reported = new CopyOnWriteArrayList<>();
+        Injector injector = Injector.getInstance();
+        injector.register(UnitOfWork.class, new UnitOfWork(emf, reported::add));
+
+        TransactionalService service = injector.getInstance(TransactionalService.class);
+        assertThrows(IllegalStateException.class, service::fail);
+
+        assertEquals(1, reported.size());
+        assertEquals("boom", reported.get(0).getMessage());
+        verify(tx).rollback();
+    }
+
+    @Test
+    void testUnboundTypeThrows() {
+        Injector injector = Injector.getInstance();
+        assertThrows(IllegalStateException.class, () -> injector.getInstance(NotInjectable.class));
     }
 
     @Test
@@ -74,29 +137,94 @@ class InjectorTest {
         assertSame(second, result);
     }
 
-    private static class NoDefaultConstructor {
-        public NoDefaultConstructor(String arg) {
+    @Test
+    void testConcurrentLookupsShareOneInstance() throws Exception {
+        Injector injector = Injector.getInstance();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ServiceC>> futures = IntStream.range(0, 32)
+                    .mapToObj(i -> pool.submit(() -> {
+                        start.await();
+                        return injector.getInstance(ServiceC.class);
+                    }))
+                    .toList();
+            start.countDown();
+            Set<ServiceC> instances = ConcurrentHashMap.newKeySet();
+            for (Future<ServiceC> future : futures) {
+                instances.add(future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, instances.size());
+            assertEquals(1, instances.stream().map(ServiceC::getServiceB).collect(Collectors.toSet()).size());
+        } finally {
+            pool.shutdownNow();
         }
     }
 
-    private static class ServiceA {
+    static class NotInjectable {
     }
 
-    private static class ServiceB {
+    @Injectable
+    static class ServiceA {
+    }
+
+    @Injectable
+    static class ServiceB {
         @Inject
-        private ServiceA serviceA;
+        ServiceA serviceA;
 
         public ServiceA getServiceA() {
             return serviceA;
         }
     }
 
-    private static class ServiceC {
+    @Injectable
+    static class ServiceC {
         @Inject
-        private ServiceB serviceB;
+        ServiceB serviceB;
 
         public ServiceB getServiceB() {
             return serviceB;
         }
     }
+
+    @Injectable
+    static class ServiceD {
+        private final ServiceA serviceA;
+
+        ServiceD(ServiceA serviceA) {
+            this.serviceA = serviceA;
+        }
+
+        public ServiceA getServiceA() {
+            return serviceA;
+        }
+    }
+
+    @Injectable
+    static class TransactionalService {
+        @Inject
+        ServiceA serviceA;
+
+        @Transactional
+        public boolean write() {
+            return UnitOfWork.isActive();
+        }
+
+        public boolean read() {
+            return UnitOfWork.isActive();
+        }
+
+        @Transactional
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    interface Greeter {
+    }
+
+    @Injectable
+    static class EnglishGreeter implements Greeter {
+    }
 }
@@ -0,0 +1,48 @@
+package com.restaurant.models;
+
+import com.restaurant.constants.BookingStatus;
+import com.restaurant.constants.BookingTimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingSlotTest {
+
+    @Test
+    void defaultConstructor_leavesFieldsNull() {
+        BookingSlot s = new BookingSlot();
+        assertNull(s.getBooking());
+        assertNull(s.getTable());
+        assertNull(s.getDate());
+        assertNull(s.getSlot());
+    }
+
+    @Test
+    void constructor_copiesTableAndDateFromBooking() {
+        RestaurantTable tbl = new RestaurantTable();
+        tbl.setId(42);
+        Booking b = new Booking(LocalDate.of(2025, 5, 1), BookingTimeSlot.SLOT_10_00, BookingTimeSlot.SLOT_11_00, tbl);
+        BookingSlot s = new BookingSlot(b, BookingTimeSlot.SLOT_10_30);
+        assertSame(b, s.getBooking());
+        assertSame(tbl, s.getTable());
+        assertEquals(LocalDate.of(2025, 5, 1), s.getDate());
+        assertEquals(BookingTimeSlot.SLOT_10_30, s.getSlot());
+    }
+
+    @Test
+    void of_coversStartUpToButNotIncludingEnd() {
+        Booking b = new Booking(LocalDate.of(2025, 5, 1), BookingTimeSlot.SLOT_22_00, BookingTimeSlot.SLOT_23_30, new RestaurantTable());
+        List<BookingTimeSlot> slots = BookingSlot.of(b).stream().map(BookingSlot::getSlot).toList();
+        assertEquals(List.of(BookingTimeSlot.SLOT_22_00, BookingTimeSlot.SLOT_22_30, BookingTimeSlot.SLOT_23_00), slots);
+    }
+
+    @Test
+    void of_cancelledBooking_holdsNoSlots() {
+        Booking b = new Booking(LocalDate.of(2025, 5, 1), BookingTimeSlot.SLOT_22_00, BookingTimeSlot.SLOT_23_30, new RestaurantTable());
+        b.setStatus(BookingStatus.CANCELLED);
+        assertTrue(BookingSlot.of(b).isEmpty());
+    }
+}
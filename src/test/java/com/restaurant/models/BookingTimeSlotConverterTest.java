@@ -0,0 +1,30 @@
+package com.restaurant.models;
+
+import com.restaurant.constants.BookingTimeSlot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingTimeSlotConverterTest {
+    private final BookingTimeSlotConverter converter = new BookingTimeSlotConverter();
+
+    @Test
+    void convertToDatabaseColumn_storesMinuteOfDay() {
+        assertEquals((short) 1080, converter.convertToDatabaseColumn(BookingTimeSlot.SLOT_18_00));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void convertToEntityAttribute_readsMinuteOfDay() {
+        assertSame(BookingTimeSlot.SLOT_18_30, converter.convertToEntityAttribute((short) 1110));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void storedValues_keepSlotOrder() {
+        BookingTimeSlot[] slots = BookingTimeSlot.values();
+        for (int i = 1; i < slots.length; i++) {
+            assertTrue(converter.convertToDatabaseColumn(slots[i - 1]) < converter.convertToDatabaseColumn(slots[i]));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.restaurant.models;
+
+import com.restaurant.Main;
+import com.restaurant.constants.OrderStatus;
+import com.restaurant.constants.OrderType;
+import com.restaurant.constants.PaymentMethod;
+import com.restaurant.constants.ShipmentService;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BytecodeEnhancementTest {
+    private static final int ORDERS = 5;
+
+    private static SessionFactory sessionFactory;
+    private static int orderId;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        Properties props = new Properties();
+        props.put(Environment.JAKARTA_JDBC_URL, "jdbc:h2:mem:enhancement;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        props.put(Environment.JAKARTA_JDBC_USER, "sa");
+        props.put(Environment.HBM2DDL_AUTO, "create-drop");
+        props.put(Environment.GENERATE_STATISTICS, "true");
+        sessionFactory = Main.buildSessionFactory(props);
+
+        sessionFactory.inTransaction(session -> {
+            Restaurant restaurant = new Restaurant("Enhanced", "1 Main St");
+            restaurant.setMaxX(10);
+            restaurant.setMaxY(10);
+            session.persist(restaurant);
+            Customer customer = new Customer("Alice", "0900000000");
+            session.persist(customer);
+            for (int i = 0; i < ORDERS; i++) {
+                Order order = new Order();
+                order.setRestaurant(restaurant);
+                order.setOrderType(OrderType.DELIVERY);
+                session.persist(order);
+                Payment payment = new Payment();
+                payment.setOrder(order);
+                payment.setMethod(PaymentMethod.CASH);
+                session.persist(payment);
+                session.persist(new Shipment(order, ShipmentService.INTERNAL, customer));
+                orderId = order.getId();
+            }
+        });
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        sessionFactory.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void modelsAreEnhanced() {
+        assertTrue(PersistentAttributeInterceptable.class.isAssignableFrom(Order.class));
+        assertTrue(SelfDirtinessTracker.class.isAssignableFrom(Order.class));
+    }
+
+    @Test
+    void loadingOrders_leavesPaymentAndShipmentUnloaded() {
+        try (Session session = sessionFactory.openSession()) {
+            List<Order> orders = session.createQuery("SELECT o FROM Order o", Order.class).getResultList();
+
+            assertEquals(ORDERS, orders.size());
+            // Without enhancement each order also selected its payment and its shipment: 1 + 2 * ORDERS
+            assertEquals(1, statistics.getPrepareStatementCount());
+            for (Order order : orders) {
+                assertFalse(Hibernate.isPropertyInitialized(order, "payment"));
+                assertFalse(Hibernate.isPropertyInitialized(order, "shipment"));
+            }
+        }
+    }
+
+    @Test
+    void findOrder_loadsOneToOnesOnFirstRead() {
+        try (Session session = sessionFactory.openSession()) {
+            Order order = session.find(Order.class, orderId);
+            assertEquals(1, statistics.getPrepareStatementCount());
+
+            // Both sit in the default lazy group, so the first read fetches them together
+            assertNotNull(order.getPayment());
+            assertNotNull(order.getShipment());
+            assertEquals(2, statistics.getPrepareStatementCount());
+        }
+    }
+
+    @Test
+    void dirtyTracking_recordsOnlyChangedAttributes() {
+        try (Session session = sessionFactory.openSession()) {
+            Order order = session.find(Order.class, orderId);
+            SelfDirtinessTracker tracker = (SelfDirtinessTracker) order;
+            assertFalse(tracker.$$_hibernate_hasDirtyAttributes());
+
+            order.setStatus(OrderStatus.COMPLETED);
+
+            assertArrayEquals(new String[]{"status"}, tracker.$$_hibernate_getDirtyAttributes());
+        }
+    }
+}
@@ -46,4 +46,14 @@ class CustomerTest {
         assertEquals("carol@example.com", c.getEmail());
         assertEquals("Dreamland", c.getAddress());
     }
+
+    @Test
+    void phoneNumber_isStoredWithoutSeparators() {
+        assertEquals("15550100", new Customer("Dan", "+1 555-0100").getPhoneNumber());
+        assertEquals("5550100", new Customer("Eve", " 555 0100 ", "Home").getPhoneNumber());
+        Customer c = new Customer();
+        c.setPhoneNumber("555-0100");
+        assertEquals("5550100", c.getPhoneNumber());
+        assertNull(Customer.normalizePhoneNumber(null));
+    }
 }
@@ -40,23 +40,26 @@ class MenuItemTest {
     }
 
     @Test
-    void getTotalOrderedCount_sumsQuantities() {
+    void getTotalOrderedCount_doesNotReadOrderItems() {
         MenuItem mi = new MenuItem();
-        OrderItem oi1 = new OrderItem();
-        oi1.setQuantity(2);
-        OrderItem oi2 = new OrderItem();
-        oi2.setQuantity(3);
-        mi.getOrderItems().add(oi1);
-        mi.getOrderItems().add(oi2);
-        assertEquals(5, mi.getTotalOrderedCount());
+        OrderItem oi = new OrderItem();
+        oi.setQuantity(2);
+        mi.getOrderItems().add(oi);
+        assertEquals(0, mi.getTotalOrderedCount());
     }
 
     @Test
-    void setOrderItems_replacesListUsedByTotal() {
+    void setOrderItems_replacesList() {
         MenuItem mi = new MenuItem();
         OrderItem oi = new OrderItem();
-        oi.setQuantity(7);
         mi.setOrderItems(List.of(oi));
-        assertEquals(7, mi.getTotalOrderedCount());
+        assertEquals(List.of(oi), mi.getOrderItems());
+    }
+
+    @Test
+    void setTotalOrderedCount_storesCounter() {
+        MenuItem mi = new MenuItem();
+        mi.setTotalOrderedCount(42);
+        assertEquals(42, mi.getTotalOrderedCount());
     }
 }
@@ -0,0 +1,95 @@
+package com.restaurant.seed;
+
+import com.restaurant.Main;
+import com.restaurant.constants.OrderStatus;
+import com.restaurant.constants.OrderType;
+import com.restaurant.models.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Environment;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataSeederTest {
+    private static SessionFactory sessionFactory;
+    private static SeedProfile profile;
+
+    @BeforeAll
+    static void seedDatabase() {
+        Properties props = new Properties();
+        props.put(Environment.JAKARTA_JDBC_URL, "jdbc:h2:mem:seed;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        props.put(Environment.JAKARTA_JDBC_USER, "sa");
+        props.put(Environment.HBM2DDL_AUTO, "create-drop");
+        sessionFactory = Main.buildSessionFactory(props);
+
+        profile = new SeedProfile();
+        profile.setRestaurants(2);
+        profile.setTablesPerRestaurant(3);
+        profile.setMenuItemsPerRestaurant(4);
+        profile.setOrdersPerDay(5);
+        profile.setDaysOfHistory(3);
+        profile.setCustomers(7);
+        // Smaller than the customer count, so ids are collected across several flushes
+        profile.setBatchSize(4);
+        new DataSeeder(sessionFactory).seed(profile);
+    }
+
+    @AfterAll
+    static void tearDownDatabase() {
+        sessionFactory.close();
+    }
+
+    private static long count(Session session, String jpql) {
+        return session.createQuery(jpql, Long.class).getSingleResult();
+    }
+
+    @Test
+    void seed_writesFixturesScaledByProfile() {
+        sessionFactory.inSession(session -> {
+            assertEquals(5, count(session, "SELECT COUNT(u) FROM User u"));
+            assertEquals(7, count(session, "SELECT COUNT(c) FROM Customer c"));
+            assertEquals(7, count(session, "SELECT COUNT(DISTINCT c.phoneNumber) FROM Customer c"));
+            assertEquals(2, count(session, "SELECT COUNT(r) FROM Restaurant r"));
+            assertEquals(2, count(session, "SELECT COUNT(m) FROM Menu m"));
+            assertEquals(2 * 4, count(session, "SELECT COUNT(mi) FROM MenuItem mi"));
+            assertEquals(2 * 3, count(session, "SELECT COUNT(t) FROM RestaurantTable t"));
+        });
+    }
+
+    @Test
+    void seed_writesOneBookingPerTablePerDay() {
+        sessionFactory.inSession(session -> {
+            assertEquals(2 * 3 * 3, count(session, "SELECT COUNT(b) FROM Booking b"));
+            assertEquals(3, count(session, "SELECT COUNT(DISTINCT b.date) FROM Booking b"));
+            long slots = session.createQuery("SELECT b FROM Booking b", Booking.class).getResultStream()
+                    .mapToLong(b -> BookingSlot.of(b).size())
+                    .sum();
+            assertEquals(slots, count(session, "SELECT COUNT(s) FROM BookingSlot s"));
+        });
+    }
+
+    @Test
+    void seed_writesOrderHistoryWithItemsPaymentsAndShipments() {
+        sessionFactory.inSession(session -> {
+            long orders = count(session, "SELECT COUNT(o) FROM Order o");
+            assertEquals((long) profile.getOrdersPerDay() * profile.getRestaurants() * profile.getDaysOfHistory(), orders);
+
+            long items = count(session, "SELECT COUNT(oi) FROM OrderItem oi");
+            assertTrue(items >= 2 * orders && items <= 5 * orders, "items: " + items);
+            assertEquals(0, count(session, "SELECT COUNT(o) FROM Order o WHERE o.items IS EMPTY"));
+
+            assertEquals(count(session, "SELECT COUNT(o) FROM Order o WHERE o.status = "
+                            + OrderStatus.class.getName() + "." + OrderStatus.COMPLETED.name()),
+                    count(session, "SELECT COUNT(p) FROM Payment p"));
+            assertEquals(count(session, "SELECT COUNT(o) FROM Order o WHERE o.orderType = "
+                            + OrderType.class.getName() + "." + OrderType.DELIVERY.name()),
+                    count(session, "SELECT COUNT(s) FROM Shipment s"));
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.restaurant.seed;
+
+import com.restaurant.config.Env;
+import io.github.cdimascio.dotenv.Dotenv;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeedProfileTest {
+
+    private Dotenv dotenv;
+    private Env env;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Field instance = Env.class.getDeclaredField("INSTANCE");
+        instance.setAccessible(true);
+        instance.set(null, null);
+        env = Env.getInstance();
+        dotenv = mock(Dotenv.class);
+        Field dotField = Env.class.getDeclaredField("dotenv");
+        dotField.setAccessible(true);
+        dotField.set(env, dotenv);
+    }
+
+    @Test
+    void fromEnv_appliesDefaults() {
+        SeedProfile profile = SeedProfile.fromEnv(env);
+
+        assertEquals(3, profile.getRestaurants());
+        assertEquals(20, profile.getTablesPerRestaurant());
+        assertEquals(30, profile.getMenuItemsPerRestaurant());
+        assertEquals(200, profile.getOrdersPerDay());
+        assertEquals(30, profile.getDaysOfHistory());
+        assertEquals(1_000, profile.getCustomers());
+        assertEquals(500, profile.getBatchSize());
+    }
+
+    @Test
+    void fromEnv_scalesFromOverrides() {
+        when(dotenv.get("SEED_RESTAURANTS")).thenReturn("12");
+        when(dotenv.get("SEED_TABLES_PER_RESTAURANT")).thenReturn("40");
+        when(dotenv.get("SEED_MENU_ITEMS_PER_RESTAURANT")).thenReturn("80");
+        when(dotenv.get("SEED_ORDERS_PER_DAY")).thenReturn("1500");
+        when(dotenv.get("SEED_DAYS_OF_HISTORY")).thenReturn("365");
+        when(dotenv.get("SEED_CUSTOMERS")).thenReturn("50000");
+        when(dotenv.get("SEED_BATCH_SIZE")).thenReturn("1000");
+
+        SeedProfile profile = SeedProfile.fromEnv(env);
+
+        assertEquals(12, profile.getRestaurants());
+        assertEquals(40, profile.getTablesPerRestaurant());
+        assertEquals(80, profile.getMenuItemsPerRestaurant());
+        assertEquals(1_500, profile.getOrdersPerDay());
+        assertEquals(365, profile.getDaysOfHistory());
+        assertEquals(50_000, profile.getCustomers());
+        assertEquals(1_000, profile.getBatchSize());
+    }
+
+    @Test
+    void setters_clampOutOfRangeValues() {
+        SeedProfile profile = new SeedProfile();
+        profile.setRestaurants(0);
+        profile.setTablesPerRestaurant(-3);
+        profile.setMenuItemsPerRestaurant(0);
+        profile.setOrdersPerDay(-1);
+        profile.setDaysOfHistory(0);
+        profile.setCustomers(0);
+        profile.setBatchSize(0);
+
+        assertEquals(1, profile.getRestaurants());
+        assertEquals(1, profile.getTablesPerRestaurant());
+        assertEquals(1, profile.getMenuItemsPerRestaurant());
+        assertEquals(0, profile.getOrdersPerDay());
+        assertEquals(1, profile.getDaysOfHistory());
+        assertEquals(1, profile.getCustomers());
+        assertEquals(500, profile.getBatchSize());
+    }
+}